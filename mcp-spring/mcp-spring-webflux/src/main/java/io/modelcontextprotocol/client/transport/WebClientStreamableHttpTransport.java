@@ -24,6 +24,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.modelcontextprotocol.spec.DefaultMcpTransportSession;
 import io.modelcontextprotocol.spec.DefaultMcpTransportStream;
 import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -82,6 +83,8 @@ public class WebClientStreamableHttpTransport implements McpClientTransport {
 
 	private final ObjectMapper objectMapper;
 
+	private final JsonRpcBinder jsonRpcBinder;
+
 	private final WebClient webClient;
 
 	private final String endpoint;
@@ -99,6 +102,7 @@ public class WebClientStreamableHttpTransport implements McpClientTransport {
 	private WebClientStreamableHttpTransport(ObjectMapper objectMapper, WebClient.Builder webClientBuilder,
 			String endpoint, boolean resumableStreams, boolean openConnectionOnStartup) {
 		this.objectMapper = objectMapper;
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
 		this.webClient = webClientBuilder.build();
 		this.endpoint = endpoint;
 		this.resumableStreams = resumableStreams;
@@ -435,7 +439,7 @@ public class WebClientStreamableHttpTransport implements McpClientTransport {
 
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return this.jsonRpcBinder.bind(data, typeRef);
 	}
 
 	private Tuple2<Optional<String>, Iterable<McpSchema.JSONRPCMessage>> parse(ServerSentEvent<String> event) {
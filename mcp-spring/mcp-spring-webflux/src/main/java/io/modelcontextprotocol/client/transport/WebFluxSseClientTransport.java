@@ -11,6 +11,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -103,6 +104,8 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 	 */
 	protected ObjectMapper objectMapper;
 
+	private final JsonRpcBinder jsonRpcBinder;
+
 	/**
 	 * Subscription for the SSE connection handling inbound messages. Used for cleanup
 	 * during transport shutdown.
@@ -166,6 +169,7 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 		Assert.hasText(sseEndpoint, "SSE endpoint must not be null or empty");
 
 		this.objectMapper = objectMapper;
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
 		this.webClient = webClientBuilder.build();
 		this.sseEndpoint = sseEndpoint;
 	}
@@ -355,7 +359,7 @@ public class WebFluxSseClientTransport implements McpClientTransport {
 	 */
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return this.jsonRpcBinder.bind(data, typeRef);
 	}
 
 	/**
@@ -2,15 +2,17 @@ package io.modelcontextprotocol.server.transport;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.concurrent.ConcurrentHashMap;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpNotificationBroadcaster;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSessionRegistry;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
 
@@ -20,6 +22,7 @@ import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -90,6 +93,10 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 	private final ObjectMapper objectMapper;
 
+	private final McpNotificationBroadcaster notificationBroadcaster;
+
+	private final JsonRpcBinder jsonRpcBinder;
+
 	/**
 	 * Base URL for the message endpoint. This is used to construct the full URL for
 	 * clients to send their JSON-RPC messages.
@@ -105,9 +112,9 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 	private McpServerSession.Factory sessionFactory;
 
 	/**
-	 * Map of active client sessions, keyed by session ID.
+	 * Registry of active client sessions, keyed by session ID.
 	 */
-	private final ConcurrentHashMap<String, McpServerSession> sessions = new ConcurrentHashMap<>();
+	private final McpSessionRegistry<McpServerSession> sessions;
 
 	/**
 	 * Flag indicating if the transport is shutting down.
@@ -188,15 +195,25 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 	@Deprecated
 	public WebFluxSseServerTransportProvider(ObjectMapper objectMapper, String baseUrl, String messageEndpoint,
 			String sseEndpoint, Duration keepAliveInterval) {
+		this(objectMapper, baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval,
+				McpSessionRegistry.builder(McpServerSession::closeGracefully).build());
+	}
+
+	private WebFluxSseServerTransportProvider(ObjectMapper objectMapper, String baseUrl, String messageEndpoint,
+			String sseEndpoint, Duration keepAliveInterval, McpSessionRegistry<McpServerSession> sessions) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		Assert.notNull(baseUrl, "Message base path must not be null");
 		Assert.notNull(messageEndpoint, "Message endpoint must not be null");
 		Assert.notNull(sseEndpoint, "SSE endpoint must not be null");
+		Assert.notNull(sessions, "Session registry must not be null");
 
 		this.objectMapper = objectMapper;
+		this.notificationBroadcaster = new McpNotificationBroadcaster(objectMapper, Schedulers.immediate());
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
 		this.baseUrl = baseUrl;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
+		this.sessions = sessions;
 		this.routerFunction = RouterFunctions.route()
 			.GET(this.sseEndpoint, this::handleSseConnection)
 			.POST(this.messageEndpoint, this::handleMessage)
@@ -224,6 +241,15 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 		this.sessionFactory = sessionFactory;
 	}
 
+	/**
+	 * Returns the counters of the sessions of this transport: the sessions created, and
+	 * those expired, evicted or rejected because of the configured session limits.
+	 * @return the session metrics
+	 */
+	public McpSessionRegistry.Metrics sessionMetrics() {
+		return this.sessions.metrics();
+	}
+
 	/**
 	 * Broadcasts a JSON-RPC message to all connected clients through their SSE
 	 * connections. The message is serialized to JSON and sent as a server-sent event to
@@ -251,11 +277,9 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
 
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
+		return notificationBroadcaster.broadcast(sessions.values(), method, params)
+			.doOnNext(result -> logger.debug("Broadcast of {} delivered to {} sessions, skipped {}, failed {}", method,
+					result.delivered(), result.skipped(), result.failed()))
 			.then();
 	}
 
@@ -276,6 +300,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 			.doOnSuccess(v -> {
 				logger.debug("Graceful shutdown completed");
 				sessions.clear();
+				sessions.shutdown();
 				if (this.keepAliveScheduler != null) {
 					this.keepAliveScheduler.shutdown();
 				}
@@ -317,8 +342,11 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 				McpServerSession session = sessionFactory.create(sessionTransport);
 				String sessionId = session.getId();
 
+				if (!sessions.register(sessionId, session)) {
+					session.close();
+					return;
+				}
 				logger.debug("Created new SSE connection for session: {}", sessionId);
-				sessions.put(sessionId, session);
 
 				// Send initial endpoint event
 				logger.debug("Sending initial endpoint event to session: {}", sessionId);
@@ -415,7 +443,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonRpcBinder.bind(data, typeRef);
 		}
 
 		@Override
@@ -452,6 +480,9 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 
 		private Duration keepAliveInterval;
 
+		private final McpSessionRegistry.Builder<McpServerSession> sessionRegistry = McpSessionRegistry
+			.builder(McpServerSession::closeGracefully);
+
 		/**
 		 * Sets the ObjectMapper to use for JSON serialization/deserialization of MCP
 		 * messages.
@@ -513,6 +544,45 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 			return this;
 		}
 
+		/**
+		 * Sets the time after which a session that has received no message from its
+		 * client is closed. Combined with {@link #keepAliveInterval(Duration)}, clients
+		 * that answer the pings keep their sessions open.
+		 * @param sessionIdleTimeout The idle timeout. If null, sessions are only closed
+		 * when their SSE connection is cancelled.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if sessionIdleTimeout is not positive
+		 */
+		public Builder sessionIdleTimeout(Duration sessionIdleTimeout) {
+			this.sessionRegistry.idleTimeout(sessionIdleTimeout);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of sessions open at the same time. Unbounded by
+		 * default.
+		 * @param maxSessions The maximum number of sessions. Must be positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxSessions is not positive
+		 */
+		public Builder maxSessions(int maxSessions) {
+			this.sessionRegistry.maxSessions(maxSessions);
+			return this;
+		}
+
+		/**
+		 * Sets what happens when a client connects while {@link #maxSessions(int)}
+		 * sessions are open: either the least recently active session is closed, which is
+		 * the default, or the new SSE stream is completed before its endpoint event.
+		 * @param evictionPolicy The eviction policy. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if evictionPolicy is null
+		 */
+		public Builder sessionEvictionPolicy(McpSessionRegistry.EvictionPolicy evictionPolicy) {
+			this.sessionRegistry.evictionPolicy(evictionPolicy);
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of {@link WebFluxSseServerTransportProvider} with the
 		 * configured settings.
@@ -524,7 +594,7 @@ public class WebFluxSseServerTransportProvider implements McpServerTransportProv
 			Assert.notNull(messageEndpoint, "Message endpoint must be set");
 
 			return new WebFluxSseServerTransportProvider(objectMapper, baseUrl, messageEndpoint, sseEndpoint,
-					keepAliveInterval);
+					keepAliveInterval, sessionRegistry.build());
 		}
 
 	}
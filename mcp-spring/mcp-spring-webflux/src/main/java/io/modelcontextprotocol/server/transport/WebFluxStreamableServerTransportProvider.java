@@ -6,11 +6,14 @@ import io.modelcontextprotocol.server.DefaultMcpTransportContext;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
 import io.modelcontextprotocol.spec.HttpHeaders;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpNotificationBroadcaster;
 import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSessionRegistry;
 import io.modelcontextprotocol.spec.McpStreamableServerSession;
 import io.modelcontextprotocol.spec.McpStreamableServerTransport;
 import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
 import io.modelcontextprotocol.server.McpTransportContext;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
 
@@ -28,6 +31,7 @@ import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.FluxSink;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.time.Duration;
@@ -47,6 +51,10 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 	private final ObjectMapper objectMapper;
 
+	private final McpNotificationBroadcaster notificationBroadcaster;
+
+	private final JsonRpcBinder jsonRpcBinder;
+
 	private final String mcpEndpoint;
 
 	private final boolean disallowDelete;
@@ -55,7 +63,13 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 	private McpStreamableServerSession.Factory sessionFactory;
 
-	private final ConcurrentHashMap<String, McpStreamableServerSession> sessions = new ConcurrentHashMap<>();
+	private final McpSessionRegistry<McpStreamableServerSession> sessions;
+
+	/**
+	 * Sessions of other nodes being restored, so that concurrent requests restore a
+	 * session only once.
+	 */
+	private final ConcurrentHashMap<String, Mono<McpStreamableServerSession>> restoringSessions = new ConcurrentHashMap<>();
 
 	private McpTransportContextExtractor<ServerRequest> contextExtractor;
 
@@ -65,15 +79,19 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 	private WebFluxStreamableServerTransportProvider(ObjectMapper objectMapper, String mcpEndpoint,
 			McpTransportContextExtractor<ServerRequest> contextExtractor, boolean disallowDelete,
-			Duration keepAliveInterval) {
+			Duration keepAliveInterval, McpSessionRegistry<McpStreamableServerSession> sessions) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		Assert.notNull(mcpEndpoint, "Message endpoint must not be null");
 		Assert.notNull(contextExtractor, "Context extractor must not be null");
+		Assert.notNull(sessions, "Session registry must not be null");
 
 		this.objectMapper = objectMapper;
+		this.notificationBroadcaster = new McpNotificationBroadcaster(objectMapper, Schedulers.immediate());
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
 		this.mcpEndpoint = mcpEndpoint;
 		this.contextExtractor = contextExtractor;
 		this.disallowDelete = disallowDelete;
+		this.sessions = sessions;
 		this.routerFunction = RouterFunctions.route()
 			.GET(this.mcpEndpoint, this::handleGet)
 			.POST(this.mcpEndpoint, this::handlePost)
@@ -105,6 +123,39 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 		this.sessionFactory = sessionFactory;
 	}
 
+	/**
+	 * Returns the counters of the sessions of this transport: the sessions created, and
+	 * those expired, evicted or rejected because of the configured session limits.
+	 * @return the session metrics
+	 */
+	public McpSessionRegistry.Metrics sessionMetrics() {
+		return this.sessions.metrics();
+	}
+
+	/**
+	 * Finds an active session, or restores it from the session store of the server if it
+	 * was initialized by another node.
+	 * @param sessionId the ID of the session
+	 * @return the session, or an empty Mono if the session is unknown
+	 */
+	private Mono<McpStreamableServerSession> findSession(String sessionId) {
+		return Mono.defer(() -> {
+			McpStreamableServerSession session = this.sessions.get(sessionId);
+			if (session != null) {
+				return Mono.just(session);
+			}
+			return this.restoringSessions.computeIfAbsent(sessionId,
+					id -> this.sessionFactory.restoreSession(id).filter(restored -> {
+						if (this.sessions.register(id, restored)) {
+							logger.debug("Restored session {}", id);
+							return true;
+						}
+						restored.close();
+						return false;
+					}).doFinally(signal -> this.restoringSessions.remove(id)).cache());
+		});
+	}
+
 	@Override
 	public Mono<Void> notifyClients(String method, Object params) {
 		if (sessions.isEmpty()) {
@@ -114,11 +165,9 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
 
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
+		return notificationBroadcaster.broadcast(sessions.values(), method, params)
+			.doOnNext(result -> logger.debug("Broadcast of {} delivered to {} sessions, skipped {}, failed {}", method,
+					result.delivered(), result.skipped(), result.failed()))
 			.then();
 	}
 
@@ -132,6 +181,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 				.then();
 		}).then().doOnSuccess(v -> {
 			sessions.clear();
+			sessions.shutdown();
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
 			}
@@ -180,28 +230,31 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 			String sessionId = request.headers().asHttpHeaders().getFirst(HttpHeaders.MCP_SESSION_ID);
 
-			McpStreamableServerSession session = this.sessions.get(sessionId);
-
-			if (session == null) {
-				return ServerResponse.notFound().build();
-			}
+			return findSession(sessionId).flatMap(session -> {
+				if (request.headers().asHttpHeaders().containsKey(HttpHeaders.LAST_EVENT_ID)) {
+					String lastId = request.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_EVENT_ID);
+					return ServerResponse.ok()
+						.contentType(MediaType.TEXT_EVENT_STREAM)
+						.body(Flux.<ServerSentEvent<?>>create(sink -> {
+							WebFluxStreamableMcpSessionTransport sessionTransport = new WebFluxStreamableMcpSessionTransport(
+									sink);
+							Disposable replay = session.replayEvents(lastId)
+								.concatMap(event -> sessionTransport.sendMessage(event.message(), event.id()))
+								.subscribe(null, sink::error, sink::complete);
+							sink.onDispose(replay);
+						}), ServerSentEvent.class);
+				}
 
-			if (request.headers().asHttpHeaders().containsKey(HttpHeaders.LAST_EVENT_ID)) {
-				String lastId = request.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_EVENT_ID);
 				return ServerResponse.ok()
 					.contentType(MediaType.TEXT_EVENT_STREAM)
-					.body(session.replay(lastId), ServerSentEvent.class);
-			}
-
-			return ServerResponse.ok()
-				.contentType(MediaType.TEXT_EVENT_STREAM)
-				.body(Flux.<ServerSentEvent<?>>create(sink -> {
-					WebFluxStreamableMcpSessionTransport sessionTransport = new WebFluxStreamableMcpSessionTransport(
-							sink);
-					McpStreamableServerSession.McpStreamableServerSessionStream listeningStream = session
-						.listeningStream(sessionTransport);
-					sink.onDispose(listeningStream::close);
-				}), ServerSentEvent.class);
+					.body(Flux.<ServerSentEvent<?>>create(sink -> {
+						WebFluxStreamableMcpSessionTransport sessionTransport = new WebFluxStreamableMcpSessionTransport(
+								sink);
+						McpStreamableServerSession.McpStreamableServerSessionStream listeningStream = session
+							.listeningStream(sessionTransport);
+						sink.onDispose(listeningStream::close);
+					}), ServerSentEvent.class);
+			}).switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
 
 		}).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
 	}
@@ -229,12 +282,15 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 				McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, body);
 				if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest
 						&& jsonrpcRequest.method().equals(McpSchema.METHOD_INITIALIZE)) {
-					McpSchema.InitializeRequest initializeRequest = objectMapper.convertValue(jsonrpcRequest.params(),
-							new TypeReference<McpSchema.InitializeRequest>() {
-							});
+					McpSchema.InitializeRequest initializeRequest = jsonRpcBinder.bind(jsonrpcRequest.params(),
+							McpSchema.InitializeRequest.class);
 					McpStreamableServerSession.McpStreamableServerSessionInit init = this.sessionFactory
 						.startSession(initializeRequest);
-					sessions.put(init.session().getId(), init.session());
+					if (!sessions.register(init.session().getId(), init.session())) {
+						init.session().close();
+						return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+							.bodyValue(new McpError("Too many sessions"));
+					}
 					return init.initResult().map(initializeResult -> {
 						McpSchema.JSONRPCResponse jsonrpcResponse = new McpSchema.JSONRPCResponse(
 								McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), initializeResult, null);
@@ -257,35 +313,33 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 				}
 
 				String sessionId = request.headers().asHttpHeaders().getFirst(HttpHeaders.MCP_SESSION_ID);
-				McpStreamableServerSession session = sessions.get(sessionId);
-
-				if (session == null) {
-					return ServerResponse.status(HttpStatus.NOT_FOUND)
-						.bodyValue(new McpError("Session not found: " + sessionId));
-				}
-
-				if (message instanceof McpSchema.JSONRPCResponse jsonrpcResponse) {
-					return session.accept(jsonrpcResponse).then(ServerResponse.accepted().build());
-				}
-				else if (message instanceof McpSchema.JSONRPCNotification jsonrpcNotification) {
-					return session.accept(jsonrpcNotification).then(ServerResponse.accepted().build());
-				}
-				else if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
-					return ServerResponse.ok()
-						.contentType(MediaType.TEXT_EVENT_STREAM)
-						.body(Flux.<ServerSentEvent<?>>create(sink -> {
-							WebFluxStreamableMcpSessionTransport st = new WebFluxStreamableMcpSessionTransport(sink);
-							Mono<Void> stream = session.responseStream(jsonrpcRequest, st);
-							Disposable streamSubscription = stream.onErrorComplete(err -> {
-								sink.error(err);
-								return true;
-							}).contextWrite(sink.contextView()).subscribe();
-							sink.onCancel(streamSubscription);
-						}), ServerSentEvent.class);
-				}
-				else {
-					return ServerResponse.badRequest().bodyValue(new McpError("Unknown message type"));
-				}
+				return findSession(sessionId).flatMap(session -> {
+					if (message instanceof McpSchema.JSONRPCResponse jsonrpcResponse) {
+						return session.accept(jsonrpcResponse).then(ServerResponse.accepted().build());
+					}
+					else if (message instanceof McpSchema.JSONRPCNotification jsonrpcNotification) {
+						return session.accept(jsonrpcNotification).then(ServerResponse.accepted().build());
+					}
+					else if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
+						return ServerResponse.ok()
+							.contentType(MediaType.TEXT_EVENT_STREAM)
+							.body(Flux.<ServerSentEvent<?>>create(sink -> {
+								WebFluxStreamableMcpSessionTransport st = new WebFluxStreamableMcpSessionTransport(
+										sink);
+								Mono<Void> stream = session.responseStream(jsonrpcRequest, st);
+								Disposable streamSubscription = stream.onErrorComplete(err -> {
+									sink.error(err);
+									return true;
+								}).contextWrite(sink.contextView()).subscribe();
+								sink.onCancel(streamSubscription);
+							}), ServerSentEvent.class);
+					}
+					else {
+						return ServerResponse.badRequest().bodyValue(new McpError("Unknown message type"));
+					}
+				})
+					.switchIfEmpty(Mono.defer(() -> ServerResponse.status(HttpStatus.NOT_FOUND)
+						.bodyValue(new McpError("Session not found: " + sessionId))));
 			}
 			catch (IllegalArgumentException | IOException e) {
 				logger.error("Failed to deserialize message: {}", e.getMessage());
@@ -315,13 +369,11 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 			String sessionId = request.headers().asHttpHeaders().getFirst(HttpHeaders.MCP_SESSION_ID);
 
-			McpStreamableServerSession session = this.sessions.get(sessionId);
-
-			if (session == null) {
-				return ServerResponse.notFound().build();
-			}
-
-			return session.delete().then(ServerResponse.ok().build());
+			return findSession(sessionId)
+				.flatMap(session -> session.delete()
+					.then(Mono.fromRunnable(() -> this.sessions.remove(sessionId)))
+					.then(ServerResponse.ok().build()))
+				.switchIfEmpty(Mono.defer(() -> ServerResponse.notFound().build()));
 		}).contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext));
 	}
 
@@ -363,7 +415,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonRpcBinder.bind(data, typeRef);
 		}
 
 		@Override
@@ -400,6 +452,9 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 
 		private Duration keepAliveInterval;
 
+		private final McpSessionRegistry.Builder<McpStreamableServerSession> sessionRegistry = McpSessionRegistry
+			.builder(McpStreamableServerSession::delete);
+
 		private Builder() {
 			// used by a static method
 		}
@@ -467,6 +522,46 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 			return this;
 		}
 
+		/**
+		 * Sets the time after which a session that has received no message from its
+		 * client is closed. Combined with {@link #keepAliveInterval(Duration)}, clients
+		 * that answer the pings keep their sessions open.
+		 * @param sessionIdleTimeout The idle timeout. If null, sessions are only closed
+		 * when deleted by their client.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if sessionIdleTimeout is not positive
+		 */
+		public Builder sessionIdleTimeout(Duration sessionIdleTimeout) {
+			this.sessionRegistry.idleTimeout(sessionIdleTimeout);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of sessions open at the same time. Unbounded by
+		 * default.
+		 * @param maxSessions The maximum number of sessions. Must be positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxSessions is not positive
+		 */
+		public Builder maxSessions(int maxSessions) {
+			this.sessionRegistry.maxSessions(maxSessions);
+			return this;
+		}
+
+		/**
+		 * Sets what happens when a client initializes a session while
+		 * {@link #maxSessions(int)} sessions are open: either the least recently active
+		 * session is closed, which is the default, or the initialization is rejected with
+		 * a 503 status.
+		 * @param evictionPolicy The eviction policy. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if evictionPolicy is null
+		 */
+		public Builder sessionEvictionPolicy(McpSessionRegistry.EvictionPolicy evictionPolicy) {
+			this.sessionRegistry.evictionPolicy(evictionPolicy);
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of {@link WebFluxStreamableServerTransportProvider} with
 		 * the configured settings.
@@ -478,7 +573,7 @@ public class WebFluxStreamableServerTransportProvider implements McpStreamableSe
 			Assert.notNull(mcpEndpoint, "Message endpoint must be set");
 
 			return new WebFluxStreamableServerTransportProvider(objectMapper, mcpEndpoint, contextExtractor,
-					disallowDelete, keepAliveInterval);
+					disallowDelete, keepAliveInterval, sessionRegistry.build());
 		}
 
 	}
@@ -6,17 +6,19 @@ package io.modelcontextprotocol.server.transport;
 
 import java.io.IOException;
 import java.time.Duration;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpIdGenerator;
+import io.modelcontextprotocol.spec.McpNotificationBroadcaster;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
 import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpSessionRegistry;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
 
@@ -24,6 +26,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.function.RouterFunction;
@@ -89,6 +92,10 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
 	private final ObjectMapper objectMapper;
 
+	private final McpNotificationBroadcaster notificationBroadcaster;
+
+	private final JsonRpcBinder jsonRpcBinder;
+
 	private final String messageEndpoint;
 
 	private final String sseEndpoint;
@@ -100,9 +107,14 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 	private McpServerSession.Factory sessionFactory;
 
 	/**
-	 * Map of active client sessions, keyed by session ID.
+	 * Registry of active client sessions, keyed by session ID.
+	 */
+	private final McpSessionRegistry<McpServerSession> sessions;
+
+	/**
+	 * Generator of the session IDs.
 	 */
-	private final ConcurrentHashMap<String, McpServerSession> sessions = new ConcurrentHashMap<>();
+	private final McpIdGenerator idGenerator;
 
 	/**
 	 * Flag indicating if the transport is shutting down.
@@ -183,15 +195,29 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 	@Deprecated
 	public WebMvcSseServerTransportProvider(ObjectMapper objectMapper, String baseUrl, String messageEndpoint,
 			String sseEndpoint, Duration keepAliveInterval) {
+		this(objectMapper, baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval,
+				McpSessionRegistry.builder(McpServerSession::closeGracefully).build(),
+				McpIdGenerator.defaultGenerator());
+	}
+
+	private WebMvcSseServerTransportProvider(ObjectMapper objectMapper, String baseUrl, String messageEndpoint,
+			String sseEndpoint, Duration keepAliveInterval, McpSessionRegistry<McpServerSession> sessions,
+			McpIdGenerator idGenerator) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		Assert.notNull(baseUrl, "Message base URL must not be null");
 		Assert.notNull(messageEndpoint, "Message endpoint must not be null");
 		Assert.notNull(sseEndpoint, "SSE endpoint must not be null");
+		Assert.notNull(sessions, "Session registry must not be null");
+		Assert.notNull(idGenerator, "ID generator must not be null");
 
 		this.objectMapper = objectMapper;
+		this.notificationBroadcaster = new McpNotificationBroadcaster(objectMapper, Schedulers.boundedElastic());
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
 		this.baseUrl = baseUrl;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
+		this.sessions = sessions;
+		this.idGenerator = idGenerator;
 		this.routerFunction = RouterFunctions.route()
 			.GET(this.sseEndpoint, this::handleSseConnection)
 			.POST(this.messageEndpoint, this::handleMessage)
@@ -219,6 +245,15 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		this.sessionFactory = sessionFactory;
 	}
 
+	/**
+	 * Returns the counters of the sessions of this transport: the sessions created, and
+	 * those expired, evicted or rejected because of the configured session limits.
+	 * @return the session metrics
+	 */
+	public McpSessionRegistry.Metrics sessionMetrics() {
+		return this.sessions.metrics();
+	}
+
 	/**
 	 * Broadcasts a notification to all connected clients through their SSE connections.
 	 * The message is serialized to JSON and sent as an SSE event with type "message". If
@@ -237,11 +272,9 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
 		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
 
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
+		return notificationBroadcaster.broadcast(sessions.values(), method, params)
+			.doOnNext(result -> logger.debug("Broadcast of {} delivered to {} sessions, skipped {}, failed {}", method,
+					result.delivered(), result.skipped(), result.failed()))
 			.then();
 	}
 
@@ -262,6 +295,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		}).flatMap(McpServerSession::closeGracefully).then().doOnSuccess(v -> {
 			logger.debug("Graceful shutdown completed");
 			sessions.clear();
+			sessions.shutdown();
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
 			}
@@ -300,7 +334,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 			return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE).body("Server is shutting down");
 		}
 
-		String sessionId = UUID.randomUUID().toString();
+		String sessionId = this.idGenerator.generateSessionId();
 		logger.debug("Creating new SSE connection for session: {}", sessionId);
 
 		// Send initial endpoint event
@@ -308,16 +342,19 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 			return ServerResponse.sse(sseBuilder -> {
 				sseBuilder.onComplete(() -> {
 					logger.debug("SSE connection completed for session: {}", sessionId);
-					sessions.remove(sessionId);
+					closeSession(sessionId);
 				});
 				sseBuilder.onTimeout(() -> {
 					logger.debug("SSE connection timed out for session: {}", sessionId);
-					sessions.remove(sessionId);
+					closeSession(sessionId);
 				});
 
 				WebMvcMcpSessionTransport sessionTransport = new WebMvcMcpSessionTransport(sessionId, sseBuilder);
 				McpServerSession session = sessionFactory.create(sessionTransport);
-				this.sessions.put(sessionId, session);
+				if (!this.sessions.register(sessionId, session)) {
+					session.close();
+					return;
+				}
 
 				try {
 					sseBuilder.id(sessionId)
@@ -337,6 +374,18 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		}
 	}
 
+	/**
+	 * Removes a session whose SSE connection is gone, such as after a failed send, and
+	 * closes it so that its in-flight requests are cancelled.
+	 * @param sessionId the ID of the session
+	 */
+	private void closeSession(String sessionId) {
+		McpServerSession session = sessions.remove(sessionId);
+		if (session != null) {
+			session.close();
+		}
+	}
+
 	/**
 	 * Handles incoming JSON-RPC messages from clients. This method:
 	 * <ul>
@@ -427,6 +476,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 				catch (Exception e) {
 					logger.error("Failed to send message to session {}: {}", sessionId, e.getMessage());
 					sseBuilder.error(e);
+					closeSession(sessionId);
 				}
 				finally {
 					sseBuilderLock.unlock();
@@ -443,7 +493,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 		 */
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonRpcBinder.bind(data, typeRef);
 		}
 
 		/**
@@ -515,6 +565,11 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 
 		private Duration keepAliveInterval;
 
+		private McpIdGenerator idGenerator = McpIdGenerator.defaultGenerator();
+
+		private final McpSessionRegistry.Builder<McpServerSession> sessionRegistry = McpSessionRegistry
+			.builder(McpServerSession::closeGracefully);
+
 		/**
 		 * Sets the JSON object mapper to use for message serialization/deserialization.
 		 * @param objectMapper The object mapper to use
@@ -574,6 +629,63 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 			return this;
 		}
 
+		/**
+		 * Sets the generator of the session IDs.
+		 * <p>
+		 * If not specified, {@link McpIdGenerator#defaultGenerator()} is used.
+		 * @param idGenerator The ID generator to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder idGenerator(McpIdGenerator idGenerator) {
+			Assert.notNull(idGenerator, "ID generator must not be null");
+			this.idGenerator = idGenerator;
+			return this;
+		}
+
+		/**
+		 * Sets the time after which a session that has received no message from its
+		 * client is closed.
+		 * <p>
+		 * Combined with {@link #keepAliveInterval(Duration)}, clients that answer the
+		 * pings keep their sessions open. If not specified, sessions are only closed when
+		 * their SSE connection completes.
+		 * @param sessionIdleTimeout The idle timeout, or null
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if sessionIdleTimeout is not positive
+		 */
+		public Builder sessionIdleTimeout(Duration sessionIdleTimeout) {
+			this.sessionRegistry.idleTimeout(sessionIdleTimeout);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of sessions open at the same time.
+		 * <p>
+		 * If not specified, the number of sessions is unbounded.
+		 * @param maxSessions The maximum number of sessions
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxSessions is not positive
+		 */
+		public Builder maxSessions(int maxSessions) {
+			this.sessionRegistry.maxSessions(maxSessions);
+			return this;
+		}
+
+		/**
+		 * Sets what happens when a client connects while {@link #maxSessions(int)}
+		 * sessions are open.
+		 * <p>
+		 * If not specified, the least recently active session is closed. Otherwise the
+		 * new SSE connection is completed before its endpoint event.
+		 * @param evictionPolicy The eviction policy
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if evictionPolicy is null
+		 */
+		public Builder sessionEvictionPolicy(McpSessionRegistry.EvictionPolicy evictionPolicy) {
+			this.sessionRegistry.evictionPolicy(evictionPolicy);
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of WebMvcSseServerTransportProvider with the configured
 		 * settings.
@@ -585,7 +697,7 @@ public class WebMvcSseServerTransportProvider implements McpServerTransportProvi
 				throw new IllegalStateException("MessageEndpoint must be set");
 			}
 			return new WebMvcSseServerTransportProvider(objectMapper, baseUrl, messageEndpoint, sseEndpoint,
-					keepAliveInterval);
+					keepAliveInterval, sessionRegistry.build(), idGenerator);
 		}
 
 	}
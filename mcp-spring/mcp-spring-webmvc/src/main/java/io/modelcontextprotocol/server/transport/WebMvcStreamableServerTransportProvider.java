@@ -27,8 +27,11 @@ import io.modelcontextprotocol.server.DefaultMcpTransportContext;
 import io.modelcontextprotocol.server.McpTransportContext;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
 import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpNotificationBroadcaster;
 import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSessionRegistry;
 import io.modelcontextprotocol.spec.McpStreamableServerSession;
 import io.modelcontextprotocol.spec.McpStreamableServerTransport;
 import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
@@ -36,6 +39,7 @@ import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Server-side implementation of the Model Context Protocol (MCP) streamable transport
@@ -84,14 +88,24 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 
 	private final ObjectMapper objectMapper;
 
+	private final McpNotificationBroadcaster notificationBroadcaster;
+
+	private final JsonRpcBinder jsonRpcBinder;
+
 	private final RouterFunction<ServerResponse> routerFunction;
 
 	private McpStreamableServerSession.Factory sessionFactory;
 
 	/**
-	 * Map of active client sessions, keyed by mcp-session-id.
+	 * Registry of active client sessions, keyed by mcp-session-id.
 	 */
-	private final ConcurrentHashMap<String, McpStreamableServerSession> sessions = new ConcurrentHashMap<>();
+	private final McpSessionRegistry<McpStreamableServerSession> sessions;
+
+	/**
+	 * Sessions of other nodes being restored, so that concurrent requests restore a
+	 * session only once.
+	 */
+	private final ConcurrentHashMap<String, Mono<McpStreamableServerSession>> restoringSessions = new ConcurrentHashMap<>();
 
 	private McpTransportContextExtractor<ServerRequest> contextExtractor;
 
@@ -114,19 +128,24 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 	 * @param mcpEndpoint The endpoint URI where clients should send their JSON-RPC
 	 * messages via HTTP. This endpoint will handle GET, POST, and DELETE requests.
 	 * @param disallowDelete Whether to disallow DELETE requests on the endpoint.
+	 * @param sessions The registry of the active sessions.
 	 * @throws IllegalArgumentException if any parameter is null
 	 */
 	private WebMvcStreamableServerTransportProvider(ObjectMapper objectMapper, String mcpEndpoint,
 			boolean disallowDelete, McpTransportContextExtractor<ServerRequest> contextExtractor,
-			Duration keepAliveInterval) {
+			Duration keepAliveInterval, McpSessionRegistry<McpStreamableServerSession> sessions) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		Assert.notNull(mcpEndpoint, "MCP endpoint must not be null");
 		Assert.notNull(contextExtractor, "McpTransportContextExtractor must not be null");
+		Assert.notNull(sessions, "Session registry must not be null");
 
 		this.objectMapper = objectMapper;
+		this.notificationBroadcaster = new McpNotificationBroadcaster(objectMapper, Schedulers.boundedElastic());
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
 		this.mcpEndpoint = mcpEndpoint;
 		this.disallowDelete = disallowDelete;
 		this.contextExtractor = contextExtractor;
+		this.sessions = sessions;
 		this.routerFunction = RouterFunctions.route()
 			.GET(this.mcpEndpoint, this::handleGet)
 			.POST(this.mcpEndpoint, this::handlePost)
@@ -157,6 +176,39 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 		this.sessionFactory = sessionFactory;
 	}
 
+	/**
+	 * Returns the counters of the sessions of this transport: the sessions created, and
+	 * those expired, evicted or rejected because of the configured session limits.
+	 * @return the session metrics
+	 */
+	public McpSessionRegistry.Metrics sessionMetrics() {
+		return this.sessions.metrics();
+	}
+
+	/**
+	 * Finds an active session, or restores it from the session store of the server if it
+	 * was initialized by another node.
+	 * @param sessionId the ID of the session
+	 * @return the session, or an empty Mono if the session is unknown
+	 */
+	private Mono<McpStreamableServerSession> findSession(String sessionId) {
+		return Mono.defer(() -> {
+			McpStreamableServerSession session = this.sessions.get(sessionId);
+			if (session != null) {
+				return Mono.just(session);
+			}
+			return this.restoringSessions.computeIfAbsent(sessionId,
+					id -> this.sessionFactory.restoreSession(id).filter(restored -> {
+						if (this.sessions.register(id, restored)) {
+							logger.debug("Restored session {}", id);
+							return true;
+						}
+						restored.close();
+						return false;
+					}).doFinally(signal -> this.restoringSessions.remove(id)).cache());
+		});
+	}
+
 	/**
 	 * Broadcasts a notification to all connected clients through their SSE connections.
 	 * If any errors occur during sending to a particular client, they are logged but
@@ -174,16 +226,10 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 
 		logger.debug("Attempting to broadcast message to {} active sessions", this.sessions.size());
 
-		return Mono.fromRunnable(() -> {
-			this.sessions.values().parallelStream().forEach(session -> {
-				try {
-					session.sendNotification(method, params).block();
-				}
-				catch (Exception e) {
-					logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage());
-				}
-			});
-		});
+		return this.notificationBroadcaster.broadcast(this.sessions.values(), method, params)
+			.doOnNext(result -> logger.debug("Broadcast of {} delivered to {} sessions, skipped {}, failed {}", method,
+					result.delivered(), result.skipped(), result.failed()))
+			.then();
 	}
 
 	/**
@@ -208,6 +254,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 			this.sessions.clear();
 			logger.debug("Graceful shutdown completed");
 		}).then().doOnSuccess(v -> {
+			this.sessions.shutdown();
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
 			}
@@ -250,7 +297,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 		}
 
 		String sessionId = request.headers().asHttpHeaders().getFirst(HttpHeaders.MCP_SESSION_ID);
-		McpStreamableServerSession session = this.sessions.get(sessionId);
+		McpStreamableServerSession session = findSession(sessionId).block();
 
 		if (session == null) {
 			return ServerResponse.notFound().build();
@@ -271,26 +318,13 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 				if (request.headers().asHttpHeaders().containsKey(HttpHeaders.LAST_EVENT_ID)) {
 					String lastId = request.headers().asHttpHeaders().getFirst(HttpHeaders.LAST_EVENT_ID);
 
-					try {
-						session.replay(lastId)
-							.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-							.toIterable()
-							.forEach(message -> {
-								try {
-									sessionTransport.sendMessage(message)
-										.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-										.block();
-								}
-								catch (Exception e) {
-									logger.error("Failed to replay message: {}", e.getMessage());
-									sseBuilder.error(e);
-								}
-							});
-					}
-					catch (Exception e) {
-						logger.error("Failed to replay messages: {}", e.getMessage());
-						sseBuilder.error(e);
-					}
+					session.replayEvents(lastId)
+						.concatMap(event -> sessionTransport.sendMessage(event.message(), event.id()))
+						.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+						.subscribe(null, e -> {
+							logger.error("Failed to replay messages: {}", e.getMessage());
+							sseBuilder.error(e);
+						}, sessionTransport::close);
 				}
 				else {
 					// Establish new listening stream
@@ -336,12 +370,15 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 			// Handle initialization request
 			if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest
 					&& jsonrpcRequest.method().equals(McpSchema.METHOD_INITIALIZE)) {
-				McpSchema.InitializeRequest initializeRequest = objectMapper.convertValue(jsonrpcRequest.params(),
-						new TypeReference<McpSchema.InitializeRequest>() {
-						});
+				McpSchema.InitializeRequest initializeRequest = jsonRpcBinder.bind(jsonrpcRequest.params(),
+						McpSchema.InitializeRequest.class);
 				McpStreamableServerSession.McpStreamableServerSessionInit init = this.sessionFactory
 					.startSession(initializeRequest);
-				this.sessions.put(init.session().getId(), init.session());
+				if (!this.sessions.register(init.session().getId(), init.session())) {
+					init.session().close();
+					return ServerResponse.status(HttpStatus.SERVICE_UNAVAILABLE)
+						.body(new McpError("Too many sessions"));
+				}
 
 				try {
 					McpSchema.InitializeResult initResult = init.initResult().block();
@@ -364,7 +401,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 			}
 
 			String sessionId = request.headers().asHttpHeaders().getFirst(HttpHeaders.MCP_SESSION_ID);
-			McpStreamableServerSession session = this.sessions.get(sessionId);
+			McpStreamableServerSession session = findSession(sessionId).block();
 
 			if (session == null) {
 				return ServerResponse.status(HttpStatus.NOT_FOUND)
@@ -443,7 +480,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 		}
 
 		String sessionId = request.headers().asHttpHeaders().getFirst(HttpHeaders.MCP_SESSION_ID);
-		McpStreamableServerSession session = this.sessions.get(sessionId);
+		McpStreamableServerSession session = findSession(sessionId).block();
 
 		if (session == null) {
 			return ServerResponse.notFound().build();
@@ -553,7 +590,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 		 */
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonRpcBinder.bind(data, typeRef);
 		}
 
 		/**
@@ -613,6 +650,9 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 
 		private Duration keepAliveInterval;
 
+		private final McpSessionRegistry.Builder<McpStreamableServerSession> sessionRegistry = McpSessionRegistry
+			.builder(McpStreamableServerSession::delete);
+
 		/**
 		 * Sets the ObjectMapper to use for JSON serialization/deserialization of MCP
 		 * messages.
@@ -676,6 +716,46 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 			return this;
 		}
 
+		/**
+		 * Sets the time after which a session that has received no message from its
+		 * client is closed. Combined with {@link #keepAliveInterval(Duration)}, clients
+		 * that answer the pings keep their sessions open.
+		 * @param sessionIdleTimeout The idle timeout, or null to only close sessions when
+		 * deleted by their client
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if sessionIdleTimeout is not positive
+		 */
+		public Builder sessionIdleTimeout(Duration sessionIdleTimeout) {
+			this.sessionRegistry.idleTimeout(sessionIdleTimeout);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of sessions open at the same time. Unbounded by
+		 * default.
+		 * @param maxSessions The maximum number of sessions. Must be positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxSessions is not positive
+		 */
+		public Builder maxSessions(int maxSessions) {
+			this.sessionRegistry.maxSessions(maxSessions);
+			return this;
+		}
+
+		/**
+		 * Sets what happens when a client initializes a session while
+		 * {@link #maxSessions(int)} sessions are open: either the least recently active
+		 * session is closed, which is the default, or the initialization is rejected with
+		 * a 503 status.
+		 * @param evictionPolicy The eviction policy. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if evictionPolicy is null
+		 */
+		public Builder sessionEvictionPolicy(McpSessionRegistry.EvictionPolicy evictionPolicy) {
+			this.sessionRegistry.evictionPolicy(evictionPolicy);
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of {@link WebMvcStreamableServerTransportProvider} with
 		 * the configured settings.
@@ -687,7 +767,7 @@ public class WebMvcStreamableServerTransportProvider implements McpStreamableSer
 			Assert.notNull(this.mcpEndpoint, "MCP endpoint must be set");
 
 			return new WebMvcStreamableServerTransportProvider(this.objectMapper, this.mcpEndpoint, this.disallowDelete,
-					this.contextExtractor, this.keepAliveInterval);
+					this.contextExtractor, this.keepAliveInterval, this.sessionRegistry.build());
 		}
 
 	}
@@ -21,6 +21,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.modelcontextprotocol.client.transport.ResponseSubscribers.ResponseEvent;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -94,6 +95,8 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 	/** JSON object mapper for message serialization/deserialization */
 	protected ObjectMapper objectMapper;
 
+	private final JsonRpcBinder jsonRpcBinder;
+
 	/** Flag indicating if the transport is in closing state */
 	private volatile boolean isClosing = false;
 
@@ -210,6 +213,7 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 		this.baseUri = URI.create(baseUri);
 		this.sseEndpoint = sseEndpoint;
 		this.objectMapper = objectMapper;
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
 		this.httpClient = httpClient;
 		this.requestBuilder = requestBuilder;
 		this.httpRequestCustomizer = httpRequestCustomizer;
@@ -565,7 +569,7 @@ public class HttpClientSseClientTransport implements McpClientTransport {
 	 */
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return this.jsonRpcBinder.bind(data, typeRef);
 	}
 
 }
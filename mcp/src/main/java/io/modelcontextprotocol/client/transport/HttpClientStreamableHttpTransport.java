@@ -29,6 +29,7 @@ import io.modelcontextprotocol.client.transport.ResponseSubscribers.ResponseEven
 import io.modelcontextprotocol.spec.DefaultMcpTransportSession;
 import io.modelcontextprotocol.spec.DefaultMcpTransportStream;
 import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpClientTransport;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -104,6 +105,8 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 
 	private final ObjectMapper objectMapper;
 
+	private final JsonRpcBinder jsonRpcBinder;
+
 	private final URI baseUri;
 
 	private final String endpoint;
@@ -124,6 +127,7 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 			HttpRequest.Builder requestBuilder, String baseUri, String endpoint, boolean resumableStreams,
 			boolean openConnectionOnStartup, AsyncHttpRequestCustomizer httpRequestCustomizer) {
 		this.objectMapper = objectMapper;
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
 		this.httpClient = httpClient;
 		this.requestBuilder = requestBuilder;
 		this.baseUri = URI.create(baseUri);
@@ -542,7 +546,7 @@ public class HttpClientStreamableHttpTransport implements McpClientTransport {
 
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return this.jsonRpcBinder.bind(data, typeRef);
 	}
 
 	/**
@@ -6,7 +6,9 @@ package io.modelcontextprotocol.client.transport;
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
@@ -17,9 +19,12 @@ import java.util.function.Function;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpMessageCodec;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpClientTransport;
-import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpMessageCodec;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
+import io.modelcontextprotocol.spec.NewlineDelimitedFraming;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,6 +55,10 @@ public class StdioClientTransport implements McpClientTransport {
 
 	private ObjectMapper objectMapper;
 
+	private final JsonRpcBinder jsonRpcBinder;
+
+	private final McpMessageCodec messageCodec;
+
 	/** Scheduler for handling inbound messages from the server process */
 	private Scheduler inboundScheduler;
 
@@ -93,6 +102,8 @@ public class StdioClientTransport implements McpClientTransport {
 		this.params = params;
 
 		this.objectMapper = objectMapper;
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
+		this.messageCodec = new JacksonMcpMessageCodec(objectMapper);
 
 		this.errorSink = Sinks.many().unicast().onBackpressureBuffer();
 
@@ -255,11 +266,15 @@ public class StdioClientTransport implements McpClientTransport {
 	 */
 	private void startInboundProcessing() {
 		this.inboundScheduler.schedule(() -> {
-			try (BufferedReader processReader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-				String line;
+			try (InputStream processInput = process.getInputStream()) {
+				NewlineDelimitedFraming.LineReader processReader = new NewlineDelimitedFraming.LineReader(processInput);
+				ByteBuffer line;
 				while (!isClosing && (line = processReader.readLine()) != null) {
+					if (!line.hasRemaining()) {
+						continue;
+					}
 					try {
-						JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(this.objectMapper, line);
+						JSONRPCMessage message = this.messageCodec.decode(line);
 						if (!this.inboundSink.tryEmitNext(message).isSuccess()) {
 							if (!isClosing) {
 								logger.error("Failed to enqueue inbound message: {}", message);
@@ -269,7 +284,8 @@ public class StdioClientTransport implements McpClientTransport {
 					}
 					catch (Exception e) {
 						if (!isClosing) {
-							logger.error("Error processing inbound message for line: {}", line, e);
+							logger.error("Error processing inbound message for line: {}",
+									StandardCharsets.UTF_8.decode(line.duplicate()), e);
 						}
 						break;
 					}
@@ -300,17 +316,12 @@ public class StdioClientTransport implements McpClientTransport {
 			.handle((message, s) -> {
 				if (message != null && !isClosing) {
 					try {
-						String jsonMessage = objectMapper.writeValueAsString(message);
-						// Escape any embedded newlines in the JSON message as per spec:
+						// Messages are delimited by newlines, and MUST NOT contain
+						// embedded newlines as per spec:
 						// https://spec.modelcontextprotocol.io/specification/basic/transports/#stdio
-						// - Messages are delimited by newlines, and MUST NOT contain
-						// embedded newlines.
-						jsonMessage = jsonMessage.replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "\\n");
-
 						var os = this.process.getOutputStream();
 						synchronized (os) {
-							os.write(jsonMessage.getBytes(StandardCharsets.UTF_8));
-							os.write("\n".getBytes(StandardCharsets.UTF_8));
+							NewlineDelimitedFraming.write(this.messageCodec, message, os);
 							os.flush();
 						}
 						s.next(message);
@@ -393,7 +404,7 @@ public class StdioClientTransport implements McpClientTransport {
 
 	@Override
 	public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-		return this.objectMapper.convertValue(data, typeRef);
+		return this.jsonRpcBinder.bind(data, typeRef);
 	}
 
 }
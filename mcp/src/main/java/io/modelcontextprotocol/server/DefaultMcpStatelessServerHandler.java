@@ -32,8 +32,7 @@ class DefaultMcpStatelessServerHandler implements McpStatelessServerHandler {
 		return requestHandler.handle(transportContext, request.params())
 			.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null))
 			.onErrorResume(t -> Mono.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
-					new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR, t.getMessage(),
-							null))));
+					McpError.toJsonRpcError(t))));
 	}
 
 	@Override
@@ -41,6 +40,12 @@ class DefaultMcpStatelessServerHandler implements McpStatelessServerHandler {
 			McpSchema.JSONRPCNotification notification) {
 		McpStatelessNotificationHandler notificationHandler = this.notificationHandlers.get(notification.method());
 		if (notificationHandler == null) {
+			if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+				// Request IDs are only unique per client, which a stateless server cannot
+				// tell apart: a request is cancelled when its HTTP request is aborted
+				logger.debug("Ignoring cancellation notification: {}", notification.params());
+				return Mono.empty();
+			}
 			logger.warn("Missing handler for notification type: {}", notification.method());
 			return Mono.empty();
 		}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.RawJsonValue;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Versioned cache of the serialized pages of the list methods ({@code tools/list},
+ * {@code resources/list}, {@code resources/templates/list} and {@code prompts/list}).
+ *
+ * <p>
+ * The server bumps the version with {@link #invalidate()} after every change to its
+ * registry. A list request without a cursor is served from the snapshot of the items
+ * taken at the current version, which is rebuilt from the registry when it is missing or
+ * stale. Each page of a snapshot is serialized once for all the requests that follow. A
+ * change that races with a rebuild leaves a snapshot tagged with the previous version, so
+ * it is rebuilt again on the next request.
+ *
+ * <p>
+ * When a page size is configured, a page that is followed by more items carries an opaque
+ * cursor naming the snapshot and the offset of the next page. Requests for the next pages
+ * are served from the same snapshot, so a client walking the pages sees a consistent list
+ * even while the registry changes. The last few snapshots of each method are retained for
+ * that purpose; a cursor for a snapshot that is no longer retained is rejected as
+ * invalid, and the client starts over.
+ */
+final class ListResultCache {
+
+	/**
+	 * Page size meaning that every list is returned in a single page.
+	 */
+	static final int UNPAGINATED = Integer.MAX_VALUE;
+
+	private static final int RETAINED_SNAPSHOTS = 4;
+
+	private final ObjectMapper objectMapper;
+
+	private final int pageSize;
+
+	private final AtomicLong version = new AtomicLong();
+
+	private final Map<String, List<Snapshot>> snapshots = new ConcurrentHashMap<>();
+
+	ListResultCache(ObjectMapper objectMapper) {
+		this(objectMapper, UNPAGINATED);
+	}
+
+	ListResultCache(ObjectMapper objectMapper, int pageSize) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.isTrue(pageSize > 0, "Page size must be positive");
+		this.objectMapper = objectMapper;
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Returns the current version of the registry.
+	 * @return the current version
+	 */
+	long version() {
+		return this.version.get();
+	}
+
+	/**
+	 * Marks all cached snapshots as stale. Must be called after the registry has been
+	 * modified.
+	 */
+	void invalidate() {
+		this.version.incrementAndGet();
+	}
+
+	/**
+	 * Returns the serialized page of the given list method that starts at the cursor.
+	 * @param <E> the type of the listed items
+	 * @param method the list method
+	 * @param cursor the cursor of the requested page, or {@code null} for the first page
+	 * @param itemsSupplier lists the items of the current registry
+	 * @param resultFactory creates the result from the items of a page and the cursor of
+	 * the next page, which is {@code null} for the last page
+	 * @return the serialized page
+	 * @throws McpError if the cursor is invalid or has expired
+	 */
+	@SuppressWarnings("unchecked")
+	<E> RawJsonValue page(String method, String cursor, Supplier<List<E>> itemsSupplier,
+			BiFunction<List<E>, String, Object> resultFactory) {
+		Snapshot snapshot;
+		int offset;
+		if (cursor == null) {
+			snapshot = currentSnapshot(method, itemsSupplier);
+			offset = 0;
+		}
+		else {
+			long[] position = decodeCursor(cursor);
+			snapshot = retainedSnapshot(method, position[0]);
+			offset = (int) position[1];
+			if (snapshot == null || offset <= 0 || offset >= snapshot.items().size()) {
+				throw invalidCursor(cursor);
+			}
+		}
+		Snapshot source = snapshot;
+		return snapshot.pages().computeIfAbsent(offset, start -> {
+			List<E> items = (List<E>) source.items();
+			int end = (int) Math.min((long) start + this.pageSize, items.size());
+			String nextCursor = end < items.size() ? encodeCursor(source.version(), end) : null;
+			return RawJsonValue.of(this.objectMapper, resultFactory.apply(items.subList(start, end), nextCursor));
+		});
+	}
+
+	private Snapshot currentSnapshot(String method, Supplier<? extends List<?>> itemsSupplier) {
+		long currentVersion = this.version.get();
+		List<Snapshot> retained = this.snapshots.getOrDefault(method, List.of());
+		if (!retained.isEmpty() && retained.get(0).version() == currentVersion) {
+			return retained.get(0);
+		}
+		Snapshot built = new Snapshot(currentVersion, List.copyOf(itemsSupplier.get()), new ConcurrentHashMap<>());
+		return this.snapshots.compute(method, (key, existing) -> {
+			List<Snapshot> updated = new ArrayList<>(RETAINED_SNAPSHOTS);
+			if (existing != null && !existing.isEmpty() && existing.get(0).version() >= built.version()) {
+				// A concurrent request already built this version or a newer one
+				return existing;
+			}
+			updated.add(built);
+			if (existing != null) {
+				updated.addAll(existing.subList(0, Math.min(existing.size(), RETAINED_SNAPSHOTS - 1)));
+			}
+			return List.copyOf(updated);
+		}).get(0);
+	}
+
+	private Snapshot retainedSnapshot(String method, long version) {
+		for (Snapshot snapshot : this.snapshots.getOrDefault(method, List.of())) {
+			if (snapshot.version() == version) {
+				return snapshot;
+			}
+		}
+		return null;
+	}
+
+	private static String encodeCursor(long version, int offset) {
+		return Base64.getUrlEncoder()
+			.withoutPadding()
+			.encodeToString((version + ":" + offset).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static long[] decodeCursor(String cursor) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			int separator = decoded.indexOf(':');
+			if (separator > 0) {
+				return new long[] { Long.parseLong(decoded.substring(0, separator)),
+						Integer.parseInt(decoded.substring(separator + 1)) };
+			}
+		}
+		catch (IllegalArgumentException ex) {
+			// Not a cursor issued by this server, reported below
+		}
+		throw invalidCursor(cursor);
+	}
+
+	private static McpError invalidCursor(String cursor) {
+		return new McpError(new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INVALID_PARAMS,
+				"Invalid or expired cursor: " + cursor, null));
+	}
+
+	private record Snapshot(long version, List<?> items, Map<Integer, RawJsonValue> pages) {
+	}
+
+}
@@ -0,0 +1,261 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Limits the tool calls a server handles at the same time to a limit adapted to the
+ * observed latency of the calls, rejecting the calls beyond the limit instead of letting
+ * them queue up behind an overloaded server.
+ *
+ * <p>
+ * The limit follows an additive increase, multiplicative decrease (AIMD) rule. A call
+ * that completes within {@code latencyThreshold} while at least half the limit is in use
+ * raises the limit by one, probing for more capacity. A call that takes longer, or that
+ * fails with a {@link TimeoutException}, lowers the limit by {@code backoffRatio}. The
+ * limit stays between {@code minLimit} and {@code maxLimit}, and cancelled calls do not
+ * change it.
+ *
+ * <p>
+ * A call made while the limit is reached is rejected without calling the tool, with a
+ * {@link McpError#overloaded(String, Duration)} error hinting the client to retry after
+ * the moving average of the latency of the calls, and no sooner than
+ * {@code minRetryAfter}, so that the clients rejected before any call completed do not
+ * retry at once. The limit, the calls in flight and the rejected calls are reported by
+ * {@link #metrics()}.
+ */
+public final class McpAdaptiveLimiter {
+
+	/**
+	 * A snapshot of the counters of a limiter.
+	 *
+	 * @param limit the current limit of calls in flight
+	 * @param inFlightCalls the number of calls being handled
+	 * @param rejectedCalls the number of calls rejected because the limit was reached
+	 * @param averageLatency the moving average of the latency of the calls
+	 */
+	public record Metrics(int limit, int inFlightCalls, long rejectedCalls, Duration averageLatency) {
+	}
+
+	// Weight of the latest latency in the moving average
+	private static final double LATENCY_SMOOTHING = 0.1;
+
+	private final int minLimit;
+
+	private final int maxLimit;
+
+	private final long latencyThresholdNanos;
+
+	private final double backoffRatio;
+
+	private final long minRetryAfterNanos;
+
+	private final LongSupplier nanoClock;
+
+	// The fields below are guarded by this
+
+	private double limit;
+
+	private int inFlightCalls;
+
+	private long rejectedCalls;
+
+	private double averageLatencyNanos;
+
+	private McpAdaptiveLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+			double backoffRatio, Duration minRetryAfter, LongSupplier nanoClock) {
+		this.limit = initialLimit;
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.latencyThresholdNanos = latencyThreshold.toNanos();
+		this.backoffRatio = backoffRatio;
+		this.minRetryAfterNanos = minRetryAfter.toNanos();
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * Creates a builder of {@link McpAdaptiveLimiter}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns a snapshot of the counters of this limiter.
+	 * @return the metrics
+	 */
+	public synchronized Metrics metrics() {
+		return new Metrics((int) this.limit, this.inFlightCalls, this.rejectedCalls,
+				Duration.ofNanos((long) this.averageLatencyNanos));
+	}
+
+	/**
+	 * Calls a tool if the limit is not reached.
+	 * @param call the call of the tool
+	 * @return the result of the call, or an {@link McpError} if the call is rejected
+	 */
+	<T> Mono<T> call(Mono<T> call) {
+		return Mono.defer(() -> {
+			int limit;
+			Duration retryAfter;
+			synchronized (this) {
+				limit = (int) this.limit;
+				if (this.inFlightCalls < limit) {
+					this.inFlightCalls++;
+					long startNanos = this.nanoClock.getAsLong();
+					return call.doOnError(error -> sample(startNanos, error instanceof TimeoutException))
+						.doFinally(signal -> complete(startNanos, signal));
+				}
+				this.rejectedCalls++;
+				retryAfter = Duration.ofNanos(Math.max(this.minRetryAfterNanos, (long) this.averageLatencyNanos));
+			}
+			return Mono
+				.error(McpError.overloaded("Server is overloaded: " + limit + " tool calls in flight", retryAfter));
+		});
+	}
+
+	private synchronized void sample(long startNanos, boolean timedOut) {
+		long latencyNanos = this.nanoClock.getAsLong() - startNanos;
+		this.averageLatencyNanos = (this.averageLatencyNanos == 0) ? latencyNanos
+				: this.averageLatencyNanos + LATENCY_SMOOTHING * (latencyNanos - this.averageLatencyNanos);
+		if (timedOut || latencyNanos > this.latencyThresholdNanos) {
+			this.limit = Math.max(this.minLimit, this.limit * this.backoffRatio);
+		}
+		else if (this.inFlightCalls * 2 >= this.limit) {
+			this.limit = Math.min(this.maxLimit, this.limit + 1);
+		}
+	}
+
+	private void complete(long startNanos, SignalType signal) {
+		if (signal == SignalType.ON_COMPLETE) {
+			sample(startNanos, false);
+		}
+		synchronized (this) {
+			this.inFlightCalls--;
+		}
+	}
+
+	/**
+	 * Builder of {@link McpAdaptiveLimiter}.
+	 */
+	public static class Builder {
+
+		private int initialLimit = 20;
+
+		private int minLimit = 1;
+
+		private int maxLimit = 200;
+
+		private Duration latencyThreshold = Duration.ofSeconds(1);
+
+		private double backoffRatio = 0.9;
+
+		private Duration minRetryAfter = Duration.ofMillis(100);
+
+		private LongSupplier nanoClock = System::nanoTime;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the limit of calls in flight before any call completed. Defaults to 20.
+		 * @param initialLimit the initial limit
+		 * @return this builder
+		 */
+		public Builder initialLimit(int initialLimit) {
+			Assert.isTrue(initialLimit > 0, "Initial limit must be positive");
+			this.initialLimit = initialLimit;
+			return this;
+		}
+
+		/**
+		 * Sets the limit below which the limit is not lowered. Defaults to 1.
+		 * @param minLimit the minimum limit
+		 * @return this builder
+		 */
+		public Builder minLimit(int minLimit) {
+			Assert.isTrue(minLimit > 0, "Min limit must be positive");
+			this.minLimit = minLimit;
+			return this;
+		}
+
+		/**
+		 * Sets the limit above which the limit is not raised. Defaults to 200.
+		 * @param maxLimit the maximum limit
+		 * @return this builder
+		 */
+		public Builder maxLimit(int maxLimit) {
+			Assert.isTrue(maxLimit > 0, "Max limit must be positive");
+			this.maxLimit = maxLimit;
+			return this;
+		}
+
+		/**
+		 * Sets the latency beyond which a call lowers the limit. Defaults to one second.
+		 * @param latencyThreshold the latency threshold
+		 * @return this builder
+		 */
+		public Builder latencyThreshold(Duration latencyThreshold) {
+			Assert.notNull(latencyThreshold, "Latency threshold must not be null");
+			Assert.isTrue(!latencyThreshold.isNegative() && !latencyThreshold.isZero(),
+					"Latency threshold must be positive");
+			this.latencyThreshold = latencyThreshold;
+			return this;
+		}
+
+		/**
+		 * Sets the ratio the limit is multiplied by when a call is slower than the
+		 * latency threshold. Defaults to 0.9.
+		 * @param backoffRatio the backoff ratio, between 0 and 1 excluded
+		 * @return this builder
+		 */
+		public Builder backoffRatio(double backoffRatio) {
+			Assert.isTrue(backoffRatio > 0 && backoffRatio < 1, "Backoff ratio must be between 0 and 1");
+			this.backoffRatio = backoffRatio;
+			return this;
+		}
+
+		/**
+		 * Sets the shortest time the rejected clients are hinted to wait before retrying,
+		 * used until the average latency of the calls is longer. Defaults to 100
+		 * milliseconds.
+		 * @param minRetryAfter the minimum retry hint
+		 * @return this builder
+		 */
+		public Builder minRetryAfter(Duration minRetryAfter) {
+			Assert.notNull(minRetryAfter, "Min retry after must not be null");
+			Assert.isTrue(!minRetryAfter.isNegative() && !minRetryAfter.isZero(), "Min retry after must be positive");
+			this.minRetryAfter = minRetryAfter;
+			return this;
+		}
+
+		Builder nanoClock(LongSupplier nanoClock) {
+			this.nanoClock = nanoClock;
+			return this;
+		}
+
+		/**
+		 * Builds the limiter.
+		 * @return the limiter
+		 */
+		public McpAdaptiveLimiter build() {
+			Assert.isTrue(this.minLimit <= this.maxLimit, "Min limit must not exceed max limit");
+			int initialLimit = Math.max(this.minLimit, Math.min(this.maxLimit, this.initialLimit));
+			return new McpAdaptiveLimiter(initialLimit, this.minLimit, this.maxLimit, this.latencyThreshold,
+					this.backoffRatio, this.minRetryAfter, this.nanoClock);
+		}
+
+	}
+
+}
@@ -9,8 +9,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
@@ -21,12 +19,17 @@ import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.JsonSchemaValidator;
 import io.modelcontextprotocol.spec.McpClientSession;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpEventStore;
+import io.modelcontextprotocol.spec.McpIdGenerator;
+import io.modelcontextprotocol.spec.McpNotificationBus;
+import io.modelcontextprotocol.spec.McpRequestScheduler;
+import io.modelcontextprotocol.spec.McpSessionStore;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
@@ -35,11 +38,16 @@ import io.modelcontextprotocol.spec.McpSchema.ResourceTemplate;
 import io.modelcontextprotocol.spec.McpSchema.SetLevelRequest;
 import io.modelcontextprotocol.spec.McpSchema.Tool;
 import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpSession;
+import io.modelcontextprotocol.spec.McpStreamableServerSession;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.RawJsonValue;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.DeafaultMcpUriTemplateManagerFactory;
 import io.modelcontextprotocol.util.McpUriTemplateManagerFactory;
 import io.modelcontextprotocol.util.Utils;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -93,6 +101,14 @@ public class McpAsyncServer {
 
 	private final ObjectMapper objectMapper;
 
+	private final JsonRpcBinder jsonRpcBinder;
+
+	private final ListResultCache listResultCache;
+
+	private final McpToolResultCache toolResultCache;
+
+	private final McpAdaptiveLimiter toolCallLimiter;
+
 	private final JsonSchemaValidator jsonSchemaValidator;
 
 	private final McpSchema.ServerCapabilities serverCapabilities;
@@ -101,12 +117,17 @@ public class McpAsyncServer {
 
 	private final String instructions;
 
-	private final CopyOnWriteArrayList<McpServerFeatures.AsyncToolSpecification> tools = new CopyOnWriteArrayList<>();
+	private final ToolRegistry<McpServerFeatures.AsyncToolSpecification> tools = new ToolRegistry<>(
+			toolSpecification -> toolSpecification.tool().name());
 
 	private final CopyOnWriteArrayList<McpSchema.ResourceTemplate> resourceTemplates = new CopyOnWriteArrayList<>();
 
 	private final ConcurrentHashMap<String, McpServerFeatures.AsyncResourceSpecification> resources = new ConcurrentHashMap<>();
 
+	private final UriTemplateRouter<McpServerFeatures.AsyncResourceSpecification> resourceRouter;
+
+	private final ResourceSubscriptionRegistry resourceSubscriptions;
+
 	private final ConcurrentHashMap<String, McpServerFeatures.AsyncPromptSpecification> prompts = new ConcurrentHashMap<>();
 
 	// FIXME: this field is deprecated and should be remvoed together with the
@@ -119,6 +140,10 @@ public class McpAsyncServer {
 
 	private McpUriTemplateManagerFactory uriTemplateManagerFactory = new DeafaultMcpUriTemplateManagerFactory();
 
+	private final McpNotificationBus notificationBus;
+
+	private final Disposable notificationBusSubscription;
+
 	/**
 	 * Create a new McpAsyncServer with the given transport provider and capabilities.
 	 * @param mcpTransportProvider The transport layer implementation for MCP
@@ -128,9 +153,16 @@ public class McpAsyncServer {
 	 */
 	McpAsyncServer(McpServerTransportProvider mcpTransportProvider, ObjectMapper objectMapper,
 			McpServerFeatures.Async features, Duration requestTimeout,
-			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator) {
+			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator,
+			int pageSize, McpNotificationBus notificationBus, McpRequestScheduler requestScheduler,
+			McpIdGenerator idGenerator, McpToolResultCache toolResultCache, McpAdaptiveLimiter toolCallLimiter,
+			McpRateLimiter rateLimiter) {
 		this.mcpTransportProvider = mcpTransportProvider;
 		this.objectMapper = objectMapper;
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
+		this.listResultCache = new ListResultCache(objectMapper, pageSize);
+		this.toolResultCache = toolResultCache;
+		this.toolCallLimiter = toolCallLimiter;
 		this.serverInfo = features.serverInfo();
 		this.serverCapabilities = features.serverCapabilities();
 		this.instructions = features.instructions();
@@ -140,22 +172,38 @@ public class McpAsyncServer {
 		this.prompts.putAll(features.prompts());
 		this.completions.putAll(features.completions());
 		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+		this.resourceRouter = new UriTemplateRouter<>(uriTemplateManagerFactory);
+		features.resources().forEach(this.resourceRouter::put);
+		this.resourceSubscriptions = new ResourceSubscriptionRegistry(objectMapper, uriTemplateManagerFactory);
 		this.jsonSchemaValidator = jsonSchemaValidator;
+		this.notificationBus = notificationBus;
+		this.notificationBusSubscription = subscribeToNotificationBus(notificationBus);
 
-		Map<String, McpRequestHandler<?>> requestHandlers = prepareRequestHandlers();
+		Map<String, McpRequestHandler<?>> requestHandlers = withRateLimits(prepareRequestHandlers(), rateLimiter);
 		Map<String, McpNotificationHandler> notificationHandlers = prepareNotificationHandlers(features);
 
 		this.protocolVersions = List.of(mcpTransportProvider.protocolVersion());
 
-		mcpTransportProvider.setSessionFactory(transport -> new McpServerSession(UUID.randomUUID().toString(),
-				requestTimeout, transport, this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers));
+		mcpTransportProvider.setSessionFactory(transport -> {
+			McpServerSession session = new McpServerSession(idGenerator.generateSessionId(), requestTimeout, transport,
+					this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers, requestScheduler);
+			trackResourceSubscriptions(session.getId(), session, session.onClose());
+			return session;
+		});
 	}
 
 	McpAsyncServer(McpStreamableServerTransportProvider mcpTransportProvider, ObjectMapper objectMapper,
 			McpServerFeatures.Async features, Duration requestTimeout,
-			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator) {
+			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator,
+			int pageSize, McpEventStore eventStore, McpSessionStore sessionStore, McpNotificationBus notificationBus,
+			McpRequestScheduler requestScheduler, McpIdGenerator idGenerator, McpToolResultCache toolResultCache,
+			McpAdaptiveLimiter toolCallLimiter, McpRateLimiter rateLimiter) {
 		this.mcpTransportProvider = mcpTransportProvider;
 		this.objectMapper = objectMapper;
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
+		this.listResultCache = new ListResultCache(objectMapper, pageSize);
+		this.toolResultCache = toolResultCache;
+		this.toolCallLimiter = toolCallLimiter;
 		this.serverInfo = features.serverInfo();
 		this.serverCapabilities = features.serverCapabilities();
 		this.instructions = features.instructions();
@@ -165,15 +213,97 @@ public class McpAsyncServer {
 		this.prompts.putAll(features.prompts());
 		this.completions.putAll(features.completions());
 		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+		this.resourceRouter = new UriTemplateRouter<>(uriTemplateManagerFactory);
+		features.resources().forEach(this.resourceRouter::put);
+		this.resourceSubscriptions = new ResourceSubscriptionRegistry(objectMapper, uriTemplateManagerFactory);
 		this.jsonSchemaValidator = jsonSchemaValidator;
+		this.notificationBus = notificationBus;
+		this.notificationBusSubscription = subscribeToNotificationBus(notificationBus);
 
-		Map<String, McpRequestHandler<?>> requestHandlers = prepareRequestHandlers();
+		Map<String, McpRequestHandler<?>> requestHandlers = withRateLimits(prepareRequestHandlers(), rateLimiter);
 		Map<String, McpNotificationHandler> notificationHandlers = prepareNotificationHandlers(features);
 
 		this.protocolVersions = List.of(mcpTransportProvider.protocolVersion());
 
-		mcpTransportProvider.setSessionFactory(new DefaultMcpStreamableServerSessionFactory(requestTimeout,
-				this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers));
+		McpStreamableServerSession.Factory sessionFactory = new DefaultMcpStreamableServerSessionFactory(requestTimeout,
+				this::asyncInitializeRequestHandler, requestHandlers, notificationHandlers, eventStore, sessionStore,
+				requestScheduler, idGenerator);
+		mcpTransportProvider.setSessionFactory(new McpStreamableServerSession.Factory() {
+
+			@Override
+			public McpStreamableServerSession.McpStreamableServerSessionInit startSession(
+					McpSchema.InitializeRequest initializeRequest) {
+				McpStreamableServerSession.McpStreamableServerSessionInit init = sessionFactory
+					.startSession(initializeRequest);
+				McpStreamableServerSession session = init.session();
+				trackResourceSubscriptions(session.getId(), session, session.onClose());
+				return init;
+			}
+
+			@Override
+			public Mono<McpStreamableServerSession> restoreSession(String sessionId) {
+				return sessionFactory.restoreSession(sessionId)
+					.doOnNext(session -> trackResourceSubscriptions(session.getId(), session, session.onClose()));
+			}
+
+		});
+	}
+
+	private Disposable subscribeToNotificationBus(McpNotificationBus notificationBus) {
+		if (notificationBus == null) {
+			return Disposables.disposed();
+		}
+		return notificationBus.notifications()
+			.onBackpressureBuffer()
+			.concatMap(notification -> deliverNotification(notification.method(), notification.params())
+				.onErrorResume(e -> {
+					logger.warn("Failed to deliver {} notification of the notification bus", notification.method(), e);
+					return Mono.empty();
+				}))
+			.subscribe();
+	}
+
+	/**
+	 * Sends a notification to all the clients of the server: through the notification
+	 * bus, if any, so that every node delivers it to its own sessions, or directly to the
+	 * sessions of this node otherwise.
+	 */
+	private Mono<Void> notifyClients(String method, Object params) {
+		if (this.notificationBus != null) {
+			return this.notificationBus.publish(method, params);
+		}
+		return deliverNotification(method, params);
+	}
+
+	private Mono<Void> deliverNotification(String method, Object params) {
+		if (McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED.equals(method) && supportsResourceSubscriptions()) {
+			McpSchema.ResourcesUpdatedNotification notification = params instanceof McpSchema.ResourcesUpdatedNotification updated
+					? updated : this.objectMapper.convertValue(params, McpSchema.ResourcesUpdatedNotification.class);
+			return this.resourceSubscriptions.notifyUpdated(notification);
+		}
+		return this.mcpTransportProvider.notifyClients(method, params);
+	}
+
+	private boolean supportsResourceSubscriptions() {
+		return this.serverCapabilities.resources() != null
+				&& Boolean.TRUE.equals(this.serverCapabilities.resources().subscribe());
+	}
+
+	private void trackResourceSubscriptions(String sessionId, McpSession session, Mono<Void> onClose) {
+		if (supportsResourceSubscriptions()) {
+			this.resourceSubscriptions.addSession(sessionId, session);
+			onClose.doFinally(signal -> this.resourceSubscriptions.removeSession(sessionId)).subscribe();
+		}
+	}
+
+	private static Map<String, McpRequestHandler<?>> withRateLimits(Map<String, McpRequestHandler<?>> requestHandlers,
+			McpRateLimiter rateLimiter) {
+		if (rateLimiter == null) {
+			return requestHandlers;
+		}
+		Map<String, McpRequestHandler<?>> limitedHandlers = new HashMap<>();
+		requestHandlers.forEach((method, handler) -> limitedHandlers.put(method, rateLimiter.limit(method, handler)));
+		return limitedHandlers;
 	}
 
 	private Map<String, McpNotificationHandler> prepareNotificationHandlers(McpServerFeatures.Async features) {
@@ -213,6 +343,10 @@ public class McpAsyncServer {
 			requestHandlers.put(McpSchema.METHOD_RESOURCES_LIST, resourcesListRequestHandler());
 			requestHandlers.put(McpSchema.METHOD_RESOURCES_READ, resourcesReadRequestHandler());
 			requestHandlers.put(McpSchema.METHOD_RESOURCES_TEMPLATES_LIST, resourceTemplateListRequestHandler());
+			if (supportsResourceSubscriptions()) {
+				requestHandlers.put(McpSchema.METHOD_RESOURCES_SUBSCRIBE, resourcesSubscribeRequestHandler());
+				requestHandlers.put(McpSchema.METHOD_RESOURCES_UNSUBSCRIBE, resourcesUnsubscribeRequestHandler());
+			}
 		}
 
 		// Add prompts API handlers if provider exists
@@ -286,13 +420,15 @@ public class McpAsyncServer {
 	 * @return A Mono that completes when the server has been closed
 	 */
 	public Mono<Void> closeGracefully() {
-		return this.mcpTransportProvider.closeGracefully();
+		return Mono.fromRunnable(this.notificationBusSubscription::dispose)
+			.then(this.mcpTransportProvider.closeGracefully());
 	}
 
 	/**
 	 * Close the server immediately.
 	 */
 	public void close() {
+		this.notificationBusSubscription.dispose();
 		this.mcpTransportProvider.close();
 	}
 
@@ -334,13 +470,13 @@ public class McpAsyncServer {
 		var wrappedToolSpecification = withStructuredOutputHandling(this.jsonSchemaValidator, toolSpecification);
 
 		return Mono.defer(() -> {
-			// Check for duplicate tool names
-			if (this.tools.stream().anyMatch(th -> th.tool().name().equals(wrappedToolSpecification.tool().name()))) {
+			if (!this.tools.add(wrappedToolSpecification)) {
 				return Mono.error(
 						new McpError("Tool with name '" + wrappedToolSpecification.tool().name() + "' already exists"));
 			}
 
-			this.tools.add(wrappedToolSpecification);
+			this.listResultCache.invalidate();
+			invalidateToolResults(wrappedToolSpecification.tool().name());
 			logger.debug("Added tool handler: {}", wrappedToolSpecification.tool().name());
 
 			if (this.serverCapabilities.tools().listChanged()) {
@@ -467,9 +603,9 @@ public class McpAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			boolean removed = this.tools
-				.removeIf(toolSpecification -> toolSpecification.tool().name().equals(toolName));
-			if (removed) {
+			if (this.tools.remove(toolName) != null) {
+				this.listResultCache.invalidate();
+				invalidateToolResults(toolName);
 				logger.debug("Removed tool handler: {}", toolName);
 				if (this.serverCapabilities.tools().listChanged()) {
 					return notifyToolsListChanged();
@@ -485,36 +621,46 @@ public class McpAsyncServer {
 	 * @return A Mono that completes when all clients have been notified
 	 */
 	public Mono<Void> notifyToolsListChanged() {
-		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null);
+		return notifyClients(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null);
 	}
 
-	private McpRequestHandler<McpSchema.ListToolsResult> toolsListRequestHandler() {
-		return (exchange, params) -> {
-			List<Tool> tools = this.tools.stream().map(McpServerFeatures.AsyncToolSpecification::tool).toList();
-
-			return Mono.just(new McpSchema.ListToolsResult(tools, null));
-		};
+	private McpRequestHandler<RawJsonValue> toolsListRequestHandler() {
+		return (exchange,
+				params) -> Mono.fromSupplier(() -> this.listResultCache.page(McpSchema.METHOD_TOOLS_LIST,
+						cursor(params),
+						() -> this.tools.list().stream().map(McpServerFeatures.AsyncToolSpecification::tool).toList(),
+						McpSchema.ListToolsResult::new));
 	}
 
 	private McpRequestHandler<CallToolResult> toolsCallRequestHandler() {
 		return (exchange, params) -> {
-			McpSchema.CallToolRequest callToolRequest = objectMapper.convertValue(params,
-					new TypeReference<McpSchema.CallToolRequest>() {
-					});
+			McpSchema.CallToolRequest callToolRequest = jsonRpcBinder.bind(params, McpSchema.CallToolRequest.class);
 
-			Optional<McpServerFeatures.AsyncToolSpecification> toolSpecification = this.tools.stream()
-				.filter(tr -> callToolRequest.name().equals(tr.tool().name()))
-				.findAny();
+			McpServerFeatures.AsyncToolSpecification tool = this.tools.get(callToolRequest.name());
 
-			if (toolSpecification.isEmpty()) {
+			if (tool == null) {
 				return Mono.error(new McpError("Tool not found: " + callToolRequest.name()));
 			}
 
-			return toolSpecification.map(tool -> Mono.defer(() -> tool.callHandler().apply(exchange, callToolRequest)))
-				.orElse(Mono.error(new McpError("Tool not found: " + callToolRequest.name())));
+			Mono<CallToolResult> call = Mono.defer(() -> tool.callHandler().apply(exchange, callToolRequest));
+			// Only the calls running the tool take a slot of the limiter, cache hits do
+			// not
+			if (this.toolCallLimiter != null) {
+				call = this.toolCallLimiter.call(call);
+			}
+			if (this.toolResultCache != null) {
+				call = this.toolResultCache.call(tool.tool(), callToolRequest, exchange.transportContext(), call);
+			}
+			return call;
 		};
 	}
 
+	private void invalidateToolResults(String toolName) {
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidate(toolName);
+		}
+	}
+
 	// ---------------------------------------
 	// Resource Management
 	// ---------------------------------------
@@ -538,6 +684,8 @@ public class McpAsyncServer {
 				return Mono.error(new McpError(
 						"Resource with URI '" + resourceSpecification.resource().uri() + "' already exists"));
 			}
+			this.resourceRouter.put(resourceSpecification.resource().uri(), resourceSpecification);
+			this.listResultCache.invalidate();
 			logger.debug("Added resource handler: {}", resourceSpecification.resource().uri());
 			if (this.serverCapabilities.resources().listChanged()) {
 				return notifyResourcesListChanged();
@@ -562,6 +710,8 @@ public class McpAsyncServer {
 		return Mono.defer(() -> {
 			McpServerFeatures.AsyncResourceSpecification removed = this.resources.remove(resourceUri);
 			if (removed != null) {
+				this.resourceRouter.remove(resourceUri);
+				this.listResultCache.invalidate();
 				logger.debug("Removed resource handler: {}", resourceUri);
 				if (this.serverCapabilities.resources().listChanged()) {
 					return notifyResourcesListChanged();
@@ -577,32 +727,51 @@ public class McpAsyncServer {
 	 * @return A Mono that completes when all clients have been notified
 	 */
 	public Mono<Void> notifyResourcesListChanged() {
-		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED, null);
+		return notifyClients(McpSchema.METHOD_NOTIFICATION_RESOURCES_LIST_CHANGED, null);
 	}
 
 	/**
-	 * Notifies clients that the resources have updated.
+	 * Notifies clients that a resource has been updated. When the server supports
+	 * resource subscriptions, only the sessions subscribed to the resource, or to a URI
+	 * template matching it, are notified; otherwise all clients are.
+	 * @param resourcesUpdatedNotification the notification naming the updated resource
 	 * @return A Mono that completes when all clients have been notified
 	 */
 	public Mono<Void> notifyResourcesUpdated(McpSchema.ResourcesUpdatedNotification resourcesUpdatedNotification) {
-		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED,
-				resourcesUpdatedNotification);
+		return notifyClients(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED, resourcesUpdatedNotification);
 	}
 
-	private McpRequestHandler<McpSchema.ListResourcesResult> resourcesListRequestHandler() {
-		return (exchange, params) -> {
-			var resourceList = this.resources.values()
-				.stream()
-				.map(McpServerFeatures.AsyncResourceSpecification::resource)
-				.toList();
-			return Mono.just(new McpSchema.ListResourcesResult(resourceList, null));
-		};
+	private McpRequestHandler<Object> resourcesSubscribeRequestHandler() {
+		return (exchange, params) -> Mono.fromCallable(() -> {
+			McpSchema.SubscribeRequest subscribeRequest = jsonRpcBinder.bind(params, McpSchema.SubscribeRequest.class);
+			this.resourceSubscriptions.subscribe(exchange.sessionId(), subscribeRequest.uri());
+			return Map.of();
+		});
 	}
 
-	private McpRequestHandler<McpSchema.ListResourceTemplatesResult> resourceTemplateListRequestHandler() {
+	private McpRequestHandler<Object> resourcesUnsubscribeRequestHandler() {
+		return (exchange, params) -> Mono.fromCallable(() -> {
+			McpSchema.UnsubscribeRequest unsubscribeRequest = jsonRpcBinder.bind(params,
+					McpSchema.UnsubscribeRequest.class);
+			this.resourceSubscriptions.unsubscribe(exchange.sessionId(), unsubscribeRequest.uri());
+			return Map.of();
+		});
+	}
+
+	private McpRequestHandler<RawJsonValue> resourcesListRequestHandler() {
 		return (exchange, params) -> Mono
-			.just(new McpSchema.ListResourceTemplatesResult(this.getResourceTemplates(), null));
+			.fromSupplier(() -> this.listResultCache.page(McpSchema.METHOD_RESOURCES_LIST, cursor(params),
+					() -> this.resources.values()
+						.stream()
+						.map(McpServerFeatures.AsyncResourceSpecification::resource)
+						.toList(),
+					McpSchema.ListResourcesResult::new));
+	}
 
+	private McpRequestHandler<RawJsonValue> resourceTemplateListRequestHandler() {
+		return (exchange, params) -> Mono
+			.fromSupplier(() -> this.listResultCache.page(McpSchema.METHOD_RESOURCES_TEMPLATES_LIST, cursor(params),
+					this::getResourceTemplates, McpSchema.ListResourceTemplatesResult::new));
 	}
 
 	private List<McpSchema.ResourceTemplate> getResourceTemplates() {
@@ -625,20 +794,20 @@ public class McpAsyncServer {
 
 	private McpRequestHandler<McpSchema.ReadResourceResult> resourcesReadRequestHandler() {
 		return (exchange, params) -> {
-			McpSchema.ReadResourceRequest resourceRequest = objectMapper.convertValue(params,
-					new TypeReference<McpSchema.ReadResourceRequest>() {
-					});
+			McpSchema.ReadResourceRequest resourceRequest = jsonRpcBinder.bind(params,
+					McpSchema.ReadResourceRequest.class);
 			var resourceUri = resourceRequest.uri();
 
-			McpServerFeatures.AsyncResourceSpecification specification = this.resources.values()
-				.stream()
-				.filter(resourceSpecification -> this.uriTemplateManagerFactory
-					.create(resourceSpecification.resource().uri())
-					.matches(resourceUri))
-				.findFirst()
-				.orElseThrow(() -> new McpError("Resource not found: " + resourceUri));
+			UriTemplateRouter.Match<McpServerFeatures.AsyncResourceSpecification> match = this.resourceRouter
+				.route(resourceUri);
+			if (match == null) {
+				throw new McpError("Resource not found: " + resourceUri);
+			}
+			McpServerFeatures.AsyncResourceSpecification specification = match.value();
+			McpAsyncServerExchange readExchange = match.variables().isEmpty() ? exchange
+					: exchange.withTransportContext(match.transportContext(exchange.transportContext()));
 
-			return Mono.defer(() -> specification.readHandler().apply(exchange, resourceRequest));
+			return Mono.defer(() -> specification.readHandler().apply(readExchange, resourceRequest));
 		};
 	}
 
@@ -667,6 +836,7 @@ public class McpAsyncServer {
 						new McpError("Prompt with name '" + promptSpecification.prompt().name() + "' already exists"));
 			}
 
+			this.listResultCache.invalidate();
 			logger.debug("Added prompt handler: {}", promptSpecification.prompt().name());
 
 			// Servers that declared the listChanged capability SHOULD send a
@@ -696,6 +866,7 @@ public class McpAsyncServer {
 			McpServerFeatures.AsyncPromptSpecification removed = this.prompts.remove(promptName);
 
 			if (removed != null) {
+				this.listResultCache.invalidate();
 				logger.debug("Removed prompt handler: {}", promptName);
 				// Servers that declared the listChanged capability SHOULD send a
 				// notification, when the list of available prompts changes
@@ -713,30 +884,26 @@ public class McpAsyncServer {
 	 * @return A Mono that completes when all clients have been notified
 	 */
 	public Mono<Void> notifyPromptsListChanged() {
-		return this.mcpTransportProvider.notifyClients(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, null);
+		return notifyClients(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, null);
 	}
 
-	private McpRequestHandler<McpSchema.ListPromptsResult> promptsListRequestHandler() {
-		return (exchange, params) -> {
-			// TODO: Implement pagination
-			// McpSchema.PaginatedRequest request = objectMapper.convertValue(params,
-			// new TypeReference<McpSchema.PaginatedRequest>() {
-			// });
-
-			var promptList = this.prompts.values()
-				.stream()
-				.map(McpServerFeatures.AsyncPromptSpecification::prompt)
-				.toList();
+	private McpRequestHandler<RawJsonValue> promptsListRequestHandler() {
+		return (exchange, params) -> Mono.fromSupplier(() -> this.listResultCache.page(McpSchema.METHOD_PROMPT_LIST,
+				cursor(params),
+				() -> this.prompts.values().stream().map(McpServerFeatures.AsyncPromptSpecification::prompt).toList(),
+				McpSchema.ListPromptsResult::new));
+	}
 
-			return Mono.just(new McpSchema.ListPromptsResult(promptList, null));
-		};
+	private String cursor(Object params) {
+		if (params == null) {
+			return null;
+		}
+		return this.jsonRpcBinder.bind(params, McpSchema.PaginatedRequest.class).cursor();
 	}
 
 	private McpRequestHandler<McpSchema.GetPromptResult> promptsGetRequestHandler() {
 		return (exchange, params) -> {
-			McpSchema.GetPromptRequest promptRequest = objectMapper.convertValue(params,
-					new TypeReference<McpSchema.GetPromptRequest>() {
-					});
+			McpSchema.GetPromptRequest promptRequest = jsonRpcBinder.bind(params, McpSchema.GetPromptRequest.class);
 
 			// Implement prompt retrieval logic here
 			McpServerFeatures.AsyncPromptSpecification specification = this.prompts.get(promptRequest.name());
@@ -782,9 +949,7 @@ public class McpAsyncServer {
 		return (exchange, params) -> {
 			return Mono.defer(() -> {
 
-				SetLevelRequest newMinLoggingLevel = objectMapper.convertValue(params,
-						new TypeReference<SetLevelRequest>() {
-						});
+				SetLevelRequest newMinLoggingLevel = jsonRpcBinder.bind(params, SetLevelRequest.class);
 
 				exchange.setMinLoggingLevel(newMinLoggingLevel.level());
 
@@ -6,6 +6,7 @@ package io.modelcontextprotocol.server;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Map;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.spec.McpError;
@@ -115,6 +116,26 @@ public class McpAsyncServerExchange {
 		return this.transportContext;
 	}
 
+	/**
+	 * Returns the values of the variables of the URI template matched by the
+	 * resources/read request being handled, by variable name.
+	 * @return the values of the URI template variables, empty if there are none
+	 * @see McpTransportContext#uriVariables()
+	 */
+	public Map<String, String> uriVariables() {
+		return this.transportContext != null ? this.transportContext.uriVariables() : Map.of();
+	}
+
+	/**
+	 * Returns an exchange with the same client, holding another transport context.
+	 * @param transportContext the transport context
+	 * @return the new exchange
+	 */
+	McpAsyncServerExchange withTransportContext(McpTransportContext transportContext) {
+		return new McpAsyncServerExchange(this.sessionId, this.session, this.clientCapabilities, this.clientInfo,
+				transportContext);
+	}
+
 	/**
 	 * Provides the Session ID.
 	 * @return session ID string
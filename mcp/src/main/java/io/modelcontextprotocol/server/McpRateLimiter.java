@@ -0,0 +1,408 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Limits the rate of the requests of each client of a server with token buckets, so that
+ * a misbehaving client cannot saturate the server at the expense of the others.
+ *
+ * <p>
+ * The requests are attributed to a client by a key resolved from their exchange: the ID
+ * of their session by default, or the name of the client or a value of the transport
+ * context, such as the subject of the authenticated caller. Each key has a bucket per
+ * method holding up to {@code permits} tokens, refilled at {@code permits} tokens per
+ * {@code period}. A request takes a token of its bucket, and a request finding its bucket
+ * empty is rejected without being handled, with a
+ * {@link McpError#rateLimited(String, Duration)} error hinting the client to retry once a
+ * token is available. Methods without a limit of their own use the default limit, if any,
+ * and are not limited otherwise.
+ *
+ * <p>
+ * A bucket is a single timestamp updated with compare-and-set, so that taking a token
+ * neither locks nor blocks. The buckets left full by clients that stopped sending
+ * requests, such as the clients of closed sessions, are evicted once per longest period
+ * by a task of {@link Schedulers#parallel()}, which runs while buckets are held. The
+ * rejected requests and the tracked buckets are reported by {@link #metrics()}.
+ *
+ * <p>
+ * Stateless servers have neither sessions nor client information, so they only accept a
+ * rate limiter attributing requests to their transport context, with
+ * {@link #byTransportContext(String)} or
+ * {@link Builder#transportContextKeyResolver(Function)}.
+ */
+public final class McpRateLimiter {
+
+	/**
+	 * A snapshot of the counters of a rate limiter.
+	 *
+	 * @param trackedBuckets the number of buckets held, including the full buckets not
+	 * yet evicted
+	 * @param rejectedRequests the number of requests rejected because their bucket was
+	 * empty
+	 */
+	public record Metrics(int trackedBuckets, long rejectedRequests) {
+	}
+
+	// A token bucket tracked as the time its next token is due (GCRA): a request is
+	// allowed while that time is at most burstTolerance ahead of now, and pushes it by
+	// one token interval
+	record Rate(long tokenIntervalNanos, long burstToleranceNanos) {
+
+		static Rate of(int permits, Duration period) {
+			long tokenIntervalNanos = Math.max(1, period.toNanos() / permits);
+			return new Rate(tokenIntervalNanos, tokenIntervalNanos * (permits - 1));
+		}
+
+	}
+
+	private record BucketKey(String key, String method) {
+	}
+
+	private final Function<McpAsyncServerExchange, String> keyResolver;
+
+	// Null unless requests are attributed to their transport context
+	private final Function<McpTransportContext, String> transportContextKeyResolver;
+
+	private final Map<String, Rate> rates;
+
+	private final Rate defaultRate;
+
+	private final LongSupplier nanoClock;
+
+	private final long evictionIntervalNanos;
+
+	private final Supplier<Scheduler> evictionScheduler;
+
+	private final ConcurrentHashMap<BucketKey, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+	// Whether the eviction of the full buckets is scheduled
+	private final AtomicBoolean evictionScheduled = new AtomicBoolean();
+
+	private final LongAdder rejectedRequests = new LongAdder();
+
+	private McpRateLimiter(Function<McpAsyncServerExchange, String> keyResolver,
+			Function<McpTransportContext, String> transportContextKeyResolver, Map<String, Rate> rates,
+			Rate defaultRate, LongSupplier nanoClock, long evictionIntervalNanos,
+			Supplier<Scheduler> evictionScheduler) {
+		this.keyResolver = keyResolver;
+		this.transportContextKeyResolver = transportContextKeyResolver;
+		this.rates = rates;
+		this.defaultRate = defaultRate;
+		this.nanoClock = nanoClock;
+		this.evictionIntervalNanos = evictionIntervalNanos;
+		this.evictionScheduler = evictionScheduler;
+	}
+
+	/**
+	 * Creates a builder of {@link McpRateLimiter}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns the key resolver attributing requests to their session, the default.
+	 * @return the key resolver
+	 */
+	public static Function<McpAsyncServerExchange, String> bySessionId() {
+		return McpAsyncServerExchange::sessionId;
+	}
+
+	/**
+	 * Returns the key resolver attributing requests to the name of the client given at
+	 * initialization, so that all the sessions of a client share its limits. Requests of
+	 * clients without a name are attributed to their session.
+	 * @return the key resolver
+	 */
+	public static Function<McpAsyncServerExchange, String> byClientName() {
+		return exchange -> {
+			McpSchema.Implementation clientInfo = exchange.getClientInfo();
+			return clientInfo != null && clientInfo.name() != null ? clientInfo.name() : exchange.sessionId();
+		};
+	}
+
+	/**
+	 * Returns the key resolver attributing requests to a value of their transport
+	 * context, for example the subject of the authenticated caller put there by a
+	 * transport context extractor. Requests without that value are attributed to their
+	 * session, or share a single bucket on a stateless server. Unlike other key
+	 * resolvers, it can be used by stateless servers.
+	 * @param contextKey the key of the value in the transport context
+	 * @return the key resolver
+	 */
+	public static Function<McpAsyncServerExchange, String> byTransportContext(String contextKey) {
+		Assert.hasText(contextKey, "Context key must not be empty");
+		return new TransportContextKeyResolver(contextKey);
+	}
+
+	/**
+	 * Returns a snapshot of the counters of this rate limiter.
+	 * @return the metrics
+	 */
+	public Metrics metrics() {
+		return new Metrics(this.buckets.size(), this.rejectedRequests.sum());
+	}
+
+	/**
+	 * Returns whether requests are attributed to their transport context, which is all
+	 * that stateless servers have.
+	 * @return true if the rate limiter can be used by a stateless server
+	 */
+	boolean isKeyedByTransportContext() {
+		return this.transportContextKeyResolver != null;
+	}
+
+	/**
+	 * Limits the rate of the requests of a method.
+	 * @param method the method handled by the handler
+	 * @param handler the handler of the requests
+	 * @return the handler rejecting the requests beyond the limit of their client, or the
+	 * given handler if the method is not limited
+	 */
+	<T> McpRequestHandler<T> limit(String method, McpRequestHandler<T> handler) {
+		Rate rate = this.rates.getOrDefault(method, this.defaultRate);
+		if (rate == null) {
+			return handler;
+		}
+		return (exchange, params) -> Mono.defer(() -> {
+			McpError rejection = acquire(method, rate, this.keyResolver.apply(exchange));
+			return rejection != null ? Mono.error(rejection) : handler.handle(exchange, params);
+		});
+	}
+
+	/**
+	 * Limits the rate of the requests of a method of a stateless server.
+	 * @param method the method handled by the handler
+	 * @param handler the handler of the requests
+	 * @return the handler rejecting the requests beyond the limit of their client, or the
+	 * given handler if the method is not limited
+	 * @throws IllegalStateException if requests are not attributed to their transport
+	 * context
+	 */
+	<T> McpStatelessRequestHandler<T> limit(String method, McpStatelessRequestHandler<T> handler) {
+		if (this.transportContextKeyResolver == null) {
+			throw new IllegalStateException("Stateless servers need a rate limiter keyed by transport context");
+		}
+		Rate rate = this.rates.getOrDefault(method, this.defaultRate);
+		if (rate == null) {
+			return handler;
+		}
+		return (transportContext, params) -> Mono.defer(() -> {
+			McpError rejection = acquire(method, rate, this.transportContextKeyResolver.apply(transportContext));
+			return rejection != null ? Mono.error(rejection) : handler.handle(transportContext, params);
+		});
+	}
+
+	private McpError acquire(String method, Rate rate, String key) {
+		long retryAfterNanos = acquire(new BucketKey(key != null ? key : "", method), rate);
+		if (retryAfterNanos <= 0) {
+			return null;
+		}
+		this.rejectedRequests.increment();
+		return McpError.rateLimited("Rate limit of " + method + " exceeded", Duration.ofNanos(retryAfterNanos));
+	}
+
+	/**
+	 * Takes a token of a bucket.
+	 * @return 0 if a token was taken, and otherwise the time until a token is available
+	 */
+	private long acquire(BucketKey bucketKey, Rate rate) {
+		long now = this.nanoClock.getAsLong();
+		AtomicLong bucket = this.buckets.get(bucketKey);
+		if (bucket == null) {
+			bucket = this.buckets.computeIfAbsent(bucketKey, k -> new AtomicLong(now));
+			scheduleEviction();
+		}
+		for (;;) {
+			long nextTokenNanos = bucket.get();
+			long start = (nextTokenNanos - now > 0) ? nextTokenNanos : now;
+			long aheadNanos = start - now;
+			if (aheadNanos > rate.burstToleranceNanos()) {
+				return aheadNanos - rate.burstToleranceNanos();
+			}
+			if (bucket.compareAndSet(nextTokenNanos, start + rate.tokenIntervalNanos())) {
+				return 0;
+			}
+		}
+	}
+
+	private void scheduleEviction() {
+		if (!this.evictionScheduled.compareAndSet(false, true)) {
+			return;
+		}
+		try {
+			this.evictionScheduler.get()
+				.schedule(this::evictFullBuckets, this.evictionIntervalNanos, TimeUnit.NANOSECONDS);
+		}
+		catch (RejectedExecutionException e) {
+			// Scheduled again by the next bucket created
+			this.evictionScheduled.set(false);
+		}
+	}
+
+	// A full bucket holds no state, so removing it is the same as keeping it. A token
+	// taken concurrently with the removal is forgotten, which only grants one more
+	// request to a client that was idle.
+	void evictFullBuckets() {
+		long now = this.nanoClock.getAsLong();
+		this.buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+		this.evictionScheduled.set(false);
+		// Stops once no bucket is held, until a request creates one
+		if (!this.buckets.isEmpty()) {
+			scheduleEviction();
+		}
+	}
+
+	private record TransportContextKeyResolver(String contextKey) implements Function<McpAsyncServerExchange, String> {
+
+		@Override
+		public String apply(McpAsyncServerExchange exchange) {
+			String key = resolve(exchange.transportContext());
+			return key != null ? key : exchange.sessionId();
+		}
+
+		String resolve(McpTransportContext transportContext) {
+			Object value = transportContext != null ? transportContext.get(this.contextKey) : null;
+			return value != null ? value.toString() : null;
+		}
+
+	}
+
+	/**
+	 * Builder of {@link McpRateLimiter}.
+	 */
+	public static class Builder {
+
+		private Function<McpAsyncServerExchange, String> keyResolver = bySessionId();
+
+		private Function<McpTransportContext, String> transportContextKeyResolver;
+
+		private final Map<String, Rate> rates = new HashMap<>();
+
+		private Rate defaultRate;
+
+		private long longestPeriodNanos;
+
+		private LongSupplier nanoClock = System::nanoTime;
+
+		private Supplier<Scheduler> evictionScheduler = Schedulers::parallel;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets how requests are attributed to a client. Defaults to
+		 * {@link McpRateLimiter#bySessionId()}.
+		 * @param keyResolver the function resolving the key of the client of a request
+		 * @return this builder
+		 * @see McpRateLimiter#byClientName()
+		 * @see McpRateLimiter#byTransportContext(String)
+		 * @see #transportContextKeyResolver(Function)
+		 */
+		public Builder keyResolver(Function<McpAsyncServerExchange, String> keyResolver) {
+			Assert.notNull(keyResolver, "Key resolver must not be null");
+			this.keyResolver = keyResolver;
+			this.transportContextKeyResolver = (keyResolver instanceof TransportContextKeyResolver resolver)
+					? resolver::resolve : null;
+			return this;
+		}
+
+		/**
+		 * Attributes requests to a client from their transport context only, for example
+		 * to key them by a combination of its values. Unlike
+		 * {@link #keyResolver(Function)}, the resulting rate limiter can be used by
+		 * stateless servers. Requests resolved to a {@code null} key share a single
+		 * bucket.
+		 * @param keyResolver the function resolving the key of the client of a request
+		 * from its transport context
+		 * @return this builder
+		 */
+		public Builder transportContextKeyResolver(Function<McpTransportContext, String> keyResolver) {
+			Assert.notNull(keyResolver, "Key resolver must not be null");
+			this.keyResolver = exchange -> keyResolver.apply(exchange.transportContext());
+			this.transportContextKeyResolver = keyResolver;
+			return this;
+		}
+
+		/**
+		 * Limits the requests of a method, such as {@link McpSchema#METHOD_TOOLS_CALL},
+		 * to {@code permits} per {@code period} for each client, in bursts of at most
+		 * {@code permits} requests.
+		 * @param method the method
+		 * @param permits the number of requests allowed per period
+		 * @param period the period
+		 * @return this builder
+		 */
+		public Builder limit(String method, int permits, Duration period) {
+			Assert.hasText(method, "Method must not be empty");
+			this.rates.put(method, rate(permits, period));
+			return this;
+		}
+
+		/**
+		 * Limits the requests of each method without a limit of its own to
+		 * {@code permits} per {@code period} for each client. By default, those methods
+		 * are not limited.
+		 * @param permits the number of requests allowed per period
+		 * @param period the period
+		 * @return this builder
+		 */
+		public Builder defaultLimit(int permits, Duration period) {
+			this.defaultRate = rate(permits, period);
+			return this;
+		}
+
+		Builder nanoClock(LongSupplier nanoClock) {
+			this.nanoClock = nanoClock;
+			return this;
+		}
+
+		Builder evictionScheduler(Scheduler evictionScheduler) {
+			this.evictionScheduler = () -> evictionScheduler;
+			return this;
+		}
+
+		private Rate rate(int permits, Duration period) {
+			Assert.isTrue(permits > 0, "Permits must be positive");
+			Assert.notNull(period, "Period must not be null");
+			Assert.isTrue(!period.isNegative() && !period.isZero(), "Period must be positive");
+			this.longestPeriodNanos = Math.max(this.longestPeriodNanos, period.toNanos());
+			return Rate.of(permits, period);
+		}
+
+		/**
+		 * Builds the rate limiter.
+		 * @return the rate limiter
+		 */
+		public McpRateLimiter build() {
+			Assert.isTrue(this.defaultRate != null || !this.rates.isEmpty(), "At least one limit must be set");
+			return new McpRateLimiter(this.keyResolver, this.transportContextKeyResolver, Map.copyOf(this.rates),
+					this.defaultRate, this.nanoClock, this.longestPeriodNanos, this.evictionScheduler);
+		}
+
+	}
+
+}
@@ -8,6 +8,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -17,6 +18,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.modelcontextprotocol.spec.DefaultJsonSchemaValidator;
 import io.modelcontextprotocol.spec.JsonSchemaValidator;
+import io.modelcontextprotocol.spec.McpEventStore;
+import io.modelcontextprotocol.spec.McpIdGenerator;
+import io.modelcontextprotocol.spec.McpNotificationBus;
+import io.modelcontextprotocol.spec.McpRequestScheduler;
+import io.modelcontextprotocol.spec.McpSessionStore;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import io.modelcontextprotocol.spec.McpSchema.ResourceTemplate;
@@ -177,9 +183,10 @@ public interface McpServer {
 	 * using a functional paradigm with non-blocking server transports, making them more
 	 * scalable for high-concurrency scenarios but more complex to implement.
 	 * @param transportProvider The transport layer implementation for MCP communication.
-	 * @return A new instance of {@link AsyncSpecification} for configuring the server.
+	 * @return A new instance of {@link StreamableServerAsyncSpecification} for
+	 * configuring the server.
 	 */
-	static AsyncSpecification<?> async(McpStreamableServerTransportProvider transportProvider) {
+	static StreamableServerAsyncSpecification async(McpStreamableServerTransportProvider transportProvider) {
 		return new StreamableServerAsyncSpecification(transportProvider);
 	}
 
@@ -230,7 +237,9 @@ public interface McpServer {
 			var jsonSchemaValidator = this.jsonSchemaValidator != null ? this.jsonSchemaValidator
 					: new DefaultJsonSchemaValidator(mapper);
 			return new McpAsyncServer(this.transportProvider, mapper, features, this.requestTimeout,
-					this.uriTemplateManagerFactory, jsonSchemaValidator);
+					this.uriTemplateManagerFactory, jsonSchemaValidator, this.pageSize, this.notificationBus,
+					this.requestScheduler, this.idGenerator, this.toolResultCache, this.toolCallLimiter,
+					this.rateLimiter);
 		}
 
 	}
@@ -239,10 +248,47 @@ public interface McpServer {
 
 		private final McpStreamableServerTransportProvider transportProvider;
 
+		private McpEventStore eventStore;
+
+		private McpSessionStore sessionStore;
+
 		public StreamableServerAsyncSpecification(McpStreamableServerTransportProvider transportProvider) {
 			this.transportProvider = transportProvider;
 		}
 
+		/**
+		 * Sets the store of the messages sent on the SSE streams of the sessions. With an
+		 * event store, a client whose connection dropped can resume a stream with the
+		 * {@code Last-Event-ID} header and receive the messages sent in the meantime. By
+		 * default, messages are not stored and cannot be replayed.
+		 * @param eventStore The event store. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if eventStore is null
+		 * @see io.modelcontextprotocol.spec.InMemoryMcpEventStore
+		 */
+		public StreamableServerAsyncSpecification eventStore(McpEventStore eventStore) {
+			Assert.notNull(eventStore, "Event store must not be null");
+			this.eventStore = eventStore;
+			return this;
+		}
+
+		/**
+		 * Sets the store of the state of the sessions, shared by the nodes of the server.
+		 * With a session store, any node can handle the requests of a session, and a
+		 * session survives the loss of the node it was initialized on. By default,
+		 * sessions are only known to the node that initialized them.
+		 * @param sessionStore The session store. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if sessionStore is null
+		 * @see io.modelcontextprotocol.spec.InMemoryMcpSessionStore
+		 * @see io.modelcontextprotocol.spec.FileMcpSessionStore
+		 */
+		public StreamableServerAsyncSpecification sessionStore(McpSessionStore sessionStore) {
+			Assert.notNull(sessionStore, "Session store must not be null");
+			this.sessionStore = sessionStore;
+			return this;
+		}
+
 		/**
 		 * Builds an asynchronous MCP server that provides non-blocking operations.
 		 * @return A new instance of {@link McpAsyncServer} configured with this builder's
@@ -257,7 +303,9 @@ public interface McpServer {
 			var jsonSchemaValidator = this.jsonSchemaValidator != null ? this.jsonSchemaValidator
 					: new DefaultJsonSchemaValidator(mapper);
 			return new McpAsyncServer(this.transportProvider, mapper, features, this.requestTimeout,
-					this.uriTemplateManagerFactory, jsonSchemaValidator);
+					this.uriTemplateManagerFactory, jsonSchemaValidator, this.pageSize, this.eventStore,
+					this.sessionStore, this.notificationBus, this.requestScheduler, this.idGenerator,
+					this.toolResultCache, this.toolCallLimiter, this.rateLimiter);
 		}
 
 	}
@@ -269,6 +317,14 @@ public interface McpServer {
 
 		McpUriTemplateManagerFactory uriTemplateManagerFactory = new DeafaultMcpUriTemplateManagerFactory();
 
+		int pageSize = ListResultCache.UNPAGINATED;
+
+		McpToolResultCache toolResultCache;
+
+		McpAdaptiveLimiter toolCallLimiter;
+
+		McpRateLimiter rateLimiter;
+
 		ObjectMapper objectMapper;
 
 		McpSchema.Implementation serverInfo = DEFAULT_SERVER_INFO;
@@ -295,7 +351,7 @@ public interface McpServer {
 		 * application-specific information. Each resource is uniquely identified by a
 		 * URI.
 		 */
-		final Map<String, McpServerFeatures.AsyncResourceSpecification> resources = new HashMap<>();
+		final Map<String, McpServerFeatures.AsyncResourceSpecification> resources = new LinkedHashMap<>();
 
 		final List<ResourceTemplate> resourceTemplates = new ArrayList<>();
 
@@ -314,6 +370,12 @@ public interface McpServer {
 
 		Duration requestTimeout = Duration.ofHours(10); // Default timeout
 
+		McpNotificationBus notificationBus;
+
+		McpRequestScheduler requestScheduler;
+
+		McpIdGenerator idGenerator = McpIdGenerator.defaultGenerator();
+
 		public abstract McpAsyncServer build();
 
 		/**
@@ -329,6 +391,112 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of items in a page of the {@code tools/list},
+		 * {@code resources/list}, {@code resources/templates/list} and
+		 * {@code prompts/list} results. Clients fetch the following pages with the cursor
+		 * returned with each page. By default, lists are returned in a single page.
+		 * @param pageSize The maximum number of items per page. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public AsyncSpecification<S> pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be positive");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Sets the cache answering the calls to the read-only and idempotent tools with
+		 * the result of a previous call with the same arguments. The results of a tool
+		 * are invalidated when the tool is added or removed. By default, tool results are
+		 * not cached.
+		 * @param toolResultCache The tool result cache. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolResultCache is null
+		 */
+		public AsyncSpecification<S> toolResultCache(McpToolResultCache toolResultCache) {
+			Assert.notNull(toolResultCache, "Tool result cache must not be null");
+			this.toolResultCache = toolResultCache;
+			return this;
+		}
+
+		/**
+		 * Sets the limiter bounding the tool calls handled at the same time to a limit
+		 * adapted to their observed latency. The calls beyond the limit are rejected with
+		 * a {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} error. By default, tool calls
+		 * are not limited.
+		 * @param toolCallLimiter The tool call limiter. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolCallLimiter is null
+		 */
+		public AsyncSpecification<S> toolCallLimiter(McpAdaptiveLimiter toolCallLimiter) {
+			Assert.notNull(toolCallLimiter, "Tool call limiter must not be null");
+			this.toolCallLimiter = toolCallLimiter;
+			return this;
+		}
+
+		/**
+		 * Sets the rate limiter bounding the rate of the requests of each session or
+		 * client. The requests beyond their limit are rejected with a
+		 * {@link McpSchema.ErrorCodes#RATE_LIMITED} error. By default, the rate of the
+		 * requests is not limited.
+		 * @param rateLimiter The rate limiter. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if rateLimiter is null
+		 */
+		public AsyncSpecification<S> rateLimiter(McpRateLimiter rateLimiter) {
+			Assert.notNull(rateLimiter, "Rate limiter must not be null");
+			this.rateLimiter = rateLimiter;
+			return this;
+		}
+
+		/**
+		 * Sets the bus carrying the notifications sent to all clients, such as
+		 * {@code notifications/tools/list_changed}, to the other nodes of the server, so
+		 * that every node delivers them to its own sessions. By default, notifications
+		 * only reach the sessions of this node.
+		 * @param notificationBus The notification bus. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if notificationBus is null
+		 * @see io.modelcontextprotocol.spec.InMemoryMcpNotificationBus
+		 * @see io.modelcontextprotocol.spec.SocketMcpNotificationBus
+		 */
+		public AsyncSpecification<S> notificationBus(McpNotificationBus notificationBus) {
+			Assert.notNull(notificationBus, "Notification bus must not be null");
+			this.notificationBus = notificationBus;
+			return this;
+		}
+
+		/**
+		 * Sets the scheduler bounding the requests handled at the same time, for each
+		 * session and across sessions, and ordering the notifications of each session.
+		 * Requests beyond the limits are rejected with a JSON-RPC error. By default,
+		 * messages are handled as soon as they are received.
+		 * @param requestScheduler The request scheduler. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if requestScheduler is null
+		 */
+		public AsyncSpecification<S> requestScheduler(McpRequestScheduler requestScheduler) {
+			Assert.notNull(requestScheduler, "Request scheduler must not be null");
+			this.requestScheduler = requestScheduler;
+			return this;
+		}
+
+		/**
+		 * Sets the generator of the IDs of the sessions, of their SSE streams and of the
+		 * messages sent on them. By default, session IDs are drawn from a
+		 * {@code SecureRandom} per thread and the messages of each stream are numbered.
+		 * @param idGenerator The ID generator. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if idGenerator is null
+		 */
+		public AsyncSpecification<S> idGenerator(McpIdGenerator idGenerator) {
+			Assert.notNull(idGenerator, "ID generator must not be null");
+			this.idGenerator = idGenerator;
+			return this;
+		}
+
 		/**
 		 * Sets the duration to wait for server responses before timing out requests. This
 		 * timeout applies to all requests made through the client, including tool calls,
@@ -810,16 +978,18 @@ public interface McpServer {
 			McpServerFeatures.Sync syncFeatures = new McpServerFeatures.Sync(this.serverInfo, this.serverCapabilities,
 					this.tools, this.resources, this.resourceTemplates, this.prompts, this.completions,
 					this.rootsChangeHandlers, this.instructions);
-			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures,
-					this.immediateExecution);
+			McpSyncHandlerSchedulers schedulers = syncHandlerSchedulers();
+			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures, schedulers);
 			var mapper = this.objectMapper != null ? this.objectMapper : new ObjectMapper();
 			var jsonSchemaValidator = this.jsonSchemaValidator != null ? this.jsonSchemaValidator
 					: new DefaultJsonSchemaValidator(mapper);
 
 			var asyncServer = new McpAsyncServer(this.transportProvider, mapper, asyncFeatures, this.requestTimeout,
-					this.uriTemplateManagerFactory, jsonSchemaValidator);
+					this.uriTemplateManagerFactory, jsonSchemaValidator, this.pageSize, this.notificationBus,
+					this.requestScheduler, this.idGenerator, this.toolResultCache, this.toolCallLimiter,
+					this.rateLimiter);
 
-			return new McpSyncServer(asyncServer, this.immediateExecution);
+			return new McpSyncServer(asyncServer, schedulers);
 		}
 
 	}
@@ -828,11 +998,48 @@ public interface McpServer {
 
 		private final McpStreamableServerTransportProvider transportProvider;
 
+		private McpEventStore eventStore;
+
+		private McpSessionStore sessionStore;
+
 		private StreamableSyncSpecification(McpStreamableServerTransportProvider transportProvider) {
 			Assert.notNull(transportProvider, "Transport provider must not be null");
 			this.transportProvider = transportProvider;
 		}
 
+		/**
+		 * Sets the store of the messages sent on the SSE streams of the sessions. With an
+		 * event store, a client whose connection dropped can resume a stream with the
+		 * {@code Last-Event-ID} header and receive the messages sent in the meantime. By
+		 * default, messages are not stored and cannot be replayed.
+		 * @param eventStore The event store. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if eventStore is null
+		 * @see io.modelcontextprotocol.spec.InMemoryMcpEventStore
+		 */
+		public StreamableSyncSpecification eventStore(McpEventStore eventStore) {
+			Assert.notNull(eventStore, "Event store must not be null");
+			this.eventStore = eventStore;
+			return this;
+		}
+
+		/**
+		 * Sets the store of the state of the sessions, shared by the nodes of the server.
+		 * With a session store, any node can handle the requests of a session, and a
+		 * session survives the loss of the node it was initialized on. By default,
+		 * sessions are only known to the node that initialized them.
+		 * @param sessionStore The session store. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if sessionStore is null
+		 * @see io.modelcontextprotocol.spec.InMemoryMcpSessionStore
+		 * @see io.modelcontextprotocol.spec.FileMcpSessionStore
+		 */
+		public StreamableSyncSpecification sessionStore(McpSessionStore sessionStore) {
+			Assert.notNull(sessionStore, "Session store must not be null");
+			this.sessionStore = sessionStore;
+			return this;
+		}
+
 		/**
 		 * Builds a synchronous MCP server that provides blocking operations.
 		 * @return A new instance of {@link McpSyncServer} configured with this builder's
@@ -843,16 +1050,18 @@ public interface McpServer {
 			McpServerFeatures.Sync syncFeatures = new McpServerFeatures.Sync(this.serverInfo, this.serverCapabilities,
 					this.tools, this.resources, this.resourceTemplates, this.prompts, this.completions,
 					this.rootsChangeHandlers, this.instructions);
-			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures,
-					this.immediateExecution);
+			McpSyncHandlerSchedulers schedulers = syncHandlerSchedulers();
+			McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures, schedulers);
 			var mapper = this.objectMapper != null ? this.objectMapper : new ObjectMapper();
 			var jsonSchemaValidator = this.jsonSchemaValidator != null ? this.jsonSchemaValidator
 					: new DefaultJsonSchemaValidator(mapper);
 
 			var asyncServer = new McpAsyncServer(this.transportProvider, mapper, asyncFeatures, this.requestTimeout,
-					this.uriTemplateManagerFactory, jsonSchemaValidator);
+					this.uriTemplateManagerFactory, jsonSchemaValidator, this.pageSize, this.eventStore,
+					this.sessionStore, this.notificationBus, this.requestScheduler, this.idGenerator,
+					this.toolResultCache, this.toolCallLimiter, this.rateLimiter);
 
-			return new McpSyncServer(asyncServer, this.immediateExecution);
+			return new McpSyncServer(asyncServer, schedulers);
 		}
 
 	}
@@ -864,6 +1073,14 @@ public interface McpServer {
 
 		McpUriTemplateManagerFactory uriTemplateManagerFactory = new DeafaultMcpUriTemplateManagerFactory();
 
+		int pageSize = ListResultCache.UNPAGINATED;
+
+		McpToolResultCache toolResultCache;
+
+		McpAdaptiveLimiter toolCallLimiter;
+
+		McpRateLimiter rateLimiter;
+
 		ObjectMapper objectMapper;
 
 		McpSchema.Implementation serverInfo = DEFAULT_SERVER_INFO;
@@ -888,7 +1105,7 @@ public interface McpServer {
 		 * application-specific information. Each resource is uniquely identified by a
 		 * URI.
 		 */
-		final Map<String, McpServerFeatures.SyncResourceSpecification> resources = new HashMap<>();
+		final Map<String, McpServerFeatures.SyncResourceSpecification> resources = new LinkedHashMap<>();
 
 		final List<ResourceTemplate> resourceTemplates = new ArrayList<>();
 
@@ -911,6 +1128,14 @@ public interface McpServer {
 
 		boolean immediateExecution = false;
 
+		McpSyncHandlerSchedulers syncHandlerSchedulers = McpSyncHandlerSchedulers.boundedElastic();
+
+		McpNotificationBus notificationBus;
+
+		McpRequestScheduler requestScheduler;
+
+		McpIdGenerator idGenerator = McpIdGenerator.defaultGenerator();
+
 		public abstract McpSyncServer build();
 
 		/**
@@ -926,6 +1151,112 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of items in a page of the {@code tools/list},
+		 * {@code resources/list}, {@code resources/templates/list} and
+		 * {@code prompts/list} results. Clients fetch the following pages with the cursor
+		 * returned with each page. By default, lists are returned in a single page.
+		 * @param pageSize The maximum number of items per page. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public SyncSpecification<S> pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be positive");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Sets the cache answering the calls to the read-only and idempotent tools with
+		 * the result of a previous call with the same arguments. The results of a tool
+		 * are invalidated when the tool is added or removed. By default, tool results are
+		 * not cached.
+		 * @param toolResultCache The tool result cache. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolResultCache is null
+		 */
+		public SyncSpecification<S> toolResultCache(McpToolResultCache toolResultCache) {
+			Assert.notNull(toolResultCache, "Tool result cache must not be null");
+			this.toolResultCache = toolResultCache;
+			return this;
+		}
+
+		/**
+		 * Sets the limiter bounding the tool calls handled at the same time to a limit
+		 * adapted to their observed latency. The calls beyond the limit are rejected with
+		 * a {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} error. By default, tool calls
+		 * are not limited.
+		 * @param toolCallLimiter The tool call limiter. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolCallLimiter is null
+		 */
+		public SyncSpecification<S> toolCallLimiter(McpAdaptiveLimiter toolCallLimiter) {
+			Assert.notNull(toolCallLimiter, "Tool call limiter must not be null");
+			this.toolCallLimiter = toolCallLimiter;
+			return this;
+		}
+
+		/**
+		 * Sets the rate limiter bounding the rate of the requests of each session or
+		 * client. The requests beyond their limit are rejected with a
+		 * {@link McpSchema.ErrorCodes#RATE_LIMITED} error. By default, the rate of the
+		 * requests is not limited.
+		 * @param rateLimiter The rate limiter. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if rateLimiter is null
+		 */
+		public SyncSpecification<S> rateLimiter(McpRateLimiter rateLimiter) {
+			Assert.notNull(rateLimiter, "Rate limiter must not be null");
+			this.rateLimiter = rateLimiter;
+			return this;
+		}
+
+		/**
+		 * Sets the bus carrying the notifications sent to all clients, such as
+		 * {@code notifications/tools/list_changed}, to the other nodes of the server, so
+		 * that every node delivers them to its own sessions. By default, notifications
+		 * only reach the sessions of this node.
+		 * @param notificationBus The notification bus. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if notificationBus is null
+		 * @see io.modelcontextprotocol.spec.InMemoryMcpNotificationBus
+		 * @see io.modelcontextprotocol.spec.SocketMcpNotificationBus
+		 */
+		public SyncSpecification<S> notificationBus(McpNotificationBus notificationBus) {
+			Assert.notNull(notificationBus, "Notification bus must not be null");
+			this.notificationBus = notificationBus;
+			return this;
+		}
+
+		/**
+		 * Sets the scheduler bounding the requests handled at the same time, for each
+		 * session and across sessions, and ordering the notifications of each session.
+		 * Requests beyond the limits are rejected with a JSON-RPC error. By default,
+		 * messages are handled as soon as they are received.
+		 * @param requestScheduler The request scheduler. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if requestScheduler is null
+		 */
+		public SyncSpecification<S> requestScheduler(McpRequestScheduler requestScheduler) {
+			Assert.notNull(requestScheduler, "Request scheduler must not be null");
+			this.requestScheduler = requestScheduler;
+			return this;
+		}
+
+		/**
+		 * Sets the generator of the IDs of the sessions, of their SSE streams and of the
+		 * messages sent on them. By default, session IDs are drawn from a
+		 * {@code SecureRandom} per thread and the messages of each stream are numbered.
+		 * @param idGenerator The ID generator. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if idGenerator is null
+		 */
+		public SyncSpecification<S> idGenerator(McpIdGenerator idGenerator) {
+			Assert.notNull(idGenerator, "ID generator must not be null");
+			this.idGenerator = idGenerator;
+			return this;
+		}
+
 		/**
 		 * Sets the duration to wait for server responses before timing out requests. This
 		 * timeout applies to all requests made through the client, including tool calls,
@@ -1395,6 +1726,26 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the schedulers the handlers of the tools, resources, prompts and
+		 * completions are called on, so that their blocking work does not block the
+		 * transport. Defaults to {@link McpSyncHandlerSchedulers#boundedElastic()}. Use
+		 * {@link McpSyncHandlerSchedulers#virtualThreads()} to call each handler on its
+		 * own virtual thread. Ignored when {@link #immediateExecution(boolean)} is set.
+		 * @param syncHandlerSchedulers The schedulers. Must not be null.
+		 * @return This builder instance for method chaining.
+		 * @throws IllegalArgumentException if syncHandlerSchedulers is null
+		 */
+		public SyncSpecification<S> syncHandlerSchedulers(McpSyncHandlerSchedulers syncHandlerSchedulers) {
+			Assert.notNull(syncHandlerSchedulers, "Sync handler schedulers must not be null");
+			this.syncHandlerSchedulers = syncHandlerSchedulers;
+			return this;
+		}
+
+		McpSyncHandlerSchedulers syncHandlerSchedulers() {
+			return this.immediateExecution ? McpSyncHandlerSchedulers.immediate() : this.syncHandlerSchedulers;
+		}
+
 	}
 
 	class StatelessAsyncSpecification {
@@ -1403,6 +1754,14 @@ public interface McpServer {
 
 		McpUriTemplateManagerFactory uriTemplateManagerFactory = new DeafaultMcpUriTemplateManagerFactory();
 
+		int pageSize = ListResultCache.UNPAGINATED;
+
+		McpToolResultCache toolResultCache;
+
+		McpAdaptiveLimiter toolCallLimiter;
+
+		McpRateLimiter rateLimiter;
+
 		ObjectMapper objectMapper;
 
 		McpSchema.Implementation serverInfo = DEFAULT_SERVER_INFO;
@@ -1429,7 +1788,7 @@ public interface McpServer {
 		 * application-specific information. Each resource is uniquely identified by a
 		 * URI.
 		 */
-		final Map<String, McpStatelessServerFeatures.AsyncResourceSpecification> resources = new HashMap<>();
+		final Map<String, McpStatelessServerFeatures.AsyncResourceSpecification> resources = new LinkedHashMap<>();
 
 		final List<ResourceTemplate> resourceTemplates = new ArrayList<>();
 
@@ -1464,6 +1823,72 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of items in a page of the {@code tools/list},
+		 * {@code resources/list}, {@code resources/templates/list} and
+		 * {@code prompts/list} results. Clients fetch the following pages with the cursor
+		 * returned with each page. By default, lists are returned in a single page.
+		 * @param pageSize The maximum number of items per page. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public StatelessAsyncSpecification pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be positive");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Sets the cache answering the calls to the read-only and idempotent tools with
+		 * the result of a previous call with the same arguments. The results of a tool
+		 * are invalidated when the tool is added or removed. By default, tool results are
+		 * not cached.
+		 * @param toolResultCache The tool result cache. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolResultCache is null
+		 */
+		public StatelessAsyncSpecification toolResultCache(McpToolResultCache toolResultCache) {
+			Assert.notNull(toolResultCache, "Tool result cache must not be null");
+			this.toolResultCache = toolResultCache;
+			return this;
+		}
+
+		/**
+		 * Sets the limiter bounding the tool calls handled at the same time to a limit
+		 * adapted to their observed latency. The calls beyond the limit are rejected with
+		 * a {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} error. By default, tool calls
+		 * are not limited.
+		 * @param toolCallLimiter The tool call limiter. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolCallLimiter is null
+		 */
+		public StatelessAsyncSpecification toolCallLimiter(McpAdaptiveLimiter toolCallLimiter) {
+			Assert.notNull(toolCallLimiter, "Tool call limiter must not be null");
+			this.toolCallLimiter = toolCallLimiter;
+			return this;
+		}
+
+		/**
+		 * Sets the rate limiter bounding the rate of the requests of each client. The
+		 * requests beyond their limit are rejected with a
+		 * {@link McpSchema.ErrorCodes#RATE_LIMITED} error. A stateless server has no
+		 * session, so the rate limiter must attribute requests to their client with
+		 * {@link McpRateLimiter#byTransportContext(String)} or
+		 * {@link McpRateLimiter.Builder#transportContextKeyResolver}. By default, the
+		 * rate of the requests is not limited.
+		 * @param rateLimiter The rate limiter. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if rateLimiter is null or does not attribute
+		 * requests to their transport context
+		 */
+		public StatelessAsyncSpecification rateLimiter(McpRateLimiter rateLimiter) {
+			Assert.notNull(rateLimiter, "Rate limiter must not be null");
+			Assert.isTrue(rateLimiter.isKeyedByTransportContext(),
+					"Stateless servers need a rate limiter keyed by transport context");
+			this.rateLimiter = rateLimiter;
+			return this;
+		}
+
 		/**
 		 * Sets the duration to wait for server responses before timing out requests. This
 		 * timeout applies to all requests made through the client, including tool calls,
@@ -1852,7 +2277,8 @@ public interface McpServer {
 			var jsonSchemaValidator = this.jsonSchemaValidator != null ? this.jsonSchemaValidator
 					: new DefaultJsonSchemaValidator(mapper);
 			return new McpStatelessAsyncServer(this.transport, mapper, features, this.requestTimeout,
-					this.uriTemplateManagerFactory, jsonSchemaValidator);
+					this.uriTemplateManagerFactory, jsonSchemaValidator, this.pageSize, this.toolResultCache,
+					this.toolCallLimiter, this.rateLimiter);
 		}
 
 	}
@@ -1863,8 +2289,18 @@ public interface McpServer {
 
 		boolean immediateExecution = false;
 
+		McpSyncHandlerSchedulers syncHandlerSchedulers = McpSyncHandlerSchedulers.boundedElastic();
+
 		McpUriTemplateManagerFactory uriTemplateManagerFactory = new DeafaultMcpUriTemplateManagerFactory();
 
+		int pageSize = ListResultCache.UNPAGINATED;
+
+		McpToolResultCache toolResultCache;
+
+		McpAdaptiveLimiter toolCallLimiter;
+
+		McpRateLimiter rateLimiter;
+
 		ObjectMapper objectMapper;
 
 		McpSchema.Implementation serverInfo = DEFAULT_SERVER_INFO;
@@ -1891,7 +2327,7 @@ public interface McpServer {
 		 * application-specific information. Each resource is uniquely identified by a
 		 * URI.
 		 */
-		final Map<String, McpStatelessServerFeatures.SyncResourceSpecification> resources = new HashMap<>();
+		final Map<String, McpStatelessServerFeatures.SyncResourceSpecification> resources = new LinkedHashMap<>();
 
 		final List<ResourceTemplate> resourceTemplates = new ArrayList<>();
 
@@ -1926,6 +2362,72 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the maximum number of items in a page of the {@code tools/list},
+		 * {@code resources/list}, {@code resources/templates/list} and
+		 * {@code prompts/list} results. Clients fetch the following pages with the cursor
+		 * returned with each page. By default, lists are returned in a single page.
+		 * @param pageSize The maximum number of items per page. Must be positive.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if pageSize is not positive
+		 */
+		public StatelessSyncSpecification pageSize(int pageSize) {
+			Assert.isTrue(pageSize > 0, "Page size must be positive");
+			this.pageSize = pageSize;
+			return this;
+		}
+
+		/**
+		 * Sets the cache answering the calls to the read-only and idempotent tools with
+		 * the result of a previous call with the same arguments. The results of a tool
+		 * are invalidated when the tool is added or removed. By default, tool results are
+		 * not cached.
+		 * @param toolResultCache The tool result cache. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolResultCache is null
+		 */
+		public StatelessSyncSpecification toolResultCache(McpToolResultCache toolResultCache) {
+			Assert.notNull(toolResultCache, "Tool result cache must not be null");
+			this.toolResultCache = toolResultCache;
+			return this;
+		}
+
+		/**
+		 * Sets the limiter bounding the tool calls handled at the same time to a limit
+		 * adapted to their observed latency. The calls beyond the limit are rejected with
+		 * a {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} error. By default, tool calls
+		 * are not limited.
+		 * @param toolCallLimiter The tool call limiter. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if toolCallLimiter is null
+		 */
+		public StatelessSyncSpecification toolCallLimiter(McpAdaptiveLimiter toolCallLimiter) {
+			Assert.notNull(toolCallLimiter, "Tool call limiter must not be null");
+			this.toolCallLimiter = toolCallLimiter;
+			return this;
+		}
+
+		/**
+		 * Sets the rate limiter bounding the rate of the requests of each client. The
+		 * requests beyond their limit are rejected with a
+		 * {@link McpSchema.ErrorCodes#RATE_LIMITED} error. A stateless server has no
+		 * session, so the rate limiter must attribute requests to their client with
+		 * {@link McpRateLimiter#byTransportContext(String)} or
+		 * {@link McpRateLimiter.Builder#transportContextKeyResolver}. By default, the
+		 * rate of the requests is not limited.
+		 * @param rateLimiter The rate limiter. Must not be null.
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if rateLimiter is null or does not attribute
+		 * requests to their transport context
+		 */
+		public StatelessSyncSpecification rateLimiter(McpRateLimiter rateLimiter) {
+			Assert.notNull(rateLimiter, "Rate limiter must not be null");
+			Assert.isTrue(rateLimiter.isKeyedByTransportContext(),
+					"Stateless servers need a rate limiter keyed by transport context");
+			this.rateLimiter = rateLimiter;
+			return this;
+		}
+
 		/**
 		 * Sets the duration to wait for server responses before timing out requests. This
 		 * timeout applies to all requests made through the client, including tool calls,
@@ -2323,6 +2825,26 @@ public interface McpServer {
 			return this;
 		}
 
+		/**
+		 * Sets the schedulers the handlers of the tools, resources, prompts and
+		 * completions are called on, so that their blocking work does not block the
+		 * transport. Defaults to {@link McpSyncHandlerSchedulers#boundedElastic()}. Use
+		 * {@link McpSyncHandlerSchedulers#virtualThreads()} to call each handler on its
+		 * own virtual thread. Ignored when {@link #immediateExecution(boolean)} is set.
+		 * @param syncHandlerSchedulers The schedulers. Must not be null.
+		 * @return This builder instance for method chaining.
+		 * @throws IllegalArgumentException if syncHandlerSchedulers is null
+		 */
+		public StatelessSyncSpecification syncHandlerSchedulers(McpSyncHandlerSchedulers syncHandlerSchedulers) {
+			Assert.notNull(syncHandlerSchedulers, "Sync handler schedulers must not be null");
+			this.syncHandlerSchedulers = syncHandlerSchedulers;
+			return this;
+		}
+
+		McpSyncHandlerSchedulers syncHandlerSchedulers() {
+			return this.immediateExecution ? McpSyncHandlerSchedulers.immediate() : this.syncHandlerSchedulers;
+		}
+
 		public McpStatelessSyncServer build() {
 			/*
 			 * McpServerFeatures.Sync syncFeatures = new
@@ -2343,13 +2865,15 @@ public interface McpServer {
 			 */
 			var syncFeatures = new McpStatelessServerFeatures.Sync(this.serverInfo, this.serverCapabilities, this.tools,
 					this.resources, this.resourceTemplates, this.prompts, this.completions, this.instructions);
-			var asyncFeatures = McpStatelessServerFeatures.Async.fromSync(syncFeatures, this.immediateExecution);
+			var schedulers = syncHandlerSchedulers();
+			var asyncFeatures = McpStatelessServerFeatures.Async.fromSync(syncFeatures, schedulers);
 			var mapper = this.objectMapper != null ? this.objectMapper : new ObjectMapper();
 			var jsonSchemaValidator = this.jsonSchemaValidator != null ? this.jsonSchemaValidator
 					: new DefaultJsonSchemaValidator(mapper);
 			var asyncServer = new McpStatelessAsyncServer(this.transport, mapper, asyncFeatures, this.requestTimeout,
-					this.uriTemplateManagerFactory, jsonSchemaValidator);
-			return new McpStatelessSyncServer(asyncServer, this.immediateExecution);
+					this.uriTemplateManagerFactory, jsonSchemaValidator, this.pageSize, this.toolResultCache,
+					this.toolCallLimiter, this.rateLimiter);
+			return new McpStatelessSyncServer(asyncServer, schedulers);
 		}
 
 	}
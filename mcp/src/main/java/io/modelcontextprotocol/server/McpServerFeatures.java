@@ -6,16 +6,20 @@ package io.modelcontextprotocol.server;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.Utils;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
 
 /**
@@ -96,30 +100,30 @@ public class McpServerFeatures {
 		 * blocking code offloading to prevent accidental blocking of the non-blocking
 		 * transport.
 		 * @param syncSpec a potentially blocking, synchronous specification.
-		 * @param immediateExecution when true, do not offload. Do NOT set to true when
-		 * using a non-blocking transport.
+		 * @param schedulers the schedulers to offload the handlers to. Do NOT use
+		 * immediate schedulers when using a non-blocking transport.
 		 * @return a specification which is protected from blocking calls specified by the
 		 * user.
 		 */
-		static Async fromSync(Sync syncSpec, boolean immediateExecution) {
+		static Async fromSync(Sync syncSpec, McpSyncHandlerSchedulers schedulers) {
 			List<McpServerFeatures.AsyncToolSpecification> tools = new ArrayList<>();
 			for (var tool : syncSpec.tools()) {
-				tools.add(AsyncToolSpecification.fromSync(tool, immediateExecution));
+				tools.add(AsyncToolSpecification.fromSync(tool, schedulers::tools));
 			}
 
-			Map<String, AsyncResourceSpecification> resources = new HashMap<>();
+			Map<String, AsyncResourceSpecification> resources = new LinkedHashMap<>();
 			syncSpec.resources().forEach((key, resource) -> {
-				resources.put(key, AsyncResourceSpecification.fromSync(resource, immediateExecution));
+				resources.put(key, AsyncResourceSpecification.fromSync(resource, schedulers::resources));
 			});
 
 			Map<String, AsyncPromptSpecification> prompts = new HashMap<>();
 			syncSpec.prompts().forEach((key, prompt) -> {
-				prompts.put(key, AsyncPromptSpecification.fromSync(prompt, immediateExecution));
+				prompts.put(key, AsyncPromptSpecification.fromSync(prompt, schedulers::prompts));
 			});
 
 			Map<McpSchema.CompleteReference, McpServerFeatures.AsyncCompletionSpecification> completions = new HashMap<>();
 			syncSpec.completions().forEach((key, completion) -> {
-				completions.put(key, AsyncCompletionSpecification.fromSync(completion, immediateExecution));
+				completions.put(key, AsyncCompletionSpecification.fromSync(completion, schedulers::completions));
 			});
 
 			List<BiFunction<McpAsyncServerExchange, List<McpSchema.Root>, Mono<Void>>> rootChangeConsumers = new ArrayList<>();
@@ -232,10 +236,10 @@ public class McpServerFeatures {
 		}
 
 		static AsyncToolSpecification fromSync(SyncToolSpecification syncToolSpec) {
-			return fromSync(syncToolSpec, false);
+			return fromSync(syncToolSpec, Schedulers::boundedElastic);
 		}
 
-		static AsyncToolSpecification fromSync(SyncToolSpecification syncToolSpec, boolean immediate) {
+		static AsyncToolSpecification fromSync(SyncToolSpecification syncToolSpec, Supplier<Scheduler> scheduler) {
 
 			// FIXME: This is temporary, proper validation should be implemented
 			if (syncToolSpec == null) {
@@ -244,21 +248,51 @@ public class McpServerFeatures {
 
 			BiFunction<McpAsyncServerExchange, Map<String, Object>, Mono<McpSchema.CallToolResult>> deprecatedCall = (syncToolSpec
 				.call() != null) ? (exchange, map) -> {
-					var toolResult = Mono
-						.fromCallable(() -> syncToolSpec.call().apply(new McpSyncServerExchange(exchange), map));
-					return immediate ? toolResult : toolResult.subscribeOn(Schedulers.boundedElastic());
+					return callSync(exchange, syncExchange -> syncToolSpec.call().apply(syncExchange, map), scheduler);
 				} : null;
 
 			BiFunction<McpAsyncServerExchange, McpSchema.CallToolRequest, Mono<McpSchema.CallToolResult>> callHandler = (
 					exchange, req) -> {
-				var toolResult = Mono
-					.fromCallable(() -> syncToolSpec.callHandler().apply(new McpSyncServerExchange(exchange), req));
-				return immediate ? toolResult : toolResult.subscribeOn(Schedulers.boundedElastic());
+				return callSync(exchange, syncExchange -> syncToolSpec.callHandler().apply(syncExchange, req),
+						scheduler);
 			};
 
 			return new AsyncToolSpecification(syncToolSpec.tool(), deprecatedCall, callHandler);
 		}
 
+		/**
+		 * Returns a specification of the same tool whose concurrent calls with equal
+		 * arguments share a single call of the handler. A call made while an identical
+		 * call is in flight waits for the result of that call, and the shared call is
+		 * only cancelled once all its callers have cancelled.
+		 *
+		 * <p>
+		 * Only enable this for tools whose result does not depend on the caller, as every
+		 * caller receives the result computed for the first one, and the notifications
+		 * and requests the handler sends through its exchange go to the client of the
+		 * first caller.
+		 * @return the coalescing tool specification
+		 */
+		public AsyncToolSpecification withCoalescing() {
+			RequestCoalescer<Map<String, Object>, McpSchema.CallToolResult> coalescer = new RequestCoalescer<>();
+			return new AsyncToolSpecification(this.tool, this.call,
+					(exchange, req) -> coalescer.coalesce(req.arguments() != null ? req.arguments() : Map.of(),
+							() -> this.callHandler.apply(exchange, req)));
+		}
+
+		/**
+		 * Returns a specification of the same tool whose calls are admitted by a
+		 * bulkhead, bounding the calls handled and waiting at the same time. The calls
+		 * beyond the limits of the bulkhead are rejected without calling the handler.
+		 * @param bulkhead the bulkhead admitting the calls
+		 * @return the bulkheaded tool specification
+		 */
+		public AsyncToolSpecification withBulkhead(McpToolBulkhead bulkhead) {
+			Assert.notNull(bulkhead, "Bulkhead must not be null");
+			return new AsyncToolSpecification(this.tool, this.call, (exchange, req) -> bulkhead.call(this.tool.name(),
+					Mono.defer(() -> this.callHandler.apply(exchange, req))));
+		}
+
 		/**
 		 * Builder for creating AsyncToolSpecification instances.
 		 */
@@ -343,17 +377,34 @@ public class McpServerFeatures {
 	public record AsyncResourceSpecification(McpSchema.Resource resource,
 			BiFunction<McpAsyncServerExchange, McpSchema.ReadResourceRequest, Mono<McpSchema.ReadResourceResult>> readHandler) {
 
-		static AsyncResourceSpecification fromSync(SyncResourceSpecification resource, boolean immediateExecution) {
+		static AsyncResourceSpecification fromSync(SyncResourceSpecification resource, Supplier<Scheduler> scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (resource == null) {
 				return null;
 			}
 			return new AsyncResourceSpecification(resource.resource(), (exchange, req) -> {
-				var resourceResult = Mono
-					.fromCallable(() -> resource.readHandler().apply(new McpSyncServerExchange(exchange), req));
-				return immediateExecution ? resourceResult : resourceResult.subscribeOn(Schedulers.boundedElastic());
+				return callSync(exchange, syncExchange -> resource.readHandler().apply(syncExchange, req), scheduler);
 			});
 		}
+
+		/**
+		 * Returns a specification of the same resource whose concurrent reads of the same
+		 * URI share a single call of the handler. A read made while an identical read is
+		 * in flight waits for the result of that read, and the shared read is only
+		 * cancelled once all its readers have cancelled.
+		 *
+		 * <p>
+		 * Only enable this for resources whose content does not depend on the reader, as
+		 * every reader receives the content read for the first one, and the notifications
+		 * and requests the handler sends through its exchange go to the client of the
+		 * first reader.
+		 * @return the coalescing resource specification
+		 */
+		public AsyncResourceSpecification withCoalescing() {
+			RequestCoalescer<String, McpSchema.ReadResourceResult> coalescer = new RequestCoalescer<>();
+			return new AsyncResourceSpecification(this.resource,
+					(exchange, req) -> coalescer.coalesce(req.uri(), () -> this.readHandler.apply(exchange, req)));
+		}
 	}
 
 	/**
@@ -390,15 +441,13 @@ public class McpServerFeatures {
 	public record AsyncPromptSpecification(McpSchema.Prompt prompt,
 			BiFunction<McpAsyncServerExchange, McpSchema.GetPromptRequest, Mono<McpSchema.GetPromptResult>> promptHandler) {
 
-		static AsyncPromptSpecification fromSync(SyncPromptSpecification prompt, boolean immediateExecution) {
+		static AsyncPromptSpecification fromSync(SyncPromptSpecification prompt, Supplier<Scheduler> scheduler) {
 			// FIXME: This is temporary, proper validation should be implemented
 			if (prompt == null) {
 				return null;
 			}
 			return new AsyncPromptSpecification(prompt.prompt(), (exchange, req) -> {
-				var promptResult = Mono
-					.fromCallable(() -> prompt.promptHandler().apply(new McpSyncServerExchange(exchange), req));
-				return immediateExecution ? promptResult : promptResult.subscribeOn(Schedulers.boundedElastic());
+				return callSync(exchange, syncExchange -> prompt.promptHandler().apply(syncExchange, req), scheduler);
 			});
 		}
 	}
@@ -424,22 +473,21 @@ public class McpServerFeatures {
 
 		/**
 		 * Converts a synchronous {@link SyncCompletionSpecification} into an
-		 * {@link AsyncCompletionSpecification} by wrapping the handler in a bounded
-		 * elastic scheduler for safe non-blocking execution.
+		 * {@link AsyncCompletionSpecification} by offloading the handler to a scheduler
+		 * for safe non-blocking execution.
 		 * @param completion the synchronous completion specification
+		 * @param scheduler the scheduler the handler is called on
 		 * @return an asynchronous wrapper of the provided sync specification, or
 		 * {@code null} if input is null
 		 */
 		static AsyncCompletionSpecification fromSync(SyncCompletionSpecification completion,
-				boolean immediateExecution) {
+				Supplier<Scheduler> scheduler) {
 			if (completion == null) {
 				return null;
 			}
 			return new AsyncCompletionSpecification(completion.referenceKey(), (exchange, request) -> {
-				var completionResult = Mono.fromCallable(
-						() -> completion.completionHandler().apply(new McpSyncServerExchange(exchange), request));
-				return immediateExecution ? completionResult
-						: completionResult.subscribeOn(Schedulers.boundedElastic());
+				return callSync(exchange, syncExchange -> completion.completionHandler().apply(syncExchange, request),
+						scheduler);
 			});
 		}
 	}
@@ -622,4 +670,23 @@ public class McpServerFeatures {
 			BiFunction<McpSyncServerExchange, McpSchema.CompleteRequest, McpSchema.CompleteResult> completionHandler) {
 	}
 
+	/**
+	 * Calls a synchronous handler on a scheduler with a {@link McpSyncServerExchange}
+	 * that is marked as cancelled when the call is cancelled.
+	 * @param exchange the asynchronous exchange of the request
+	 * @param handler the synchronous handler
+	 * @param scheduler the supplier of the scheduler the handler is called on, looked up
+	 * on each call
+	 * @return the result of the handler
+	 */
+	static <T> Mono<T> callSync(McpAsyncServerExchange exchange, Function<McpSyncServerExchange, T> handler,
+			Supplier<Scheduler> scheduler) {
+		return Mono.defer(() -> {
+			McpSyncServerExchange syncExchange = new McpSyncServerExchange(exchange);
+			return Mono.fromCallable(() -> handler.apply(syncExchange))
+				.subscribeOn(scheduler.get())
+				.doOnCancel(syncExchange::cancel);
+		});
+	}
+
 }
@@ -4,8 +4,8 @@
 
 package io.modelcontextprotocol.server;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.JsonSchemaValidator;
 import io.modelcontextprotocol.spec.McpError;
 import io.modelcontextprotocol.spec.McpSchema;
@@ -13,6 +13,7 @@ import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
 import io.modelcontextprotocol.spec.McpSchema.ResourceTemplate;
 import io.modelcontextprotocol.spec.McpSchema.Tool;
 import io.modelcontextprotocol.spec.McpStatelessServerTransport;
+import io.modelcontextprotocol.spec.RawJsonValue;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.DeafaultMcpUriTemplateManagerFactory;
 import io.modelcontextprotocol.util.McpUriTemplateManagerFactory;
@@ -26,7 +27,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.BiFunction;
@@ -47,18 +47,29 @@ public class McpStatelessAsyncServer {
 
 	private final ObjectMapper objectMapper;
 
+	private final JsonRpcBinder jsonRpcBinder;
+
+	private final ListResultCache listResultCache;
+
+	private final McpToolResultCache toolResultCache;
+
+	private final McpAdaptiveLimiter toolCallLimiter;
+
 	private final McpSchema.ServerCapabilities serverCapabilities;
 
 	private final McpSchema.Implementation serverInfo;
 
 	private final String instructions;
 
-	private final CopyOnWriteArrayList<McpStatelessServerFeatures.AsyncToolSpecification> tools = new CopyOnWriteArrayList<>();
+	private final ToolRegistry<McpStatelessServerFeatures.AsyncToolSpecification> tools = new ToolRegistry<>(
+			toolSpecification -> toolSpecification.tool().name());
 
 	private final CopyOnWriteArrayList<ResourceTemplate> resourceTemplates = new CopyOnWriteArrayList<>();
 
 	private final ConcurrentHashMap<String, McpStatelessServerFeatures.AsyncResourceSpecification> resources = new ConcurrentHashMap<>();
 
+	private final UriTemplateRouter<McpStatelessServerFeatures.AsyncResourceSpecification> resourceRouter;
+
 	private final ConcurrentHashMap<String, McpStatelessServerFeatures.AsyncPromptSpecification> prompts = new ConcurrentHashMap<>();
 
 	private final ConcurrentHashMap<McpSchema.CompleteReference, McpStatelessServerFeatures.AsyncCompletionSpecification> completions = new ConcurrentHashMap<>();
@@ -71,9 +82,15 @@ public class McpStatelessAsyncServer {
 
 	McpStatelessAsyncServer(McpStatelessServerTransport mcpTransport, ObjectMapper objectMapper,
 			McpStatelessServerFeatures.Async features, Duration requestTimeout,
-			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator) {
+			McpUriTemplateManagerFactory uriTemplateManagerFactory, JsonSchemaValidator jsonSchemaValidator,
+			int pageSize, McpToolResultCache toolResultCache, McpAdaptiveLimiter toolCallLimiter,
+			McpRateLimiter rateLimiter) {
 		this.mcpTransportProvider = mcpTransport;
 		this.objectMapper = objectMapper;
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
+		this.listResultCache = new ListResultCache(objectMapper, pageSize);
+		this.toolResultCache = toolResultCache;
+		this.toolCallLimiter = toolCallLimiter;
 		this.serverInfo = features.serverInfo();
 		this.serverCapabilities = features.serverCapabilities();
 		this.instructions = features.instructions();
@@ -83,6 +100,8 @@ public class McpStatelessAsyncServer {
 		this.prompts.putAll(features.prompts());
 		this.completions.putAll(features.completions());
 		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+		this.resourceRouter = new UriTemplateRouter<>(uriTemplateManagerFactory);
+		features.resources().forEach(this.resourceRouter::put);
 		this.jsonSchemaValidator = jsonSchemaValidator;
 
 		Map<String, McpStatelessRequestHandler<?>> requestHandlers = new HashMap<>();
@@ -120,7 +139,8 @@ public class McpStatelessAsyncServer {
 
 		this.protocolVersions = List.of(mcpTransport.protocolVersion());
 
-		McpStatelessServerHandler handler = new DefaultMcpStatelessServerHandler(requestHandlers, Map.of());
+		McpStatelessServerHandler handler = new DefaultMcpStatelessServerHandler(
+				withRateLimits(requestHandlers, rateLimiter), Map.of());
 		mcpTransport.setMcpHandler(handler);
 	}
 
@@ -129,7 +149,7 @@ public class McpStatelessAsyncServer {
 	// ---------------------------------------
 	private McpStatelessRequestHandler<McpSchema.InitializeResult> asyncInitializeRequestHandler() {
 		return (ctx, req) -> Mono.defer(() -> {
-			McpSchema.InitializeRequest initializeRequest = this.objectMapper.convertValue(req,
+			McpSchema.InitializeRequest initializeRequest = this.jsonRpcBinder.bind(req,
 					McpSchema.InitializeRequest.class);
 
 			logger.info("Client initialize request - Protocol: {}, Capabilities: {}, Info: {}",
@@ -189,6 +209,16 @@ public class McpStatelessAsyncServer {
 		this.mcpTransportProvider.close();
 	}
 
+	private static Map<String, McpStatelessRequestHandler<?>> withRateLimits(
+			Map<String, McpStatelessRequestHandler<?>> requestHandlers, McpRateLimiter rateLimiter) {
+		if (rateLimiter == null) {
+			return requestHandlers;
+		}
+		Map<String, McpStatelessRequestHandler<?>> limitedHandlers = new HashMap<>();
+		requestHandlers.forEach((method, handler) -> limitedHandlers.put(method, rateLimiter.limit(method, handler)));
+		return limitedHandlers;
+	}
+
 	// ---------------------------------------
 	// Tool Management
 	// ---------------------------------------
@@ -317,13 +347,13 @@ public class McpStatelessAsyncServer {
 		var wrappedToolSpecification = withStructuredOutputHandling(this.jsonSchemaValidator, toolSpecification);
 
 		return Mono.defer(() -> {
-			// Check for duplicate tool names
-			if (this.tools.stream().anyMatch(th -> th.tool().name().equals(wrappedToolSpecification.tool().name()))) {
+			if (!this.tools.add(wrappedToolSpecification)) {
 				return Mono.error(
 						new McpError("Tool with name '" + wrappedToolSpecification.tool().name() + "' already exists"));
 			}
 
-			this.tools.add(wrappedToolSpecification);
+			this.listResultCache.invalidate();
+			invalidateToolResults(wrappedToolSpecification.tool().name());
 			logger.debug("Added tool handler: {}", wrappedToolSpecification.tool().name());
 
 			return Mono.empty();
@@ -344,9 +374,9 @@ public class McpStatelessAsyncServer {
 		}
 
 		return Mono.defer(() -> {
-			boolean removed = this.tools
-				.removeIf(toolSpecification -> toolSpecification.tool().name().equals(toolName));
-			if (removed) {
+			if (this.tools.remove(toolName) != null) {
+				this.listResultCache.invalidate();
+				invalidateToolResults(toolName);
 				logger.debug("Removed tool handler: {}", toolName);
 				return Mono.empty();
 			}
@@ -354,34 +384,42 @@ public class McpStatelessAsyncServer {
 		});
 	}
 
-	private McpStatelessRequestHandler<McpSchema.ListToolsResult> toolsListRequestHandler() {
-		return (ctx, params) -> {
-			List<Tool> tools = this.tools.stream()
-				.map(McpStatelessServerFeatures.AsyncToolSpecification::tool)
-				.toList();
-			return Mono.just(new McpSchema.ListToolsResult(tools, null));
-		};
+	private McpStatelessRequestHandler<RawJsonValue> toolsListRequestHandler() {
+		return (ctx, params) -> Mono.fromSupplier(() -> this.listResultCache.page(McpSchema.METHOD_TOOLS_LIST,
+				cursor(params),
+				() -> this.tools.list().stream().map(McpStatelessServerFeatures.AsyncToolSpecification::tool).toList(),
+				McpSchema.ListToolsResult::new));
 	}
 
 	private McpStatelessRequestHandler<CallToolResult> toolsCallRequestHandler() {
 		return (ctx, params) -> {
-			McpSchema.CallToolRequest callToolRequest = objectMapper.convertValue(params,
-					new TypeReference<McpSchema.CallToolRequest>() {
-					});
+			McpSchema.CallToolRequest callToolRequest = jsonRpcBinder.bind(params, McpSchema.CallToolRequest.class);
 
-			Optional<McpStatelessServerFeatures.AsyncToolSpecification> toolSpecification = this.tools.stream()
-				.filter(tr -> callToolRequest.name().equals(tr.tool().name()))
-				.findAny();
+			McpStatelessServerFeatures.AsyncToolSpecification tool = this.tools.get(callToolRequest.name());
 
-			if (toolSpecification.isEmpty()) {
+			if (tool == null) {
 				return Mono.error(new McpError("Tool not found: " + callToolRequest.name()));
 			}
 
-			return toolSpecification.map(tool -> tool.callHandler().apply(ctx, callToolRequest))
-				.orElse(Mono.error(new McpError("Tool not found: " + callToolRequest.name())));
+			Mono<CallToolResult> call = Mono.defer(() -> tool.callHandler().apply(ctx, callToolRequest));
+			// Only the calls running the tool take a slot of the limiter, cache hits do
+			// not
+			if (this.toolCallLimiter != null) {
+				call = this.toolCallLimiter.call(call);
+			}
+			if (this.toolResultCache != null) {
+				call = this.toolResultCache.call(tool.tool(), callToolRequest, ctx, call);
+			}
+			return call;
 		};
 	}
 
+	private void invalidateToolResults(String toolName) {
+		if (this.toolResultCache != null) {
+			this.toolResultCache.invalidate(toolName);
+		}
+	}
+
 	// ---------------------------------------
 	// Resource Management
 	// ---------------------------------------
@@ -405,6 +443,8 @@ public class McpStatelessAsyncServer {
 				return Mono.error(new McpError(
 						"Resource with URI '" + resourceSpecification.resource().uri() + "' already exists"));
 			}
+			this.resourceRouter.put(resourceSpecification.resource().uri(), resourceSpecification);
+			this.listResultCache.invalidate();
 			logger.debug("Added resource handler: {}", resourceSpecification.resource().uri());
 			return Mono.empty();
 		});
@@ -426,6 +466,8 @@ public class McpStatelessAsyncServer {
 		return Mono.defer(() -> {
 			McpStatelessServerFeatures.AsyncResourceSpecification removed = this.resources.remove(resourceUri);
 			if (removed != null) {
+				this.resourceRouter.remove(resourceUri);
+				this.listResultCache.invalidate();
 				logger.debug("Removed resource handler: {}", resourceUri);
 				return Mono.empty();
 			}
@@ -433,19 +475,20 @@ public class McpStatelessAsyncServer {
 		});
 	}
 
-	private McpStatelessRequestHandler<McpSchema.ListResourcesResult> resourcesListRequestHandler() {
-		return (ctx, params) -> {
-			var resourceList = this.resources.values()
-				.stream()
-				.map(McpStatelessServerFeatures.AsyncResourceSpecification::resource)
-				.toList();
-			return Mono.just(new McpSchema.ListResourcesResult(resourceList, null));
-		};
+	private McpStatelessRequestHandler<RawJsonValue> resourcesListRequestHandler() {
+		return (ctx, params) -> Mono
+			.fromSupplier(() -> this.listResultCache.page(McpSchema.METHOD_RESOURCES_LIST, cursor(params),
+					() -> this.resources.values()
+						.stream()
+						.map(McpStatelessServerFeatures.AsyncResourceSpecification::resource)
+						.toList(),
+					McpSchema.ListResourcesResult::new));
 	}
 
-	private McpStatelessRequestHandler<McpSchema.ListResourceTemplatesResult> resourceTemplateListRequestHandler() {
-		return (ctx, params) -> Mono.just(new McpSchema.ListResourceTemplatesResult(this.getResourceTemplates(), null));
-
+	private McpStatelessRequestHandler<RawJsonValue> resourceTemplateListRequestHandler() {
+		return (ctx, params) -> Mono
+			.fromSupplier(() -> this.listResultCache.page(McpSchema.METHOD_RESOURCES_TEMPLATES_LIST, cursor(params),
+					this::getResourceTemplates, McpSchema.ListResourceTemplatesResult::new));
 	}
 
 	private List<ResourceTemplate> getResourceTemplates() {
@@ -468,20 +511,18 @@ public class McpStatelessAsyncServer {
 
 	private McpStatelessRequestHandler<McpSchema.ReadResourceResult> resourcesReadRequestHandler() {
 		return (ctx, params) -> {
-			McpSchema.ReadResourceRequest resourceRequest = objectMapper.convertValue(params,
-					new TypeReference<McpSchema.ReadResourceRequest>() {
-					});
+			McpSchema.ReadResourceRequest resourceRequest = jsonRpcBinder.bind(params,
+					McpSchema.ReadResourceRequest.class);
 			var resourceUri = resourceRequest.uri();
 
-			McpStatelessServerFeatures.AsyncResourceSpecification specification = this.resources.values()
-				.stream()
-				.filter(resourceSpecification -> this.uriTemplateManagerFactory
-					.create(resourceSpecification.resource().uri())
-					.matches(resourceUri))
-				.findFirst()
-				.orElseThrow(() -> new McpError("Resource not found: " + resourceUri));
+			UriTemplateRouter.Match<McpStatelessServerFeatures.AsyncResourceSpecification> match = this.resourceRouter
+				.route(resourceUri);
+			if (match == null) {
+				throw new McpError("Resource not found: " + resourceUri);
+			}
+			McpStatelessServerFeatures.AsyncResourceSpecification specification = match.value();
 
-			return specification.readHandler().apply(ctx, resourceRequest);
+			return specification.readHandler().apply(match.transportContext(ctx), resourceRequest);
 		};
 	}
 
@@ -510,6 +551,7 @@ public class McpStatelessAsyncServer {
 						new McpError("Prompt with name '" + promptSpecification.prompt().name() + "' already exists"));
 			}
 
+			this.listResultCache.invalidate();
 			logger.debug("Added prompt handler: {}", promptSpecification.prompt().name());
 
 			return Mono.empty();
@@ -533,6 +575,7 @@ public class McpStatelessAsyncServer {
 			McpStatelessServerFeatures.AsyncPromptSpecification removed = this.prompts.remove(promptName);
 
 			if (removed != null) {
+				this.listResultCache.invalidate();
 				logger.debug("Removed prompt handler: {}", promptName);
 				return Mono.empty();
 			}
@@ -540,27 +583,26 @@ public class McpStatelessAsyncServer {
 		});
 	}
 
-	private McpStatelessRequestHandler<McpSchema.ListPromptsResult> promptsListRequestHandler() {
-		return (ctx, params) -> {
-			// TODO: Implement pagination
-			// McpSchema.PaginatedRequest request = objectMapper.convertValue(params,
-			// new TypeReference<McpSchema.PaginatedRequest>() {
-			// });
-
-			var promptList = this.prompts.values()
-				.stream()
-				.map(McpStatelessServerFeatures.AsyncPromptSpecification::prompt)
-				.toList();
+	private McpStatelessRequestHandler<RawJsonValue> promptsListRequestHandler() {
+		return (ctx, params) -> Mono
+			.fromSupplier(() -> this.listResultCache.page(McpSchema.METHOD_PROMPT_LIST, cursor(params),
+					() -> this.prompts.values()
+						.stream()
+						.map(McpStatelessServerFeatures.AsyncPromptSpecification::prompt)
+						.toList(),
+					McpSchema.ListPromptsResult::new));
+	}
 
-			return Mono.just(new McpSchema.ListPromptsResult(promptList, null));
-		};
+	private String cursor(Object params) {
+		if (params == null) {
+			return null;
+		}
+		return this.jsonRpcBinder.bind(params, McpSchema.PaginatedRequest.class).cursor();
 	}
 
 	private McpStatelessRequestHandler<McpSchema.GetPromptResult> promptsGetRequestHandler() {
 		return (ctx, params) -> {
-			McpSchema.GetPromptRequest promptRequest = objectMapper.convertValue(params,
-					new TypeReference<McpSchema.GetPromptRequest>() {
-					});
+			McpSchema.GetPromptRequest promptRequest = jsonRpcBinder.bind(params, McpSchema.GetPromptRequest.class);
 
 			// Implement prompt retrieval logic here
 			McpStatelessServerFeatures.AsyncPromptSpecification specification = this.prompts.get(promptRequest.name());
@@ -25,11 +25,11 @@ public class McpStatelessSyncServer {
 
 	private final McpStatelessAsyncServer asyncServer;
 
-	private final boolean immediateExecution;
+	private final McpSyncHandlerSchedulers schedulers;
 
-	McpStatelessSyncServer(McpStatelessAsyncServer asyncServer, boolean immediateExecution) {
+	McpStatelessSyncServer(McpStatelessAsyncServer asyncServer, McpSyncHandlerSchedulers schedulers) {
 		this.asyncServer = asyncServer;
-		this.immediateExecution = immediateExecution;
+		this.schedulers = schedulers;
 	}
 
 	/**
@@ -70,7 +70,7 @@ public class McpStatelessSyncServer {
 	public void addTool(McpStatelessServerFeatures.SyncToolSpecification toolSpecification) {
 		this.asyncServer
 			.addTool(McpStatelessServerFeatures.AsyncToolSpecification.fromSync(toolSpecification,
-					this.immediateExecution))
+					this.schedulers::tools))
 			.block();
 	}
 
@@ -89,7 +89,7 @@ public class McpStatelessSyncServer {
 	public void addResource(McpStatelessServerFeatures.SyncResourceSpecification resourceSpecification) {
 		this.asyncServer
 			.addResource(McpStatelessServerFeatures.AsyncResourceSpecification.fromSync(resourceSpecification,
-					this.immediateExecution))
+					this.schedulers::resources))
 			.block();
 	}
 
@@ -108,7 +108,7 @@ public class McpStatelessSyncServer {
 	public void addPrompt(McpStatelessServerFeatures.SyncPromptSpecification promptSpecification) {
 		this.asyncServer
 			.addPrompt(McpStatelessServerFeatures.AsyncPromptSpecification.fromSync(promptSpecification,
-					this.immediateExecution))
+					this.schedulers::prompts))
 			.block();
 	}
 
@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The schedulers that the handlers of the tools, resources, prompts and completions of a
+ * synchronous server are called on, so that their blocking work does not block the
+ * transport.
+ *
+ * <p>
+ * By default, every handler is called on {@link Schedulers#boundedElastic()}, whose
+ * threads are capped at ten per core and whose queue is bounded, so that handlers
+ * blocking on I/O queue up or are rejected under load. On Java 21 or later,
+ * {@link #virtualThreads()} instead calls every handler on its own virtual thread. The
+ * scheduler of each feature type can be set on its own, for example to call the handlers
+ * of I/O bound tools on virtual threads while keeping the other handlers on the bounded
+ * elastic scheduler:
+ *
+ * <pre>{@code
+ * McpServer.sync(transportProvider)
+ * 	.syncHandlerSchedulers(McpSyncHandlerSchedulers.builder()
+ * 		.tools(McpSyncHandlerSchedulers.virtualThreadScheduler())
+ * 		.build())
+ * 	.build();
+ * }</pre>
+ */
+public final class McpSyncHandlerSchedulers {
+
+	private static final McpSyncHandlerSchedulers BOUNDED_ELASTIC = builder().build();
+
+	private static final McpSyncHandlerSchedulers IMMEDIATE = builder().defaultScheduler(Schedulers.immediate())
+		.build();
+
+	private static volatile Scheduler virtualThreadScheduler;
+
+	// A null scheduler stands for Schedulers.boundedElastic(), which is looked up on each
+	// use as it is replaced once disposed
+
+	private final Scheduler tools;
+
+	private final Scheduler resources;
+
+	private final Scheduler prompts;
+
+	private final Scheduler completions;
+
+	private McpSyncHandlerSchedulers(Scheduler tools, Scheduler resources, Scheduler prompts, Scheduler completions) {
+		this.tools = tools;
+		this.resources = resources;
+		this.prompts = prompts;
+		this.completions = completions;
+	}
+
+	/**
+	 * Returns the schedulers calling every handler on
+	 * {@link Schedulers#boundedElastic()}, the default.
+	 * @return the bounded elastic schedulers
+	 */
+	public static McpSyncHandlerSchedulers boundedElastic() {
+		return BOUNDED_ELASTIC;
+	}
+
+	/**
+	 * Returns the schedulers calling every handler on its own virtual thread.
+	 * @return the virtual thread schedulers
+	 * @throws IllegalStateException if virtual threads are not supported by the running
+	 * Java version
+	 * @see #virtualThreadScheduler()
+	 */
+	public static McpSyncHandlerSchedulers virtualThreads() {
+		return builder().defaultScheduler(virtualThreadScheduler()).build();
+	}
+
+	/**
+	 * Returns a scheduler calling every task on its own virtual thread, shared by all the
+	 * servers. The scheduler is created on first use and its threads are not pooled, so
+	 * that the number of handlers blocking at once is not bounded by a number of threads.
+	 * @return the virtual thread scheduler
+	 * @throws IllegalStateException if virtual threads are not supported by the running
+	 * Java version
+	 */
+	public static Scheduler virtualThreadScheduler() {
+		Scheduler scheduler = virtualThreadScheduler;
+		if (scheduler == null) {
+			synchronized (McpSyncHandlerSchedulers.class) {
+				scheduler = virtualThreadScheduler;
+				if (scheduler == null) {
+					scheduler = Schedulers.fromExecutorService(newVirtualThreadPerTaskExecutor(),
+							"mcp-virtual-threads");
+					virtualThreadScheduler = scheduler;
+				}
+			}
+		}
+		return scheduler;
+	}
+
+	/**
+	 * Returns whether the running Java version supports virtual threads.
+	 * @return true if {@link #virtualThreadScheduler()} can be used
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		return Runtime.version().feature() >= 21;
+	}
+
+	// The library targets Java 17, so the factory method added in Java 21 is looked up
+	// at runtime
+	private static ExecutorService newVirtualThreadPerTaskExecutor() {
+		if (!isVirtualThreadsSupported()) {
+			throw new IllegalStateException(
+					"Virtual threads require Java 21 or later, running on Java " + Runtime.version().feature());
+		}
+		try {
+			return (ExecutorService) MethodHandles.publicLookup()
+				.findStatic(Executors.class, "newVirtualThreadPerTaskExecutor",
+						MethodType.methodType(ExecutorService.class))
+				.invoke();
+		}
+		catch (Throwable ex) {
+			throw new IllegalStateException("Failed to create a virtual thread per task executor", ex);
+		}
+	}
+
+	/**
+	 * Returns the schedulers calling every handler on the thread subscribing to its
+	 * result.
+	 * @return the immediate schedulers
+	 */
+	static McpSyncHandlerSchedulers immediate() {
+		return IMMEDIATE;
+	}
+
+	/**
+	 * Creates a builder of {@link McpSyncHandlerSchedulers}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	Scheduler tools() {
+		return orBoundedElastic(this.tools);
+	}
+
+	Scheduler resources() {
+		return orBoundedElastic(this.resources);
+	}
+
+	Scheduler prompts() {
+		return orBoundedElastic(this.prompts);
+	}
+
+	Scheduler completions() {
+		return orBoundedElastic(this.completions);
+	}
+
+	private static Scheduler orBoundedElastic(Scheduler scheduler) {
+		return scheduler != null ? scheduler : Schedulers.boundedElastic();
+	}
+
+	/**
+	 * Builder of {@link McpSyncHandlerSchedulers}.
+	 */
+	public static class Builder {
+
+		private Scheduler defaultScheduler;
+
+		private Scheduler tools;
+
+		private Scheduler resources;
+
+		private Scheduler prompts;
+
+		private Scheduler completions;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the scheduler of the feature types without a scheduler of their own.
+		 * Defaults to {@link Schedulers#boundedElastic()}.
+		 * @param defaultScheduler the scheduler
+		 * @return this builder
+		 */
+		public Builder defaultScheduler(Scheduler defaultScheduler) {
+			Assert.notNull(defaultScheduler, "Default scheduler must not be null");
+			this.defaultScheduler = defaultScheduler;
+			return this;
+		}
+
+		/**
+		 * Sets the scheduler the tool handlers are called on.
+		 * @param tools the scheduler
+		 * @return this builder
+		 */
+		public Builder tools(Scheduler tools) {
+			Assert.notNull(tools, "Tools scheduler must not be null");
+			this.tools = tools;
+			return this;
+		}
+
+		/**
+		 * Sets the scheduler the resource handlers are called on.
+		 * @param resources the scheduler
+		 * @return this builder
+		 */
+		public Builder resources(Scheduler resources) {
+			Assert.notNull(resources, "Resources scheduler must not be null");
+			this.resources = resources;
+			return this;
+		}
+
+		/**
+		 * Sets the scheduler the prompt handlers are called on.
+		 * @param prompts the scheduler
+		 * @return this builder
+		 */
+		public Builder prompts(Scheduler prompts) {
+			Assert.notNull(prompts, "Prompts scheduler must not be null");
+			this.prompts = prompts;
+			return this;
+		}
+
+		/**
+		 * Sets the scheduler the completion handlers are called on.
+		 * @param completions the scheduler
+		 * @return this builder
+		 */
+		public Builder completions(Scheduler completions) {
+			Assert.notNull(completions, "Completions scheduler must not be null");
+			this.completions = completions;
+			return this;
+		}
+
+		/**
+		 * Builds the schedulers.
+		 * @return the schedulers
+		 */
+		public McpSyncHandlerSchedulers build() {
+			return new McpSyncHandlerSchedulers(orDefault(this.tools), orDefault(this.resources),
+					orDefault(this.prompts), orDefault(this.completions));
+		}
+
+		private Scheduler orDefault(Scheduler scheduler) {
+			return scheduler != null ? scheduler : this.defaultScheduler;
+		}
+
+	}
+
+}
@@ -55,7 +55,7 @@ public class McpSyncServer {
 	 */
 	private final McpAsyncServer asyncServer;
 
-	private final boolean immediateExecution;
+	private final McpSyncHandlerSchedulers schedulers;
 
 	/**
 	 * Creates a new synchronous server that wraps the provided async server.
@@ -73,9 +73,20 @@ public class McpSyncServer {
 	 * transport is non-blocking.
 	 */
 	public McpSyncServer(McpAsyncServer asyncServer, boolean immediateExecution) {
+		this(asyncServer,
+				immediateExecution ? McpSyncHandlerSchedulers.immediate() : McpSyncHandlerSchedulers.boundedElastic());
+	}
+
+	/**
+	 * Creates a new synchronous server that wraps the provided async server.
+	 * @param asyncServer The async server to wrap
+	 * @param schedulers The schedulers the handlers of the tools, prompts, and resources
+	 * added at runtime are called on
+	 */
+	McpSyncServer(McpAsyncServer asyncServer, McpSyncHandlerSchedulers schedulers) {
 		Assert.notNull(asyncServer, "Async server must not be null");
 		this.asyncServer = asyncServer;
-		this.immediateExecution = immediateExecution;
+		this.schedulers = schedulers;
 	}
 
 	/**
@@ -83,8 +94,7 @@ public class McpSyncServer {
 	 * @param toolHandler The tool handler to add
 	 */
 	public void addTool(McpServerFeatures.SyncToolSpecification toolHandler) {
-		this.asyncServer
-			.addTool(McpServerFeatures.AsyncToolSpecification.fromSync(toolHandler, this.immediateExecution))
+		this.asyncServer.addTool(McpServerFeatures.AsyncToolSpecification.fromSync(toolHandler, this.schedulers::tools))
 			.block();
 	}
 
@@ -103,7 +113,7 @@ public class McpSyncServer {
 	public void addResource(McpServerFeatures.SyncResourceSpecification resourceHandler) {
 		this.asyncServer
 			.addResource(
-					McpServerFeatures.AsyncResourceSpecification.fromSync(resourceHandler, this.immediateExecution))
+					McpServerFeatures.AsyncResourceSpecification.fromSync(resourceHandler, this.schedulers::resources))
 			.block();
 	}
 
@@ -122,7 +132,7 @@ public class McpSyncServer {
 	public void addPrompt(McpServerFeatures.SyncPromptSpecification promptSpecification) {
 		this.asyncServer
 			.addPrompt(
-					McpServerFeatures.AsyncPromptSpecification.fromSync(promptSpecification, this.immediateExecution))
+					McpServerFeatures.AsyncPromptSpecification.fromSync(promptSpecification, this.schedulers::prompts))
 			.block();
 	}
 
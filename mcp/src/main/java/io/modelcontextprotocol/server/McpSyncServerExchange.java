@@ -4,6 +4,8 @@
 
 package io.modelcontextprotocol.server;
 
+import java.util.Map;
+
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
 
@@ -18,6 +20,8 @@ public class McpSyncServerExchange {
 
 	private final McpAsyncServerExchange exchange;
 
+	private volatile boolean cancelled;
+
 	/**
 	 * Create a new synchronous exchange with the client using the provided asynchronous
 	 * implementation as a delegate.
@@ -61,6 +65,16 @@ public class McpSyncServerExchange {
 		return this.exchange.transportContext();
 	}
 
+	/**
+	 * Returns the values of the variables of the URI template matched by the
+	 * resources/read request being handled, by variable name.
+	 * @return the values of the URI template variables, empty if there are none
+	 * @see McpTransportContext#uriVariables()
+	 */
+	public Map<String, String> uriVariables() {
+		return this.exchange.uriVariables();
+	}
+
 	/**
 	 * Create a new message using the sampling capabilities of the client. The Model
 	 * Context Protocol (MCP) provides a standardized way for servers to request LLM
@@ -134,6 +148,25 @@ public class McpSyncServerExchange {
 		this.exchange.progressNotification(progressNotification).block();
 	}
 
+	/**
+	 * Whether the request handled with this exchange has been cancelled, because the
+	 * client sent a {@code notifications/cancelled} notification or the session was
+	 * closed. Long-running handlers should check it regularly and stop early, since the
+	 * result of a cancelled request is not sent to the client. The thread running the
+	 * handler is also interrupted.
+	 * @return {@code true} if the request has been cancelled
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * Marks the request handled with this exchange as cancelled.
+	 */
+	void cancel() {
+		this.cancelled = true;
+	}
+
 	/**
 	 * Sends a synchronous ping request to the client.
 	 * @return
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Bounds the calls of a tool handled at the same time, so that a slow or overloaded tool
+ * cannot take the execution resources of the other tools of a server.
+ *
+ * <p>
+ * A call made while {@code maxConcurrentCalls} calls are in flight waits in a queue of at
+ * most {@code maxQueuedCalls} calls, and is started when a call completes. A call made
+ * while the queue is full, or still waiting after {@code queueTimeout}, is rejected
+ * without calling the tool, with a {@link McpError#overloaded(String, Duration)} error
+ * hinting the client to retry after {@code retryAfter}.
+ *
+ * <p>
+ * A bulkhead is applied to a tool with
+ * {@link McpServerFeatures.AsyncToolSpecification#withBulkhead(McpToolBulkhead)} or
+ * {@link McpStatelessServerFeatures.AsyncToolSpecification#withBulkhead(McpToolBulkhead)}.
+ * Tools sharing a bulkhead share its limits. The calls in flight, waiting and rejected
+ * are reported by {@link #metrics()}.
+ */
+public final class McpToolBulkhead {
+
+	/**
+	 * A snapshot of the counters of a bulkhead.
+	 *
+	 * @param inFlightCalls the number of calls being handled
+	 * @param queuedCalls the number of calls waiting to be handled
+	 * @param rejectedCalls the number of calls rejected because the queue was full
+	 * @param timedOutCalls the number of calls rejected because they waited longer than
+	 * the queue timeout
+	 */
+	public record Metrics(int inFlightCalls, int queuedCalls, long rejectedCalls, long timedOutCalls) {
+	}
+
+	private final int maxConcurrentCalls;
+
+	private final int maxQueuedCalls;
+
+	private final Duration queueTimeout;
+
+	private final Duration retryAfter;
+
+	private final Scheduler timer;
+
+	// Guarded by this
+	private final ArrayDeque<Call<?>> queue = new ArrayDeque<>();
+
+	// Guarded by this
+	private int inFlightCalls;
+
+	private final LongAdder rejectedCalls = new LongAdder();
+
+	private final LongAdder timedOutCalls = new LongAdder();
+
+	private McpToolBulkhead(int maxConcurrentCalls, int maxQueuedCalls, Duration queueTimeout, Duration retryAfter,
+			Scheduler timer) {
+		this.maxConcurrentCalls = maxConcurrentCalls;
+		this.maxQueuedCalls = maxQueuedCalls;
+		this.queueTimeout = queueTimeout;
+		this.retryAfter = retryAfter;
+		this.timer = timer;
+	}
+
+	/**
+	 * Creates a builder of {@link McpToolBulkhead}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Returns a snapshot of the counters of this bulkhead.
+	 * @return the metrics
+	 */
+	public synchronized Metrics metrics() {
+		return new Metrics(this.inFlightCalls, this.queue.size(), this.rejectedCalls.sum(), this.timedOutCalls.sum());
+	}
+
+	/**
+	 * Calls a tool once the bulkhead admits the call.
+	 * @param toolName the name of the called tool, reported in the rejections
+	 * @param call the call of the tool
+	 * @return the result of the call, or an {@link McpError} if the call is rejected
+	 */
+	<T> Mono<T> call(String toolName, Mono<T> call) {
+		return Mono.create(sink -> {
+			Call<T> pending = new Call<>(call, sink);
+			sink.onCancel(() -> cancel(pending));
+			boolean start = false;
+			boolean rejected = false;
+			synchronized (this) {
+				if (this.inFlightCalls < this.maxConcurrentCalls) {
+					this.inFlightCalls++;
+					start = true;
+				}
+				else if (this.queue.size() < this.maxQueuedCalls) {
+					this.queue.add(pending);
+					pending.timeout.update(this.timer.schedule(() -> expire(pending, toolName),
+							this.queueTimeout.toNanos(), TimeUnit.NANOSECONDS));
+				}
+				else {
+					rejected = true;
+				}
+			}
+			if (start) {
+				pending.start();
+			}
+			else if (rejected) {
+				this.rejectedCalls.increment();
+				sink.error(McpError.overloaded("Tool " + toolName + " is overloaded: " + this.maxConcurrentCalls
+						+ " calls in flight and " + this.maxQueuedCalls + " queued", this.retryAfter));
+			}
+		});
+	}
+
+	private void cancel(Call<?> call) {
+		boolean dequeued;
+		synchronized (this) {
+			dequeued = this.queue.remove(call);
+		}
+		if (dequeued) {
+			call.timeout.dispose();
+		}
+		else {
+			call.subscription.dispose();
+		}
+	}
+
+	private void expire(Call<?> call, String toolName) {
+		boolean dequeued;
+		synchronized (this) {
+			dequeued = this.queue.remove(call);
+		}
+		if (dequeued) {
+			this.timedOutCalls.increment();
+			call.sink.error(McpError.overloaded(
+					"Tool " + toolName + " is overloaded: the call waited more than " + this.queueTimeout,
+					this.retryAfter));
+		}
+	}
+
+	private void release() {
+		Call<?> next;
+		synchronized (this) {
+			next = this.queue.poll();
+			if (next == null) {
+				this.inFlightCalls--;
+				return;
+			}
+		}
+		next.timeout.dispose();
+		next.start();
+	}
+
+	private final class Call<T> {
+
+		private final Mono<T> call;
+
+		private final MonoSink<T> sink;
+
+		private final Disposable.Swap timeout = Disposables.swap();
+
+		private final Disposable.Swap subscription = Disposables.swap();
+
+		private Call(Mono<T> call, MonoSink<T> sink) {
+			this.call = call;
+			this.sink = sink;
+		}
+
+		// The permit taken for this call is released when the call terminates or is
+		// cancelled. The call sees the context of its caller, even when started by the
+		// completion of another call.
+		private void start() {
+			this.subscription.update(this.call.contextWrite(this.sink.contextView())
+				.doFinally(signal -> release())
+				.subscribe(this.sink::success, this.sink::error, this.sink::success));
+		}
+
+	}
+
+	/**
+	 * Builder of {@link McpToolBulkhead}.
+	 */
+	public static class Builder {
+
+		private int maxConcurrentCalls = 10;
+
+		private int maxQueuedCalls = 0;
+
+		private Duration queueTimeout = Duration.ofSeconds(1);
+
+		private Duration retryAfter = Duration.ofSeconds(1);
+
+		private Scheduler timer = Schedulers.parallel();
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the maximum number of calls handled at the same time. Defaults to 10.
+		 * @param maxConcurrentCalls the maximum number of calls in flight
+		 * @return this builder
+		 */
+		public Builder maxConcurrentCalls(int maxConcurrentCalls) {
+			Assert.isTrue(maxConcurrentCalls > 0, "Max concurrent calls must be positive");
+			this.maxConcurrentCalls = maxConcurrentCalls;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of calls waiting for a call in flight to complete.
+		 * Defaults to 0: calls that cannot be handled immediately are rejected.
+		 * @param maxQueuedCalls the maximum number of waiting calls
+		 * @return this builder
+		 */
+		public Builder maxQueuedCalls(int maxQueuedCalls) {
+			Assert.isTrue(maxQueuedCalls >= 0, "Max queued calls must not be negative");
+			this.maxQueuedCalls = maxQueuedCalls;
+			return this;
+		}
+
+		/**
+		 * Sets how long a call waits in the queue before being rejected. Defaults to one
+		 * second.
+		 * @param queueTimeout the queue timeout
+		 * @return this builder
+		 */
+		public Builder queueTimeout(Duration queueTimeout) {
+			Assert.notNull(queueTimeout, "Queue timeout must not be null");
+			Assert.isTrue(!queueTimeout.isNegative() && !queueTimeout.isZero(), "Queue timeout must be positive");
+			this.queueTimeout = queueTimeout;
+			return this;
+		}
+
+		/**
+		 * Sets how long the rejected clients are hinted to wait before retrying. Defaults
+		 * to one second.
+		 * @param retryAfter the retry hint
+		 * @return this builder
+		 */
+		public Builder retryAfter(Duration retryAfter) {
+			Assert.notNull(retryAfter, "Retry after must not be null");
+			Assert.isTrue(!retryAfter.isNegative(), "Retry after must not be negative");
+			this.retryAfter = retryAfter;
+			return this;
+		}
+
+		Builder timer(Scheduler timer) {
+			this.timer = timer;
+			return this;
+		}
+
+		/**
+		 * Builds the bulkhead.
+		 * @return the bulkhead
+		 */
+		public McpToolBulkhead build() {
+			return new McpToolBulkhead(this.maxConcurrentCalls, this.maxQueuedCalls, this.queueTimeout, this.retryAfter,
+					this.timer);
+		}
+
+	}
+
+}
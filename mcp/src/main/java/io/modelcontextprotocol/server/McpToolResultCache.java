@@ -0,0 +1,412 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the results of the tools that declare, through their
+ * {@link McpSchema.ToolAnnotations annotations}, that they do not modify their
+ * environment ({@code readOnlyHint}) or that calling them again with the same arguments
+ * has no additional effect ({@code idempotentHint}). A call to such a tool with the same
+ * arguments as a previous call is answered with the result of that call, without calling
+ * the tool, until the result expires.
+ *
+ * <p>
+ * Results are keyed by the name of the tool and a hash of its arguments serialized with
+ * their keys sorted, so that arguments differing only by the order of their keys share a
+ * result. Results that are errors are not cached. Each result expires after the time to
+ * live of its tool, and the least recently used results are evicted once the serialized
+ * size of the cached results exceeds the maximum weight.
+ *
+ * <p>
+ * By default, the key does not identify the caller: every caller receives the result
+ * cached for the first one, so only cache the tools whose result does not depend on the
+ * caller, or key the results by caller with {@link Builder#callerResolver(Function)}. For
+ * the same reason, no tool is cached by default: each tool is opted in with
+ * {@link Builder#ttl(String, Duration)}, or all of them with
+ * {@link Builder#defaultTtl(Duration)}.
+ *
+ * <p>
+ * The server invalidates the results of a tool when the tool is added or removed, so that
+ * a tool registered again does not answer with the results of its previous
+ * implementation. Results that depend on state changed by other means can be invalidated
+ * with {@link #invalidate(String)}, {@link #invalidate(String, Map)} and
+ * {@link #invalidateAll()}. A call in flight when its tool is invalidated does not cache
+ * its result.
+ *
+ * <p>
+ * A cache may be shared by several servers, stateful or stateless. The hits, misses and
+ * evictions are reported by {@link #metrics()}.
+ */
+public final class McpToolResultCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpToolResultCache.class);
+
+	/**
+	 * A snapshot of the counters of a cache.
+	 *
+	 * @param hits the number of calls answered from the cache
+	 * @param misses the number of calls to cacheable tools that called the tool
+	 * @param evictions the number of results evicted to stay within the maximum weight
+	 * @param expirations the number of results dropped because they expired
+	 * @param entries the number of cached results
+	 * @param weightBytes the serialized size of the cached results, in bytes
+	 */
+	public record Metrics(long hits, long misses, long evictions, long expirations, int entries, long weightBytes) {
+	}
+
+	private record Key(String toolName, String caller, String argumentsHash) {
+	}
+
+	private record Entry(McpSchema.CallToolResult result, long weight, long expiresAtNanos) {
+	}
+
+	private final ObjectMapper canonicalMapper = new ObjectMapper()
+		.configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+	private final long maxWeightBytes;
+
+	private final Duration defaultTtl;
+
+	private final Map<String, Duration> toolTtls;
+
+	private final Function<McpTransportContext, String> callerResolver;
+
+	private final LongSupplier nanoClock;
+
+	// The fields below are guarded by this
+
+	private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private long weightBytes;
+
+	// Bumped by every invalidation, so that calls in flight do not cache stale results
+	private long generation;
+
+	private long hits;
+
+	private long misses;
+
+	private long evictions;
+
+	private long expirations;
+
+	private McpToolResultCache(long maxWeightBytes, Duration defaultTtl, Map<String, Duration> toolTtls,
+			Function<McpTransportContext, String> callerResolver, LongSupplier nanoClock) {
+		this.maxWeightBytes = maxWeightBytes;
+		this.defaultTtl = defaultTtl;
+		this.toolTtls = Map.copyOf(toolTtls);
+		this.callerResolver = callerResolver;
+		this.nanoClock = nanoClock;
+	}
+
+	/**
+	 * Creates a builder of {@link McpToolResultCache}.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Invalidates the cached results of a tool.
+	 * @param toolName the name of the tool
+	 */
+	public synchronized void invalidate(String toolName) {
+		Assert.notNull(toolName, "Tool name must not be null");
+		this.generation++;
+		Iterator<Map.Entry<Key, Entry>> iterator = this.entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Key, Entry> entry = iterator.next();
+			if (entry.getKey().toolName().equals(toolName)) {
+				iterator.remove();
+				this.weightBytes -= entry.getValue().weight();
+			}
+		}
+	}
+
+	/**
+	 * Invalidates the cached results of the calls to a tool with the given arguments, for
+	 * every caller.
+	 * @param toolName the name of the tool
+	 * @param arguments the arguments of the call
+	 */
+	public void invalidate(String toolName, Map<String, Object> arguments) {
+		Assert.notNull(toolName, "Tool name must not be null");
+		String argumentsHash;
+		try {
+			argumentsHash = hash(arguments);
+		}
+		catch (JsonProcessingException e) {
+			invalidate(toolName);
+			return;
+		}
+		synchronized (this) {
+			this.generation++;
+			Iterator<Map.Entry<Key, Entry>> iterator = this.entries.entrySet().iterator();
+			while (iterator.hasNext()) {
+				Map.Entry<Key, Entry> entry = iterator.next();
+				if (entry.getKey().toolName().equals(toolName)
+						&& entry.getKey().argumentsHash().equals(argumentsHash)) {
+					iterator.remove();
+					this.weightBytes -= entry.getValue().weight();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Invalidates all the cached results.
+	 */
+	public synchronized void invalidateAll() {
+		this.generation++;
+		this.entries.clear();
+		this.weightBytes = 0;
+	}
+
+	/**
+	 * Returns a snapshot of the counters of this cache.
+	 * @return the metrics
+	 */
+	public synchronized Metrics metrics() {
+		return new Metrics(this.hits, this.misses, this.evictions, this.expirations, this.entries.size(),
+				this.weightBytes);
+	}
+
+	/**
+	 * Answers a tool call from the cache when the tool is cacheable and a result for the
+	 * same arguments is cached, and otherwise calls the tool, caching its result.
+	 * @param tool the called tool
+	 * @param request the call request
+	 * @param transportContext the transport context of the call, to resolve its caller
+	 * from
+	 * @param call the call of the tool
+	 * @return the result of the call
+	 */
+	Mono<McpSchema.CallToolResult> call(McpSchema.Tool tool, McpSchema.CallToolRequest request,
+			McpTransportContext transportContext, Mono<McpSchema.CallToolResult> call) {
+		Duration ttl = ttl(tool);
+		if (ttl == null) {
+			return call;
+		}
+		return Mono.defer(() -> {
+			Key key;
+			try {
+				key = new Key(tool.name(), caller(transportContext), hash(request.arguments()));
+			}
+			catch (JsonProcessingException e) {
+				logger.debug("Not caching the result of tool {}: {}", tool.name(), e.getMessage());
+				return call;
+			}
+			long generation;
+			synchronized (this) {
+				McpSchema.CallToolResult cached = lookup(key);
+				if (cached != null) {
+					return Mono.just(cached);
+				}
+				generation = this.generation;
+			}
+			return call.doOnNext(result -> store(key, result, ttl, generation));
+		});
+	}
+
+	// Returns null if the results of the tool are not cached
+	private Duration ttl(McpSchema.Tool tool) {
+		McpSchema.ToolAnnotations annotations = tool.annotations();
+		if (annotations == null || !(Boolean.TRUE.equals(annotations.readOnlyHint())
+				|| Boolean.TRUE.equals(annotations.idempotentHint()))) {
+			return null;
+		}
+		Duration ttl = this.toolTtls.getOrDefault(tool.name(), this.defaultTtl);
+		return ttl.isZero() ? null : ttl;
+	}
+
+	// Returns an empty string when results are not keyed by caller, or the caller is
+	// unknown
+	private String caller(McpTransportContext transportContext) {
+		if (this.callerResolver == null) {
+			return "";
+		}
+		String caller = this.callerResolver
+			.apply(transportContext != null ? transportContext : McpTransportContext.EMPTY);
+		return caller != null ? caller : "";
+	}
+
+	private String hash(Map<String, Object> arguments) throws JsonProcessingException {
+		byte[] canonical = this.canonicalMapper.writeValueAsBytes(arguments != null ? arguments : Map.of());
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical);
+			return Base64.getEncoder().encodeToString(digest);
+		}
+		catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// Must be called while holding the lock
+	private McpSchema.CallToolResult lookup(Key key) {
+		Entry entry = this.entries.get(key);
+		if (entry != null && entry.expiresAtNanos() - this.nanoClock.getAsLong() <= 0) {
+			this.entries.remove(key);
+			this.weightBytes -= entry.weight();
+			this.expirations++;
+			entry = null;
+		}
+		if (entry == null) {
+			this.misses++;
+			return null;
+		}
+		this.hits++;
+		return entry.result();
+	}
+
+	private void store(Key key, McpSchema.CallToolResult result, Duration ttl, long generation) {
+		if (Boolean.TRUE.equals(result.isError())) {
+			return;
+		}
+		long weight;
+		try {
+			weight = this.canonicalMapper.writeValueAsBytes(result).length
+					+ (long) (key.toolName().length() + key.caller().length() + key.argumentsHash().length()) * 2;
+		}
+		catch (JsonProcessingException e) {
+			logger.debug("Not caching the result of tool {}: {}", key.toolName(), e.getMessage());
+			return;
+		}
+		if (weight > this.maxWeightBytes) {
+			return;
+		}
+		Entry entry = new Entry(result, weight, this.nanoClock.getAsLong() + ttl.toNanos());
+		synchronized (this) {
+			if (generation != this.generation) {
+				return;
+			}
+			Entry previous = this.entries.put(key, entry);
+			if (previous != null) {
+				this.weightBytes -= previous.weight();
+			}
+			this.weightBytes += weight;
+			Iterator<Entry> eldest = this.entries.values().iterator();
+			while (this.weightBytes > this.maxWeightBytes) {
+				this.weightBytes -= eldest.next().weight();
+				eldest.remove();
+				this.evictions++;
+			}
+		}
+	}
+
+	/**
+	 * Builder of {@link McpToolResultCache}.
+	 */
+	public static class Builder {
+
+		private long maxWeightBytes = 16 * 1024 * 1024;
+
+		private Duration defaultTtl = Duration.ZERO;
+
+		private final Map<String, Duration> toolTtls = new HashMap<>();
+
+		private Function<McpTransportContext, String> callerResolver;
+
+		private LongSupplier nanoClock = System::nanoTime;
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the maximum serialized size of the cached results, beyond which the least
+		 * recently used results are evicted. Defaults to 16 MiB.
+		 * @param maxWeightBytes the maximum weight, in bytes
+		 * @return this builder
+		 */
+		public Builder maxWeightBytes(long maxWeightBytes) {
+			Assert.isTrue(maxWeightBytes > 0, "Max weight must be positive");
+			this.maxWeightBytes = maxWeightBytes;
+			return this;
+		}
+
+		/**
+		 * Sets the time to live of the results of the tools without a time to live of
+		 * their own. Defaults to {@link Duration#ZERO}, so that only the tools configured
+		 * with {@link #ttl(String, Duration)} are cached.
+		 * @param defaultTtl the time to live, or {@link Duration#ZERO} to only cache the
+		 * tools configured with {@link #ttl(String, Duration)}
+		 * @return this builder
+		 */
+		public Builder defaultTtl(Duration defaultTtl) {
+			Assert.notNull(defaultTtl, "Default TTL must not be null");
+			Assert.isTrue(!defaultTtl.isNegative(), "Default TTL must not be negative");
+			this.defaultTtl = defaultTtl;
+			return this;
+		}
+
+		/**
+		 * Sets the time to live of the results of a tool.
+		 * @param toolName the name of the tool
+		 * @param ttl the time to live, or {@link Duration#ZERO} to not cache the results
+		 * of the tool
+		 * @return this builder
+		 */
+		public Builder ttl(String toolName, Duration ttl) {
+			Assert.hasText(toolName, "Tool name must not be empty");
+			Assert.notNull(ttl, "TTL must not be null");
+			Assert.isTrue(!ttl.isNegative(), "TTL must not be negative");
+			this.toolTtls.put(toolName, ttl);
+			return this;
+		}
+
+		/**
+		 * Keys the results by their caller as well, for tools whose result depends on the
+		 * caller, such as the authenticated user. The calls resolved to the same caller
+		 * share their results, and those resolved to {@code null} share theirs with each
+		 * other. By default, all the callers share the results.
+		 * @param callerResolver the function resolving the caller of a call from its
+		 * transport context
+		 * @return this builder
+		 */
+		public Builder callerResolver(Function<McpTransportContext, String> callerResolver) {
+			Assert.notNull(callerResolver, "Caller resolver must not be null");
+			this.callerResolver = callerResolver;
+			return this;
+		}
+
+		Builder nanoClock(LongSupplier nanoClock) {
+			this.nanoClock = nanoClock;
+			return this;
+		}
+
+		/**
+		 * Builds the cache.
+		 * @return the cache
+		 */
+		public McpToolResultCache build() {
+			return new McpToolResultCache(this.maxWeightBytes, this.defaultTtl, this.toolTtls, this.callerResolver,
+					this.nanoClock);
+		}
+
+	}
+
+}
@@ -1,6 +1,7 @@
 package io.modelcontextprotocol.server;
 
 import java.util.Collections;
+import java.util.Map;
 
 /**
  * Context associated with the transport layer. It allows to add transport-level metadata
@@ -43,4 +44,14 @@ public interface McpTransportContext {
 	 */
 	McpTransportContext copy();
 
+	/**
+	 * Returns the values of the variables of the URI template matched by the
+	 * resources/read request being handled, by variable name. Only the context passed to
+	 * the read handler of a resource registered under a URI template holds variables.
+	 * @return the values of the URI template variables, empty if there are none
+	 */
+	default Map<String, String> uriVariables() {
+		return Map.of();
+	}
+
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces concurrent identical requests into a single call. The first request for a key
+ * starts the call and the requests for the same key made before it terminates wait for
+ * its result instead of calling again.
+ *
+ * <p>
+ * The shared call is reference counted: a waiter that cancels only stops waiting, and the
+ * call is only cancelled once every waiter has cancelled. A request made after the call
+ * terminated starts a new call.
+ *
+ * @param <K> the type of the keys identifying identical requests
+ * @param <T> the type of the results
+ */
+final class RequestCoalescer<K, T> {
+
+	private final ConcurrentHashMap<K, Mono<T>> inFlight = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the result of the call in flight for the key, or of a new call if there is
+	 * none.
+	 * @param key the key identifying identical requests
+	 * @param call supplies the call, only invoked when a new call is started
+	 * @return the result of the shared call
+	 */
+	Mono<T> coalesce(K key, Supplier<Mono<T>> call) {
+		return Mono.defer(() -> this.inFlight.computeIfAbsent(key, k -> share(k, call)));
+	}
+
+	/**
+	 * Returns the number of calls in flight.
+	 * @return the number of calls in flight
+	 */
+	int inFlight() {
+		return this.inFlight.size();
+	}
+
+	private Mono<T> share(K key, Supplier<Mono<T>> call) {
+		AtomicReference<Mono<T>> self = new AtomicReference<>();
+		// refCount(1) connects on the first waiter and cancels the call once the last
+		// waiter has cancelled; singleOrEmpty() does not cancel it on the first value
+		Mono<T> shared = Mono.defer(call)
+			.doFinally(signal -> this.inFlight.remove(key, self.get()))
+			.flux()
+			.publish()
+			.refCount(1)
+			.singleOrEmpty();
+		self.set(shared);
+		return shared;
+	}
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSession;
+import io.modelcontextprotocol.spec.RawJsonValue;
+import io.modelcontextprotocol.util.Assert;
+import io.modelcontextprotocol.util.McpUriTemplateManager;
+import io.modelcontextprotocol.util.McpUriTemplateManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Index of the {@code resources/subscribe} subscriptions of the sessions of a server.
+ *
+ * <p>
+ * Sessions are registered when they are created and unregistered when they are closed,
+ * which also drops their subscriptions. A session subscribes to either a resource URI or
+ * a URI template, in which case it receives the updates of every resource whose URI
+ * matches the template. Subscriptions to URIs are resolved with a hash lookup, templates
+ * are matched with the managers created once when they are first subscribed to.
+ *
+ * <p>
+ * An update is sent only to the subscribed sessions, and its parameters are serialized
+ * once for all of them.
+ */
+final class ResourceSubscriptionRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(ResourceSubscriptionRegistry.class);
+
+	private final ObjectMapper objectMapper;
+
+	private final McpUriTemplateManagerFactory uriTemplateManagerFactory;
+
+	private final Map<String, Subscriber> sessions = new ConcurrentHashMap<>();
+
+	private final Map<String, Set<String>> uriSubscriptions = new ConcurrentHashMap<>();
+
+	private final Map<String, TemplateSubscription> templateSubscriptions = new ConcurrentHashMap<>();
+
+	private final Object writeLock = new Object();
+
+	/**
+	 * Creates a new, empty registry.
+	 * @param objectMapper the ObjectMapper to serialize updates with
+	 * @param uriTemplateManagerFactory the factory configured for the server
+	 */
+	ResourceSubscriptionRegistry(ObjectMapper objectMapper, McpUriTemplateManagerFactory uriTemplateManagerFactory) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.notNull(uriTemplateManagerFactory, "URI template manager factory must not be null");
+		this.objectMapper = objectMapper;
+		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+	}
+
+	/**
+	 * Registers a session that can subscribe to resources.
+	 * @param sessionId the session id
+	 * @param session the session to send updates through
+	 */
+	void addSession(String sessionId, McpSession session) {
+		Assert.notNull(sessionId, "Session id must not be null");
+		Assert.notNull(session, "Session must not be null");
+		this.sessions.putIfAbsent(sessionId, new Subscriber(session, ConcurrentHashMap.newKeySet()));
+	}
+
+	/**
+	 * Unregisters a session and drops all its subscriptions.
+	 * @param sessionId the session id
+	 */
+	void removeSession(String sessionId) {
+		synchronized (this.writeLock) {
+			Subscriber subscriber = this.sessions.remove(sessionId);
+			if (subscriber != null) {
+				subscriber.uris().forEach(uri -> removeSubscription(sessionId, uri));
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of registered sessions.
+	 * @return the number of registered sessions
+	 */
+	int sessionCount() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * Subscribes a session to the updates of a resource URI or URI template.
+	 * @param sessionId the session id
+	 * @param uri the resource URI or URI template
+	 * @throws McpError if the session is not registered
+	 */
+	void subscribe(String sessionId, String uri) {
+		Assert.hasText(uri, "URI must not be empty");
+		synchronized (this.writeLock) {
+			Subscriber subscriber = sessionId != null ? this.sessions.get(sessionId) : null;
+			if (subscriber == null) {
+				throw new McpError(new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INVALID_REQUEST,
+						"Session does not support resource subscriptions: " + sessionId, null));
+			}
+			if (!subscriber.uris().add(uri)) {
+				return;
+			}
+			McpUriTemplateManager manager = this.uriTemplateManagerFactory.create(uri);
+			if (manager.isUriTemplate(uri)) {
+				this.templateSubscriptions
+					.computeIfAbsent(uri, template -> new TemplateSubscription(manager, ConcurrentHashMap.newKeySet()))
+					.sessionIds()
+					.add(sessionId);
+			}
+			else {
+				this.uriSubscriptions.computeIfAbsent(uri, key -> ConcurrentHashMap.newKeySet()).add(sessionId);
+			}
+		}
+	}
+
+	/**
+	 * Removes the subscription of a session to a resource URI or URI template.
+	 * @param sessionId the session id
+	 * @param uri the resource URI or URI template the session subscribed to
+	 */
+	void unsubscribe(String sessionId, String uri) {
+		synchronized (this.writeLock) {
+			Subscriber subscriber = sessionId != null ? this.sessions.get(sessionId) : null;
+			if (subscriber != null && uri != null && subscriber.uris().remove(uri)) {
+				removeSubscription(sessionId, uri);
+			}
+		}
+	}
+
+	/**
+	 * Returns the ids of the sessions subscribed to a resource, either directly or
+	 * through a template matching its URI.
+	 * @param uri the resource URI
+	 * @return the ids of the subscribed sessions
+	 */
+	Set<String> subscribers(String uri) {
+		Set<String> sessionIds = new HashSet<>(this.uriSubscriptions.getOrDefault(uri, Set.of()));
+		for (TemplateSubscription subscription : this.templateSubscriptions.values()) {
+			if (subscription.manager().matches(uri)) {
+				sessionIds.addAll(subscription.sessionIds());
+			}
+		}
+		return sessionIds;
+	}
+
+	/**
+	 * Sends a resource update to the sessions subscribed to the resource.
+	 * @param notification the update
+	 * @return a {@link Mono} that completes when all subscribed sessions have been
+	 * notified
+	 */
+	Mono<Void> notifyUpdated(McpSchema.ResourcesUpdatedNotification notification) {
+		Assert.notNull(notification, "Notification must not be null");
+		return Mono.defer(() -> {
+			List<McpSession> targets = new ArrayList<>();
+			for (String sessionId : subscribers(notification.uri())) {
+				Subscriber subscriber = this.sessions.get(sessionId);
+				if (subscriber != null) {
+					targets.add(subscriber.session());
+				}
+			}
+			if (targets.isEmpty()) {
+				logger.debug("No sessions subscribed to resource {}", notification.uri());
+				return Mono.empty();
+			}
+			RawJsonValue params = RawJsonValue.of(this.objectMapper, notification);
+			return Flux.fromIterable(targets)
+				.flatMap(session -> session.sendNotification(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED, params)
+					.doOnError(e -> logger.error("Failed to send resource update: {}", e.getMessage()))
+					.onErrorComplete())
+				.then();
+		});
+	}
+
+	private void removeSubscription(String sessionId, String uri) {
+		this.uriSubscriptions.computeIfPresent(uri, (key, sessionIds) -> {
+			sessionIds.remove(sessionId);
+			return sessionIds.isEmpty() ? null : sessionIds;
+		});
+		this.templateSubscriptions.computeIfPresent(uri, (key, subscription) -> {
+			subscription.sessionIds().remove(sessionId);
+			return subscription.sessionIds().isEmpty() ? null : subscription;
+		});
+	}
+
+	private record Subscriber(McpSession session, Set<String> uris) {
+	}
+
+	private record TemplateSubscription(McpUriTemplateManager manager, Set<String> sessionIds) {
+	}
+
+}
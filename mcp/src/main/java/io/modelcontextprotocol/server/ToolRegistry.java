@@ -0,0 +1,186 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Concurrent registry of tool specifications indexed by tool name.
+ *
+ * <p>
+ * The registered tools are held in an immutable snapshot, so lookups by name are
+ * lock-free hash lookups, and resolving the target of a {@code tools/call} request does
+ * not depend on the number of registered tools. Listing returns the tools in registration
+ * order without copying them. Changes are serialized among themselves: each builds a new
+ * snapshot and publishes it at once, so concurrent readers observe a bulk change either
+ * completely or not at all. Tools change far less often than they are looked up, which
+ * pays for copying the registry on each change.
+ *
+ * @param <T> the type of tool specification
+ */
+final class ToolRegistry<T> {
+
+	private final Function<T, String> nameExtractor;
+
+	private final Object writeLock = new Object();
+
+	private volatile Snapshot<T> snapshot = new Snapshot<>(Map.of(), List.of());
+
+	/**
+	 * Creates a new, empty registry.
+	 * @param nameExtractor returns the tool name of a specification
+	 */
+	ToolRegistry(Function<T, String> nameExtractor) {
+		Assert.notNull(nameExtractor, "Name extractor must not be null");
+		this.nameExtractor = nameExtractor;
+	}
+
+	/**
+	 * Returns the specification of the tool with the given name.
+	 * @param name the tool name
+	 * @return the specification, or {@code null} if no such tool is registered
+	 */
+	T get(String name) {
+		return name != null ? this.snapshot.byName().get(name) : null;
+	}
+
+	/**
+	 * Returns whether a tool with the given name is registered.
+	 * @param name the tool name
+	 * @return {@code true} if the tool is registered
+	 */
+	boolean contains(String name) {
+		return name != null && this.snapshot.byName().containsKey(name);
+	}
+
+	/**
+	 * Returns the number of registered tools.
+	 * @return the number of registered tools
+	 */
+	int size() {
+		return this.snapshot.byName().size();
+	}
+
+	/**
+	 * Returns the registered specifications in registration order.
+	 * @return an immutable snapshot of the registered specifications
+	 */
+	List<T> list() {
+		return this.snapshot.ordered();
+	}
+
+	/**
+	 * Registers a tool unless a tool with the same name is already registered.
+	 * @param specification the specification to register
+	 * @return {@code true} if the tool was registered, {@code false} if the name is taken
+	 */
+	boolean add(T specification) {
+		String name = name(specification);
+		synchronized (this.writeLock) {
+			if (this.snapshot.byName().containsKey(name)) {
+				return false;
+			}
+			update(byName -> byName.put(name, specification));
+			return true;
+		}
+	}
+
+	/**
+	 * Registers all the given tools, or none of them if any name is already registered or
+	 * appears more than once. Concurrent readers see either all the tools or none of
+	 * them.
+	 * @param specifications the specifications to register
+	 * @throws IllegalArgumentException if a tool name is already registered or is
+	 * duplicated
+	 */
+	void addAll(Collection<? extends T> specifications) {
+		Assert.notNull(specifications, "Tool specifications must not be null");
+		synchronized (this.writeLock) {
+			Map<String, T> current = this.snapshot.byName();
+			Set<String> names = new HashSet<>();
+			for (T specification : specifications) {
+				String name = name(specification);
+				if (current.containsKey(name) || !names.add(name)) {
+					throw new IllegalArgumentException("Tool with name '" + name + "' already exists");
+				}
+			}
+			update(byName -> {
+				for (T specification : specifications) {
+					byName.put(name(specification), specification);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Removes the tool with the given name.
+	 * @param name the tool name
+	 * @return the removed specification, or {@code null} if no such tool was registered
+	 */
+	T remove(String name) {
+		synchronized (this.writeLock) {
+			T specification = get(name);
+			if (specification != null) {
+				update(byName -> byName.remove(name));
+			}
+			return specification;
+		}
+	}
+
+	/**
+	 * Removes all the tools with the given names that are registered. Concurrent readers
+	 * see either all of them removed or none.
+	 * @param names the tool names
+	 * @return the removed specifications
+	 */
+	List<T> removeAll(Collection<String> names) {
+		Assert.notNull(names, "Tool names must not be null");
+		synchronized (this.writeLock) {
+			List<T> removed = new ArrayList<>();
+			for (String name : names) {
+				T specification = get(name);
+				if (specification != null) {
+					removed.add(specification);
+				}
+			}
+			if (!removed.isEmpty()) {
+				update(byName -> byName.keySet().removeAll(names));
+			}
+			return removed;
+		}
+	}
+
+	// Must be called with the write lock held
+	private void update(Consumer<Map<String, T>> change) {
+		Map<String, T> byName = new LinkedHashMap<>(this.snapshot.byName());
+		change.accept(byName);
+		this.snapshot = new Snapshot<>(Collections.unmodifiableMap(byName), List.copyOf(byName.values()));
+	}
+
+	private String name(T specification) {
+		Assert.notNull(specification, "Tool specification must not be null");
+		String name = this.nameExtractor.apply(specification);
+		Assert.notNull(name, "Tool name must not be null");
+		return name;
+	}
+
+	/**
+	 * The registered tools, by name in registration order.
+	 */
+	private record Snapshot<T>(Map<String, T> byName, List<T> ordered) {
+	}
+
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.modelcontextprotocol.util.Assert;
+import io.modelcontextprotocol.util.DeafaultMcpUriTemplateManagerFactory;
+import io.modelcontextprotocol.util.McpUriTemplateManager;
+import io.modelcontextprotocol.util.McpUriTemplateManagerFactory;
+
+/**
+ * Routes a URI to the resource registered under a matching URI or URI template.
+ *
+ * <p>
+ * Templates are compiled once when they are registered, into a trie of {@code /}
+ * separated segments. Literal segments are resolved with a hash lookup and only segments
+ * holding {@code {variable}} expressions are matched with a pattern, whose groups also
+ * yield the variable values, so routing a URI and extracting its variables is done in a
+ * single pass.
+ *
+ * <p>
+ * The precedence between candidates is deterministic:
+ * <ol>
+ * <li>a resource registered under exactly the requested URI wins over any template;</li>
+ * <li>at each segment, a literal segment wins over a segment with variables;</li>
+ * <li>among segments with variables, the one with the most literal characters wins, then
+ * the one with the fewest variables, then the one registered first.</li>
+ * </ol>
+ * A variable matches one or more characters other than {@code /}, as for a simple string
+ * expansion of RFC 6570 level 1.
+ *
+ * <p>
+ * When a custom {@link McpUriTemplateManagerFactory} is configured, its template managers
+ * are created once at registration and consulted in registration order after the exact
+ * lookup, so custom matching semantics are preserved.
+ *
+ * <p>
+ * Registration is synchronized and rebuilds the routing snapshot on the next lookup;
+ * lookups are lock-free against the current snapshot.
+ *
+ * @param <T> the type of the routed values
+ */
+final class UriTemplateRouter<T> {
+
+	private static final Pattern URI_VARIABLE_PATTERN = Pattern.compile("\\{([^/]+?)\\}");
+
+	private final McpUriTemplateManagerFactory uriTemplateManagerFactory;
+
+	private final boolean defaultTemplates;
+
+	private final Map<String, Route<T>> routes = new LinkedHashMap<>();
+
+	private long nextOrder;
+
+	private volatile Snapshot<T> snapshot;
+
+	/**
+	 * Creates a new, empty router.
+	 * @param uriTemplateManagerFactory the factory configured for the server
+	 */
+	UriTemplateRouter(McpUriTemplateManagerFactory uriTemplateManagerFactory) {
+		Assert.notNull(uriTemplateManagerFactory, "URI template manager factory must not be null");
+		this.uriTemplateManagerFactory = uriTemplateManagerFactory;
+		this.defaultTemplates = uriTemplateManagerFactory.getClass() == DeafaultMcpUriTemplateManagerFactory.class;
+	}
+
+	/**
+	 * Registers a value under a URI or URI template, replacing any value registered under
+	 * the same string.
+	 * @param uri the URI or URI template
+	 * @param value the value
+	 */
+	synchronized void put(String uri, T value) {
+		Assert.hasText(uri, "URI must not be empty");
+		Assert.notNull(value, "Value must not be null");
+		this.routes.put(uri, compile(uri, value, this.nextOrder++));
+		this.snapshot = null;
+	}
+
+	/**
+	 * Removes the value registered under a URI or URI template.
+	 * @param uri the URI or URI template
+	 */
+	synchronized void remove(String uri) {
+		if (this.routes.remove(uri) != null) {
+			this.snapshot = null;
+		}
+	}
+
+	/**
+	 * Finds the value for a requested URI according to the precedence rules of this
+	 * router.
+	 * @param uri the requested URI
+	 * @return the match, or {@code null} if no registered URI or template matches
+	 */
+	Match<T> route(String uri) {
+		if (uri == null) {
+			return null;
+		}
+		Snapshot<T> current = snapshot();
+		Route<T> exact = current.exact().get(uri);
+		if (exact != null) {
+			return new Match<>(exact.value(), Map.of());
+		}
+		if (this.defaultTemplates) {
+			return current.root().route(uri.split("/", -1), 0, new ArrayList<>());
+		}
+		for (Route<T> route : current.templates()) {
+			if (route.manager().matches(uri)) {
+				return new Match<>(route.value(), route.manager().extractVariableValues(uri));
+			}
+		}
+		return null;
+	}
+
+	private Snapshot<T> snapshot() {
+		Snapshot<T> current = this.snapshot;
+		if (current == null) {
+			synchronized (this) {
+				current = this.snapshot;
+				if (current == null) {
+					current = buildSnapshot();
+					this.snapshot = current;
+				}
+			}
+		}
+		return current;
+	}
+
+	private Snapshot<T> buildSnapshot() {
+		Map<String, Route<T>> exact = new HashMap<>();
+		List<Route<T>> templates = new ArrayList<>();
+		Node<T> root = new Node<>();
+		for (Route<T> route : this.routes.values()) {
+			if (route.template()) {
+				templates.add(route);
+				if (route.segments() != null) {
+					root.insert(route, 0);
+				}
+			}
+			else {
+				exact.put(route.uri(), route);
+			}
+		}
+		root.sort();
+		return new Snapshot<>(exact, List.copyOf(templates), root);
+	}
+
+	private Route<T> compile(String uri, T value, long order) {
+		if (!this.defaultTemplates) {
+			McpUriTemplateManager manager = this.uriTemplateManagerFactory.create(uri);
+			return new Route<>(uri, value, order, manager.isUriTemplate(uri), null, List.of(), manager);
+		}
+		if (!URI_VARIABLE_PATTERN.matcher(uri).find()) {
+			return new Route<>(uri, value, order, false, null, List.of(), null);
+		}
+		String[] parts = uri.split("/", -1);
+		List<Segment> segments = new ArrayList<>(parts.length);
+		List<String> variableNames = new ArrayList<>();
+		for (String part : parts) {
+			Segment segment = Segment.compile(part);
+			segments.add(segment);
+			variableNames.addAll(segment.variableNames());
+		}
+		return new Route<>(uri, value, order, true, List.copyOf(segments), List.copyOf(variableNames), null);
+	}
+
+	/**
+	 * The value a URI was routed to.
+	 *
+	 * @param <T> the type of the routed value
+	 * @param value the routed value
+	 * @param variables the values of the template variables, empty for an exact match
+	 */
+	record Match<T>(T value, Map<String, String> variables) {
+
+		/**
+		 * Returns the transport context to handle the routed URI with: the given context
+		 * exposing the variables through {@link McpTransportContext#uriVariables()}, or
+		 * the given context itself for an exact match.
+		 * @param transportContext the transport context of the request
+		 * @return the transport context for the routed value
+		 */
+		McpTransportContext transportContext(McpTransportContext transportContext) {
+			if (this.variables.isEmpty()) {
+				return transportContext;
+			}
+			return new UriVariablesTransportContext(
+					transportContext != null ? transportContext : new DefaultMcpTransportContext(), this.variables);
+		}
+
+	}
+
+	private record Snapshot<T>(Map<String, Route<T>> exact, List<Route<T>> templates, Node<T> root) {
+	}
+
+	private record Route<T>(String uri, T value, long order, boolean template, List<Segment> segments,
+			List<String> variableNames, McpUriTemplateManager manager) {
+	}
+
+	/**
+	 * One {@code /} separated segment of a template: either a literal, or a pattern whose
+	 * groups capture the variables of the segment.
+	 */
+	private record Segment(String text, Pattern pattern, List<String> variableNames, int literalLength) {
+
+		static Segment compile(String text) {
+			Matcher matcher = URI_VARIABLE_PATTERN.matcher(text);
+			if (!matcher.find()) {
+				return new Segment(text, null, List.of(), text.length());
+			}
+			StringBuilder regex = new StringBuilder();
+			List<String> variableNames = new ArrayList<>();
+			int literalLength = 0;
+			int lastEnd = 0;
+			do {
+				String literal = text.substring(lastEnd, matcher.start());
+				if (!literal.isEmpty()) {
+					regex.append(Pattern.quote(literal));
+					literalLength += literal.length();
+				}
+				regex.append("([^/]+?)");
+				variableNames.add(matcher.group(1));
+				lastEnd = matcher.end();
+			}
+			while (matcher.find());
+			String literal = text.substring(lastEnd);
+			if (!literal.isEmpty()) {
+				regex.append(Pattern.quote(literal));
+				literalLength += literal.length();
+			}
+			return new Segment(text, Pattern.compile(regex.toString()), List.copyOf(variableNames), literalLength);
+		}
+
+		boolean literal() {
+			return this.pattern == null;
+		}
+
+	}
+
+	private static final class Node<T> {
+
+		private static final Comparator<Node<?>> PRECEDENCE = Comparator
+			.<Node<?>>comparingInt(node -> -node.segment.literalLength())
+			.thenComparingInt(node -> node.segment.variableNames().size())
+			.thenComparingLong(node -> node.firstOrder);
+
+		private final Segment segment;
+
+		private final Map<String, Node<T>> literalChildren = new HashMap<>();
+
+		private final Map<String, Node<T>> patternChildren = new LinkedHashMap<>();
+
+		private List<Node<T>> orderedPatternChildren = List.of();
+
+		private Route<T> route;
+
+		private long firstOrder = Long.MAX_VALUE;
+
+		Node() {
+			this(null);
+		}
+
+		private Node(Segment segment) {
+			this.segment = segment;
+		}
+
+		void insert(Route<T> route, int index) {
+			this.firstOrder = Math.min(this.firstOrder, route.order());
+			if (index == route.segments().size()) {
+				if (this.route == null || route.order() < this.route.order()) {
+					this.route = route;
+				}
+				return;
+			}
+			Segment next = route.segments().get(index);
+			Map<String, Node<T>> children = next.literal() ? this.literalChildren : this.patternChildren;
+			children.computeIfAbsent(next.text(), text -> new Node<>(next)).insert(route, index + 1);
+		}
+
+		void sort() {
+			List<Node<T>> ordered = new ArrayList<>(this.patternChildren.values());
+			ordered.sort(PRECEDENCE);
+			this.orderedPatternChildren = List.copyOf(ordered);
+			this.literalChildren.values().forEach(Node::sort);
+			this.orderedPatternChildren.forEach(Node::sort);
+		}
+
+		Match<T> route(String[] parts, int index, List<String> values) {
+			if (index == parts.length) {
+				return this.route != null ? new Match<>(this.route.value(), variables(values)) : null;
+			}
+			String part = parts[index];
+			Node<T> literalChild = this.literalChildren.get(part);
+			if (literalChild != null) {
+				Match<T> match = literalChild.route(parts, index + 1, values);
+				if (match != null) {
+					return match;
+				}
+			}
+			for (Node<T> child : this.orderedPatternChildren) {
+				Matcher matcher = child.segment.pattern().matcher(part);
+				if (matcher.matches()) {
+					int mark = values.size();
+					for (int i = 1; i <= matcher.groupCount(); i++) {
+						values.add(matcher.group(i));
+					}
+					Match<T> match = child.route(parts, index + 1, values);
+					if (match != null) {
+						return match;
+					}
+					values.subList(mark, values.size()).clear();
+				}
+			}
+			return null;
+		}
+
+		private Map<String, String> variables(List<String> values) {
+			List<String> names = this.route.variableNames();
+			Map<String, String> variables = new LinkedHashMap<>();
+			for (int i = 0; i < names.size(); i++) {
+				variables.put(names.get(i), values.get(i));
+			}
+			return variables;
+		}
+
+	}
+
+}
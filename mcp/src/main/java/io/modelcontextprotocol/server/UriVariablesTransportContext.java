@@ -0,0 +1,44 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.Map;
+
+/**
+ * Transport context of a resources/read request routed to a URI template, exposing the
+ * values of the template variables on top of the context of the request.
+ */
+final class UriVariablesTransportContext implements McpTransportContext {
+
+	private final McpTransportContext delegate;
+
+	private final Map<String, String> uriVariables;
+
+	UriVariablesTransportContext(McpTransportContext delegate, Map<String, String> uriVariables) {
+		this.delegate = delegate;
+		this.uriVariables = uriVariables;
+	}
+
+	@Override
+	public Object get(String key) {
+		return this.delegate.get(key);
+	}
+
+	@Override
+	public void put(String key, Object value) {
+		this.delegate.put(key, value);
+	}
+
+	@Override
+	public McpTransportContext copy() {
+		return new UriVariablesTransportContext(this.delegate.copy(), this.uriVariables);
+	}
+
+	@Override
+	public Map<String, String> uriVariables() {
+		return this.uriVariables;
+	}
+
+}
@@ -3,22 +3,25 @@
  */
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpMessageCodec;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpIdGenerator;
+import io.modelcontextprotocol.spec.McpMessageCodec;
+import io.modelcontextprotocol.spec.McpNotificationBroadcaster;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSessionRegistry;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
 import jakarta.servlet.AsyncContext;
@@ -31,6 +34,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * A Servlet-based implementation of the MCP HTTP with Server-Sent Events (SSE) transport
@@ -84,9 +88,21 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 	public static final String DEFAULT_BASE_URL = "";
 
+	private static final byte[] SSE_EVENT_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
 	/** JSON object mapper for serialization/deserialization */
 	private final ObjectMapper objectMapper;
 
+	private final McpNotificationBroadcaster notificationBroadcaster;
+
+	private final JsonRpcBinder jsonRpcBinder;
+
+	/** Codec for encoding and decoding JSON-RPC messages */
+	private final McpMessageCodec messageCodec;
+
+	/** Generator of the session IDs */
+	private final McpIdGenerator idGenerator;
+
 	/** Base URL for the server transport */
 	private final String baseUrl;
 
@@ -96,8 +112,8 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	/** The endpoint path for handling SSE connections */
 	private final String sseEndpoint;
 
-	/** Map of active client sessions, keyed by session ID */
-	private final Map<String, McpServerSession> sessions = new ConcurrentHashMap<>();
+	/** Registry of active client sessions, keyed by session ID */
+	private final McpSessionRegistry<McpServerSession> sessions;
 
 	/** Flag indicating if the transport is in the process of shutting down */
 	private final AtomicBoolean isClosing = new AtomicBoolean(false);
@@ -160,11 +176,25 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 	@Deprecated
 	public HttpServletSseServerTransportProvider(ObjectMapper objectMapper, String baseUrl, String messageEndpoint,
 			String sseEndpoint, Duration keepAliveInterval) {
+		this(objectMapper, baseUrl, messageEndpoint, sseEndpoint, keepAliveInterval,
+				new JacksonMcpMessageCodec(objectMapper),
+				McpSessionRegistry.builder(McpServerSession::closeGracefully).build(),
+				McpIdGenerator.defaultGenerator());
+	}
+
+	private HttpServletSseServerTransportProvider(ObjectMapper objectMapper, String baseUrl, String messageEndpoint,
+			String sseEndpoint, Duration keepAliveInterval, McpMessageCodec messageCodec,
+			McpSessionRegistry<McpServerSession> sessions, McpIdGenerator idGenerator) {
 
 		this.objectMapper = objectMapper;
+		this.notificationBroadcaster = new McpNotificationBroadcaster(objectMapper, Schedulers.boundedElastic());
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
+		this.messageCodec = messageCodec;
+		this.idGenerator = idGenerator;
 		this.baseUrl = baseUrl;
 		this.messageEndpoint = messageEndpoint;
 		this.sseEndpoint = sseEndpoint;
+		this.sessions = sessions;
 
 		if (keepAliveInterval != null) {
 
@@ -203,6 +233,15 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		this.sessionFactory = sessionFactory;
 	}
 
+	/**
+	 * Returns the counters of the sessions of this transport: the sessions created, and
+	 * those expired, evicted or rejected because of the configured session limits.
+	 * @return the session metrics
+	 */
+	public McpSessionRegistry.Metrics sessionMetrics() {
+		return this.sessions.metrics();
+	}
+
 	/**
 	 * Broadcasts a notification to all connected clients.
 	 * @param method The method name for the notification
@@ -218,11 +257,9 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		logger.debug("Attempting to broadcast message to {} active sessions", sessions.size());
 
-		return Flux.fromIterable(sessions.values())
-			.flatMap(session -> session.sendNotification(method, params)
-				.doOnError(
-						e -> logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage()))
-				.onErrorComplete())
+		return notificationBroadcaster.broadcast(sessions.values(), method, params)
+			.doOnNext(result -> logger.debug("Broadcast of {} delivered to {} sessions, skipped {}, failed {}", method,
+					result.delivered(), result.skipped(), result.failed()))
 			.then();
 	}
 
@@ -252,28 +289,33 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			return;
 		}
 
-		response.setContentType("text/event-stream");
-		response.setCharacterEncoding(UTF_8);
-		response.setHeader("Cache-Control", "no-cache");
-		response.setHeader("Connection", "keep-alive");
-		response.setHeader("Access-Control-Allow-Origin", "*");
-
-		String sessionId = UUID.randomUUID().toString();
+		String sessionId = this.idGenerator.generateSessionId();
 		AsyncContext asyncContext = request.startAsync();
 		asyncContext.setTimeout(0);
 
-		PrintWriter writer = response.getWriter();
+		OutputStream outputStream = response.getOutputStream();
 
 		// Create a new session transport
 		HttpServletMcpSessionTransport sessionTransport = new HttpServletMcpSessionTransport(sessionId, asyncContext,
-				writer);
+				outputStream);
 
 		// Create a new session using the session factory
 		McpServerSession session = sessionFactory.create(sessionTransport);
-		this.sessions.put(sessionId, session);
+		if (!this.sessions.register(sessionId, session)) {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many sessions");
+			session.close();
+			return;
+		}
+
+		response.setContentType("text/event-stream");
+		response.setCharacterEncoding(UTF_8);
+		response.setHeader("Cache-Control", "no-cache");
+		response.setHeader("Connection", "keep-alive");
+		response.setHeader("Access-Control-Allow-Origin", "*");
 
 		// Send initial endpoint event
-		this.sendEvent(writer, ENDPOINT_EVENT_TYPE, this.baseUrl + this.messageEndpoint + "?sessionId=" + sessionId);
+		this.sendEvent(outputStream, ENDPOINT_EVENT_TYPE,
+				(this.baseUrl + this.messageEndpoint + "?sessionId=" + sessionId).getBytes(StandardCharsets.UTF_8));
 	}
 
 	/**
@@ -308,10 +350,9 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			response.setContentType(APPLICATION_JSON);
 			response.setCharacterEncoding(UTF_8);
 			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-			String jsonError = objectMapper.writeValueAsString(new McpError("Session ID missing in message endpoint"));
-			PrintWriter writer = response.getWriter();
-			writer.write(jsonError);
-			writer.flush();
+			OutputStream outputStream = response.getOutputStream();
+			outputStream.write(objectMapper.writeValueAsBytes(new McpError("Session ID missing in message endpoint")));
+			outputStream.flush();
 			return;
 		}
 
@@ -321,22 +362,14 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			response.setContentType(APPLICATION_JSON);
 			response.setCharacterEncoding(UTF_8);
 			response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-			String jsonError = objectMapper.writeValueAsString(new McpError("Session not found: " + sessionId));
-			PrintWriter writer = response.getWriter();
-			writer.write(jsonError);
-			writer.flush();
+			OutputStream outputStream = response.getOutputStream();
+			outputStream.write(objectMapper.writeValueAsBytes(new McpError("Session not found: " + sessionId)));
+			outputStream.flush();
 			return;
 		}
 
 		try {
-			BufferedReader reader = request.getReader();
-			StringBuilder body = new StringBuilder();
-			String line;
-			while ((line = reader.readLine()) != null) {
-				body.append(line);
-			}
-
-			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, body.toString());
+			McpSchema.JSONRPCMessage message = this.messageCodec.decode(request.getInputStream());
 
 			// Process the message through the session's handle method
 			session.handle(message).block(); // Block for Servlet compatibility
@@ -350,10 +383,9 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 				response.setContentType(APPLICATION_JSON);
 				response.setCharacterEncoding(UTF_8);
 				response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-				String jsonError = objectMapper.writeValueAsString(mcpError);
-				PrintWriter writer = response.getWriter();
-				writer.write(jsonError);
-				writer.flush();
+				OutputStream outputStream = response.getOutputStream();
+				outputStream.write(objectMapper.writeValueAsBytes(mcpError));
+				outputStream.flush();
 			}
 			catch (IOException ex) {
 				logger.error(FAILED_TO_SEND_ERROR_RESPONSE, ex.getMessage());
@@ -376,6 +408,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		return Flux.fromIterable(sessions.values()).flatMap(McpServerSession::closeGracefully).then().doOnSuccess(v -> {
 			sessions.clear();
+			sessions.shutdown();
 			logger.debug("Graceful shutdown completed");
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
@@ -385,21 +418,42 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 	/**
 	 * Sends an SSE event to a client.
-	 * @param writer The writer to send the event through
+	 * @param outputStream The stream to send the event through
 	 * @param eventType The type of event (message or endpoint)
-	 * @param data The event data
-	 * @throws IOException If an error occurs while writing the event
+	 * @param data The UTF-8 encoded event data
+	 * @throws IOException If an error occurs while writing the event, for instance
+	 * because the client disconnected
 	 */
-	private void sendEvent(PrintWriter writer, String eventType, String data) throws IOException {
-		writer.write("event: " + eventType + "\n");
-		writer.write("data: " + data + "\n\n");
-		writer.flush();
+	private void sendEvent(OutputStream outputStream, String eventType, byte[] data) throws IOException {
+		synchronized (outputStream) {
+			writeEventHeader(outputStream, eventType);
+			outputStream.write(data);
+			outputStream.write(SSE_EVENT_END);
+			outputStream.flush();
+		}
+	}
 
-		if (writer.checkError()) {
-			throw new IOException("Client disconnected");
+	/**
+	 * Sends a JSON-RPC message as an SSE event to a client. The message is encoded
+	 * straight into the response stream.
+	 * @param outputStream The stream to send the event through
+	 * @param message The message to send as the event data
+	 * @throws IOException If an error occurs while writing the event, for instance
+	 * because the client disconnected
+	 */
+	private void sendEvent(OutputStream outputStream, McpSchema.JSONRPCMessage message) throws IOException {
+		synchronized (outputStream) {
+			writeEventHeader(outputStream, MESSAGE_EVENT_TYPE);
+			this.messageCodec.encode(message, outputStream);
+			outputStream.write(SSE_EVENT_END);
+			outputStream.flush();
 		}
 	}
 
+	private static void writeEventHeader(OutputStream outputStream, String eventType) throws IOException {
+		outputStream.write(("event: " + eventType + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+	}
+
 	/**
 	 * Cleans up resources when the servlet is being destroyed.
 	 * <p>
@@ -422,19 +476,19 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		private final AsyncContext asyncContext;
 
-		private final PrintWriter writer;
+		private final OutputStream outputStream;
 
 		/**
-		 * Creates a new session transport with the specified ID and SSE writer.
+		 * Creates a new session transport with the specified ID and SSE output stream.
 		 * @param sessionId The unique identifier for this session
 		 * @param asyncContext The async context for the session
-		 * @param writer The writer for sending server events to the client
+		 * @param outputStream The stream for sending server events to the client
 		 */
-		HttpServletMcpSessionTransport(String sessionId, AsyncContext asyncContext, PrintWriter writer) {
+		HttpServletMcpSessionTransport(String sessionId, AsyncContext asyncContext, OutputStream outputStream) {
 			this.sessionId = sessionId;
 			this.asyncContext = asyncContext;
-			this.writer = writer;
-			logger.debug("Session transport {} initialized with SSE writer", sessionId);
+			this.outputStream = outputStream;
+			logger.debug("Session transport {} initialized with SSE output stream", sessionId);
 		}
 
 		/**
@@ -446,14 +500,19 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
 			return Mono.fromRunnable(() -> {
 				try {
-					String jsonText = objectMapper.writeValueAsString(message);
-					sendEvent(writer, MESSAGE_EVENT_TYPE, jsonText);
+					sendEvent(outputStream, message);
 					logger.debug("Message sent to session {}", sessionId);
 				}
 				catch (Exception e) {
 					logger.error("Failed to send message to session {}: {}", sessionId, e.getMessage());
-					sessions.remove(sessionId);
-					asyncContext.complete();
+					McpServerSession session = sessions.remove(sessionId);
+					if (session != null) {
+						// Cancels the work of the session and completes the async context
+						session.close();
+					}
+					else {
+						close();
+					}
 				}
 			});
 		}
@@ -467,7 +526,7 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 		 */
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonRpcBinder.bind(data, typeRef);
 		}
 
 		/**
@@ -533,6 +592,13 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 
 		private Duration keepAliveInterval;
 
+		private McpMessageCodec messageCodec;
+
+		private McpIdGenerator idGenerator = McpIdGenerator.defaultGenerator();
+
+		private final McpSessionRegistry.Builder<McpServerSession> sessionRegistry = McpSessionRegistry
+			.builder(McpServerSession::closeGracefully);
+
 		/**
 		 * Sets the JSON object mapper to use for message serialization/deserialization.
 		 * @param objectMapper The object mapper to use
@@ -592,6 +658,77 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 			return this;
 		}
 
+		/**
+		 * Sets the codec used to encode and decode JSON-RPC messages.
+		 * <p>
+		 * If not specified, a {@link JacksonMcpMessageCodec} using the configured object
+		 * mapper will be used.
+		 * @param messageCodec The message codec to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder messageCodec(McpMessageCodec messageCodec) {
+			Assert.notNull(messageCodec, "Message codec must not be null");
+			this.messageCodec = messageCodec;
+			return this;
+		}
+
+		/**
+		 * Sets the generator of the session IDs.
+		 * <p>
+		 * If not specified, {@link McpIdGenerator#defaultGenerator()} is used.
+		 * @param idGenerator The ID generator to use
+		 * @return This builder instance for method chaining
+		 */
+		public Builder idGenerator(McpIdGenerator idGenerator) {
+			Assert.notNull(idGenerator, "ID generator must not be null");
+			this.idGenerator = idGenerator;
+			return this;
+		}
+
+		/**
+		 * Sets the time after which a session that has received no message from its
+		 * client is closed.
+		 * <p>
+		 * Combined with {@link #keepAliveInterval(Duration)}, clients that answer the
+		 * pings keep their sessions open. If not specified, sessions are only closed when
+		 * their SSE connection fails.
+		 * @param sessionIdleTimeout The idle timeout, or null
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if sessionIdleTimeout is not positive
+		 */
+		public Builder sessionIdleTimeout(Duration sessionIdleTimeout) {
+			this.sessionRegistry.idleTimeout(sessionIdleTimeout);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of sessions open at the same time.
+		 * <p>
+		 * If not specified, the number of sessions is unbounded.
+		 * @param maxSessions The maximum number of sessions
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if maxSessions is not positive
+		 */
+		public Builder maxSessions(int maxSessions) {
+			this.sessionRegistry.maxSessions(maxSessions);
+			return this;
+		}
+
+		/**
+		 * Sets what happens when a client connects while {@link #maxSessions(int)}
+		 * sessions are open.
+		 * <p>
+		 * If not specified, the least recently active session is closed. Otherwise the
+		 * connection can be rejected with a 503 status.
+		 * @param evictionPolicy The eviction policy
+		 * @return This builder instance for method chaining
+		 * @throws IllegalArgumentException if evictionPolicy is null
+		 */
+		public Builder sessionEvictionPolicy(McpSessionRegistry.EvictionPolicy evictionPolicy) {
+			this.sessionRegistry.evictionPolicy(evictionPolicy);
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of HttpServletSseServerTransportProvider with the
 		 * configured settings.
@@ -606,7 +743,8 @@ public class HttpServletSseServerTransportProvider extends HttpServlet implement
 				throw new IllegalStateException("MessageEndpoint must be set");
 			}
 			return new HttpServletSseServerTransportProvider(objectMapper, baseUrl, messageEndpoint, sseEndpoint,
-					keepAliveInterval);
+					keepAliveInterval, messageCodec != null ? messageCodec : new JacksonMcpMessageCodec(objectMapper),
+					sessionRegistry.build(), idGenerator);
 		}
 
 	}
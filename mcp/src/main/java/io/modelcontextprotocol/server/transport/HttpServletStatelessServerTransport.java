@@ -4,9 +4,11 @@
 
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,20 +19,35 @@ import io.modelcontextprotocol.server.DefaultMcpTransportContext;
 import io.modelcontextprotocol.server.McpStatelessServerHandler;
 import io.modelcontextprotocol.server.McpTransportContext;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
+import io.modelcontextprotocol.spec.JacksonMcpMessageCodec;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpMessageCodec;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpStatelessServerTransport;
 import io.modelcontextprotocol.util.Assert;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Mono;
 
 /**
  * Implementation of an HttpServlet based {@link McpStatelessServerTransport}.
  *
+ * <p>
+ * By default, a POST request holds its container thread until the MCP handler has
+ * produced the response. In {@linkplain Builder#asyncMode(boolean) async mode}, the
+ * request is put into asynchronous mode instead: the body is read and the response
+ * written without blocking, and the container thread is released while the handler runs.
+ * The response is completed when the handler {@link Mono} resolves, or with a 503 error
+ * once the {@linkplain Builder#asyncTimeout(Duration) async timeout} has elapsed.
+ *
  * @author Christian Tzolov
  * @author Dariusz Jędrzejczyk
  */
@@ -51,23 +68,34 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 
 	private final ObjectMapper objectMapper;
 
+	private final McpMessageCodec messageCodec;
+
 	private final String mcpEndpoint;
 
 	private McpStatelessServerHandler mcpHandler;
 
 	private McpTransportContextExtractor<HttpServletRequest> contextExtractor;
 
+	private final boolean asyncMode;
+
+	private final Duration asyncTimeout;
+
 	private volatile boolean isClosing = false;
 
-	private HttpServletStatelessServerTransport(ObjectMapper objectMapper, String mcpEndpoint,
-			McpTransportContextExtractor<HttpServletRequest> contextExtractor) {
+	private HttpServletStatelessServerTransport(ObjectMapper objectMapper, McpMessageCodec messageCodec,
+			String mcpEndpoint, McpTransportContextExtractor<HttpServletRequest> contextExtractor, boolean asyncMode,
+			Duration asyncTimeout) {
 		Assert.notNull(objectMapper, "objectMapper must not be null");
+		Assert.notNull(messageCodec, "messageCodec must not be null");
 		Assert.notNull(mcpEndpoint, "mcpEndpoint must not be null");
 		Assert.notNull(contextExtractor, "contextExtractor must not be null");
 
 		this.objectMapper = objectMapper;
+		this.messageCodec = messageCodec;
 		this.mcpEndpoint = mcpEndpoint;
 		this.contextExtractor = contextExtractor;
+		this.asyncMode = asyncMode;
+		this.asyncTimeout = asyncTimeout;
 	}
 
 	@Override
@@ -132,15 +160,13 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 			return;
 		}
 
-		try {
-			BufferedReader reader = request.getReader();
-			StringBuilder body = new StringBuilder();
-			String line;
-			while ((line = reader.readLine()) != null) {
-				body.append(line);
-			}
+		if (this.asyncMode) {
+			handlePostAsync(request, response, transportContext);
+			return;
+		}
 
-			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, body.toString());
+		try {
+			McpSchema.JSONRPCMessage message = this.messageCodec.decode(request.getInputStream());
 
 			if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
 				try {
@@ -153,10 +179,9 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 					response.setCharacterEncoding(UTF_8);
 					response.setStatus(HttpServletResponse.SC_OK);
 
-					String jsonResponseText = objectMapper.writeValueAsString(jsonrpcResponse);
-					PrintWriter writer = response.getWriter();
-					writer.write(jsonResponseText);
-					writer.flush();
+					OutputStream outputStream = response.getOutputStream();
+					this.messageCodec.encode(jsonrpcResponse, outputStream);
+					outputStream.flush();
 				}
 				catch (Exception e) {
 					logger.error("Failed to handle request: {}", e.getMessage());
@@ -193,6 +218,97 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 		}
 	}
 
+	/**
+	 * Handles a POST request without holding the container thread while the body is read,
+	 * the message is handled and the response is written.
+	 * @param request The HTTP servlet request containing the JSON-RPC message
+	 * @param response The HTTP servlet response
+	 * @param transportContext The transport context extracted from the request
+	 * @throws IOException If the request cannot be put into asynchronous mode
+	 */
+	private void handlePostAsync(HttpServletRequest request, HttpServletResponse response,
+			McpTransportContext transportContext) throws IOException {
+
+		AsyncContext asyncContext = request.startAsync();
+		if (this.asyncTimeout != null) {
+			asyncContext.setTimeout(this.asyncTimeout.toMillis());
+		}
+		AsyncExchange exchange = new AsyncExchange(response, new ServletResponseWriter(asyncContext));
+		asyncContext.addListener(exchange);
+
+		exchange.handling = ServletRequestBodyReader.read(request.getInputStream())
+			.map(body -> decode(body))
+			.flatMap(message -> handleMessage(message, transportContext))
+			.onErrorResume(e -> {
+				if (e instanceof IllegalArgumentException || e instanceof IOException) {
+					logger.error("Failed to deserialize message: {}", e.getMessage());
+					return Mono
+						.just(errorReply(HttpServletResponse.SC_BAD_REQUEST, new McpError("Invalid message format")));
+				}
+				logger.error("Unexpected error handling message: {}", e.getMessage());
+				return Mono.just(errorReply(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+						new McpError("Unexpected error: " + e.getMessage())));
+			})
+			.subscribe(exchange::reply, e -> {
+				logger.error(FAILED_TO_SEND_ERROR_RESPONSE, e.getMessage());
+				exchange.writer.complete();
+			});
+	}
+
+	private McpSchema.JSONRPCMessage decode(byte[] body) {
+		try {
+			return this.messageCodec.decode(body);
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+	}
+
+	private Mono<Reply> handleMessage(McpSchema.JSONRPCMessage message, McpTransportContext transportContext) {
+		if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
+			return this.mcpHandler.handleRequest(transportContext, jsonrpcRequest)
+				.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+				.map(jsonrpcResponse -> new Reply(HttpServletResponse.SC_OK, encode(jsonrpcResponse)))
+				.onErrorResume(e -> {
+					logger.error("Failed to handle request: {}", e.getMessage());
+					return Mono.just(errorReply(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+							new McpError("Failed to handle request: " + e.getMessage())));
+				});
+		}
+		else if (message instanceof McpSchema.JSONRPCNotification jsonrpcNotification) {
+			return this.mcpHandler.handleNotification(transportContext, jsonrpcNotification)
+				.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+				.thenReturn(new Reply(HttpServletResponse.SC_ACCEPTED, null))
+				.onErrorResume(e -> {
+					logger.error("Failed to handle notification: {}", e.getMessage());
+					return Mono.just(errorReply(HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+							new McpError("Failed to handle notification: " + e.getMessage())));
+				});
+		}
+		return Mono.just(errorReply(HttpServletResponse.SC_BAD_REQUEST,
+				new McpError("The server accepts either requests or notifications")));
+	}
+
+	private byte[] encode(McpSchema.JSONRPCMessage message) {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+		try {
+			this.messageCodec.encode(message, outputStream);
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+		return outputStream.toByteArray();
+	}
+
+	private Reply errorReply(int httpCode, McpError mcpError) {
+		try {
+			return new Reply(httpCode, this.objectMapper.writeValueAsBytes(mcpError));
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+	}
+
 	/**
 	 * Sends an error response to the client.
 	 * @param response The HTTP servlet response
@@ -204,10 +320,83 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 		response.setContentType(APPLICATION_JSON);
 		response.setCharacterEncoding(UTF_8);
 		response.setStatus(httpCode);
-		String jsonError = objectMapper.writeValueAsString(mcpError);
-		PrintWriter writer = response.getWriter();
-		writer.write(jsonError);
-		writer.flush();
+		OutputStream outputStream = response.getOutputStream();
+		outputStream.write(objectMapper.writeValueAsBytes(mcpError));
+		outputStream.flush();
+	}
+
+	/**
+	 * The status and JSON body of the response to an asynchronous request.
+	 *
+	 * @param status the HTTP status code
+	 * @param body the JSON body, or {@code null} if the response has no body
+	 */
+	private record Reply(int status, byte[] body) {
+	}
+
+	/**
+	 * Tracks an asynchronous request, making sure it is answered exactly once: either
+	 * with the reply of the handler or, if the async timeout elapses first, with an
+	 * error. The handling is cancelled when the request times out or fails.
+	 */
+	private final class AsyncExchange implements AsyncListener {
+
+		private final HttpServletResponse response;
+
+		private final ServletResponseWriter writer;
+
+		private final AtomicBoolean replied = new AtomicBoolean();
+
+		private volatile Disposable handling;
+
+		AsyncExchange(HttpServletResponse response, ServletResponseWriter writer) {
+			this.response = response;
+			this.writer = writer;
+		}
+
+		void reply(Reply reply) {
+			if (!this.replied.compareAndSet(false, true)) {
+				return;
+			}
+			this.response.setStatus(reply.status());
+			if (reply.body() != null) {
+				this.response.setContentType(APPLICATION_JSON);
+				this.response.setCharacterEncoding(UTF_8);
+				this.writer.write(reply.body())
+					.subscribe(null, e -> logger.debug("Failed to write response: {}", e.getMessage()));
+			}
+			this.writer.complete();
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			cancel();
+			logger.warn("Request timed out after {} ms", event.getAsyncContext().getTimeout());
+			reply(errorReply(HttpServletResponse.SC_SERVICE_UNAVAILABLE, new McpError("Request timed out")));
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			cancel();
+			this.replied.set(true);
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+			cancel();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+		private void cancel() {
+			Disposable handling = this.handling;
+			if (handling != null) {
+				handling.dispose();
+			}
+		}
+
 	}
 
 	/**
@@ -243,6 +432,12 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 
 		private McpTransportContextExtractor<HttpServletRequest> contextExtractor = (serverRequest, context) -> context;
 
+		private McpMessageCodec messageCodec;
+
+		private boolean asyncMode = false;
+
+		private Duration asyncTimeout;
+
 		private Builder() {
 			// used by a static method
 		}
@@ -288,6 +483,49 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 			return this;
 		}
 
+		/**
+		 * Sets the codec used to encode and decode JSON-RPC messages. Defaults to a
+		 * {@link JacksonMcpMessageCodec} using the configured ObjectMapper.
+		 * @param messageCodec The message codec. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if messageCodec is null
+		 */
+		public Builder messageCodec(McpMessageCodec messageCodec) {
+			Assert.notNull(messageCodec, "Message codec must not be null");
+			this.messageCodec = messageCodec;
+			return this;
+		}
+
+		/**
+		 * Sets whether POST requests are handled asynchronously. In async mode, the
+		 * container thread is released while the request body is read, the message is
+		 * handled and the response is written, so the number of concurrent requests is
+		 * not bounded by the size of the container thread pool. Defaults to
+		 * {@code false}.
+		 * @param asyncMode true to handle POST requests asynchronously
+		 * @return this builder instance
+		 */
+		public Builder asyncMode(boolean asyncMode) {
+			this.asyncMode = asyncMode;
+			return this;
+		}
+
+		/**
+		 * Sets how long an asynchronous request may take before it is answered with a 503
+		 * error and its handling is cancelled. Only applies in
+		 * {@linkplain #asyncMode(boolean) async mode}. Defaults to the async timeout of
+		 * the servlet container; {@link Duration#ZERO} disables the timeout.
+		 * @param asyncTimeout The async timeout. Must not be null or negative.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if asyncTimeout is null or negative
+		 */
+		public Builder asyncTimeout(Duration asyncTimeout) {
+			Assert.notNull(asyncTimeout, "Async timeout must not be null");
+			Assert.isTrue(!asyncTimeout.isNegative(), "Async timeout must not be negative");
+			this.asyncTimeout = asyncTimeout;
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of {@link HttpServletStatelessServerTransport} with the
 		 * configured settings.
@@ -298,7 +536,9 @@ public class HttpServletStatelessServerTransport extends HttpServlet implements
 			Assert.notNull(objectMapper, "ObjectMapper must be set");
 			Assert.notNull(mcpEndpoint, "Message endpoint must be set");
 
-			return new HttpServletStatelessServerTransport(objectMapper, mcpEndpoint, contextExtractor);
+			return new HttpServletStatelessServerTransport(objectMapper,
+					messageCodec != null ? messageCodec : new JacksonMcpMessageCodec(objectMapper), mcpEndpoint,
+					contextExtractor, asyncMode, asyncTimeout);
 		}
 
 	}
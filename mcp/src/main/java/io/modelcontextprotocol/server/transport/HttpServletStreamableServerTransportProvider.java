@@ -4,14 +4,14 @@
 
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,21 +23,32 @@ import io.modelcontextprotocol.server.DefaultMcpTransportContext;
 import io.modelcontextprotocol.server.McpTransportContext;
 import io.modelcontextprotocol.server.McpTransportContextExtractor;
 import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.JacksonMcpMessageCodec;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpMessageCodec;
+import io.modelcontextprotocol.spec.McpNotificationBroadcaster;
 import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSessionRegistry;
 import io.modelcontextprotocol.spec.McpStreamableServerSession;
 import io.modelcontextprotocol.spec.McpStreamableServerTransport;
 import io.modelcontextprotocol.spec.McpStreamableServerTransportProvider;
 import io.modelcontextprotocol.util.Assert;
 import io.modelcontextprotocol.util.KeepAliveScheduler;
 import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Server-side implementation of the Model Context Protocol (MCP) streamable transport
@@ -86,6 +97,10 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 
 	public static final String FAILED_TO_SEND_ERROR_RESPONSE = "Failed to send error response: {}";
 
+	private static final byte[] SSE_DATA_PREFIX = "data: ".getBytes(StandardCharsets.UTF_8);
+
+	private static final byte[] SSE_EVENT_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
 	/**
 	 * The endpoint URI where clients should send their JSON-RPC messages. Defaults to
 	 * "/mcp".
@@ -99,12 +114,24 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 
 	private final ObjectMapper objectMapper;
 
+	private final McpNotificationBroadcaster notificationBroadcaster;
+
+	private final JsonRpcBinder jsonRpcBinder;
+
+	private final McpMessageCodec messageCodec;
+
 	private McpStreamableServerSession.Factory sessionFactory;
 
 	/**
-	 * Map of active client sessions, keyed by mcp-session-id.
+	 * Registry of active client sessions, keyed by mcp-session-id.
+	 */
+	private final McpSessionRegistry<McpStreamableServerSession> sessions;
+
+	/**
+	 * Sessions of other nodes being restored, so that concurrent requests restore a
+	 * session only once.
 	 */
-	private final ConcurrentHashMap<String, McpStreamableServerSession> sessions = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<String, Mono<McpStreamableServerSession>> restoringSessions = new ConcurrentHashMap<>();
 
 	private McpTransportContextExtractor<HttpServletRequest> contextExtractor;
 
@@ -127,19 +154,28 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 	 * messages via HTTP. This endpoint will handle GET, POST, and DELETE requests.
 	 * @param disallowDelete Whether to disallow DELETE requests on the endpoint.
 	 * @param contextExtractor The extractor for transport context from the request.
+	 * @param messageCodec The codec to encode and decode JSON-RPC messages with.
+	 * @param sessions The registry of the active sessions.
 	 * @throws IllegalArgumentException if any parameter is null
 	 */
 	private HttpServletStreamableServerTransportProvider(ObjectMapper objectMapper, String mcpEndpoint,
 			boolean disallowDelete, McpTransportContextExtractor<HttpServletRequest> contextExtractor,
-			Duration keepAliveInterval) {
+			Duration keepAliveInterval, McpMessageCodec messageCodec,
+			McpSessionRegistry<McpStreamableServerSession> sessions) {
 		Assert.notNull(objectMapper, "ObjectMapper must not be null");
 		Assert.notNull(mcpEndpoint, "MCP endpoint must not be null");
 		Assert.notNull(contextExtractor, "Context extractor must not be null");
+		Assert.notNull(messageCodec, "Message codec must not be null");
+		Assert.notNull(sessions, "Session registry must not be null");
 
 		this.objectMapper = objectMapper;
+		this.notificationBroadcaster = new McpNotificationBroadcaster(objectMapper, Schedulers.boundedElastic());
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
+		this.messageCodec = messageCodec;
 		this.mcpEndpoint = mcpEndpoint;
 		this.disallowDelete = disallowDelete;
 		this.contextExtractor = contextExtractor;
+		this.sessions = sessions;
 
 		if (keepAliveInterval != null) {
 
@@ -164,6 +200,39 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		this.sessionFactory = sessionFactory;
 	}
 
+	/**
+	 * Returns the counters of the sessions of this transport: the sessions created, and
+	 * those expired, evicted or rejected because of the configured session limits.
+	 * @return the session metrics
+	 */
+	public McpSessionRegistry.Metrics sessionMetrics() {
+		return this.sessions.metrics();
+	}
+
+	/**
+	 * Finds an active session, or restores it from the session store of the server if it
+	 * was initialized by another node.
+	 * @param sessionId the ID of the session
+	 * @return the session, or an empty Mono if the session is unknown
+	 */
+	private Mono<McpStreamableServerSession> findSession(String sessionId) {
+		return Mono.defer(() -> {
+			McpStreamableServerSession session = this.sessions.get(sessionId);
+			if (session != null) {
+				return Mono.just(session);
+			}
+			return this.restoringSessions.computeIfAbsent(sessionId,
+					id -> this.sessionFactory.restoreSession(id).filter(restored -> {
+						if (this.sessions.register(id, restored)) {
+							logger.debug("Restored session {}", id);
+							return true;
+						}
+						restored.close();
+						return false;
+					}).doFinally(signal -> this.restoringSessions.remove(id)).cache());
+		});
+	}
+
 	/**
 	 * Broadcasts a notification to all connected clients through their SSE connections.
 	 * If any errors occur during sending to a particular client, they are logged but
@@ -181,16 +250,10 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 
 		logger.debug("Attempting to broadcast message to {} active sessions", this.sessions.size());
 
-		return Mono.fromRunnable(() -> {
-			this.sessions.values().parallelStream().forEach(session -> {
-				try {
-					session.sendNotification(method, params).block();
-				}
-				catch (Exception e) {
-					logger.error("Failed to send message to session {}: {}", session.getId(), e.getMessage());
-				}
-			});
-		});
+		return this.notificationBroadcaster.broadcast(this.sessions.values(), method, params)
+			.doOnNext(result -> logger.debug("Broadcast of {} delivered to {} sessions, skipped {}, failed {}", method,
+					result.delivered(), result.skipped(), result.failed()))
+			.then();
 	}
 
 	/**
@@ -216,6 +279,7 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 			logger.debug("Graceful shutdown completed");
 		}).then().doOnSuccess(v -> {
 			sessions.clear();
+			sessions.shutdown();
 			logger.debug("Graceful shutdown completed");
 			if (this.keepAliveScheduler != null) {
 				this.keepAliveScheduler.shutdown();
@@ -264,7 +328,7 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 			return;
 		}
 
-		McpStreamableServerSession session = this.sessions.get(sessionId);
+		McpStreamableServerSession session = findSession(sessionId).block();
 
 		if (session == null) {
 			response.sendError(HttpServletResponse.SC_NOT_FOUND);
@@ -284,34 +348,22 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 
 			AsyncContext asyncContext = request.startAsync();
 			asyncContext.setTimeout(0);
+			ServletResponseWriter writer = new ServletResponseWriter(asyncContext);
 
 			HttpServletStreamableMcpSessionTransport sessionTransport = new HttpServletStreamableMcpSessionTransport(
-					sessionId, asyncContext, response.getWriter());
+					sessionId, writer);
 
 			// Check if this is a replay request
 			if (request.getHeader(HttpHeaders.LAST_EVENT_ID) != null) {
 				String lastId = request.getHeader(HttpHeaders.LAST_EVENT_ID);
 
-				try {
-					session.replay(lastId)
-						.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-						.toIterable()
-						.forEach(message -> {
-							try {
-								sessionTransport.sendMessage(message)
-									.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-									.block();
-							}
-							catch (Exception e) {
-								logger.error("Failed to replay message: {}", e.getMessage());
-								asyncContext.complete();
-							}
-						});
-				}
-				catch (Exception e) {
-					logger.error("Failed to replay messages: {}", e.getMessage());
-					asyncContext.complete();
-				}
+				session.replayEvents(lastId)
+					.concatMap(event -> sessionTransport.sendMessage(event.message(), event.id()))
+					.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+					.doOnError(e -> logger.error("Failed to replay messages: {}", e.getMessage()))
+					.doFinally(signal -> writer.complete())
+					.subscribe(null, e -> {
+					});
 			}
 			else {
 				// Establish new listening stream
@@ -352,6 +404,13 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 
 	/**
 	 * Handles POST requests for incoming JSON-RPC messages from clients.
+	 *
+	 * <p>
+	 * The request is processed asynchronously: the container thread is released as soon
+	 * as the request is put into asynchronous mode. The body is read with a
+	 * {@link jakarta.servlet.ReadListener}, the message is handled by the session without
+	 * blocking, and the response is written with a {@link jakarta.servlet.WriteListener}
+	 * before the {@link AsyncContext} is completed.
 	 * @param request The HTTP servlet request containing the JSON-RPC message
 	 * @param response The HTTP servlet response
 	 * @throws ServletException If a servlet-specific error occurs
@@ -382,135 +441,131 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 			badRequestErrors.add("application/json required in Accept header");
 		}
 
-		McpTransportContext transportContext = this.contextExtractor.extract(request, new DefaultMcpTransportContext());
-
-		try {
-			BufferedReader reader = request.getReader();
-			StringBuilder body = new StringBuilder();
-			String line;
-			while ((line = reader.readLine()) != null) {
-				body.append(line);
-			}
+		String sessionId = request.getHeader(HttpHeaders.MCP_SESSION_ID);
 
-			McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper, body.toString());
+		McpTransportContext transportContext = this.contextExtractor.extract(request, new DefaultMcpTransportContext());
 
-			// Handle initialization request
-			if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest
-					&& jsonrpcRequest.method().equals(McpSchema.METHOD_INITIALIZE)) {
-				if (!badRequestErrors.isEmpty()) {
-					String combinedMessage = String.join("; ", badRequestErrors);
-					this.responseError(response, HttpServletResponse.SC_BAD_REQUEST, new McpError(combinedMessage));
-					return;
+		AsyncContext asyncContext = request.startAsync();
+		asyncContext.setTimeout(0);
+		ServletResponseWriter writer = new ServletResponseWriter(asyncContext);
+		// Cancel the handling of the message, and of the request it may carry, when
+		// the connection fails
+		Disposable.Swap handling = Disposables.swap();
+		asyncContext.addListener(new CancellingAsyncListener(handling));
+
+		handling.update(ServletRequestBodyReader.read(request.getInputStream())
+			.map(body -> decode(body))
+			.flatMap(message -> handleMessage(message, sessionId, badRequestErrors, transportContext, response, writer))
+			.onErrorResume(e -> {
+				if (e instanceof IllegalArgumentException || e instanceof IOException) {
+					logger.error("Failed to deserialize message: {}", e.getMessage());
+					return responseError(response, writer, HttpServletResponse.SC_BAD_REQUEST,
+							new McpError("Invalid message format: " + e.getMessage()));
 				}
+				logger.error("Error handling message: {}", e.getMessage());
+				return responseError(response, writer, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+						new McpError("Error processing message: " + e.getMessage()));
+			})
+			.doFinally(signal -> writer.complete())
+			.subscribe(null, e -> logger.error(FAILED_TO_SEND_ERROR_RESPONSE, e.getMessage())));
+	}
 
-				McpSchema.InitializeRequest initializeRequest = objectMapper.convertValue(jsonrpcRequest.params(),
-						new TypeReference<McpSchema.InitializeRequest>() {
-						});
-				McpStreamableServerSession.McpStreamableServerSessionInit init = this.sessionFactory
-					.startSession(initializeRequest);
-				this.sessions.put(init.session().getId(), init.session());
-
-				try {
-					McpSchema.InitializeResult initResult = init.initResult().block();
-
-					response.setContentType(APPLICATION_JSON);
-					response.setCharacterEncoding(UTF_8);
-					response.setHeader(HttpHeaders.MCP_SESSION_ID, init.session().getId());
-					response.setStatus(HttpServletResponse.SC_OK);
+	private McpSchema.JSONRPCMessage decode(byte[] body) {
+		try {
+			return this.messageCodec.decode(body);
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+	}
 
-					String jsonResponse = objectMapper.writeValueAsString(new McpSchema.JSONRPCResponse(
-							McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), initResult, null));
+	private Mono<Void> handleMessage(McpSchema.JSONRPCMessage message, String sessionId, List<String> badRequestErrors,
+			McpTransportContext transportContext, HttpServletResponse response, ServletResponseWriter writer) {
 
-					PrintWriter writer = response.getWriter();
-					writer.write(jsonResponse);
-					writer.flush();
-					return;
-				}
-				catch (Exception e) {
-					logger.error("Failed to initialize session: {}", e.getMessage());
-					this.responseError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-							new McpError("Failed to initialize session: " + e.getMessage()));
-					return;
-				}
+		// Handle initialization request
+		if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest
+				&& jsonrpcRequest.method().equals(McpSchema.METHOD_INITIALIZE)) {
+			if (!badRequestErrors.isEmpty()) {
+				String combinedMessage = String.join("; ", badRequestErrors);
+				return responseError(response, writer, HttpServletResponse.SC_BAD_REQUEST,
+						new McpError(combinedMessage));
 			}
 
-			String sessionId = request.getHeader(HttpHeaders.MCP_SESSION_ID);
-
-			if (sessionId == null || sessionId.isBlank()) {
-				badRequestErrors.add("Session ID required in mcp-session-id header");
+			McpSchema.InitializeRequest initializeRequest = jsonRpcBinder.bind(jsonrpcRequest.params(),
+					McpSchema.InitializeRequest.class);
+			McpStreamableServerSession.McpStreamableServerSessionInit init = this.sessionFactory
+				.startSession(initializeRequest);
+			if (!this.sessions.register(init.session().getId(), init.session())) {
+				init.session().close();
+				return responseError(response, writer, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+						new McpError("Too many sessions"));
 			}
 
-			if (!badRequestErrors.isEmpty()) {
-				String combinedMessage = String.join("; ", badRequestErrors);
-				this.responseError(response, HttpServletResponse.SC_BAD_REQUEST, new McpError(combinedMessage));
-				return;
-			}
+			return init.initResult().flatMap(initResult -> {
+				response.setContentType(APPLICATION_JSON);
+				response.setCharacterEncoding(UTF_8);
+				response.setHeader(HttpHeaders.MCP_SESSION_ID, init.session().getId());
+				response.setStatus(HttpServletResponse.SC_OK);
+				return writer.write(encode(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(),
+						initResult, null)));
+			}).onErrorResume(e -> {
+				logger.error("Failed to initialize session: {}", e.getMessage());
+				return responseError(response, writer, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+						new McpError("Failed to initialize session: " + e.getMessage()));
+			});
+		}
 
-			McpStreamableServerSession session = this.sessions.get(sessionId);
+		if (sessionId == null || sessionId.isBlank()) {
+			badRequestErrors.add("Session ID required in mcp-session-id header");
+		}
 
-			if (session == null) {
-				this.responseError(response, HttpServletResponse.SC_NOT_FOUND,
-						new McpError("Session not found: " + sessionId));
-				return;
-			}
+		if (!badRequestErrors.isEmpty()) {
+			String combinedMessage = String.join("; ", badRequestErrors);
+			return responseError(response, writer, HttpServletResponse.SC_BAD_REQUEST, new McpError(combinedMessage));
+		}
 
-			if (message instanceof McpSchema.JSONRPCResponse jsonrpcResponse) {
-				session.accept(jsonrpcResponse)
-					.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-					.block();
-				response.setStatus(HttpServletResponse.SC_ACCEPTED);
-			}
-			else if (message instanceof McpSchema.JSONRPCNotification jsonrpcNotification) {
-				session.accept(jsonrpcNotification)
-					.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-					.block();
-				response.setStatus(HttpServletResponse.SC_ACCEPTED);
+		return findSession(sessionId).singleOptional().flatMap(session -> {
+			if (session.isEmpty()) {
+				return responseError(response, writer, HttpServletResponse.SC_NOT_FOUND,
+						new McpError("Session not found: " + sessionId));
 			}
-			else if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
-				// For streaming responses, we need to return SSE
-				response.setContentType(TEXT_EVENT_STREAM);
-				response.setCharacterEncoding(UTF_8);
-				response.setHeader("Cache-Control", "no-cache");
-				response.setHeader("Connection", "keep-alive");
-				response.setHeader("Access-Control-Allow-Origin", "*");
+			return handleSessionMessage(message, session.get(), sessionId, transportContext, response, writer);
+		});
+	}
 
-				AsyncContext asyncContext = request.startAsync();
-				asyncContext.setTimeout(0);
+	private Mono<Void> handleSessionMessage(McpSchema.JSONRPCMessage message, McpStreamableServerSession session,
+			String sessionId, McpTransportContext transportContext, HttpServletResponse response,
+			ServletResponseWriter writer) {
+		if (message instanceof McpSchema.JSONRPCResponse jsonrpcResponse) {
+			return session.accept(jsonrpcResponse)
+				.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+				.then(Mono.fromRunnable(() -> response.setStatus(HttpServletResponse.SC_ACCEPTED)));
+		}
+		else if (message instanceof McpSchema.JSONRPCNotification jsonrpcNotification) {
+			return session.accept(jsonrpcNotification)
+				.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+				.then(Mono.fromRunnable(() -> response.setStatus(HttpServletResponse.SC_ACCEPTED)));
+		}
+		else if (message instanceof McpSchema.JSONRPCRequest jsonrpcRequest) {
+			// For streaming responses, we need to return SSE
+			response.setContentType(TEXT_EVENT_STREAM);
+			response.setCharacterEncoding(UTF_8);
+			response.setHeader("Cache-Control", "no-cache");
+			response.setHeader("Connection", "keep-alive");
+			response.setHeader("Access-Control-Allow-Origin", "*");
 
-				HttpServletStreamableMcpSessionTransport sessionTransport = new HttpServletStreamableMcpSessionTransport(
-						sessionId, asyncContext, response.getWriter());
+			HttpServletStreamableMcpSessionTransport sessionTransport = new HttpServletStreamableMcpSessionTransport(
+					sessionId, writer);
 
-				try {
-					session.responseStream(jsonrpcRequest, sessionTransport)
-						.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
-						.block();
-				}
-				catch (Exception e) {
+			return session.responseStream(jsonrpcRequest, sessionTransport)
+				.contextWrite(ctx -> ctx.put(McpTransportContext.KEY, transportContext))
+				.onErrorResume(e -> {
 					logger.error("Failed to handle request stream: {}", e.getMessage());
-					asyncContext.complete();
-				}
-			}
-			else {
-				this.responseError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-						new McpError("Unknown message type"));
-			}
-		}
-		catch (IllegalArgumentException | IOException e) {
-			logger.error("Failed to deserialize message: {}", e.getMessage());
-			this.responseError(response, HttpServletResponse.SC_BAD_REQUEST,
-					new McpError("Invalid message format: " + e.getMessage()));
-		}
-		catch (Exception e) {
-			logger.error("Error handling message: {}", e.getMessage());
-			try {
-				this.responseError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-						new McpError("Error processing message: " + e.getMessage()));
-			}
-			catch (IOException ex) {
-				logger.error(FAILED_TO_SEND_ERROR_RESPONSE, ex.getMessage());
-				response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Error processing message");
-			}
+					return Mono.empty();
+				});
 		}
+		return responseError(response, writer, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+				new McpError("Unknown message type"));
 	}
 
 	/**
@@ -549,7 +604,7 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		}
 
 		String sessionId = request.getHeader(HttpHeaders.MCP_SESSION_ID);
-		McpStreamableServerSession session = this.sessions.get(sessionId);
+		McpStreamableServerSession session = findSession(sessionId).block();
 
 		if (session == null) {
 			response.sendError(HttpServletResponse.SC_NOT_FOUND);
@@ -578,32 +633,60 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		response.setContentType(APPLICATION_JSON);
 		response.setCharacterEncoding(UTF_8);
 		response.setStatus(httpCode);
-		String jsonError = objectMapper.writeValueAsString(mcpError);
-		PrintWriter writer = response.getWriter();
-		writer.write(jsonError);
-		writer.flush();
+		OutputStream outputStream = response.getOutputStream();
+		outputStream.write(objectMapper.writeValueAsBytes(mcpError));
+		outputStream.flush();
 		return;
 	}
 
+	private Mono<Void> responseError(HttpServletResponse response, ServletResponseWriter writer, int httpCode,
+			McpError mcpError) {
+		if (response.isCommitted()) {
+			// The response already started streaming, it can only be ended
+			return Mono.empty();
+		}
+		return Mono.defer(() -> {
+			response.setContentType(APPLICATION_JSON);
+			response.setCharacterEncoding(UTF_8);
+			response.setStatus(httpCode);
+			try {
+				return writer.write(objectMapper.writeValueAsBytes(mcpError));
+			}
+			catch (IOException e) {
+				return Mono.error(e);
+			}
+		});
+	}
+
+	private byte[] encode(McpSchema.JSONRPCMessage message) {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+		try {
+			this.messageCodec.encode(message, outputStream);
+		}
+		catch (IOException e) {
+			throw Exceptions.propagate(e);
+		}
+		return outputStream.toByteArray();
+	}
+
 	/**
-	 * Sends an SSE event to a client with a specific ID.
-	 * @param writer The writer to send the event through
+	 * Encodes an SSE event with a specific ID.
 	 * @param eventType The type of event (message or endpoint)
-	 * @param data The event data
+	 * @param message The message to send as the event data
 	 * @param id The event ID
-	 * @throws IOException If an error occurs while writing the event
+	 * @return the encoded event
+	 * @throws IOException If the message cannot be encoded
 	 */
-	private void sendEvent(PrintWriter writer, String eventType, String data, String id) throws IOException {
+	private byte[] encodeEvent(String eventType, McpSchema.JSONRPCMessage message, String id) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
 		if (id != null) {
-			writer.write("id: " + id + "\n");
-		}
-		writer.write("event: " + eventType + "\n");
-		writer.write("data: " + data + "\n\n");
-		writer.flush();
-
-		if (writer.checkError()) {
-			throw new IOException("Client disconnected");
+			outputStream.write(("id: " + id + "\n").getBytes(StandardCharsets.UTF_8));
 		}
+		outputStream.write(("event: " + eventType + "\n").getBytes(StandardCharsets.UTF_8));
+		outputStream.write(SSE_DATA_PREFIX);
+		this.messageCodec.encode(message, outputStream);
+		outputStream.write(SSE_EVENT_END);
+		return outputStream.toByteArray();
 	}
 
 	/**
@@ -618,39 +701,65 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		super.destroy();
 	}
 
+	/**
+	 * Disposes the handling of a POST request when its connection fails or times out,
+	 * which cancels the handling of the JSON-RPC request it carries.
+	 */
+	private static final class CancellingAsyncListener implements AsyncListener {
+
+		private final Disposable handling;
+
+		CancellingAsyncListener(Disposable handling) {
+			this.handling = handling;
+		}
+
+		@Override
+		public void onComplete(AsyncEvent event) {
+		}
+
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			this.handling.dispose();
+		}
+
+		@Override
+		public void onError(AsyncEvent event) {
+			logger.debug("POST connection failed, cancelling its handling: {}",
+					event.getThrowable() != null ? event.getThrowable().getMessage() : null);
+			this.handling.dispose();
+		}
+
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+		}
+
+	}
+
 	/**
 	 * Implementation of McpStreamableServerTransport for HttpServlet SSE sessions. This
 	 * class handles the transport-level communication for a specific client session.
 	 *
 	 * <p>
-	 * This class is thread-safe and uses a ReentrantLock to synchronize access to the
-	 * underlying PrintWriter to prevent race conditions when multiple threads attempt to
-	 * send messages concurrently.
+	 * This class is thread-safe: messages are encoded by the sending thread and queued on
+	 * a {@link ServletResponseWriter}, which writes them in order without blocking.
 	 */
-
 	private class HttpServletStreamableMcpSessionTransport implements McpStreamableServerTransport {
 
 		private final String sessionId;
 
-		private final AsyncContext asyncContext;
-
-		private final PrintWriter writer;
+		private final ServletResponseWriter writer;
 
 		private volatile boolean closed = false;
 
-		private final ReentrantLock lock = new ReentrantLock();
-
 		/**
-		 * Creates a new session transport with the specified ID and SSE writer.
+		 * Creates a new session transport with the specified ID and SSE response writer.
 		 * @param sessionId The unique identifier for this session
-		 * @param asyncContext The async context for the session
-		 * @param writer The writer for sending server events to the client
+		 * @param writer The writer of the response streaming server events to the client
 		 */
-		HttpServletStreamableMcpSessionTransport(String sessionId, AsyncContext asyncContext, PrintWriter writer) {
+		HttpServletStreamableMcpSessionTransport(String sessionId, ServletResponseWriter writer) {
 			this.sessionId = sessionId;
-			this.asyncContext = asyncContext;
 			this.writer = writer;
-			logger.debug("Streamable session transport {} initialized with SSE writer", sessionId);
+			logger.debug("Streamable session transport {} initialized with SSE output stream", sessionId);
 		}
 
 		/**
@@ -672,32 +781,26 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		 */
 		@Override
 		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message, String messageId) {
-			return Mono.fromRunnable(() -> {
+			return Mono.defer(() -> {
 				if (this.closed) {
 					logger.debug("Attempted to send message to closed session: {}", this.sessionId);
-					return;
+					return Mono.empty();
 				}
-
-				lock.lock();
+				byte[] event;
 				try {
-					if (this.closed) {
-						logger.debug("Session {} was closed during message send attempt", this.sessionId);
-						return;
-					}
-
-					String jsonText = objectMapper.writeValueAsString(message);
-					HttpServletStreamableServerTransportProvider.this.sendEvent(writer, MESSAGE_EVENT_TYPE, jsonText,
-							messageId != null ? messageId : this.sessionId);
-					logger.debug("Message sent to session {} with ID {}", this.sessionId, messageId);
-				}
-				catch (Exception e) {
-					logger.error("Failed to send message to session {}: {}", this.sessionId, e.getMessage());
-					HttpServletStreamableServerTransportProvider.this.sessions.remove(this.sessionId);
-					this.asyncContext.complete();
+					event = encodeEvent(MESSAGE_EVENT_TYPE, message, messageId != null ? messageId : this.sessionId);
 				}
-				finally {
-					lock.unlock();
+				catch (IOException e) {
+					return Mono.error(e);
 				}
+				return this.writer.write(event)
+					.doOnSuccess(ignored -> logger.debug("Message sent to session {} with ID {}", this.sessionId,
+							messageId));
+			}).onErrorResume(e -> {
+				logger.error("Failed to send message to session {}: {}", this.sessionId, e.getMessage());
+				HttpServletStreamableServerTransportProvider.this.sessions.remove(this.sessionId);
+				this.writer.complete();
+				return Mono.empty();
 			});
 		}
 
@@ -710,7 +813,7 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		 */
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonRpcBinder.bind(data, typeRef);
 		}
 
 		/**
@@ -725,29 +828,21 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 		}
 
 		/**
-		 * Closes the transport immediately.
+		 * Closes the transport. The response is completed once the messages already
+		 * queued have been written.
 		 */
 		@Override
 		public void close() {
-			lock.lock();
-			try {
-				if (this.closed) {
-					logger.debug("Session transport {} already closed", this.sessionId);
-					return;
-				}
+			if (this.closed) {
+				logger.debug("Session transport {} already closed", this.sessionId);
+				return;
+			}
 
-				this.closed = true;
+			this.closed = true;
 
-				// HttpServletStreamableServerTransportProvider.this.sessions.remove(this.sessionId);
-				this.asyncContext.complete();
-				logger.debug("Successfully completed async context for session {}", sessionId);
-			}
-			catch (Exception e) {
-				logger.warn("Failed to complete async context for session {}: {}", sessionId, e.getMessage());
-			}
-			finally {
-				lock.unlock();
-			}
+			// HttpServletStreamableServerTransportProvider.this.sessions.remove(this.sessionId);
+			this.writer.complete();
+			logger.debug("Completing async context for session {}", sessionId);
 		}
 
 	}
@@ -772,6 +867,11 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 
 		private Duration keepAliveInterval;
 
+		private McpMessageCodec messageCodec;
+
+		private final McpSessionRegistry.Builder<McpStreamableServerSession> sessionRegistry = McpSessionRegistry
+			.builder(McpStreamableServerSession::delete);
+
 		/**
 		 * Sets the ObjectMapper to use for JSON serialization/deserialization of MCP
 		 * messages.
@@ -831,6 +931,60 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 			return this;
 		}
 
+		/**
+		 * Sets the codec used to encode and decode JSON-RPC messages. Defaults to a
+		 * {@link JacksonMcpMessageCodec} using the configured ObjectMapper.
+		 * @param messageCodec The message codec. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if messageCodec is null
+		 */
+		public Builder messageCodec(McpMessageCodec messageCodec) {
+			Assert.notNull(messageCodec, "Message codec must not be null");
+			this.messageCodec = messageCodec;
+			return this;
+		}
+
+		/**
+		 * Sets the time after which a session that has received no message from its
+		 * client is closed. Combined with {@link #keepAliveInterval(Duration)}, clients
+		 * that answer the pings keep their sessions open. If null, which is the default,
+		 * sessions are only closed when deleted by their client.
+		 * @param sessionIdleTimeout The idle timeout, or null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if sessionIdleTimeout is not positive
+		 */
+		public Builder sessionIdleTimeout(Duration sessionIdleTimeout) {
+			this.sessionRegistry.idleTimeout(sessionIdleTimeout);
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of sessions open at the same time. Unbounded by
+		 * default.
+		 * @param maxSessions The maximum number of sessions. Must be positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxSessions is not positive
+		 * @see #sessionEvictionPolicy(McpSessionRegistry.EvictionPolicy)
+		 */
+		public Builder maxSessions(int maxSessions) {
+			this.sessionRegistry.maxSessions(maxSessions);
+			return this;
+		}
+
+		/**
+		 * Sets what happens when a client initializes a session while
+		 * {@link #maxSessions(int)} sessions are open: either the least recently active
+		 * session is closed, which is the default, or the initialization is rejected with
+		 * a 503 status.
+		 * @param evictionPolicy The eviction policy. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if evictionPolicy is null
+		 */
+		public Builder sessionEvictionPolicy(McpSessionRegistry.EvictionPolicy evictionPolicy) {
+			this.sessionRegistry.evictionPolicy(evictionPolicy);
+			return this;
+		}
+
 		/**
 		 * Builds a new instance of {@link HttpServletStreamableServerTransportProvider}
 		 * with the configured settings.
@@ -842,7 +996,9 @@ public class HttpServletStreamableServerTransportProvider extends HttpServlet
 			Assert.notNull(this.mcpEndpoint, "MCP endpoint must be set");
 
 			return new HttpServletStreamableServerTransportProvider(this.objectMapper, this.mcpEndpoint,
-					this.disallowDelete, this.contextExtractor, this.keepAliveInterval);
+					this.disallowDelete, this.contextExtractor, this.keepAliveInterval,
+					this.messageCodec != null ? this.messageCodec : new JacksonMcpMessageCodec(this.objectMapper),
+					this.sessionRegistry.build());
 		}
 
 	}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Reads the body of an asynchronous servlet request with a {@link ReadListener}, so that
+ * no thread waits for the client to send the body.
+ *
+ * <p>
+ * The request must have been put into asynchronous mode before the body is read.
+ */
+final class ServletRequestBodyReader implements ReadListener {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final ServletInputStream inputStream;
+
+	private final MonoSink<byte[]> sink;
+
+	private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+
+	private ServletRequestBodyReader(ServletInputStream inputStream, MonoSink<byte[]> sink) {
+		this.inputStream = inputStream;
+		this.sink = sink;
+	}
+
+	/**
+	 * Reads the whole body of a request.
+	 * @param inputStream the input stream of the asynchronous request
+	 * @return a {@link Mono} emitting the body once it has been read completely
+	 */
+	static Mono<byte[]> read(ServletInputStream inputStream) {
+		return Mono.create(sink -> inputStream.setReadListener(new ServletRequestBodyReader(inputStream, sink)));
+	}
+
+	@Override
+	public void onDataAvailable() throws IOException {
+		// Read only what is available without blocking, the container calls back when
+		// more data arrives
+		while (this.inputStream.isReady() && !this.inputStream.isFinished()) {
+			int read = this.inputStream.read(this.buffer);
+			if (read == -1) {
+				break;
+			}
+			this.body.write(this.buffer, 0, read);
+		}
+	}
+
+	@Override
+	public void onAllDataRead() {
+		this.sink.success(this.body.toByteArray());
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		this.sink.error(t);
+	}
+
+}
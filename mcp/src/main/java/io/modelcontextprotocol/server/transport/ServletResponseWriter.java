@@ -0,0 +1,184 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Writes the body of an asynchronous servlet response with a {@link WriteListener}, so
+ * that no thread waits for a slow client to read the response.
+ *
+ * <p>
+ * Writes are queued and written in order, each one followed by a flush, as soon as the
+ * container reports that the output stream is ready; a write completes once its bytes
+ * have been handed to the container. Any thread may write. {@link #complete()} completes
+ * the {@link AsyncContext} of the response once all the queued writes are done. After an
+ * I/O error, the pending and future writes fail and the response is completed.
+ */
+final class ServletResponseWriter implements WriteListener {
+
+	private static final Logger logger = LoggerFactory.getLogger(ServletResponseWriter.class);
+
+	private final AsyncContext asyncContext;
+
+	private final ServletOutputStream outputStream;
+
+	private final Queue<Chunk> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger wip = new AtomicInteger();
+
+	private final AtomicBoolean completed = new AtomicBoolean();
+
+	private volatile boolean completeRequested;
+
+	private volatile Throwable error;
+
+	/**
+	 * Switches the response of the asynchronous request to non-blocking writes.
+	 * @param asyncContext the asynchronous context of the request
+	 * @throws IOException if the output stream of the response cannot be obtained
+	 */
+	ServletResponseWriter(AsyncContext asyncContext) throws IOException {
+		this.asyncContext = asyncContext;
+		this.outputStream = asyncContext.getResponse().getOutputStream();
+		this.outputStream.setWriteListener(this);
+	}
+
+	/**
+	 * Queues bytes to be written and flushed.
+	 * @param bytes the bytes to write
+	 * @return a {@link Mono} completing once the bytes have been written, or failing if
+	 * they cannot be
+	 */
+	Mono<Void> write(byte[] bytes) {
+		return Mono.create(sink -> {
+			if (this.error != null) {
+				sink.error(this.error);
+				return;
+			}
+			if (this.completeRequested) {
+				sink.error(new IOException("Response already completed"));
+				return;
+			}
+			this.queue.offer(new Chunk(bytes, sink));
+			drain();
+		});
+	}
+
+	/**
+	 * Completes the response once all queued writes are done. Has no effect if the
+	 * response is already being completed.
+	 */
+	void complete() {
+		this.completeRequested = true;
+		drain();
+	}
+
+	@Override
+	public void onWritePossible() {
+		drain();
+	}
+
+	@Override
+	public void onError(Throwable t) {
+		fail(t);
+		drain();
+	}
+
+	private void drain() {
+		if (this.wip.getAndIncrement() != 0) {
+			return;
+		}
+		int missed = 1;
+		do {
+			try {
+				writeQueued();
+			}
+			catch (IOException | RuntimeException e) {
+				fail(e);
+				completeIfRequested();
+			}
+			missed = this.wip.addAndGet(-missed);
+		}
+		while (missed != 0);
+	}
+
+	private void writeQueued() throws IOException {
+		while (this.error == null) {
+			Chunk chunk = this.queue.peek();
+			if (chunk == null) {
+				break;
+			}
+			// Once isReady() has returned false, the container calls onWritePossible
+			// when the stream can be written again
+			if (!this.outputStream.isReady()) {
+				return;
+			}
+			if (!chunk.written) {
+				this.outputStream.write(chunk.bytes);
+				chunk.written = true;
+			}
+			else {
+				this.outputStream.flush();
+				this.queue.poll();
+				chunk.sink.success();
+			}
+		}
+		completeIfRequested();
+	}
+
+	private void fail(Throwable t) {
+		if (this.error == null) {
+			this.error = t;
+		}
+		this.completeRequested = true;
+		Chunk chunk;
+		while ((chunk = this.queue.poll()) != null) {
+			chunk.sink.error(t);
+		}
+	}
+
+	private void completeIfRequested() {
+		if (this.completeRequested && (this.error != null || this.queue.isEmpty())
+				&& this.completed.compareAndSet(false, true)) {
+			try {
+				this.asyncContext.complete();
+			}
+			catch (IllegalStateException e) {
+				// The container already completed the request, e.g. after the client
+				// disconnected
+				logger.debug("Async context already completed: {}", e.getMessage());
+			}
+		}
+	}
+
+	private static final class Chunk {
+
+		private final byte[] bytes;
+
+		private final MonoSink<Void> sink;
+
+		private boolean written;
+
+		Chunk(byte[] bytes, MonoSink<Void> sink) {
+			this.bytes = bytes;
+			this.sink = sink;
+		}
+
+	}
+
+}
@@ -4,11 +4,10 @@
 
 package io.modelcontextprotocol.server.transport;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -16,12 +15,16 @@ import java.util.function.Function;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.JacksonMcpMessageCodec;
+import io.modelcontextprotocol.spec.JsonRpcBinder;
 import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpMessageCodec;
 import io.modelcontextprotocol.spec.McpSchema;
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
 import io.modelcontextprotocol.spec.McpServerSession;
 import io.modelcontextprotocol.spec.McpServerTransport;
 import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.NewlineDelimitedFraming;
 import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,6 +47,10 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
 	private final ObjectMapper objectMapper;
 
+	private final JsonRpcBinder jsonRpcBinder;
+
+	private final McpMessageCodec messageCodec;
+
 	private final InputStream inputStream;
 
 	private final OutputStream outputStream;
@@ -84,6 +91,8 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 		Assert.notNull(outputStream, "The OutputStream can not be null");
 
 		this.objectMapper = objectMapper;
+		this.jsonRpcBinder = new JsonRpcBinder(objectMapper);
+		this.messageCodec = new JacksonMcpMessageCodec(objectMapper);
 		this.inputStream = inputStream;
 		this.outputStream = outputStream;
 	}
@@ -164,7 +173,7 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 
 		@Override
 		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
-			return objectMapper.convertValue(data, typeRef);
+			return jsonRpcBinder.bind(data, typeRef);
 		}
 
 		@Override
@@ -204,21 +213,25 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 			if (isStarted.compareAndSet(false, true)) {
 				this.inboundScheduler.schedule(() -> {
 					inboundReady.tryEmitValue(null);
-					BufferedReader reader = null;
 					try {
-						reader = new BufferedReader(new InputStreamReader(inputStream));
+						NewlineDelimitedFraming.LineReader reader = new NewlineDelimitedFraming.LineReader(inputStream);
 						while (!isClosing.get()) {
 							try {
-								String line = reader.readLine();
+								ByteBuffer line = reader.readLine();
 								if (line == null || isClosing.get()) {
 									break;
 								}
+								if (!line.hasRemaining()) {
+									continue;
+								}
 
-								logger.debug("Received JSON message: {}", line);
+								if (logger.isDebugEnabled()) {
+									logger.debug("Received JSON message: {}",
+											StandardCharsets.UTF_8.decode(line.duplicate()));
+								}
 
 								try {
-									McpSchema.JSONRPCMessage message = McpSchema.deserializeJsonRpcMessage(objectMapper,
-											line);
+									McpSchema.JSONRPCMessage message = messageCodec.decode(line);
 									if (!this.inboundSink.tryEmitNext(message).isSuccess()) {
 										// logIfNotClosing("Failed to enqueue message");
 										break;
@@ -261,13 +274,10 @@ public class StdioServerTransportProvider implements McpServerTransportProvider
 				 .handle((message, sink) -> {
 					 if (message != null && !isClosing.get()) {
 						 try {
-							 String jsonMessage = objectMapper.writeValueAsString(message);
-							 // Escape any embedded newlines in the JSON message as per spec
-							 jsonMessage = jsonMessage.replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "\\n");
-	
+							 // Messages are newline-delimited and must not contain embedded
+							 // newlines as per spec
 							 synchronized (outputStream) {
-								 outputStream.write(jsonMessage.getBytes(StandardCharsets.UTF_8));
-								 outputStream.write("\n".getBytes(StandardCharsets.UTF_8));
+								 NewlineDelimitedFraming.write(messageCodec, message, outputStream);
 								 outputStream.flush();
 							 }
 							 sink.next(message);
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The default {@link McpIdGenerator}.
+ *
+ * <p>
+ * {@link UUID#randomUUID()} draws from a single {@link SecureRandom} shared by the JVM,
+ * which threads contend on. Session IDs are instead drawn from a {@link SecureRandom} per
+ * thread, each seeded on its own, keeping them unguessable. Stream IDs only need to be
+ * unique and are drawn from {@link ThreadLocalRandom}, and message IDs number the
+ * messages of their stream.
+ */
+final class DefaultMcpIdGenerator implements McpIdGenerator {
+
+	static final DefaultMcpIdGenerator INSTANCE = new DefaultMcpIdGenerator();
+
+	private static final ThreadLocal<SecureRandom> SECURE_RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+	private DefaultMcpIdGenerator() {
+	}
+
+	@Override
+	public String generateSessionId() {
+		SecureRandom random = SECURE_RANDOM.get();
+		return randomUuid(random.nextLong(), random.nextLong());
+	}
+
+	@Override
+	public String generateStreamId() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		return randomUuid(random.nextLong(), random.nextLong());
+	}
+
+	// Formats random bits as a version 4 UUID, the format of the IDs used so far
+	private static String randomUuid(long mostSigBits, long leastSigBits) {
+		mostSigBits = (mostSigBits & ~0xF000L) | 0x4000L;
+		leastSigBits = (leastSigBits & ~(0xC000000000000000L)) | 0x8000000000000000L;
+		return new UUID(mostSigBits, leastSigBits).toString();
+	}
+
+}
@@ -6,7 +6,6 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * A default implementation of {@link McpStreamableServerSession.Factory}.
@@ -23,6 +22,14 @@ public class DefaultMcpStreamableServerSessionFactory implements McpStreamableSe
 
 	Map<String, McpNotificationHandler> notificationHandlers;
 
+	McpEventStore eventStore;
+
+	McpSessionStore sessionStore;
+
+	McpRequestScheduler requestScheduler;
+
+	McpIdGenerator idGenerator;
+
 	/**
 	 * Constructs an instance
 	 * @param requestTimeout timeout for requests
@@ -34,19 +41,122 @@ public class DefaultMcpStreamableServerSessionFactory implements McpStreamableSe
 			McpStreamableServerSession.InitRequestHandler initRequestHandler,
 			Map<String, McpRequestHandler<?>> requestHandlers,
 			Map<String, McpNotificationHandler> notificationHandlers) {
+		this(requestTimeout, initRequestHandler, requestHandlers, notificationHandlers, null);
+	}
+
+	/**
+	 * Constructs an instance creating sessions that store the messages sent on their
+	 * streams
+	 * @param requestTimeout timeout for requests
+	 * @param initRequestHandler initialization request handler
+	 * @param requestHandlers map of MCP request handlers keyed by method name
+	 * @param notificationHandlers map of MCP notification handlers keyed by method name
+	 * @param eventStore store of the messages sent on the session streams, or
+	 * {@code null} to not support replaying messages
+	 */
+	public DefaultMcpStreamableServerSessionFactory(Duration requestTimeout,
+			McpStreamableServerSession.InitRequestHandler initRequestHandler,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			McpEventStore eventStore) {
+		this(requestTimeout, initRequestHandler, requestHandlers, notificationHandlers, eventStore, null);
+	}
+
+	/**
+	 * Constructs an instance creating sessions that save their state in a
+	 * {@link McpSessionStore}, and restoring the sessions started by other nodes
+	 * @param requestTimeout timeout for requests
+	 * @param initRequestHandler initialization request handler
+	 * @param requestHandlers map of MCP request handlers keyed by method name
+	 * @param notificationHandlers map of MCP notification handlers keyed by method name
+	 * @param eventStore store of the messages sent on the session streams, or
+	 * {@code null} to not support replaying messages
+	 * @param sessionStore store of the state of the sessions, or {@code null} to keep the
+	 * sessions on this node only
+	 */
+	public DefaultMcpStreamableServerSessionFactory(Duration requestTimeout,
+			McpStreamableServerSession.InitRequestHandler initRequestHandler,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			McpEventStore eventStore, McpSessionStore sessionStore) {
+		this(requestTimeout, initRequestHandler, requestHandlers, notificationHandlers, eventStore, sessionStore, null);
+	}
+
+	/**
+	 * Constructs an instance creating sessions that handle their messages within the
+	 * limits of a {@link McpRequestScheduler}
+	 * @param requestTimeout timeout for requests
+	 * @param initRequestHandler initialization request handler
+	 * @param requestHandlers map of MCP request handlers keyed by method name
+	 * @param notificationHandlers map of MCP notification handlers keyed by method name
+	 * @param eventStore store of the messages sent on the session streams, or
+	 * {@code null} to not support replaying messages
+	 * @param sessionStore store of the state of the sessions, or {@code null} to keep the
+	 * sessions on this node only
+	 * @param requestScheduler scheduler of the messages of the sessions, or {@code null}
+	 * to handle the messages as soon as they are received
+	 */
+	public DefaultMcpStreamableServerSessionFactory(Duration requestTimeout,
+			McpStreamableServerSession.InitRequestHandler initRequestHandler,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			McpEventStore eventStore, McpSessionStore sessionStore, McpRequestScheduler requestScheduler) {
+		this(requestTimeout, initRequestHandler, requestHandlers, notificationHandlers, eventStore, sessionStore,
+				requestScheduler, McpIdGenerator.defaultGenerator());
+	}
+
+	/**
+	 * Constructs an instance generating the IDs of the sessions, of their streams and of
+	 * their messages with a {@link McpIdGenerator}
+	 * @param requestTimeout timeout for requests
+	 * @param initRequestHandler initialization request handler
+	 * @param requestHandlers map of MCP request handlers keyed by method name
+	 * @param notificationHandlers map of MCP notification handlers keyed by method name
+	 * @param eventStore store of the messages sent on the session streams, or
+	 * {@code null} to not support replaying messages
+	 * @param sessionStore store of the state of the sessions, or {@code null} to keep the
+	 * sessions on this node only
+	 * @param requestScheduler scheduler of the messages of the sessions, or {@code null}
+	 * to handle the messages as soon as they are received
+	 * @param idGenerator generator of the IDs of the sessions, streams and messages
+	 */
+	public DefaultMcpStreamableServerSessionFactory(Duration requestTimeout,
+			McpStreamableServerSession.InitRequestHandler initRequestHandler,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			McpEventStore eventStore, McpSessionStore sessionStore, McpRequestScheduler requestScheduler,
+			McpIdGenerator idGenerator) {
 		this.requestTimeout = requestTimeout;
 		this.initRequestHandler = initRequestHandler;
 		this.requestHandlers = requestHandlers;
 		this.notificationHandlers = notificationHandlers;
+		this.eventStore = eventStore;
+		this.sessionStore = sessionStore;
+		this.requestScheduler = requestScheduler;
+		this.idGenerator = idGenerator;
 	}
 
 	@Override
 	public McpStreamableServerSession.McpStreamableServerSessionInit startSession(
 			McpSchema.InitializeRequest initializeRequest) {
-		return new McpStreamableServerSession.McpStreamableServerSessionInit(
-				new McpStreamableServerSession(UUID.randomUUID().toString(), initializeRequest.capabilities(),
-						initializeRequest.clientInfo(), requestTimeout, requestHandlers, notificationHandlers),
-				this.initRequestHandler.handle(initializeRequest));
+		McpStreamableServerSession session = new McpStreamableServerSession(this.idGenerator.generateSessionId(),
+				initializeRequest.capabilities(), initializeRequest.clientInfo(), requestTimeout, requestHandlers,
+				notificationHandlers, eventStore, sessionStore, requestScheduler, idGenerator);
+		Mono<McpSchema.InitializeResult> initResult = this.initRequestHandler.handle(initializeRequest);
+		if (this.sessionStore != null) {
+			initResult = this.sessionStore.save(session.sessionState()).then(initResult);
+		}
+		return new McpStreamableServerSession.McpStreamableServerSessionInit(session, initResult);
+	}
+
+	@Override
+	public Mono<McpStreamableServerSession> restoreSession(String sessionId) {
+		if (this.sessionStore == null) {
+			return Mono.empty();
+		}
+		return this.sessionStore.load(sessionId).map(state -> {
+			McpStreamableServerSession session = new McpStreamableServerSession(state.id(), state.clientCapabilities(),
+					state.clientInfo(), requestTimeout, requestHandlers, notificationHandlers, eventStore, sessionStore,
+					requestScheduler, idGenerator);
+			session.restoreState(state);
+			return session;
+		});
 	}
 
 }
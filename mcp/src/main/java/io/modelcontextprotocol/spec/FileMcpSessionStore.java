@@ -0,0 +1,117 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link McpSessionStore} keeping the state of each session in a JSON file of a local
+ * directory. Servers of different processes of a host sharing the directory can handle
+ * each other's sessions, and sessions survive a restart of the process.
+ *
+ * <p>
+ * A state is written to a temporary file that is then moved over the file of the session,
+ * so that a concurrent load never reads a partially written state. The file names are
+ * derived from the Base64 encoding of the session IDs, since those are sent by the
+ * clients. The files are read and written on {@link Schedulers#boundedElastic()}.
+ */
+public class FileMcpSessionStore implements McpSessionStore {
+
+	private static final String FILE_SUFFIX = ".json";
+
+	private final Path directory;
+
+	private final ObjectMapper objectMapper;
+
+	/**
+	 * Creates a store writing to the given directory, which is created if needed.
+	 * @param directory the directory of the session files
+	 */
+	public FileMcpSessionStore(Path directory) {
+		this(directory, new ObjectMapper());
+	}
+
+	/**
+	 * Creates a store writing to the given directory, which is created if needed.
+	 * @param directory the directory of the session files
+	 * @param objectMapper the ObjectMapper to serialize the states with
+	 * @throws UncheckedIOException if the directory cannot be created
+	 */
+	public FileMcpSessionStore(Path directory, ObjectMapper objectMapper) {
+		Assert.notNull(directory, "Directory must not be null");
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.directory = directory;
+		this.objectMapper = objectMapper;
+		try {
+			Files.createDirectories(directory);
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to create session directory " + directory, e);
+		}
+	}
+
+	@Override
+	public Mono<Void> save(SessionState state) {
+		Assert.notNull(state, "Session state must not be null");
+		return Mono.<Void>fromCallable(() -> {
+			Path file = file(state.id());
+			Path temporary = Files.createTempFile(this.directory, "session", ".tmp");
+			try {
+				Files.write(temporary, this.objectMapper.writeValueAsBytes(state));
+				try {
+					Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+				}
+				catch (AtomicMoveNotSupportedException e) {
+					Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+			finally {
+				Files.deleteIfExists(temporary);
+			}
+			return null;
+		}).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	@Override
+	public Mono<SessionState> load(String sessionId) {
+		return Mono.fromCallable(() -> {
+			try {
+				return this.objectMapper.readValue(Files.readAllBytes(file(sessionId)), SessionState.class);
+			}
+			catch (NoSuchFileException e) {
+				return null;
+			}
+		}).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	@Override
+	public Mono<Void> remove(String sessionId) {
+		return Mono.<Void>fromCallable(() -> {
+			Files.deleteIfExists(file(sessionId));
+			return null;
+		}).subscribeOn(Schedulers.boundedElastic());
+	}
+
+	private Path file(String sessionId) {
+		String name = Base64.getUrlEncoder()
+			.withoutPadding()
+			.encodeToString(sessionId.getBytes(StandardCharsets.UTF_8));
+		return this.directory.resolve(name + FILE_SUFFIX);
+	}
+
+}
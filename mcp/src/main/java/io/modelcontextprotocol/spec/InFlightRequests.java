@@ -0,0 +1,70 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * The requests of a session being handled, keyed by request ID, so that their handling
+ * can be cancelled when the client sends a {@code notifications/cancelled} notification
+ * or the session is closed.
+ */
+final class InFlightRequests {
+
+	private static final Logger logger = LoggerFactory.getLogger(InFlightRequests.class);
+
+	private final ConcurrentHashMap<Object, Sinks.Empty<Void>> cancellations = new ConcurrentHashMap<>();
+
+	/**
+	 * Tracks the handling of a request while it is subscribed. A cancelled handling is
+	 * disposed and the returned {@link Mono} completes empty, so that no response is
+	 * sent.
+	 * @param <T> the type of the response
+	 * @param requestId the ID of the request
+	 * @param handling the handling of the request
+	 * @return the cancellable handling
+	 */
+	<T> Mono<T> track(Object requestId, Mono<T> handling) {
+		return Mono.defer(() -> {
+			Sinks.Empty<Void> cancellation = Sinks.empty();
+			this.cancellations.put(requestId, cancellation);
+			return handling.takeUntilOther(cancellation.asMono())
+				.doFinally(signal -> this.cancellations.remove(requestId, cancellation));
+		});
+	}
+
+	/**
+	 * Cancels the handling of the request named by the parameters of a
+	 * {@code notifications/cancelled} notification, if it is still being handled.
+	 * @param params the parameters of the cancellation notification
+	 */
+	void cancel(Object params) {
+		if (!(params instanceof Map<?, ?> map) || map.get("requestId") == null) {
+			logger.warn("Ignoring cancellation without request ID: {}", params);
+			return;
+		}
+		Object requestId = map.get("requestId");
+		Sinks.Empty<Void> cancellation = this.cancellations.remove(requestId);
+		if (cancellation != null) {
+			logger.debug("Cancelling request {}: {}", requestId, map.get("reason"));
+			cancellation.tryEmitEmpty();
+		}
+	}
+
+	/**
+	 * Cancels the handling of all the requests, once the session is closed.
+	 */
+	void cancelAll() {
+		this.cancellations.values().forEach(Sinks.Empty::tryEmitEmpty);
+		this.cancellations.clear();
+	}
+
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link McpEventStore} keeping the most recent events of each stream in memory.
+ *
+ * <p>
+ * The events of a stream are kept in a ring buffer holding at most
+ * {@code maxEventsPerStream} events, the oldest event being overwritten by the newest
+ * one. Events older than {@code maxAge} are not replayed, and a stream is evicted once
+ * its last event has expired or when a session has more than {@code maxStreamsPerSession}
+ * streams, in which case the stream that was written to least recently is evicted.
+ *
+ * <p>
+ * Event IDs are made of the stream ID and the sequence number of the event within the
+ * stream, so that replaying a stream only looks up the stream and copies the events
+ * following the last event from its ring buffer.
+ */
+public class InMemoryMcpEventStore implements McpEventStore {
+
+	/**
+	 * Default number of events kept for each stream.
+	 */
+	public static final int DEFAULT_MAX_EVENTS_PER_STREAM = 100;
+
+	/**
+	 * Default number of streams kept for each session.
+	 */
+	public static final int DEFAULT_MAX_STREAMS_PER_SESSION = 100;
+
+	/**
+	 * Default time after which an event is no longer replayed.
+	 */
+	public static final Duration DEFAULT_MAX_AGE = Duration.ofMinutes(5);
+
+	private static final char SEQUENCE_SEPARATOR = '_';
+
+	private static final int INITIAL_STREAM_CAPACITY = 8;
+
+	private final ConcurrentHashMap<String, SessionEvents> sessions = new ConcurrentHashMap<>();
+
+	private final int maxEventsPerStream;
+
+	private final int maxStreamsPerSession;
+
+	private final long maxAgeMillis;
+
+	private final Clock clock;
+
+	private InMemoryMcpEventStore(int maxEventsPerStream, int maxStreamsPerSession, Duration maxAge, Clock clock) {
+		this.maxEventsPerStream = maxEventsPerStream;
+		this.maxStreamsPerSession = maxStreamsPerSession;
+		this.maxAgeMillis = maxAge.toMillis();
+		this.clock = clock;
+	}
+
+	@Override
+	public Mono<String> storeEvent(String sessionId, String streamId, McpSchema.JSONRPCMessage message) {
+		return Mono.fromSupplier(() -> this.sessions.computeIfAbsent(sessionId, id -> new SessionEvents())
+			.store(streamId, message, this.clock.millis()));
+	}
+
+	@Override
+	public Flux<Event> replayEventsAfter(String sessionId, String lastEventId) {
+		return Mono.fromSupplier(() -> {
+			int separator = lastEventId.lastIndexOf(SEQUENCE_SEPARATOR);
+			SessionEvents sessionEvents = this.sessions.get(sessionId);
+			if (separator < 0 || sessionEvents == null) {
+				return List.<Event>of();
+			}
+			long sequence;
+			try {
+				sequence = Long.parseLong(lastEventId.substring(separator + 1));
+			}
+			catch (NumberFormatException e) {
+				return List.<Event>of();
+			}
+			return sessionEvents.eventsAfter(lastEventId.substring(0, separator), sequence, this.clock.millis());
+		}).flatMapIterable(events -> events);
+	}
+
+	@Override
+	public Mono<Void> removeSession(String sessionId) {
+		return Mono.fromRunnable(() -> this.sessions.remove(sessionId));
+	}
+
+	/**
+	 * Returns the number of sessions with stored events.
+	 * @return the number of sessions
+	 */
+	int sessionCount() {
+		return this.sessions.size();
+	}
+
+	/**
+	 * Create a builder for the event store.
+	 * @return a fresh {@link Builder} instance.
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * The streams of a session, ordered from the least to the most recently written.
+	 */
+	private final class SessionEvents {
+
+		private final LinkedHashMap<String, StreamEvents> streams = new LinkedHashMap<>();
+
+		synchronized String store(String streamId, McpSchema.JSONRPCMessage message, long now) {
+			StreamEvents stream = this.streams.remove(streamId);
+			if (stream == null) {
+				stream = new StreamEvents(streamId);
+			}
+			this.streams.put(streamId, stream);
+			String eventId = stream.store(message, now);
+			evict(now);
+			return eventId;
+		}
+
+		synchronized List<Event> eventsAfter(String streamId, long sequence, long now) {
+			StreamEvents stream = this.streams.get(streamId);
+			return stream != null ? stream.eventsAfter(sequence, now - maxAgeMillis) : List.of();
+		}
+
+		private void evict(long now) {
+			int excess = this.streams.size() - maxStreamsPerSession;
+			Iterator<Map.Entry<String, StreamEvents>> iterator = this.streams.entrySet().iterator();
+			while (iterator.hasNext()) {
+				StreamEvents stream = iterator.next().getValue();
+				if (excess <= 0 && stream.lastStoredAt >= now - maxAgeMillis) {
+					break;
+				}
+				iterator.remove();
+				excess--;
+			}
+		}
+
+	}
+
+	/**
+	 * The ring buffer of the most recent events of a stream. The buffer grows until it
+	 * holds {@code maxEventsPerStream} events, most streams being short-lived.
+	 */
+	private final class StreamEvents {
+
+		private final String streamId;
+
+		private Event[] events = new Event[Math.min(INITIAL_STREAM_CAPACITY, maxEventsPerStream)];
+
+		private long[] storedAt = new long[this.events.length];
+
+		private long nextSequence;
+
+		private long lastStoredAt;
+
+		StreamEvents(String streamId) {
+			this.streamId = streamId;
+		}
+
+		String store(McpSchema.JSONRPCMessage message, long now) {
+			long sequence = this.nextSequence++;
+			if (sequence == this.events.length && this.events.length < maxEventsPerStream) {
+				// The buffer has not wrapped yet, so the events keep their index
+				int capacity = Math.min(this.events.length * 2, maxEventsPerStream);
+				this.events = Arrays.copyOf(this.events, capacity);
+				this.storedAt = Arrays.copyOf(this.storedAt, capacity);
+			}
+			int index = (int) (sequence % this.events.length);
+			Event event = new Event(this.streamId + SEQUENCE_SEPARATOR + sequence, message);
+			this.events[index] = event;
+			this.storedAt[index] = now;
+			this.lastStoredAt = now;
+			return event.id();
+		}
+
+		List<Event> eventsAfter(long sequence, long notBefore) {
+			long from = Math.max(sequence + 1, this.nextSequence - this.events.length);
+			if (from >= this.nextSequence) {
+				return List.of();
+			}
+			List<Event> replayed = new ArrayList<>((int) (this.nextSequence - from));
+			for (long s = from; s < this.nextSequence; s++) {
+				int index = (int) (s % this.events.length);
+				if (this.storedAt[index] >= notBefore) {
+					replayed.add(this.events[index]);
+				}
+			}
+			return replayed;
+		}
+
+	}
+
+	/**
+	 * Builder for creating instances of {@link InMemoryMcpEventStore}.
+	 */
+	public static class Builder {
+
+		private int maxEventsPerStream = DEFAULT_MAX_EVENTS_PER_STREAM;
+
+		private int maxStreamsPerSession = DEFAULT_MAX_STREAMS_PER_SESSION;
+
+		private Duration maxAge = DEFAULT_MAX_AGE;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder() {
+			// used by a static method
+		}
+
+		/**
+		 * Sets the number of events kept for each stream. Defaults to
+		 * {@value #DEFAULT_MAX_EVENTS_PER_STREAM}.
+		 * @param maxEventsPerStream the number of events. Must be positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxEventsPerStream is not positive
+		 */
+		public Builder maxEventsPerStream(int maxEventsPerStream) {
+			Assert.isTrue(maxEventsPerStream > 0, "Max events per stream must be positive");
+			this.maxEventsPerStream = maxEventsPerStream;
+			return this;
+		}
+
+		/**
+		 * Sets the number of streams kept for each session. Defaults to
+		 * {@value #DEFAULT_MAX_STREAMS_PER_SESSION}.
+		 * @param maxStreamsPerSession the number of streams. Must be positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxStreamsPerSession is not positive
+		 */
+		public Builder maxStreamsPerSession(int maxStreamsPerSession) {
+			Assert.isTrue(maxStreamsPerSession > 0, "Max streams per session must be positive");
+			this.maxStreamsPerSession = maxStreamsPerSession;
+			return this;
+		}
+
+		/**
+		 * Sets the time after which an event is no longer replayed. Defaults to 5
+		 * minutes.
+		 * @param maxAge the maximum age of replayed events. Must be positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxAge is null or not positive
+		 */
+		public Builder maxAge(Duration maxAge) {
+			Assert.notNull(maxAge, "Max age must not be null");
+			Assert.isTrue(!maxAge.isNegative() && !maxAge.isZero(), "Max age must be positive");
+			this.maxAge = maxAge;
+			return this;
+		}
+
+		Builder clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Builds a new instance of {@link InMemoryMcpEventStore} with the configured
+		 * settings.
+		 * @return a new InMemoryMcpEventStore instance
+		 */
+		public InMemoryMcpEventStore build() {
+			return new InMemoryMcpEventStore(this.maxEventsPerStream, this.maxStreamsPerSession, this.maxAge,
+					this.clock);
+		}
+
+	}
+
+}
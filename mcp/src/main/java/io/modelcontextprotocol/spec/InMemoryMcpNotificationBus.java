@@ -0,0 +1,64 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * {@link McpNotificationBus} delivering the notifications to the servers of a JVM sharing
+ * the instance, as the nodes of a distributed server would receive them.
+ *
+ * <p>
+ * The notifications published within 10 milliseconds are delivered as a batch, in which
+ * identical notifications are delivered only once.
+ */
+public class InMemoryMcpNotificationBus implements McpNotificationBus {
+
+	private final Sinks.Many<Notification> notifications = Sinks.many().multicast().directBestEffort();
+
+	private final NotificationBatcher batcher;
+
+	/**
+	 * Creates a bus with the default batch window.
+	 */
+	public InMemoryMcpNotificationBus() {
+		this(NotificationBatcher.DEFAULT_BATCH_WINDOW, NotificationBatcher.DEFAULT_MAX_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates a bus.
+	 * @param batchWindow the time during which published notifications are grouped into a
+	 * batch
+	 * @param maxBatchSize the maximum number of notifications of a batch
+	 */
+	public InMemoryMcpNotificationBus(Duration batchWindow, int maxBatchSize) {
+		this.batcher = new NotificationBatcher(batchWindow, maxBatchSize, this::deliver);
+	}
+
+	@Override
+	public Mono<Void> publish(String method, Object params) {
+		return this.batcher.publish(method, params);
+	}
+
+	@Override
+	public Flux<Notification> notifications() {
+		return this.notifications.asFlux();
+	}
+
+	@Override
+	public Mono<Void> closeGracefully() {
+		return this.batcher.close().then(Mono.<Void>fromRunnable(this.notifications::tryEmitComplete));
+	}
+
+	private Mono<Void> deliver(List<Notification> batch) {
+		return Mono.fromRunnable(() -> batch.forEach(this.notifications::tryEmitNext));
+	}
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link McpSessionStore} keeping the state of the sessions in memory. Sharing an
+ * instance between the servers of a JVM lets them handle each other's sessions, as the
+ * nodes of a distributed server would.
+ */
+public class InMemoryMcpSessionStore implements McpSessionStore {
+
+	private final ConcurrentHashMap<String, SessionState> sessions = new ConcurrentHashMap<>();
+
+	@Override
+	public Mono<Void> save(SessionState state) {
+		Assert.notNull(state, "Session state must not be null");
+		return Mono.fromRunnable(() -> this.sessions.put(state.id(), state));
+	}
+
+	@Override
+	public Mono<SessionState> load(String sessionId) {
+		return Mono.fromSupplier(() -> this.sessions.get(sessionId));
+	}
+
+	@Override
+	public Mono<Void> remove(String sessionId) {
+		return Mono.fromRunnable(() -> this.sessions.remove(sessionId));
+	}
+
+	/**
+	 * Returns the number of stored sessions.
+	 * @return the number of sessions
+	 */
+	int size() {
+		return this.sessions.size();
+	}
+
+}
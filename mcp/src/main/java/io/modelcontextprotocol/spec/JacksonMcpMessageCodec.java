@@ -0,0 +1,71 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * {@link McpMessageCodec} based on a Jackson {@link ObjectMapper}.
+ *
+ * <p>
+ * Messages are serialized directly into the target stream and decoded with the
+ * single-pass {@link JsonRpcMessageDecoder}.
+ */
+public class JacksonMcpMessageCodec implements McpMessageCodec {
+
+	private final ObjectMapper objectMapper;
+
+	private final ObjectWriter writer;
+
+	/**
+	 * Creates a new codec.
+	 * @param objectMapper the ObjectMapper to use for JSON serialization/deserialization
+	 */
+	public JacksonMcpMessageCodec(ObjectMapper objectMapper) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.objectMapper = objectMapper;
+		this.writer = objectMapper.writer()
+			.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+			.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+	}
+
+	@Override
+	public void encode(JSONRPCMessage message, OutputStream outputStream) throws IOException {
+		this.writer.writeValue(outputStream, message);
+	}
+
+	@Override
+	public ByteBuffer encode(JSONRPCMessage message) throws IOException {
+		return ByteBuffer.wrap(this.writer.writeValueAsBytes(message));
+	}
+
+	@Override
+	public JSONRPCMessage decode(byte[] bytes, int offset, int length) throws IOException {
+		return JsonRpcMessageDecoder.decode(this.objectMapper, bytes, offset, length);
+	}
+
+	@Override
+	public JSONRPCMessage decode(ByteBuffer buffer) throws IOException {
+		return JsonRpcMessageDecoder.decode(this.objectMapper, buffer);
+	}
+
+	@Override
+	public JSONRPCMessage decode(InputStream inputStream) throws IOException {
+		return JsonRpcMessageDecoder.decode(this.objectMapper, inputStream);
+	}
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Binds the {@code params} of JSON-RPC requests and notifications and the {@code result}
+ * of JSON-RPC responses to their target types.
+ *
+ * <p>
+ * Values decoded by {@link JsonRpcMessageDecoder} are {@link RawJsonObject raw JSON
+ * objects} that are read straight into the target type with an {@link ObjectReader}
+ * cached per target type. Any other value, such as a {@code Map} built in-process, is
+ * converted with {@link ObjectMapper#convertValue(Object, JavaType)}. In both cases a
+ * failure to bind is reported as an {@link IllegalArgumentException}, like
+ * {@code convertValue} does.
+ */
+public final class JsonRpcBinder {
+
+	private final ObjectMapper objectMapper;
+
+	private final ConcurrentHashMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new binder.
+	 * @param objectMapper the ObjectMapper to use for binding
+	 */
+	public JsonRpcBinder(ObjectMapper objectMapper) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Binds the given value to the target type.
+	 * @param <T> the target type
+	 * @param value the value to bind, may be {@code null}
+	 * @param type the target type
+	 * @return the bound value, or {@code null} if the value is {@code null}
+	 * @throws IllegalArgumentException if the value cannot be bound to the target type
+	 */
+	public <T> T bind(Object value, Class<T> type) {
+		return bind(value, (Type) type);
+	}
+
+	/**
+	 * Binds the given value to the target type.
+	 * @param <T> the target type
+	 * @param value the value to bind, may be {@code null}
+	 * @param typeRef the target type
+	 * @return the bound value, or {@code null} if the value is {@code null}
+	 * @throws IllegalArgumentException if the value cannot be bound to the target type
+	 */
+	public <T> T bind(Object value, TypeReference<T> typeRef) {
+		return bind(value, typeRef.getType());
+	}
+
+	private <T> T bind(Object value, Type type) {
+		if (value instanceof RawJsonObject raw) {
+			try {
+				return raw.readValue(reader(type));
+			}
+			catch (IOException ex) {
+				throw new IllegalArgumentException(ex.getMessage(), ex);
+			}
+		}
+		return this.objectMapper.convertValue(value, reader(type).getValueType());
+	}
+
+	private ObjectReader reader(Type type) {
+		return this.readers.computeIfAbsent(type,
+				t -> this.objectMapper.readerFor(this.objectMapper.getTypeFactory().constructType(t)));
+	}
+
+}
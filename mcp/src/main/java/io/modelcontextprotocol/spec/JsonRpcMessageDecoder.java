@@ -0,0 +1,243 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCNotification;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCRequest;
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Single-pass decoder of JSON-RPC messages.
+ *
+ * <p>
+ * The message is read once with a streaming {@link JsonParser}. The message type is
+ * determined from the presence of the {@code id}, {@code method}, {@code result} and
+ * {@code error} members as they are encountered and the corresponding
+ * {@link JSONRPCRequest}, {@link JSONRPCNotification} or {@link JSONRPCResponse} record
+ * is created directly, without materializing the whole message as an intermediate
+ * {@code Map} first. JSON object {@code params} and {@code result} members are kept as
+ * {@link RawJsonObject raw JSON objects} that handlers bind straight into their target
+ * type with a {@link JsonRpcBinder}. Any other {@code params} or {@code result} value is
+ * bound with the same untyped deserializer the {@link ObjectMapper} would use for an
+ * {@code Object} property.
+ *
+ * <p>
+ * Besides {@code String} input, the decoder accepts UTF-8 encoded {@code byte[]},
+ * {@link ByteBuffer} and {@link InputStream} input so that transports do not need to
+ * build an intermediate {@code String} for each message.
+ *
+ * @see McpSchema#deserializeJsonRpcMessage(ObjectMapper, String)
+ */
+public final class JsonRpcMessageDecoder {
+
+	private JsonRpcMessageDecoder() {
+	}
+
+	/**
+	 * Decodes a JSON-RPC message from its JSON text.
+	 * @param objectMapper the ObjectMapper to use for deserialization
+	 * @param jsonText the JSON text of the message
+	 * @return the decoded message
+	 * @throws IOException if the input is not valid JSON
+	 * @throws IllegalArgumentException if the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage decode(ObjectMapper objectMapper, String jsonText) throws IOException {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.notNull(jsonText, "JSON text must not be null");
+		try (JsonParser parser = objectMapper.createParser(jsonText)) {
+			return decode(objectMapper, parser, () -> jsonText);
+		}
+	}
+
+	/**
+	 * Decodes a JSON-RPC message from its UTF-8 encoded JSON representation.
+	 * @param objectMapper the ObjectMapper to use for deserialization
+	 * @param bytes the UTF-8 encoded message
+	 * @return the decoded message
+	 * @throws IOException if the input is not valid JSON
+	 * @throws IllegalArgumentException if the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage decode(ObjectMapper objectMapper, byte[] bytes) throws IOException {
+		Assert.notNull(bytes, "Bytes must not be null");
+		return decode(objectMapper, bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Decodes a JSON-RPC message from a region of a UTF-8 encoded byte array.
+	 * @param objectMapper the ObjectMapper to use for deserialization
+	 * @param bytes the array holding the UTF-8 encoded message
+	 * @param offset the offset of the first byte of the message
+	 * @param length the number of bytes of the message
+	 * @return the decoded message
+	 * @throws IOException if the input is not valid JSON
+	 * @throws IllegalArgumentException if the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage decode(ObjectMapper objectMapper, byte[] bytes, int offset, int length)
+			throws IOException {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.notNull(bytes, "Bytes must not be null");
+		try (JsonParser parser = objectMapper.createParser(bytes, offset, length)) {
+			return decode(objectMapper, parser, () -> new String(bytes, offset, length, StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Decodes a JSON-RPC message from the remaining bytes of a UTF-8 encoded buffer. The
+	 * position of the given buffer is not modified.
+	 * @param objectMapper the ObjectMapper to use for deserialization
+	 * @param buffer the buffer holding the UTF-8 encoded message between its position and
+	 * its limit
+	 * @return the decoded message
+	 * @throws IOException if the input is not valid JSON
+	 * @throws IllegalArgumentException if the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage decode(ObjectMapper objectMapper, ByteBuffer buffer) throws IOException {
+		Assert.notNull(buffer, "Buffer must not be null");
+		if (buffer.hasArray()) {
+			return decode(objectMapper, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		}
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		ByteBuffer source = buffer.duplicate();
+		try (JsonParser parser = objectMapper.createParser(new ByteBufferBackedInputStream(source))) {
+			return decode(objectMapper, parser, () -> {
+				ByteBuffer copy = buffer.duplicate();
+				byte[] bytes = new byte[copy.remaining()];
+				copy.get(bytes);
+				return new String(bytes, StandardCharsets.UTF_8);
+			});
+		}
+	}
+
+	/**
+	 * Decodes a single JSON-RPC message from a UTF-8 encoded input stream. The stream is
+	 * not closed by this method.
+	 * @param objectMapper the ObjectMapper to use for deserialization
+	 * @param inputStream the stream to read the message from
+	 * @return the decoded message
+	 * @throws IOException if the input is not valid JSON or cannot be read
+	 * @throws IllegalArgumentException if the JSON structure doesn't match any known
+	 * message type
+	 */
+	public static JSONRPCMessage decode(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.notNull(inputStream, "InputStream must not be null");
+		try (JsonParser parser = objectMapper.createParser(inputStream)) {
+			parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+			return decode(objectMapper, parser, () -> "<stream>");
+		}
+	}
+
+	private static JSONRPCMessage decode(ObjectMapper objectMapper, JsonParser parser, Supplier<String> source)
+			throws IOException {
+
+		if (parser.nextToken() != JsonToken.START_OBJECT) {
+			throw MismatchedInputException.from(parser, JSONRPCMessage.class,
+					"Cannot deserialize JSONRPCMessage: expected a JSON object");
+		}
+
+		DeserializationContext ctxt = ((DefaultDeserializationContext) objectMapper.getDeserializationContext())
+			.createInstance(objectMapper.getDeserializationConfig(), parser, objectMapper.getInjectableValues());
+
+		String jsonrpc = null;
+		String method = null;
+		Object id = null;
+		Object params = null;
+		Object result = null;
+		JSONRPCResponse.JSONRPCError error = null;
+
+		boolean hasMethod = false;
+		boolean hasId = false;
+		boolean hasResult = false;
+		boolean hasError = false;
+
+		String fieldName;
+		while ((fieldName = parser.nextFieldName()) != null) {
+			JsonToken token = parser.nextToken();
+			switch (fieldName) {
+				case "jsonrpc" -> jsonrpc = readString(ctxt, parser, token);
+				case "method" -> {
+					hasMethod = true;
+					method = readString(ctxt, parser, token);
+				}
+				case "id" -> {
+					hasId = true;
+					id = (token == JsonToken.VALUE_STRING) ? parser.getText() : readValue(ctxt, parser, token);
+				}
+				case "params" -> params = readPayload(objectMapper, ctxt, parser, token);
+				case "result" -> {
+					hasResult = true;
+					result = readPayload(objectMapper, ctxt, parser, token);
+				}
+				case "error" -> {
+					hasError = true;
+					error = (token == JsonToken.VALUE_NULL) ? null
+							: ctxt.readValue(parser, JSONRPCResponse.JSONRPCError.class);
+				}
+				default -> parser.skipChildren();
+			}
+		}
+
+		// Determine message type based on specific JSON structure
+		if (hasMethod && hasId) {
+			return new JSONRPCRequest(jsonrpc, method, id, params);
+		}
+		else if (hasMethod) {
+			return new JSONRPCNotification(jsonrpc, method, params);
+		}
+		else if (hasResult || hasError) {
+			return new JSONRPCResponse(jsonrpc, id, result, error);
+		}
+
+		throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: " + source.get());
+	}
+
+	private static String readString(DeserializationContext ctxt, JsonParser parser, JsonToken token)
+			throws IOException {
+		if (token == JsonToken.VALUE_STRING) {
+			return parser.getText();
+		}
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		return ctxt.readValue(parser, String.class);
+	}
+
+	private static Object readPayload(ObjectMapper objectMapper, DeserializationContext ctxt, JsonParser parser,
+			JsonToken token) throws IOException {
+		if (token == JsonToken.START_OBJECT) {
+			return new RawJsonObject(ctxt.bufferAsCopyOfValue(parser), objectMapper);
+		}
+		return readValue(ctxt, parser, token);
+	}
+
+	private static Object readValue(DeserializationContext ctxt, JsonParser parser, JsonToken token)
+			throws IOException {
+		if (token == JsonToken.VALUE_NULL) {
+			return null;
+		}
+		return ctxt.readValue(parser, Object.class);
+	}
+
+}
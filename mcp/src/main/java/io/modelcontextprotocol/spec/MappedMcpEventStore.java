@@ -0,0 +1,629 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link McpEventStore} appending the events to a log of memory-mapped segment files, so
+ * that streams can be replayed after the process restarts.
+ *
+ * <p>
+ * Events are appended to the active segment until it is full, at which point a new
+ * segment is created. The encoded messages are kept in the mapped files only, outside of
+ * the heap: the heap only holds, for each stream, the positions of its events in the log,
+ * and replaying a stream decodes the events straight from the mapped segments. The oldest
+ * segments are deleted once the log grows beyond {@code maxTotalSize} or once their last
+ * event is older than {@code maxAge}. When the store is opened, the existing segments of
+ * its directory are scanned to rebuild the positions of the events.
+ *
+ * <p>
+ * Event IDs are made of the stream ID and the sequence number of the event within the
+ * stream, as with {@link InMemoryMcpEventStore}. Writes reach the operating system page
+ * cache and therefore survive a crash of the process, but not a crash or power loss of
+ * the host: they are only forced to the disk when the store is closed.
+ *
+ * <p>
+ * A directory must not be used by more than one store at a time. Closing the store
+ * releases its segments; Java does not unmap a file until its buffer is garbage
+ * collected, so the mapped memory is returned once no replay still reads from it.
+ */
+public class MappedMcpEventStore implements McpEventStore, AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(MappedMcpEventStore.class);
+
+	/**
+	 * Default size of a segment file.
+	 */
+	public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * Default maximum size of all the segment files.
+	 */
+	public static final long DEFAULT_MAX_TOTAL_SIZE = 1024L * 1024 * 1024;
+
+	/**
+	 * Default time after which an event is no longer replayed.
+	 */
+	public static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+	static final String SEGMENT_SUFFIX = ".mcplog";
+
+	private static final int SEGMENT_MAGIC = 0x4D43504C;
+
+	private static final int SEGMENT_VERSION = 1;
+
+	private static final int SEGMENT_HEADER_SIZE = 8;
+
+	// Record layout: int length (of the rest of the record, written last), byte type,
+	// long timestamp, short session ID length, session ID and, for events, short stream
+	// ID length, stream ID, long sequence and the encoded message
+	private static final int RECORD_HEADER_SIZE = 4 + 1 + 8 + 2;
+
+	private static final byte EVENT_RECORD = 1;
+
+	private static final byte SESSION_REMOVED_RECORD = 2;
+
+	private static final char SEQUENCE_SEPARATOR = '_';
+
+	private final Path directory;
+
+	private final int segmentSize;
+
+	private final long maxTotalSize;
+
+	private final long maxAgeMillis;
+
+	private final McpMessageCodec messageCodec;
+
+	private final Clock clock;
+
+	private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+	// Guarded by this
+	private final Map<String, Map<String, StreamIndex>> sessions = new HashMap<>();
+
+	// Guarded by this
+	private Segment activeSegment;
+
+	// Guarded by this
+	private boolean closed;
+
+	private MappedMcpEventStore(Path directory, int segmentSize, long maxTotalSize, Duration maxAge,
+			McpMessageCodec messageCodec, Clock clock) throws IOException {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.maxTotalSize = maxTotalSize;
+		this.maxAgeMillis = maxAge.toMillis();
+		this.messageCodec = messageCodec;
+		this.clock = clock;
+		open();
+	}
+
+	@Override
+	public Mono<String> storeEvent(String sessionId, String streamId, McpSchema.JSONRPCMessage message) {
+		return Mono.fromCallable(() -> {
+			ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+			this.messageCodec.encode(message, payload);
+			return append(sessionId, streamId, payload.toByteArray());
+		});
+	}
+
+	@Override
+	public Flux<Event> replayEventsAfter(String sessionId, String lastEventId) {
+		return Mono.fromCallable(() -> {
+			int separator = lastEventId.lastIndexOf(SEQUENCE_SEPARATOR);
+			if (separator < 0) {
+				return List.<Event>of();
+			}
+			long sequence;
+			try {
+				sequence = Long.parseLong(lastEventId.substring(separator + 1));
+			}
+			catch (NumberFormatException e) {
+				return List.<Event>of();
+			}
+			return read(positionsAfter(sessionId, lastEventId.substring(0, separator), sequence));
+		}).flatMapIterable(events -> events);
+	}
+
+	@Override
+	public Mono<Void> removeSession(String sessionId) {
+		return Mono.fromCallable(() -> {
+			synchronized (this) {
+				checkOpen();
+				if (this.sessions.remove(sessionId) != null) {
+					write(SESSION_REMOVED_RECORD, this.clock.millis(), sessionId, null, 0, null);
+				}
+			}
+			return null;
+		}).then();
+	}
+
+	/**
+	 * Forces the segments to the disk and releases them. Events can no longer be stored,
+	 * and no events are replayed.
+	 */
+	@Override
+	public synchronized void close() {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		for (Segment segment : this.segments.values()) {
+			try {
+				segment.buffer.force();
+			}
+			catch (UncheckedIOException e) {
+				logger.warn("Failed to force event log segment {} to the disk: {}", segment.path, e.getMessage());
+			}
+		}
+		this.segments.clear();
+		this.sessions.clear();
+		this.activeSegment = null;
+	}
+
+	/**
+	 * Returns the number of segment files of the log.
+	 * @return the number of segments
+	 */
+	int segmentCount() {
+		return this.segments.size();
+	}
+
+	private synchronized String append(String sessionId, String streamId, byte[] payload) throws IOException {
+		checkOpen();
+		StreamIndex stream = this.sessions.computeIfAbsent(sessionId, id -> new HashMap<>())
+			.computeIfAbsent(streamId, id -> new StreamIndex());
+		long sequence = stream.nextSequence();
+		long position = write(EVENT_RECORD, this.clock.millis(), sessionId, streamId, sequence, payload);
+		stream.add(sequence, position);
+		return streamId + SEQUENCE_SEPARATOR + sequence;
+	}
+
+	private void checkOpen() {
+		if (this.closed) {
+			throw new IllegalStateException("Event store is closed");
+		}
+	}
+
+	private synchronized long[] positionsAfter(String sessionId, String streamId, long sequence) {
+		Map<String, StreamIndex> streams = this.sessions.get(sessionId);
+		StreamIndex stream = streams != null ? streams.get(streamId) : null;
+		return stream != null ? stream.positionsAfter(sequence) : new long[0];
+	}
+
+	/**
+	 * Appends a record to the active segment, rolling to a new segment if needed.
+	 * @return the position of the record in the log
+	 */
+	private long write(byte type, long timestamp, String sessionId, String streamId, long sequence, byte[] payload)
+			throws IOException {
+		byte[] sessionIdBytes = sessionId.getBytes(StandardCharsets.UTF_8);
+		byte[] streamIdBytes = streamId != null ? streamId.getBytes(StandardCharsets.UTF_8) : null;
+		int recordSize = RECORD_HEADER_SIZE + sessionIdBytes.length
+				+ (type == EVENT_RECORD ? 2 + streamIdBytes.length + 8 + payload.length : 0);
+		if (recordSize > this.segmentSize - SEGMENT_HEADER_SIZE) {
+			throw new IOException(
+					"Event of " + recordSize + " bytes exceeds the segment size of " + this.segmentSize + " bytes");
+		}
+		if (this.activeSegment.writePosition + recordSize > this.activeSegment.capacity) {
+			roll(timestamp);
+		}
+		else if (this.segments.size() > 1 && this.segments.firstEntry().getValue().isExpired(timestamp)) {
+			applyRetention(timestamp);
+		}
+
+		Segment segment = this.activeSegment;
+		MappedByteBuffer buffer = segment.buffer;
+		int offset = segment.writePosition;
+		int index = offset + 4;
+		buffer.put(index, type);
+		buffer.putLong(index + 1, timestamp);
+		buffer.putShort(index + 9, (short) sessionIdBytes.length);
+		buffer.put(index + 11, sessionIdBytes);
+		index += 11 + sessionIdBytes.length;
+		if (type == EVENT_RECORD) {
+			buffer.putShort(index, (short) streamIdBytes.length);
+			buffer.put(index + 2, streamIdBytes);
+			index += 2 + streamIdBytes.length;
+			buffer.putLong(index, sequence);
+			buffer.put(index + 8, payload);
+		}
+		// The length is written last, so that a record is only ever read in full
+		buffer.putInt(offset, recordSize - 4);
+		segment.writePosition = offset + recordSize;
+		segment.lastTimestamp = timestamp;
+		return segment.base + offset;
+	}
+
+	private List<Event> read(long[] positions) throws IOException {
+		List<Event> events = new ArrayList<>(positions.length);
+		long notBefore = this.clock.millis() - this.maxAgeMillis;
+		for (long position : positions) {
+			Map.Entry<Long, Segment> entry = this.segments.floorEntry(position);
+			if (entry == null) {
+				// The segment of the event was deleted
+				continue;
+			}
+			Segment segment = entry.getValue();
+			ByteBuffer buffer = segment.buffer.duplicate();
+			int offset = (int) (position - segment.base);
+			int end = offset + 4 + buffer.getInt(offset);
+			if (buffer.getLong(offset + 5) < notBefore) {
+				continue;
+			}
+			int index = offset + 4 + 11 + buffer.getShort(offset + 4 + 9);
+			int streamIdLength = buffer.getShort(index);
+			String streamId = readString(buffer, index + 2, streamIdLength);
+			index += 2 + streamIdLength;
+			long sequence = buffer.getLong(index);
+			buffer.limit(end).position(index + 8);
+			events.add(new Event(streamId + SEQUENCE_SEPARATOR + sequence, this.messageCodec.decode(buffer)));
+		}
+		return events;
+	}
+
+	private static String readString(ByteBuffer buffer, int index, int length) {
+		byte[] bytes = new byte[length];
+		buffer.get(index, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private void roll(long now) throws IOException {
+		Segment segment = createSegment(this.activeSegment.base + this.activeSegment.capacity);
+		this.segments.put(segment.base, segment);
+		this.activeSegment = segment;
+		logger.debug("Rolled event log to segment {}", segment.path);
+		applyRetention(now);
+	}
+
+	/**
+	 * Deletes the oldest segments while the log is too large or they are expired. The
+	 * active segment is never deleted.
+	 */
+	private void applyRetention(long now) {
+		boolean deleted = false;
+		while (this.segments.size() > 1) {
+			Segment oldest = this.segments.firstEntry().getValue();
+			if (!oldest.isExpired(now) && totalSize() <= this.maxTotalSize) {
+				break;
+			}
+			this.segments.pollFirstEntry();
+			deleted = true;
+			try {
+				Files.deleteIfExists(oldest.path);
+				logger.debug("Deleted event log segment {}", oldest.path);
+			}
+			catch (IOException e) {
+				logger.warn("Failed to delete event log segment {}: {}", oldest.path, e.getMessage());
+			}
+		}
+		if (deleted) {
+			long firstPosition = this.segments.firstKey();
+			Iterator<Map<String, StreamIndex>> sessionIterator = this.sessions.values().iterator();
+			while (sessionIterator.hasNext()) {
+				Map<String, StreamIndex> streams = sessionIterator.next();
+				streams.values().removeIf(stream -> stream.removeBefore(firstPosition));
+				if (streams.isEmpty()) {
+					sessionIterator.remove();
+				}
+			}
+		}
+	}
+
+	private long totalSize() {
+		long totalSize = 0;
+		for (Segment segment : this.segments.values()) {
+			totalSize += segment.capacity;
+		}
+		return totalSize;
+	}
+
+	private void open() throws IOException {
+		Files.createDirectories(this.directory);
+		List<Path> paths;
+		try (Stream<Path> files = Files.list(this.directory)) {
+			paths = files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+		}
+		for (Path path : paths) {
+			Segment segment = openSegment(path);
+			this.segments.put(segment.base, segment);
+			recover(segment);
+		}
+		if (this.segments.isEmpty()) {
+			Segment segment = createSegment(0);
+			this.segments.put(segment.base, segment);
+		}
+		this.activeSegment = this.segments.lastEntry().getValue();
+		applyRetention(this.clock.millis());
+	}
+
+	/**
+	 * Rebuilds the positions of the events of a segment, stopping at the first record
+	 * that was not completely written.
+	 */
+	private void recover(Segment segment) {
+		ByteBuffer buffer = segment.buffer.duplicate();
+		int offset = SEGMENT_HEADER_SIZE;
+		while (offset + RECORD_HEADER_SIZE <= segment.capacity) {
+			int length = buffer.getInt(offset);
+			if (length <= 0 || offset + 4 + length > segment.capacity) {
+				break;
+			}
+			byte type = buffer.get(offset + 4);
+			long timestamp = buffer.getLong(offset + 5);
+			int sessionIdLength = buffer.getShort(offset + 13);
+			String sessionId = readString(buffer, offset + 15, sessionIdLength);
+			if (type == EVENT_RECORD) {
+				int index = offset + 15 + sessionIdLength;
+				int streamIdLength = buffer.getShort(index);
+				String streamId = readString(buffer, index + 2, streamIdLength);
+				long sequence = buffer.getLong(index + 2 + streamIdLength);
+				this.sessions.computeIfAbsent(sessionId, id -> new HashMap<>())
+					.computeIfAbsent(streamId, id -> new StreamIndex())
+					.add(sequence, segment.base + offset);
+			}
+			else if (type == SESSION_REMOVED_RECORD) {
+				this.sessions.remove(sessionId);
+			}
+			segment.lastTimestamp = timestamp;
+			offset += 4 + length;
+		}
+		segment.writePosition = offset;
+	}
+
+	private Segment createSegment(long base) throws IOException {
+		Path path = this.directory.resolve(String.format("%020d%s", base, SEGMENT_SUFFIX));
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+				StandardOpenOption.WRITE)) {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, this.segmentSize);
+		}
+		buffer.putInt(0, SEGMENT_MAGIC);
+		buffer.putInt(4, SEGMENT_VERSION);
+		Segment segment = new Segment(path, base, buffer);
+		segment.writePosition = SEGMENT_HEADER_SIZE;
+		segment.lastTimestamp = this.clock.millis();
+		return segment;
+	}
+
+	private Segment openSegment(Path path) throws IOException {
+		String fileName = path.getFileName().toString();
+		long base;
+		try {
+			base = Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+		}
+		catch (NumberFormatException e) {
+			throw new IOException("Unexpected event log segment " + path, e);
+		}
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+		}
+		if (buffer.capacity() < SEGMENT_HEADER_SIZE || buffer.getInt(0) != SEGMENT_MAGIC
+				|| buffer.getInt(4) != SEGMENT_VERSION) {
+			throw new IOException("Unexpected event log segment " + path);
+		}
+		Segment segment = new Segment(path, base, buffer);
+		segment.lastTimestamp = Files.getLastModifiedTime(path).toMillis();
+		return segment;
+	}
+
+	/**
+	 * Create a builder for an event store logging to the given directory.
+	 * @param directory the directory holding the segment files, created if needed
+	 * @return a fresh {@link Builder} instance.
+	 */
+	public static Builder builder(Path directory) {
+		return new Builder(directory);
+	}
+
+	/**
+	 * A memory-mapped segment file of the log.
+	 */
+	private final class Segment {
+
+		private final Path path;
+
+		private final long base;
+
+		private final MappedByteBuffer buffer;
+
+		private final int capacity;
+
+		private int writePosition;
+
+		private volatile long lastTimestamp;
+
+		Segment(Path path, long base, MappedByteBuffer buffer) {
+			this.path = path;
+			this.base = base;
+			this.buffer = buffer;
+			this.capacity = buffer.capacity();
+		}
+
+		boolean isExpired(long now) {
+			return this.lastTimestamp < now - maxAgeMillis;
+		}
+
+	}
+
+	/**
+	 * The positions in the log of the events of a stream, indexed by sequence number.
+	 */
+	private static final class StreamIndex {
+
+		private long firstSequence;
+
+		private long[] positions = new long[8];
+
+		private int size;
+
+		long nextSequence() {
+			return this.firstSequence + this.size;
+		}
+
+		void add(long sequence, long position) {
+			if (sequence != nextSequence()) {
+				// Only happens when recovering a log whose first events were deleted
+				this.firstSequence = sequence;
+				this.size = 0;
+			}
+			if (this.size == this.positions.length) {
+				this.positions = Arrays.copyOf(this.positions, this.size * 2);
+			}
+			this.positions[this.size++] = position;
+		}
+
+		long[] positionsAfter(long sequence) {
+			long from = Math.max(0, sequence + 1 - this.firstSequence);
+			return from < this.size ? Arrays.copyOfRange(this.positions, (int) from, this.size) : new long[0];
+		}
+
+		/**
+		 * Removes the positions before the given position.
+		 * @return true if no position is left
+		 */
+		boolean removeBefore(long position) {
+			int removed = 0;
+			while (removed < this.size && this.positions[removed] < position) {
+				removed++;
+			}
+			if (removed > 0) {
+				System.arraycopy(this.positions, removed, this.positions, 0, this.size - removed);
+				this.size -= removed;
+				this.firstSequence += removed;
+			}
+			return this.size == 0;
+		}
+
+	}
+
+	/**
+	 * Builder for creating instances of {@link MappedMcpEventStore}.
+	 */
+	public static class Builder {
+
+		private final Path directory;
+
+		private int segmentSize = DEFAULT_SEGMENT_SIZE;
+
+		private long maxTotalSize = DEFAULT_MAX_TOTAL_SIZE;
+
+		private Duration maxAge = DEFAULT_MAX_AGE;
+
+		private McpMessageCodec messageCodec;
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder(Path directory) {
+			Assert.notNull(directory, "Directory must not be null");
+			this.directory = directory;
+		}
+
+		/**
+		 * Sets the size of the segment files. An event must fit in a single segment.
+		 * Defaults to 64 MB.
+		 * @param segmentSize the size of a segment in bytes. Must be at least 1 KB.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if segmentSize is less than 1 KB
+		 */
+		public Builder segmentSize(int segmentSize) {
+			Assert.isTrue(segmentSize >= 1024, "Segment size must be at least 1024 bytes");
+			this.segmentSize = segmentSize;
+			return this;
+		}
+
+		/**
+		 * Sets the size beyond which the oldest segments are deleted. Defaults to 1 GB.
+		 * @param maxTotalSize the maximum size of all the segments in bytes. Must be
+		 * positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxTotalSize is not positive
+		 */
+		public Builder maxTotalSize(long maxTotalSize) {
+			Assert.isTrue(maxTotalSize > 0, "Max total size must be positive");
+			this.maxTotalSize = maxTotalSize;
+			return this;
+		}
+
+		/**
+		 * Sets the time after which an event is no longer replayed and its segment may be
+		 * deleted. Defaults to 1 hour.
+		 * @param maxAge the maximum age of replayed events. Must be positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxAge is null or not positive
+		 */
+		public Builder maxAge(Duration maxAge) {
+			Assert.notNull(maxAge, "Max age must not be null");
+			Assert.isTrue(!maxAge.isNegative() && !maxAge.isZero(), "Max age must be positive");
+			this.maxAge = maxAge;
+			return this;
+		}
+
+		/**
+		 * Sets the codec used to encode the messages in the log and decode them when they
+		 * are replayed. Defaults to a {@link JacksonMcpMessageCodec}.
+		 * @param messageCodec the message codec. Must not be null.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if messageCodec is null
+		 */
+		public Builder messageCodec(McpMessageCodec messageCodec) {
+			Assert.notNull(messageCodec, "Message codec must not be null");
+			this.messageCodec = messageCodec;
+			return this;
+		}
+
+		Builder clock(Clock clock) {
+			this.clock = clock;
+			return this;
+		}
+
+		/**
+		 * Opens the event store, recovering the events of the existing segments.
+		 * @return a new MappedMcpEventStore instance
+		 * @throws UncheckedIOException if the segments cannot be created or read
+		 */
+		public MappedMcpEventStore build() {
+			try {
+				return new MappedMcpEventStore(this.directory, this.segmentSize, this.maxTotalSize, this.maxAge,
+						this.messageCodec != null ? this.messageCodec : new JacksonMcpMessageCodec(new ObjectMapper()),
+						this.clock);
+			}
+			catch (IOException e) {
+				throw new UncheckedIOException("Failed to open event log in " + this.directory, e);
+			}
+		}
+
+	}
+
+}
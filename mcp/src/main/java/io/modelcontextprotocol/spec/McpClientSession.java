@@ -10,13 +10,11 @@ import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
+import reactor.util.context.ContextView;
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
@@ -46,8 +44,8 @@ public class McpClientSession implements McpSession {
 	/** Transport layer implementation for message exchange */
 	private final McpClientTransport transport;
 
-	/** Map of pending responses keyed by request ID */
-	private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
+	/** Requests waiting for their response, keyed by request ID */
+	private final PendingRequests pendingResponses;
 
 	/** Map of request handlers keyed by method name */
 	private final ConcurrentHashMap<String, RequestHandler<?>> requestHandlers = new ConcurrentHashMap<>();
@@ -55,11 +53,8 @@ public class McpClientSession implements McpSession {
 	/** Map of notification handlers keyed by method name */
 	private final ConcurrentHashMap<String, NotificationHandler> notificationHandlers = new ConcurrentHashMap<>();
 
-	/** Session-specific prefix for request IDs */
-	private final String sessionPrefix = UUID.randomUUID().toString().substring(0, 8);
-
-	/** Atomic counter for generating unique request IDs */
-	private final AtomicLong requestCounter = new AtomicLong(0);
+	/** Requests of the server being handled, cancelled on notifications/cancelled */
+	private final InFlightRequests inFlightRequests = new InFlightRequests();
 
 	/**
 	 * Functional interface for handling incoming JSON-RPC requests. Implementations
@@ -129,6 +124,7 @@ public class McpClientSession implements McpSession {
 		Assert.notNull(notificationHandlers, "The notificationHandlers can not be null");
 
 		this.requestTimeout = requestTimeout;
+		this.pendingResponses = new PendingRequests(requestTimeout, this::requestTimedOut);
 		this.transport = transport;
 		this.requestHandlers.putAll(requestHandlers);
 		this.notificationHandlers.putAll(notificationHandlers);
@@ -137,27 +133,20 @@ public class McpClientSession implements McpSession {
 	}
 
 	private void dismissPendingResponses() {
-		this.pendingResponses.forEach((id, sink) -> {
-			logger.warn("Abruptly terminating exchange for request {}", id);
-			sink.error(new RuntimeException("MCP session with server terminated"));
-		});
-		this.pendingResponses.clear();
+		this.pendingResponses.dismissAll(new RuntimeException("MCP session with server terminated"));
+		this.inFlightRequests.cancelAll();
 	}
 
 	private void handle(McpSchema.JSONRPCMessage message) {
 		if (message instanceof McpSchema.JSONRPCResponse response) {
 			logger.debug("Received Response: {}", response);
-			var sink = pendingResponses.remove(response.id());
-			if (sink == null) {
+			if (!this.pendingResponses.complete(response)) {
 				logger.warn("Unexpected response for unknown id {}", response.id());
 			}
-			else {
-				sink.success(response);
-			}
 		}
 		else if (message instanceof McpSchema.JSONRPCRequest request) {
 			logger.debug("Received request: {}", request);
-			handleIncomingRequest(request).onErrorResume(error -> {
+			this.inFlightRequests.track(request.id(), handleIncomingRequest(request)).onErrorResume(error -> {
 				var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
 						new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
 								error.getMessage(), null));
@@ -219,24 +208,22 @@ public class McpClientSession implements McpSession {
 	 */
 	private Mono<Void> handleIncomingNotification(McpSchema.JSONRPCNotification notification) {
 		return Mono.defer(() -> {
+			boolean cancellation = McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method());
+			if (cancellation) {
+				// The server stopped waiting for the response of one of its requests
+				this.inFlightRequests.cancel(notification.params());
+			}
 			var handler = notificationHandlers.get(notification.method());
 			if (handler == null) {
-				logger.error("No handler registered for notification method: {}", notification.method());
+				if (!cancellation) {
+					logger.error("No handler registered for notification method: {}", notification.method());
+				}
 				return Mono.empty();
 			}
 			return handler.handle(notification.params());
 		});
 	}
 
-	/**
-	 * Generates a unique request ID in a non-blocking way. Combines a session-specific
-	 * prefix with an atomic counter to ensure uniqueness.
-	 * @return A unique request ID string
-	 */
-	private String generateRequestId() {
-		return this.sessionPrefix + "-" + this.requestCounter.getAndIncrement();
-	}
-
 	/**
 	 * Sends a JSON-RPC request and returns the response.
 	 * @param <T> The expected response type
@@ -247,11 +234,14 @@ public class McpClientSession implements McpSession {
 	 */
 	@Override
 	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
-		String requestId = this.generateRequestId();
-
 		return Mono.deferContextual(ctx -> Mono.<McpSchema.JSONRPCResponse>create(pendingResponseSink -> {
 			logger.debug("Sending message for method {}", method);
-			this.pendingResponses.put(requestId, pendingResponseSink);
+			long requestId = this.pendingResponses.register(pendingResponseSink, new PendingRequest(method, ctx));
+			pendingResponseSink.onCancel(() -> {
+				if (this.pendingResponses.remove(requestId)) {
+					cancelRequest(requestId, method, ctx);
+				}
+			});
 			McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method,
 					requestId, requestParams);
 			this.transport.sendMessage(jsonrpcRequest).contextWrite(ctx).subscribe(v -> {
@@ -259,7 +249,7 @@ public class McpClientSession implements McpSession {
 				this.pendingResponses.remove(requestId);
 				pendingResponseSink.error(error);
 			});
-		})).timeout(this.requestTimeout).handle((jsonRpcResponse, deliveredResponseSink) -> {
+		})).handle((jsonRpcResponse, deliveredResponseSink) -> {
 			if (jsonRpcResponse.error() != null) {
 				logger.error("Error handling request: {}", jsonRpcResponse.error());
 				deliveredResponseSink.error(new McpError(jsonRpcResponse.error()));
@@ -275,6 +265,35 @@ public class McpClientSession implements McpSession {
 		});
 	}
 
+	/**
+	 * Tells the server that the caller disposed a request, or that it timed out, so that
+	 * the server stops handling it. The initialization request cannot be cancelled.
+	 * @param requestId the ID of the cancelled request
+	 * @param method the method of the cancelled request
+	 * @param ctx the context of the cancelled request
+	 */
+	private void cancelRequest(long requestId, String method, ContextView ctx) {
+		if (McpSchema.METHOD_INITIALIZE.equals(method)) {
+			return;
+		}
+		logger.debug("Cancelling request {} for method {}", requestId, method);
+		sendNotification(McpSchema.METHOD_NOTIFICATION_CANCELLED,
+				new McpSchema.CancelledNotification(requestId, "Request cancelled by the client"))
+			.contextWrite(ctx)
+			.subscribe(null, error -> logger.debug("Failed to cancel request {}: {}", requestId, error.getMessage()));
+	}
+
+	private void requestTimedOut(long requestId, Object owner) {
+		PendingRequest request = (PendingRequest) owner;
+		cancelRequest(requestId, request.method(), request.ctx());
+	}
+
+	/**
+	 * The method and the context of a request waiting for its response.
+	 */
+	private record PendingRequest(String method, ContextView ctx) {
+	}
+
 	/**
 	 * Sends a JSON-RPC notification.
 	 * @param method The method name for the notification
@@ -3,6 +3,9 @@
 */
 package io.modelcontextprotocol.spec;
 
+import java.time.Duration;
+import java.util.Map;
+
 import io.modelcontextprotocol.spec.McpSchema.JSONRPCResponse.JSONRPCError;
 
 public class McpError extends RuntimeException {
@@ -22,4 +25,47 @@ public class McpError extends RuntimeException {
 		return jsonRpcError;
 	}
 
+	/**
+	 * Creates the error rejecting a request because the server is overloaded, with a
+	 * {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} code and a {@code retryAfterMs}
+	 * hint.
+	 * @param message the reason of the rejection
+	 * @param retryAfter how long the client should wait before retrying
+	 * @return the error
+	 */
+	public static McpError overloaded(String message, Duration retryAfter) {
+		return retryable(McpSchema.ErrorCodes.SERVER_OVERLOADED, message, retryAfter);
+	}
+
+	/**
+	 * Creates the error rejecting a request because the client exceeded its rate of
+	 * requests, with a {@link McpSchema.ErrorCodes#RATE_LIMITED} code and a
+	 * {@code retryAfterMs} hint.
+	 * @param message the reason of the rejection
+	 * @param retryAfter how long the client should wait before retrying
+	 * @return the error
+	 */
+	public static McpError rateLimited(String message, Duration retryAfter) {
+		return retryable(McpSchema.ErrorCodes.RATE_LIMITED, message, retryAfter);
+	}
+
+	private static McpError retryable(int code, String message, Duration retryAfter) {
+		return new McpError(
+				new JSONRPCError(code, message, Map.of("retryAfterMs", Math.max(1, retryAfter.toMillis()))));
+	}
+
+	/**
+	 * Returns the JSON-RPC error answering a request whose handling failed: the error of
+	 * an {@link McpError} carrying one, and otherwise an internal error with the message
+	 * of the failure.
+	 * @param error the failure
+	 * @return the JSON-RPC error
+	 */
+	public static JSONRPCError toJsonRpcError(Throwable error) {
+		if (error instanceof McpError mcpError && mcpError.getJsonRpcError() != null) {
+			return mcpError.getJsonRpcError();
+		}
+		return new JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR, error.getMessage(), null);
+	}
+
 }
\ No newline at end of file
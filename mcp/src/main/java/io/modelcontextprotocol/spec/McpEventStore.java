@@ -0,0 +1,59 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Stores the messages sent on the SSE streams of Streamable HTTP sessions, so that a
+ * client whose connection dropped can resume a stream with the {@code Last-Event-ID}
+ * header instead of losing the messages sent in the meantime.
+ *
+ * <p>
+ * The store assigns the IDs of the SSE events. An event ID must identify the stream the
+ * event belongs to, so that the stream to replay can be found from the last event ID
+ * alone. Implementations may evict events at any time, replaying then only what is left.
+ *
+ * @see InMemoryMcpEventStore
+ */
+public interface McpEventStore {
+
+	/**
+	 * Stores a message about to be sent on a stream.
+	 * @param sessionId the ID of the session the stream belongs to
+	 * @param streamId the ID of the stream the message is sent on
+	 * @param message the message
+	 * @return a {@link Mono} emitting the ID of the SSE event to send the message with
+	 */
+	Mono<String> storeEvent(String sessionId, String streamId, McpSchema.JSONRPCMessage message);
+
+	/**
+	 * Replays the events stored after the given event, on the stream of that event, in
+	 * the order they were stored.
+	 * @param sessionId the ID of the session resuming the stream
+	 * @param lastEventId the ID of the last event received by the client
+	 * @return the events stored after {@code lastEventId}; empty if the event is unknown
+	 * or belongs to another session
+	 */
+	Flux<Event> replayEventsAfter(String sessionId, String lastEventId);
+
+	/**
+	 * Removes all the events stored for a session.
+	 * @param sessionId the ID of the session
+	 * @return a {@link Mono} completing once the events are removed
+	 */
+	Mono<Void> removeSession(String sessionId);
+
+	/**
+	 * A stored event.
+	 *
+	 * @param id the ID of the SSE event
+	 * @param message the message sent with the event
+	 */
+	record Event(String id, McpSchema.JSONRPCMessage message) {
+	}
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+/**
+ * Generates the IDs of the sessions, of the SSE streams and of the messages sent on them.
+ *
+ * <p>
+ * Session IDs are handed to the clients to authenticate their later requests and must be
+ * unguessable. A message ID must start with the ID of the stream it is sent on, so that
+ * the stream of a {@code Last-Event-ID} can be found from the first component alone. IDs
+ * are generated for every message sent, so implementations should not contend on a shared
+ * source of randomness.
+ *
+ * @see #defaultGenerator()
+ */
+public interface McpIdGenerator {
+
+	/**
+	 * Generates the ID of a new session.
+	 * @return an unguessable session ID
+	 */
+	String generateSessionId();
+
+	/**
+	 * Generates the ID of a new stream of a session.
+	 * @return a stream ID unique within the server
+	 */
+	String generateStreamId();
+
+	/**
+	 * Generates the ID of a message sent on a stream.
+	 * @param streamId the ID of the stream
+	 * @param sequence the position of the message on the stream, starting from 0
+	 * @return the message ID, starting with the stream ID followed by {@code _}
+	 */
+	default String generateMessageId(String streamId, long sequence) {
+		return streamId + "_" + sequence;
+	}
+
+	/**
+	 * Returns the default generator, drawing session IDs from a {@code SecureRandom} per
+	 * thread and numbering the messages of each stream.
+	 * @return the default generator
+	 */
+	static McpIdGenerator defaultGenerator() {
+		return DefaultMcpIdGenerator.INSTANCE;
+	}
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
+
+/**
+ * Encodes and decodes JSON-RPC messages to and from their UTF-8 encoded wire
+ * representation.
+ *
+ * <p>
+ * Transports use a codec to write a message straight into the bytes they send and to read
+ * a message straight from the bytes they receive, without an intermediate {@code String}.
+ * The default implementation is {@link JacksonMcpMessageCodec}.
+ *
+ * @see JacksonMcpMessageCodec
+ * @see NewlineDelimitedFraming
+ */
+public interface McpMessageCodec {
+
+	/**
+	 * Writes the UTF-8 encoded JSON representation of the message to the given stream.
+	 * Implementations must neither flush nor close the stream, so that the caller can add
+	 * its own framing around the message.
+	 * @param message the message to encode
+	 * @param outputStream the stream to write to
+	 * @throws IOException if the message cannot be encoded or written
+	 */
+	void encode(JSONRPCMessage message, OutputStream outputStream) throws IOException;
+
+	/**
+	 * Encodes the message into a heap buffer holding its UTF-8 encoded JSON
+	 * representation between the position and the limit of the buffer.
+	 * @param message the message to encode
+	 * @return the encoded message
+	 * @throws IOException if the message cannot be encoded
+	 */
+	default ByteBuffer encode(JSONRPCMessage message) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream(256);
+		encode(message, outputStream);
+		return ByteBuffer.wrap(outputStream.toByteArray());
+	}
+
+	/**
+	 * Decodes a message from a region of a UTF-8 encoded byte array.
+	 * @param bytes the array holding the message
+	 * @param offset the offset of the first byte of the message
+	 * @param length the number of bytes of the message
+	 * @return the decoded message
+	 * @throws IOException if the input is not valid JSON
+	 * @throws IllegalArgumentException if the JSON structure doesn't match any known
+	 * message type
+	 */
+	JSONRPCMessage decode(byte[] bytes, int offset, int length) throws IOException;
+
+	/**
+	 * Decodes a message from its UTF-8 encoded bytes.
+	 * @param bytes the encoded message
+	 * @return the decoded message
+	 * @throws IOException if the input is not valid JSON
+	 * @throws IllegalArgumentException if the JSON structure doesn't match any known
+	 * message type
+	 */
+	default JSONRPCMessage decode(byte[] bytes) throws IOException {
+		return decode(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Decodes a message from the remaining bytes of a buffer. The position of the buffer
+	 * is not modified.
+	 * @param buffer the buffer holding the message between its position and its limit
+	 * @return the decoded message
+	 * @throws IOException if the input is not valid JSON
+	 * @throws IllegalArgumentException if the JSON structure doesn't match any known
+	 * message type
+	 */
+	default JSONRPCMessage decode(ByteBuffer buffer) throws IOException {
+		if (buffer.hasArray()) {
+			return decode(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		}
+		byte[] bytes = new byte[buffer.remaining()];
+		buffer.duplicate().get(bytes);
+		return decode(bytes);
+	}
+
+	/**
+	 * Decodes a single message from a stream. The stream is not closed.
+	 * @param inputStream the stream to read the message from
+	 * @return the decoded message
+	 * @throws IOException if the input is not valid JSON or cannot be read
+	 * @throws IllegalArgumentException if the JSON structure doesn't match any known
+	 * message type
+	 */
+	default JSONRPCMessage decode(InputStream inputStream) throws IOException {
+		return decode(inputStream.readAllBytes());
+	}
+
+}
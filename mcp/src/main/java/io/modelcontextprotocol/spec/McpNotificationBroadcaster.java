@@ -0,0 +1,164 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Sends a notification to many sessions, as used by the
+ * {@link McpServerTransportProviderBase#notifyClients(String, Object) notifyClients}
+ * implementations of the transport providers.
+ *
+ * <p>
+ * The parameters of the notification are serialized once and the serialized form is
+ * shared by the messages sent to every session. Deliveries are subscribed on the given
+ * scheduler, so that transports with blocking writes do not stall the caller, and at most
+ * a bounded number of them are in flight at the same time.
+ *
+ * <p>
+ * A session that still has the configured number of deliveries in flight, typically
+ * because its client does not read fast enough, is considered saturated: the notification
+ * is skipped for that session instead of queuing behind the previous ones. The outcome of
+ * each broadcast is reported as a {@link Result}.
+ */
+public final class McpNotificationBroadcaster {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpNotificationBroadcaster.class);
+
+	/**
+	 * Default maximum number of deliveries in flight for a broadcast.
+	 */
+	public static final int DEFAULT_CONCURRENCY = 256;
+
+	/**
+	 * Default maximum number of deliveries in flight for a session before it is
+	 * considered saturated.
+	 */
+	public static final int DEFAULT_MAX_PENDING_PER_SESSION = 8;
+
+	private final ObjectMapper objectMapper;
+
+	private final Scheduler scheduler;
+
+	private final int concurrency;
+
+	private final int maxPendingPerSession;
+
+	private final Map<McpSession, AtomicInteger> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a broadcaster with the default limits.
+	 * @param objectMapper the ObjectMapper to serialize the parameters with
+	 * @param scheduler the scheduler to subscribe the deliveries on
+	 */
+	public McpNotificationBroadcaster(ObjectMapper objectMapper, Scheduler scheduler) {
+		this(objectMapper, scheduler, DEFAULT_CONCURRENCY, DEFAULT_MAX_PENDING_PER_SESSION);
+	}
+
+	/**
+	 * Creates a broadcaster.
+	 * @param objectMapper the ObjectMapper to serialize the parameters with
+	 * @param scheduler the scheduler to subscribe the deliveries on
+	 * @param concurrency the maximum number of deliveries in flight for a broadcast
+	 * @param maxPendingPerSession the maximum number of deliveries in flight for a
+	 * session, beyond which the session is skipped
+	 */
+	public McpNotificationBroadcaster(ObjectMapper objectMapper, Scheduler scheduler, int concurrency,
+			int maxPendingPerSession) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		Assert.isTrue(concurrency > 0, "Concurrency must be positive");
+		Assert.isTrue(maxPendingPerSession > 0, "Maximum pending deliveries per session must be positive");
+		this.objectMapper = objectMapper;
+		this.scheduler = scheduler;
+		this.concurrency = concurrency;
+		this.maxPendingPerSession = maxPendingPerSession;
+	}
+
+	/**
+	 * Sends a notification to all the given sessions.
+	 * @param sessions the sessions to notify
+	 * @param method the notification method
+	 * @param params the notification parameters, or {@code null}
+	 * @return a {@link Mono} emitting the outcome once every delivery has completed,
+	 * failed or been skipped
+	 */
+	public Mono<Result> broadcast(Collection<? extends McpSession> sessions, String method, Object params) {
+		Assert.notNull(sessions, "Sessions must not be null");
+		Assert.hasText(method, "Method must not be empty");
+		return Mono.defer(() -> {
+			List<? extends McpSession> targets = List.copyOf(sessions);
+			if (targets.isEmpty()) {
+				return Mono.just(new Result(0, 0, 0));
+			}
+			Object sharedParams = (params == null || params instanceof RawJsonValue) ? params
+					: RawJsonValue.of(this.objectMapper, params);
+			AtomicInteger delivered = new AtomicInteger();
+			AtomicInteger skipped = new AtomicInteger();
+			AtomicInteger failed = new AtomicInteger();
+			return Flux.fromIterable(targets)
+				.flatMap(session -> deliver(session, method, sharedParams, delivered, skipped, failed),
+						this.concurrency)
+				.then(Mono.fromSupplier(() -> new Result(delivered.get(), skipped.get(), failed.get())));
+		});
+	}
+
+	private Mono<Void> deliver(McpSession session, String method, Object params, AtomicInteger delivered,
+			AtomicInteger skipped, AtomicInteger failed) {
+		if (!acquire(session)) {
+			skipped.incrementAndGet();
+			return Mono.empty();
+		}
+		return Mono.defer(() -> session.sendNotification(method, params))
+			.subscribeOn(this.scheduler)
+			.doOnSuccess(ignored -> delivered.incrementAndGet())
+			.onErrorResume(e -> {
+				failed.incrementAndGet();
+				logger.error("Failed to send {} notification to session: {}", method, e.getMessage());
+				return Mono.empty();
+			})
+			.doFinally(signal -> release(session));
+	}
+
+	private boolean acquire(McpSession session) {
+		boolean[] admitted = new boolean[1];
+		this.pending.compute(session, (key, count) -> {
+			AtomicInteger updated = count != null ? count : new AtomicInteger();
+			if (updated.get() < this.maxPendingPerSession) {
+				updated.incrementAndGet();
+				admitted[0] = true;
+			}
+			return updated;
+		});
+		return admitted[0];
+	}
+
+	private void release(McpSession session) {
+		this.pending.computeIfPresent(session, (key, count) -> count.decrementAndGet() == 0 ? null : count);
+	}
+
+	/**
+	 * The outcome of a broadcast.
+	 *
+	 * @param delivered the number of sessions the notification was sent to
+	 * @param skipped the number of saturated sessions the notification was not sent to
+	 * @param failed the number of sessions the notification could not be sent to
+	 */
+	public record Result(int delivered, int skipped, int failed) {
+	}
+
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bus carrying the notifications sent to all the clients of a server, such as
+ * {@code notifications/tools/list_changed}, between the nodes of the server. A
+ * notification is published once, by the node where the change happened, and every node,
+ * including the publishing one, delivers it to the sessions it holds.
+ *
+ * <p>
+ * Implementations batch the notifications published within a short window and send the
+ * notifications of a batch together. Identical notifications of a batch, such as the
+ * {@code list_changed} notifications of several tools registered at once, are sent only
+ * once, and a notification received twice by a node is delivered only once.
+ *
+ * @see InMemoryMcpNotificationBus
+ * @see SocketMcpNotificationBus
+ */
+public interface McpNotificationBus {
+
+	/**
+	 * Publishes a notification to all the nodes of the server.
+	 * @param method the method of the notification
+	 * @param params the parameters of the notification, or {@code null}
+	 * @return a {@link Mono} completing once the notification has been sent to the nodes
+	 */
+	Mono<Void> publish(String method, Object params);
+
+	/**
+	 * Returns the notifications to deliver to the sessions of this node, published by any
+	 * node. The returned {@link Flux} is hot: only the notifications published after the
+	 * subscription are received.
+	 * @return the notifications published on the bus
+	 */
+	Flux<Notification> notifications();
+
+	/**
+	 * Sends the pending notifications and releases the resources of the bus.
+	 * @return a {@link Mono} completing once the bus is closed
+	 */
+	Mono<Void> closeGracefully();
+
+	/**
+	 * A notification published on the bus.
+	 *
+	 * @param id the unique ID of the notification, identifying it when it is received
+	 * twice
+	 * @param method the method of the notification
+	 * @param params the parameters of the notification, or {@code null}
+	 */
+	record Notification(String id, String method, Object params) {
+	}
+
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Bounds the requests a server handles at the same time, for each session and across
+ * sessions, and optionally handles the notifications of each session one at a time, in
+ * the order they were received.
+ *
+ * <p>
+ * A request received while its session already has {@code maxInFlightRequestsPerSession}
+ * requests in flight, or while the server has {@code maxInFlightRequests} requests in
+ * flight, waits in the queue of its session. When a request completes, the sessions with
+ * waiting requests are served in turn, one request each, so that a client sending many
+ * requests does not delay the requests of the other clients. A request received while the
+ * queue of its session holds {@code maxQueuedRequestsPerSession} requests is rejected,
+ * and answered by the session with a {@link McpSchema.ErrorCodes#SERVER_OVERLOADED} error
+ * hinting the client to retry after {@code retryAfter}.
+ *
+ * <p>
+ * One scheduler is shared by all the sessions of a server. The number of requests in
+ * flight and waiting, and the number of rejected requests, are reported by
+ * {@link #metrics()}.
+ */
+public final class McpRequestScheduler {
+
+	/**
+	 * A snapshot of the counters of a scheduler.
+	 *
+	 * @param inFlightRequests the number of requests being handled
+	 * @param queuedRequests the number of requests waiting to be handled
+	 * @param queuedNotifications the number of notifications waiting for the previous
+	 * notifications of their session to be handled
+	 * @param rejectedRequests the number of requests rejected because the queue of their
+	 * session was full
+	 */
+	public record Metrics(int inFlightRequests, int queuedRequests, int queuedNotifications, long rejectedRequests) {
+	}
+
+	private final int maxInFlightRequestsPerSession;
+
+	private final int maxQueuedRequestsPerSession;
+
+	private final int maxInFlightRequests;
+
+	private final boolean orderedNotifications;
+
+	private final Duration retryAfter;
+
+	// Sessions with queued requests waiting for a request of another session to
+	// complete, in the order they are served, guarded by this
+	private final ArrayDeque<Lane> readyLanes = new ArrayDeque<>();
+
+	// Guarded by this
+	private int inFlightRequests;
+
+	// Guarded by this
+	private int queuedRequests;
+
+	// Guarded by this
+	private int queuedNotifications;
+
+	private final LongAdder rejectedRequests = new LongAdder();
+
+	private McpRequestScheduler(int maxInFlightRequestsPerSession, int maxQueuedRequestsPerSession,
+			int maxInFlightRequests, boolean orderedNotifications, Duration retryAfter) {
+		this.maxInFlightRequestsPerSession = maxInFlightRequestsPerSession;
+		this.maxQueuedRequestsPerSession = maxQueuedRequestsPerSession;
+		this.maxInFlightRequests = maxInFlightRequests;
+		this.orderedNotifications = orderedNotifications;
+		this.retryAfter = retryAfter;
+	}
+
+	/**
+	 * Returns a snapshot of the counters of this scheduler.
+	 * @return the metrics of this scheduler
+	 */
+	public synchronized Metrics metrics() {
+		return new Metrics(this.inFlightRequests, this.queuedRequests, this.queuedNotifications,
+				this.rejectedRequests.sum());
+	}
+
+	/**
+	 * Creates the lane scheduling the messages of a session.
+	 * @param sessionId the ID of the session
+	 * @return the lane of the session
+	 */
+	Lane lane(String sessionId) {
+		return new Lane(sessionId);
+	}
+
+	private void start(List<Task<?>> tasks) {
+		for (Task<?> task : tasks) {
+			task.start();
+		}
+	}
+
+	// Starts the queued requests of the ready lanes while requests can be started,
+	// taking one request of each lane in turn
+	private void drain(List<Task<?>> started) {
+		while (this.inFlightRequests < this.maxInFlightRequests && !this.readyLanes.isEmpty()) {
+			Lane lane = this.readyLanes.poll();
+			lane.ready = false;
+			if (lane.inFlightRequests < this.maxInFlightRequestsPerSession && !lane.requests.isEmpty()) {
+				this.queuedRequests--;
+				started.add(lane.startRequest(lane.requests.poll()));
+				lane.markReady();
+			}
+		}
+	}
+
+	private static McpError sessionClosed(String sessionId) {
+		return new McpError(new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INVALID_REQUEST,
+				"Session " + sessionId + " is closed", null));
+	}
+
+	/**
+	 * Creates a new builder.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * The messages of a session waiting to be handled.
+	 */
+	final class Lane {
+
+		private final String sessionId;
+
+		// Guarded by the scheduler
+		private final ArrayDeque<Task<?>> requests = new ArrayDeque<>();
+
+		// Guarded by the scheduler
+		private final ArrayDeque<Task<?>> notifications = new ArrayDeque<>();
+
+		// Guarded by the scheduler
+		private int inFlightRequests;
+
+		// Guarded by the scheduler
+		private boolean notificationInFlight;
+
+		// Guarded by the scheduler
+		private boolean ready;
+
+		// Guarded by the scheduler
+		private boolean closed;
+
+		private Lane(String sessionId) {
+			this.sessionId = sessionId;
+		}
+
+		/**
+		 * Handles a request once the limits allow it.
+		 * @param <T> the type of the result
+		 * @param handling the handling of the request
+		 * @return a {@link Mono} emitting the result of the handling, or an
+		 * {@link McpError} if the request is rejected
+		 */
+		<T> Mono<T> request(Mono<T> handling) {
+			return Mono.create(sink -> {
+				Task<T> task = new Task<>(handling, sink, true);
+				sink.onCancel(() -> cancel(task));
+				List<Task<?>> started = new ArrayList<>(1);
+				McpError rejection = null;
+				synchronized (McpRequestScheduler.this) {
+					if (this.closed) {
+						rejection = sessionClosed(this.sessionId);
+					}
+					else if (this.requests.isEmpty() && this.inFlightRequests < maxInFlightRequestsPerSession
+							&& McpRequestScheduler.this.inFlightRequests < maxInFlightRequests) {
+						started.add(startRequest(task));
+					}
+					else if (this.requests.size() < maxQueuedRequestsPerSession) {
+						this.requests.add(task);
+						McpRequestScheduler.this.queuedRequests++;
+						markReady();
+					}
+					else {
+						rejectedRequests.increment();
+						rejection = McpError.overloaded("Too many requests in flight for session " + this.sessionId,
+								retryAfter);
+					}
+				}
+				if (rejection != null) {
+					sink.error(rejection);
+				}
+				start(started);
+			});
+		}
+
+		/**
+		 * Handles a notification, once the previous notifications of the session are
+		 * handled if the notifications are ordered.
+		 * @param handling the handling of the notification
+		 * @return a {@link Mono} completing once the notification is handled
+		 */
+		Mono<Void> notification(Mono<Void> handling) {
+			if (!orderedNotifications) {
+				return handling;
+			}
+			return Mono.create(sink -> {
+				Task<Void> task = new Task<>(handling, sink, false);
+				sink.onCancel(() -> cancel(task));
+				boolean start;
+				synchronized (McpRequestScheduler.this) {
+					start = !this.notificationInFlight;
+					if (start) {
+						this.notificationInFlight = true;
+						task.lane = this;
+					}
+					else {
+						this.notifications.add(task);
+						McpRequestScheduler.this.queuedNotifications++;
+					}
+				}
+				if (start) {
+					task.start();
+				}
+			});
+		}
+
+		/**
+		 * Rejects the queued requests and notifications of the session, and the ones
+		 * received afterwards. The messages being handled are not interrupted.
+		 */
+		void close() {
+			List<Task<?>> dropped = new ArrayList<>();
+			synchronized (McpRequestScheduler.this) {
+				this.closed = true;
+				McpRequestScheduler.this.queuedRequests -= this.requests.size();
+				McpRequestScheduler.this.queuedNotifications -= this.notifications.size();
+				dropped.addAll(this.requests);
+				dropped.addAll(this.notifications);
+				this.requests.clear();
+				this.notifications.clear();
+				if (this.ready) {
+					McpRequestScheduler.this.readyLanes.remove(this);
+					this.ready = false;
+				}
+			}
+			McpError error = sessionClosed(this.sessionId);
+			dropped.forEach(task -> task.sink.error(error));
+		}
+
+		// Must be called while holding the scheduler lock
+		private Task<?> startRequest(Task<?> task) {
+			this.inFlightRequests++;
+			McpRequestScheduler.this.inFlightRequests++;
+			task.lane = this;
+			return task;
+		}
+
+		// Must be called while holding the scheduler lock
+		private void markReady() {
+			if (!this.ready && !this.requests.isEmpty() && this.inFlightRequests < maxInFlightRequestsPerSession) {
+				this.ready = true;
+				McpRequestScheduler.this.readyLanes.add(this);
+			}
+		}
+
+		private void completed(Task<?> task) {
+			List<Task<?>> started = new ArrayList<>(1);
+			synchronized (McpRequestScheduler.this) {
+				if (task.request) {
+					this.inFlightRequests--;
+					McpRequestScheduler.this.inFlightRequests--;
+					markReady();
+					drain(started);
+				}
+				else {
+					Task<?> next = this.notifications.poll();
+					if (next != null) {
+						McpRequestScheduler.this.queuedNotifications--;
+						next.lane = this;
+						started.add(next);
+					}
+					else {
+						this.notificationInFlight = false;
+					}
+				}
+			}
+			start(started);
+		}
+
+		private void cancel(Task<?> task) {
+			synchronized (McpRequestScheduler.this) {
+				if (task.lane == null) {
+					if (task.request ? this.requests.remove(task) : this.notifications.remove(task)) {
+						if (task.request) {
+							McpRequestScheduler.this.queuedRequests--;
+						}
+						else {
+							McpRequestScheduler.this.queuedNotifications--;
+						}
+					}
+					return;
+				}
+			}
+			task.dispose();
+		}
+
+	}
+
+	/**
+	 * The handling of a message, started once the limits allow it.
+	 */
+	private static final class Task<T> {
+
+		private final Mono<T> handling;
+
+		private final MonoSink<T> sink;
+
+		private final boolean request;
+
+		// Set, while holding the scheduler lock, once the task may start
+		private Lane lane;
+
+		private volatile Disposable subscription;
+
+		private volatile boolean disposed;
+
+		Task(Mono<T> handling, MonoSink<T> sink, boolean request) {
+			this.handling = handling;
+			this.sink = sink;
+			this.request = request;
+		}
+
+		void start() {
+			Lane lane = this.lane;
+			this.subscription = this.handling.contextWrite(this.sink.contextView())
+				.doFinally(signal -> lane.completed(this))
+				.subscribe(this.sink::success, this.sink::error, this.sink::success);
+			if (this.disposed) {
+				this.subscription.dispose();
+			}
+		}
+
+		void dispose() {
+			this.disposed = true;
+			Disposable subscription = this.subscription;
+			if (subscription != null) {
+				subscription.dispose();
+			}
+		}
+
+	}
+
+	/**
+	 * Builder for {@link McpRequestScheduler}.
+	 */
+	public static class Builder {
+
+		private int maxInFlightRequestsPerSession = Integer.MAX_VALUE;
+
+		private int maxQueuedRequestsPerSession = 0;
+
+		private int maxInFlightRequests = Integer.MAX_VALUE;
+
+		private boolean orderedNotifications;
+
+		private Duration retryAfter = Duration.ofSeconds(1);
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the maximum number of requests of a session handled at the same time.
+		 * Unbounded by default.
+		 * @param maxInFlightRequestsPerSession the maximum number of requests in flight
+		 * per session
+		 * @return this builder
+		 */
+		public Builder maxInFlightRequestsPerSession(int maxInFlightRequestsPerSession) {
+			Assert.isTrue(maxInFlightRequestsPerSession > 0, "Max in-flight requests per session must be positive");
+			this.maxInFlightRequestsPerSession = maxInFlightRequestsPerSession;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of requests of a session waiting to be handled, beyond
+		 * which requests are rejected. Defaults to 0: requests that cannot be handled
+		 * immediately are rejected.
+		 * @param maxQueuedRequestsPerSession the maximum number of queued requests per
+		 * session
+		 * @return this builder
+		 */
+		public Builder maxQueuedRequestsPerSession(int maxQueuedRequestsPerSession) {
+			Assert.isTrue(maxQueuedRequestsPerSession >= 0, "Max queued requests per session must not be negative");
+			this.maxQueuedRequestsPerSession = maxQueuedRequestsPerSession;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of requests of all the sessions handled at the same
+		 * time. Unbounded by default.
+		 * @param maxInFlightRequests the maximum number of requests in flight
+		 * @return this builder
+		 */
+		public Builder maxInFlightRequests(int maxInFlightRequests) {
+			Assert.isTrue(maxInFlightRequests > 0, "Max in-flight requests must be positive");
+			this.maxInFlightRequests = maxInFlightRequests;
+			return this;
+		}
+
+		/**
+		 * Sets whether the notifications of a session are handled one at a time, in the
+		 * order they were received. Disabled by default.
+		 * @param orderedNotifications whether to order the notifications
+		 * @return this builder
+		 */
+		public Builder orderedNotifications(boolean orderedNotifications) {
+			this.orderedNotifications = orderedNotifications;
+			return this;
+		}
+
+		/**
+		 * Sets how long the clients whose requests are rejected are hinted to wait before
+		 * retrying. Defaults to one second.
+		 * @param retryAfter the retry hint
+		 * @return this builder
+		 */
+		public Builder retryAfter(Duration retryAfter) {
+			Assert.notNull(retryAfter, "Retry after must not be null");
+			Assert.isTrue(!retryAfter.isNegative(), "Retry after must not be negative");
+			this.retryAfter = retryAfter;
+			return this;
+		}
+
+		/**
+		 * Builds the scheduler.
+		 * @return the scheduler
+		 */
+		public McpRequestScheduler build() {
+			return new McpRequestScheduler(this.maxInFlightRequestsPerSession, this.maxQueuedRequestsPerSession,
+					this.maxInFlightRequests, this.orderedNotifications, this.retryAfter);
+		}
+
+	}
+
+}
@@ -64,6 +64,8 @@ public final class McpSchema {
 
 	public static final String METHOD_NOTIFICATION_PROGRESS = "notifications/progress";
 
+	public static final String METHOD_NOTIFICATION_CANCELLED = "notifications/cancelled";
+
 	// Tool Methods
 	public static final String METHOD_TOOLS_LIST = "tools/list";
 
@@ -113,6 +115,9 @@ public final class McpSchema {
 
 	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+	private static final TypeReference<HashMap<String, Object>> MAP_TYPE_REF = new TypeReference<>() {
+	};
+
 	// ---------------------------
 	// JSON-RPC Error Codes
 	// ---------------------------
@@ -146,6 +151,20 @@ public final class McpSchema {
 		 */
 		public static final int INTERNAL_ERROR = -32603;
 
+		/**
+		 * The server is overloaded and rejected the request without handling it. The
+		 * error data holds a {@code retryAfterMs} hint of the number of milliseconds to
+		 * wait before retrying.
+		 */
+		public static final int SERVER_OVERLOADED = -32029;
+
+		/**
+		 * The client exceeded the rate of requests allowed by the server, which rejected
+		 * the request without handling it. The error data holds a {@code retryAfterMs}
+		 * hint of the number of milliseconds to wait before retrying.
+		 */
+		public static final int RATE_LIMITED = -32030;
+
 	}
 
 	public sealed interface Request
@@ -171,16 +190,13 @@ public final class McpSchema {
 
 	}
 
-	public sealed interface Notification
-			permits ProgressNotification, LoggingMessageNotification, ResourcesUpdatedNotification {
+	public sealed interface Notification permits ProgressNotification, LoggingMessageNotification,
+			ResourcesUpdatedNotification, CancelledNotification {
 
 		Map<String, Object> meta();
 
 	}
 
-	private static final TypeReference<HashMap<String, Object>> MAP_TYPE_REF = new TypeReference<>() {
-	};
-
 	/**
 	 * Deserializes a JSON string into a JSONRPCMessage object.
 	 * @param objectMapper The ObjectMapper instance to use for deserialization
@@ -190,26 +206,30 @@ public final class McpSchema {
 	 * @throws IOException If there's an error during deserialization
 	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
 	 * message type
+	 * @see JsonRpcMessageDecoder
 	 */
 	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, String jsonText)
 			throws IOException {
 
 		logger.debug("Received JSON message: {}", jsonText);
 
-		var map = objectMapper.readValue(jsonText, MAP_TYPE_REF);
-
-		// Determine message type based on specific JSON structure
-		if (map.containsKey("method") && map.containsKey("id")) {
-			return objectMapper.convertValue(map, JSONRPCRequest.class);
-		}
-		else if (map.containsKey("method") && !map.containsKey("id")) {
-			return objectMapper.convertValue(map, JSONRPCNotification.class);
-		}
-		else if (map.containsKey("result") || map.containsKey("error")) {
-			return objectMapper.convertValue(map, JSONRPCResponse.class);
-		}
+		return JsonRpcMessageDecoder.decode(objectMapper, jsonText);
+	}
 
-		throw new IllegalArgumentException("Cannot deserialize JSONRPCMessage: " + jsonText);
+	/**
+	 * Deserializes a UTF-8 encoded JSON message into a JSONRPCMessage object without
+	 * creating an intermediate String.
+	 * @param objectMapper The ObjectMapper instance to use for deserialization
+	 * @param bytes The UTF-8 encoded JSON message
+	 * @return A JSONRPCMessage instance using either the {@link JSONRPCRequest},
+	 * {@link JSONRPCNotification}, or {@link JSONRPCResponse} classes.
+	 * @throws IOException If there's an error during deserialization
+	 * @throws IllegalArgumentException If the JSON structure doesn't match any known
+	 * message type
+	 * @see JsonRpcMessageDecoder
+	 */
+	public static JSONRPCMessage deserializeJsonRpcMessage(ObjectMapper objectMapper, byte[] bytes) throws IOException {
+		return JsonRpcMessageDecoder.decode(objectMapper, bytes);
 	}
 
 	// ---------------------------
@@ -2181,6 +2201,26 @@ public final class McpSchema {
 		}
 	}
 
+	/**
+	 * Sent by either side to indicate that it is cancelling a request it previously
+	 * issued. The receiver should stop processing the request and not send a response.
+	 *
+	 * @param requestId The ID of the request to cancel.
+	 * @param reason An optional reason for the cancellation.
+	 * @param meta See specification for notes on _meta usage
+	 */
+	@JsonInclude(JsonInclude.Include.NON_ABSENT)
+	@JsonIgnoreProperties(ignoreUnknown = true)
+	public record CancelledNotification( // @formatter:off
+		@JsonProperty("requestId") Object requestId,
+		@JsonProperty("reason") String reason,
+		@JsonProperty("_meta") Map<String, Object> meta) implements Notification { // @formatter:on
+
+		public CancelledNotification(Object requestId, String reason) {
+			this(requestId, reason, null);
+		}
+	}
+
 	/**
 	 * The Model Context Protocol (MCP) provides a standardized way for servers to send
 	 * resources update message to clients.
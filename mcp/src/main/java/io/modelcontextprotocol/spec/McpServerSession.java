@@ -2,9 +2,7 @@ package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -17,7 +15,6 @@ import io.modelcontextprotocol.util.Assert;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
 import reactor.core.publisher.Sinks;
 
 /**
@@ -28,15 +25,14 @@ public class McpServerSession implements McpLoggableSession {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpServerSession.class);
 
-	private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
+	/** Requests sent to the client waiting for their response, keyed by request ID */
+	private final PendingRequests pendingResponses;
 
 	private final String id;
 
 	/** Duration to wait for request responses before timing out */
 	private final Duration requestTimeout;
 
-	private final AtomicLong requestCounter = new AtomicLong(0);
-
 	private final McpInitRequestHandler initRequestHandler;
 
 	private final Map<String, McpRequestHandler<?>> requestHandlers;
@@ -47,6 +43,8 @@ public class McpServerSession implements McpLoggableSession {
 
 	private final Sinks.One<McpAsyncServerExchange> exchangeSink = Sinks.one();
 
+	private final Sinks.Empty<Void> closeSink = Sinks.empty();
+
 	private final AtomicReference<McpSchema.ClientCapabilities> clientCapabilities = new AtomicReference<>();
 
 	private final AtomicReference<McpSchema.Implementation> clientInfo = new AtomicReference<>();
@@ -61,6 +59,10 @@ public class McpServerSession implements McpLoggableSession {
 
 	private volatile McpSchema.LoggingLevel minLoggingLevel = McpSchema.LoggingLevel.INFO;
 
+	private final McpRequestScheduler.Lane lane;
+
+	private final InFlightRequests inFlightRequests = new InFlightRequests();
+
 	/**
 	 * Creates a new server session with the given parameters and the transport to use.
 	 * @param id session id
@@ -74,12 +76,33 @@ public class McpServerSession implements McpLoggableSession {
 	public McpServerSession(String id, Duration requestTimeout, McpServerTransport transport,
 			McpInitRequestHandler initHandler, Map<String, McpRequestHandler<?>> requestHandlers,
 			Map<String, McpNotificationHandler> notificationHandlers) {
+		this(id, requestTimeout, transport, initHandler, requestHandlers, notificationHandlers, null);
+	}
+
+	/**
+	 * Creates a new server session handling its messages within the limits of a
+	 * {@link McpRequestScheduler}.
+	 * @param id session id
+	 * @param transport the transport to use
+	 * @param initHandler called when a
+	 * {@link io.modelcontextprotocol.spec.McpSchema.InitializeRequest} is received by the
+	 * server
+	 * @param requestHandlers map of request handlers to use
+	 * @param notificationHandlers map of notification handlers to use
+	 * @param requestScheduler the scheduler of the messages of the sessions of the
+	 * server, or {@code null} to handle the messages as soon as they are received
+	 */
+	public McpServerSession(String id, Duration requestTimeout, McpServerTransport transport,
+			McpInitRequestHandler initHandler, Map<String, McpRequestHandler<?>> requestHandlers,
+			Map<String, McpNotificationHandler> notificationHandlers, McpRequestScheduler requestScheduler) {
 		this.id = id;
 		this.requestTimeout = requestTimeout;
+		this.pendingResponses = new PendingRequests(requestTimeout, (requestId, method) -> cancelRequest(requestId));
 		this.transport = transport;
 		this.initRequestHandler = initHandler;
 		this.requestHandlers = requestHandlers;
 		this.notificationHandlers = notificationHandlers;
+		this.lane = requestScheduler != null ? requestScheduler.lane(id) : null;
 	}
 
 	/**
@@ -104,10 +127,12 @@ public class McpServerSession implements McpLoggableSession {
 			Map<String, McpNotificationHandler> notificationHandlers) {
 		this.id = id;
 		this.requestTimeout = requestTimeout;
+		this.pendingResponses = new PendingRequests(requestTimeout, (requestId, method) -> cancelRequest(requestId));
 		this.transport = transport;
 		this.initRequestHandler = initHandler;
 		this.requestHandlers = requestHandlers;
 		this.notificationHandlers = notificationHandlers;
+		this.lane = null;
 	}
 
 	/**
@@ -133,10 +158,6 @@ public class McpServerSession implements McpLoggableSession {
 		this.clientInfo.lazySet(clientInfo);
 	}
 
-	private String generateRequestId() {
-		return this.id + "-" + this.requestCounter.getAndIncrement();
-	}
-
 	@Override
 	public void setMinLoggingLevel(McpSchema.LoggingLevel minLoggingLevel) {
 		Assert.notNull(minLoggingLevel, "minLoggingLevel must not be null");
@@ -150,10 +171,13 @@ public class McpServerSession implements McpLoggableSession {
 
 	@Override
 	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
-		String requestId = this.generateRequestId();
-
 		return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
-			this.pendingResponses.put(requestId, sink);
+			long requestId = this.pendingResponses.register(sink, method);
+			sink.onCancel(() -> {
+				if (this.pendingResponses.remove(requestId)) {
+					cancelRequest(requestId);
+				}
+			});
 			McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, method,
 					requestId, requestParams);
 			this.transport.sendMessage(jsonrpcRequest).subscribe(v -> {
@@ -161,7 +185,7 @@ public class McpServerSession implements McpLoggableSession {
 				this.pendingResponses.remove(requestId);
 				sink.error(error);
 			});
-		}).timeout(requestTimeout).handle((jsonRpcResponse, sink) -> {
+		}).handle((jsonRpcResponse, sink) -> {
 			if (jsonRpcResponse.error() != null) {
 				sink.error(new McpError(jsonRpcResponse.error()));
 			}
@@ -176,6 +200,17 @@ public class McpServerSession implements McpLoggableSession {
 		});
 	}
 
+	/**
+	 * Tells the client that a request it was sent timed out, or that the caller disposed
+	 * it, so that the client stops handling it.
+	 * @param requestId the ID of the cancelled request
+	 */
+	private void cancelRequest(long requestId) {
+		sendNotification(McpSchema.METHOD_NOTIFICATION_CANCELLED,
+				new McpSchema.CancelledNotification(requestId, "Request cancelled by the server"))
+			.subscribe(null, error -> logger.debug("Failed to cancel request {}: {}", requestId, error.getMessage()));
+	}
+
 	@Override
 	public Mono<Void> sendNotification(String method, Object params) {
 		McpSchema.JSONRPCNotification jsonrpcNotification = new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
@@ -199,21 +234,20 @@ public class McpServerSession implements McpLoggableSession {
 			// first
 			if (message instanceof McpSchema.JSONRPCResponse response) {
 				logger.debug("Received Response: {}", response);
-				var sink = pendingResponses.remove(response.id());
-				if (sink == null) {
+				if (!this.pendingResponses.complete(response)) {
 					logger.warn("Unexpected response for unknown id {}", response.id());
 				}
-				else {
-					sink.success(response);
-				}
 				return Mono.empty();
 			}
 			else if (message instanceof McpSchema.JSONRPCRequest request) {
 				logger.debug("Received request: {}", request);
-				return handleIncomingRequest(request).onErrorResume(error -> {
+				Mono<McpSchema.JSONRPCResponse> response = handleIncomingRequest(request);
+				if (this.lane != null) {
+					response = this.lane.request(response);
+				}
+				return this.inFlightRequests.track(request.id(), response).onErrorResume(error -> {
 					var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), null,
-							new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-									error.getMessage(), null));
+							McpError.toJsonRpcError(error));
 					// TODO: Should the error go to SSE or back as POST return?
 					return this.transport.sendMessage(errorResponse).then(Mono.empty());
 				}).flatMap(this.transport::sendMessage);
@@ -222,9 +256,20 @@ public class McpServerSession implements McpLoggableSession {
 				// TODO handle errors for communication to without initialization
 				// happening first
 				logger.debug("Received notification: {}", notification);
+				if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+					// Cancel immediately, ahead of the notifications queued for the
+					// session
+					this.inFlightRequests.cancel(notification.params());
+					if (!this.notificationHandlers.containsKey(notification.method())) {
+						return Mono.empty();
+					}
+				}
 				// TODO: in case of error, should the POST request be signalled?
-				return handleIncomingNotification(notification)
-					.doOnError(error -> logger.error("Error handling notification: {}", error.getMessage()));
+				Mono<Void> handling = handleIncomingNotification(notification);
+				if (this.lane != null) {
+					handling = this.lane.notification(handling);
+				}
+				return handling.doOnError(error -> logger.error("Error handling notification: {}", error.getMessage()));
 			}
 			else {
 				logger.warn("Received unknown message type: {}", message);
@@ -267,9 +312,7 @@ public class McpServerSession implements McpLoggableSession {
 			return resultMono
 				.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), result, null))
 				.onErrorResume(error -> Mono.just(new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(),
-						null, new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-								error.getMessage(), null)))); // TODO: add error message
-																// through the data field
+						null, McpError.toJsonRpcError(error))));
 		});
 	}
 
@@ -304,16 +347,39 @@ public class McpServerSession implements McpLoggableSession {
 		return new MethodNotFoundError(method, "Method not found: " + method, null);
 	}
 
+	/**
+	 * Returns a {@link Mono} that completes once this session has been closed.
+	 * @return a {@link Mono} completing when the session is closed
+	 */
+	public Mono<Void> onClose() {
+		return this.closeSink.asMono();
+	}
+
 	@Override
 	public Mono<Void> closeGracefully() {
-		// TODO: clear pendingResponses and emit errors?
-		return this.transport.closeGracefully();
+		if (this.lane != null) {
+			this.lane.close();
+		}
+		return this.transport.closeGracefully().doFinally(signal -> {
+			this.inFlightRequests.cancelAll();
+			this.pendingResponses.dismissAll(new RuntimeException("MCP session with client terminated"));
+			this.closeSink.tryEmitEmpty();
+		});
 	}
 
 	@Override
 	public void close() {
-		// TODO: clear pendingResponses and emit errors?
-		this.transport.close();
+		if (this.lane != null) {
+			this.lane.close();
+		}
+		try {
+			this.transport.close();
+		}
+		finally {
+			this.inFlightRequests.cancelAll();
+			this.pendingResponses.dismissAll(new RuntimeException("MCP session with client terminated"));
+			this.closeSink.tryEmitEmpty();
+		}
 	}
 
 	/**
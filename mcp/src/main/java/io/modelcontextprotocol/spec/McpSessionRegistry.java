@@ -0,0 +1,566 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The sessions of a transport provider, keyed by session ID, bounded in number and
+ * expired once idle.
+ *
+ * <p>
+ * A session is active whenever it is looked up with {@link #get(String)}, which the
+ * transport providers do for every message received from its client, including the
+ * responses to keep-alive pings. A session that has not been looked up for the idle
+ * timeout is expired: it is removed from the registry and closed. Expiration is driven by
+ * a hashed timer wheel. Looking a session up only records the time of the lookup, and an
+ * entry whose deadline moved since it was filed is filed again when the reaper reaches
+ * its bucket, so that activity costs a single write and the reaper only visits the
+ * sessions that may be due.
+ *
+ * <p>
+ * At most {@code maxSessions} sessions are registered at the same time. Registering
+ * another one either evicts the least recently active session, which is closed, or is
+ * rejected, depending on the {@link EvictionPolicy}. As in Redis, the least recently
+ * active session is approximated by the least recently active of a few sessions picked at
+ * random, so that registering a session into a full registry costs the same whatever its
+ * size. The number of sessions created, expired, evicted and rejected is reported by
+ * {@link #metrics()}.
+ *
+ * @param <S> the type of the sessions
+ */
+public final class McpSessionRegistry<S> {
+
+	private static final Logger logger = LoggerFactory.getLogger(McpSessionRegistry.class);
+
+	// Number of buckets of the timer wheel, a power of two
+	private static final int WHEEL_SIZE = 64;
+
+	// Number of ticks of the timer wheel in an idle timeout, which bounds how late a
+	// session can be expired to a sixteenth of the timeout
+	private static final int TICKS_PER_TIMEOUT = 16;
+
+	// Number of sessions sampled to pick the one to evict
+	private static final int EVICTION_SAMPLES = 8;
+
+	/**
+	 * What happens when a session is registered while the registry holds
+	 * {@code maxSessions} sessions.
+	 */
+	public enum EvictionPolicy {
+
+		/**
+		 * The least recently active of a random sample of the sessions is evicted and
+		 * closed to make room for the new one.
+		 */
+		EVICT_LEAST_RECENTLY_ACTIVE,
+
+		/**
+		 * The new session is rejected.
+		 */
+		REJECT_NEW
+
+	}
+
+	/**
+	 * A snapshot of the counters of a registry.
+	 *
+	 * @param created the number of sessions registered
+	 * @param expired the number of sessions expired after being idle for the idle timeout
+	 * @param evicted the number of sessions evicted to make room for a new one
+	 * @param rejected the number of sessions rejected because the registry was full
+	 * @param active the number of sessions currently registered
+	 */
+	public record Metrics(long created, long expired, long evicted, long rejected, int active) {
+	}
+
+	private final ConcurrentHashMap<String, Entry<S>> entries = new ConcurrentHashMap<>();
+
+	private final AtomicInteger count = new AtomicInteger();
+
+	private final Function<? super S, Mono<Void>> sessionCloser;
+
+	private final int maxSessions;
+
+	private final EvictionPolicy evictionPolicy;
+
+	private final Clock clock;
+
+	private final long idleTimeoutMillis;
+
+	private final long tickMillis;
+
+	private final Queue<Entry<S>>[] wheel;
+
+	private final LongAdder created = new LongAdder();
+
+	private final LongAdder expired = new LongAdder();
+
+	private final LongAdder evicted = new LongAdder();
+
+	private final LongAdder rejected = new LongAdder();
+
+	private final Collection<S> values = new Values();
+
+	// The entries indexed by position to sample them for eviction, guarded by itself.
+	// Null unless sessions are evicted.
+	private final List<Entry<S>> evictionCandidates;
+
+	// Last tick processed by the reaper, guarded by this for writes
+	private volatile long lastTick;
+
+	private final Disposable reaper;
+
+	@SuppressWarnings("unchecked")
+	private McpSessionRegistry(Function<? super S, Mono<Void>> sessionCloser, Duration idleTimeout, int maxSessions,
+			EvictionPolicy evictionPolicy, Scheduler scheduler, Clock clock) {
+		this.sessionCloser = sessionCloser;
+		this.maxSessions = maxSessions;
+		this.evictionPolicy = evictionPolicy;
+		this.clock = clock;
+		this.evictionCandidates = (maxSessions != Integer.MAX_VALUE
+				&& evictionPolicy == EvictionPolicy.EVICT_LEAST_RECENTLY_ACTIVE) ? new ArrayList<>() : null;
+		if (idleTimeout != null) {
+			this.idleTimeoutMillis = idleTimeout.toMillis();
+			this.tickMillis = Math.max(1, this.idleTimeoutMillis / TICKS_PER_TIMEOUT);
+			this.wheel = new Queue[WHEEL_SIZE];
+			for (int i = 0; i < WHEEL_SIZE; i++) {
+				this.wheel[i] = new ConcurrentLinkedQueue<>();
+			}
+			this.lastTick = clock.millis() / this.tickMillis;
+			this.reaper = scheduler != null ? Flux.interval(Duration.ofMillis(this.tickMillis), scheduler)
+				.subscribe(tick -> expireIdleSessions()) : null;
+		}
+		else {
+			this.idleTimeoutMillis = 0;
+			this.tickMillis = 0;
+			this.wheel = null;
+			this.reaper = null;
+		}
+	}
+
+	/**
+	 * Registers a session.
+	 * @param sessionId the ID of the session
+	 * @param session the session
+	 * @return true if the session has been registered, false if it has been rejected
+	 * because the registry is full
+	 */
+	public boolean register(String sessionId, S session) {
+		Assert.notNull(sessionId, "Session ID must not be null");
+		Assert.notNull(session, "Session must not be null");
+		if (this.count.incrementAndGet() > this.maxSessions) {
+			if (this.evictionPolicy == EvictionPolicy.REJECT_NEW) {
+				this.count.decrementAndGet();
+				this.rejected.increment();
+				logger.warn("Rejected session {}: {} sessions are registered", sessionId, this.maxSessions);
+				return false;
+			}
+			evictLeastRecentlyActive();
+		}
+		Entry<S> entry = new Entry<>(sessionId, session, this.clock.millis());
+		Entry<S> replaced = this.entries.put(sessionId, entry);
+		if (replaced != null) {
+			this.count.decrementAndGet();
+			untrack(replaced);
+		}
+		track(entry);
+		if (this.entries.get(sessionId) != entry) {
+			// Removed concurrently before being tracked
+			untrack(entry);
+		}
+		this.created.increment();
+		if (this.wheel != null) {
+			file(entry, this.lastTick);
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a session and records it as active.
+	 * @param sessionId the ID of the session
+	 * @return the session, or null if no session is registered with that ID
+	 */
+	public S get(String sessionId) {
+		Entry<S> entry = this.entries.get(sessionId);
+		if (entry == null) {
+			return null;
+		}
+		entry.lastActive = this.clock.millis();
+		return entry.session;
+	}
+
+	/**
+	 * Removes a session without closing it.
+	 * @param sessionId the ID of the session
+	 * @return the removed session, or null if no session is registered with that ID
+	 */
+	public S remove(String sessionId) {
+		Entry<S> entry = this.entries.remove(sessionId);
+		if (entry == null) {
+			return null;
+		}
+		this.count.decrementAndGet();
+		untrack(entry);
+		return entry.session;
+	}
+
+	/**
+	 * Removes all the sessions without closing them.
+	 */
+	public void clear() {
+		for (String sessionId : this.entries.keySet()) {
+			remove(sessionId);
+		}
+	}
+
+	/**
+	 * Returns a view of the registered sessions, which does not record them as active.
+	 * @return the registered sessions
+	 */
+	public Collection<S> values() {
+		return this.values;
+	}
+
+	/**
+	 * Returns the number of registered sessions.
+	 * @return the number of sessions
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Returns whether no session is registered.
+	 * @return true if no session is registered
+	 */
+	public boolean isEmpty() {
+		return this.entries.isEmpty();
+	}
+
+	/**
+	 * Returns a snapshot of the counters of the registry.
+	 * @return the metrics of the registry
+	 */
+	public Metrics metrics() {
+		return new Metrics(this.created.sum(), this.expired.sum(), this.evicted.sum(), this.rejected.sum(),
+				this.entries.size());
+	}
+
+	/**
+	 * Stops expiring idle sessions. The registered sessions are left untouched.
+	 */
+	public void shutdown() {
+		if (this.reaper != null) {
+			this.reaper.dispose();
+		}
+	}
+
+	/**
+	 * Expires the sessions that have been idle for the idle timeout, processing the
+	 * buckets of the timer wheel up to the current tick.
+	 */
+	synchronized void expireIdleSessions() {
+		if (this.wheel == null) {
+			return;
+		}
+		long now = this.clock.millis();
+		long currentTick = now / this.tickMillis;
+		for (long tick = Math.max(this.lastTick + 1, currentTick - WHEEL_SIZE + 1); tick <= currentTick; tick++) {
+			Queue<Entry<S>> bucket = this.wheel[(int) (tick & (WHEEL_SIZE - 1))];
+			List<Entry<S>> due = new ArrayList<>();
+			for (Entry<S> entry = bucket.poll(); entry != null; entry = bucket.poll()) {
+				due.add(entry);
+			}
+			this.lastTick = tick;
+			for (Entry<S> entry : due) {
+				if (this.entries.get(entry.sessionId) != entry) {
+					// Removed or replaced since it was filed
+					continue;
+				}
+				if (now - entry.lastActive >= this.idleTimeoutMillis) {
+					if (this.entries.remove(entry.sessionId, entry)) {
+						this.count.decrementAndGet();
+						untrack(entry);
+						this.expired.increment();
+						logger.debug("Expired session {} after {} ms of inactivity", entry.sessionId,
+								now - entry.lastActive);
+						close(entry);
+					}
+				}
+				else {
+					file(entry, tick);
+				}
+			}
+		}
+	}
+
+	private void file(Entry<S> entry, long afterTick) {
+		long deadline = entry.lastActive + this.idleTimeoutMillis;
+		long deadlineTick = Math.max((deadline + this.tickMillis - 1) / this.tickMillis, afterTick + 1);
+		this.wheel[(int) (deadlineTick & (WHEEL_SIZE - 1))].add(entry);
+	}
+
+	private void evictLeastRecentlyActive() {
+		while (this.count.get() > this.maxSessions) {
+			Entry<S> leastRecentlyActive = sampleLeastRecentlyActive();
+			if (leastRecentlyActive == null) {
+				return;
+			}
+			// Untracked even if removed concurrently, so that it is not sampled again
+			untrack(leastRecentlyActive);
+			if (this.entries.remove(leastRecentlyActive.sessionId, leastRecentlyActive)) {
+				this.count.decrementAndGet();
+				this.evicted.increment();
+				logger.debug("Evicted session {} to stay within {} sessions", leastRecentlyActive.sessionId,
+						this.maxSessions);
+				close(leastRecentlyActive);
+			}
+		}
+	}
+
+	private Entry<S> sampleLeastRecentlyActive() {
+		synchronized (this.evictionCandidates) {
+			int size = this.evictionCandidates.size();
+			if (size <= EVICTION_SAMPLES) {
+				Entry<S> leastRecentlyActive = null;
+				for (Entry<S> entry : this.evictionCandidates) {
+					if (leastRecentlyActive == null || entry.lastActive < leastRecentlyActive.lastActive) {
+						leastRecentlyActive = entry;
+					}
+				}
+				return leastRecentlyActive;
+			}
+			ThreadLocalRandom random = ThreadLocalRandom.current();
+			Entry<S> leastRecentlyActive = null;
+			for (int i = 0; i < EVICTION_SAMPLES; i++) {
+				Entry<S> entry = this.evictionCandidates.get(random.nextInt(size));
+				if (leastRecentlyActive == null || entry.lastActive < leastRecentlyActive.lastActive) {
+					leastRecentlyActive = entry;
+				}
+			}
+			return leastRecentlyActive;
+		}
+	}
+
+	private void track(Entry<S> entry) {
+		if (this.evictionCandidates == null) {
+			return;
+		}
+		synchronized (this.evictionCandidates) {
+			entry.index = this.evictionCandidates.size();
+			this.evictionCandidates.add(entry);
+		}
+	}
+
+	private void untrack(Entry<S> entry) {
+		if (this.evictionCandidates == null) {
+			return;
+		}
+		synchronized (this.evictionCandidates) {
+			int index = entry.index;
+			if (index < 0) {
+				return;
+			}
+			// Moves the last entry into the freed position
+			Entry<S> last = this.evictionCandidates.remove(this.evictionCandidates.size() - 1);
+			if (last != entry) {
+				this.evictionCandidates.set(index, last);
+				last.index = index;
+			}
+			entry.index = -1;
+		}
+	}
+
+	private void close(Entry<S> entry) {
+		this.sessionCloser.apply(entry.session)
+			.subscribe(null, e -> logger.warn("Failed to close session {}: {}", entry.sessionId, e.getMessage()));
+	}
+
+	/**
+	 * Create a builder for a session registry.
+	 * @param <S> the type of the sessions
+	 * @param sessionCloser closes the sessions that are expired or evicted
+	 * @return a fresh {@link Builder} instance.
+	 */
+	public static <S> Builder<S> builder(Function<? super S, Mono<Void>> sessionCloser) {
+		Assert.notNull(sessionCloser, "Session closer must not be null");
+		return new Builder<>(sessionCloser);
+	}
+
+	private static final class Entry<S> {
+
+		final String sessionId;
+
+		final S session;
+
+		volatile long lastActive;
+
+		// Position in the eviction candidates, or -1 when not tracked
+		int index = -1;
+
+		Entry(String sessionId, S session, long lastActive) {
+			this.sessionId = sessionId;
+			this.session = session;
+			this.lastActive = lastActive;
+		}
+
+	}
+
+	private final class Values extends AbstractCollection<S> {
+
+		@Override
+		public Iterator<S> iterator() {
+			Iterator<Entry<S>> iterator = entries.values().iterator();
+			return new Iterator<>() {
+
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext();
+				}
+
+				@Override
+				public S next() {
+					return iterator.next().session;
+				}
+
+			};
+		}
+
+		@Override
+		public int size() {
+			return entries.size();
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return entries.isEmpty();
+		}
+
+	}
+
+	/**
+	 * Builder for creating instances of {@link McpSessionRegistry}.
+	 *
+	 * @param <S> the type of the sessions
+	 */
+	public static final class Builder<S> {
+
+		private final Function<? super S, Mono<Void>> sessionCloser;
+
+		private Duration idleTimeout;
+
+		private int maxSessions = Integer.MAX_VALUE;
+
+		private EvictionPolicy evictionPolicy = EvictionPolicy.EVICT_LEAST_RECENTLY_ACTIVE;
+
+		private Scheduler scheduler = Schedulers.parallel();
+
+		private Clock clock = Clock.systemUTC();
+
+		private Builder(Function<? super S, Mono<Void>> sessionCloser) {
+			this.sessionCloser = sessionCloser;
+		}
+
+		/**
+		 * Sets the time after which a session that has not been active is expired. If
+		 * null, which is the default, sessions are never expired.
+		 * @param idleTimeout the idle timeout, or null
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if idleTimeout is not positive
+		 */
+		public Builder<S> idleTimeout(Duration idleTimeout) {
+			Assert.isTrue(idleTimeout == null || (!idleTimeout.isNegative() && !idleTimeout.isZero()),
+					"Idle timeout must be positive");
+			this.idleTimeout = idleTimeout;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of sessions registered at the same time. Unbounded by
+		 * default.
+		 * @param maxSessions the maximum number of sessions. Must be positive.
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if maxSessions is not positive
+		 */
+		public Builder<S> maxSessions(int maxSessions) {
+			Assert.isTrue(maxSessions > 0, "Max sessions must be positive");
+			this.maxSessions = maxSessions;
+			return this;
+		}
+
+		/**
+		 * Sets what happens when a session is registered while the registry holds
+		 * {@code maxSessions} sessions. Defaults to
+		 * {@link EvictionPolicy#EVICT_LEAST_RECENTLY_ACTIVE}.
+		 * @param evictionPolicy the eviction policy
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if evictionPolicy is null
+		 */
+		public Builder<S> evictionPolicy(EvictionPolicy evictionPolicy) {
+			Assert.notNull(evictionPolicy, "Eviction policy must not be null");
+			this.evictionPolicy = evictionPolicy;
+			return this;
+		}
+
+		/**
+		 * Sets the scheduler the idle sessions are expired on. Defaults to
+		 * {@link Schedulers#parallel()}.
+		 * @param scheduler the scheduler
+		 * @return this builder instance
+		 * @throws IllegalArgumentException if scheduler is null
+		 */
+		public Builder<S> scheduler(Scheduler scheduler) {
+			Assert.notNull(scheduler, "Scheduler must not be null");
+			this.scheduler = scheduler;
+			return this;
+		}
+
+		/**
+		 * Sets the clock and disables the periodic expiration, which is then only done by
+		 * {@link McpSessionRegistry#expireIdleSessions()}.
+		 */
+		Builder<S> clock(Clock clock) {
+			this.clock = clock;
+			this.scheduler = null;
+			return this;
+		}
+
+		/**
+		 * Builds a new instance of {@link McpSessionRegistry} with the configured
+		 * settings. Idle sessions are expired from then on until
+		 * {@link McpSessionRegistry#shutdown()} is called.
+		 * @return a new McpSessionRegistry instance
+		 */
+		public McpSessionRegistry<S> build() {
+			return new McpSessionRegistry<>(this.sessionCloser, this.idleTimeout, this.maxSessions, this.evictionPolicy,
+					this.scheduler, this.clock);
+		}
+
+	}
+
+}
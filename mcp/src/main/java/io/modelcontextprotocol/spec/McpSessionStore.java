@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Store of the state of Streamable HTTP sessions, shared by the nodes of a server so that
+ * any of them can handle the requests of a session.
+ *
+ * <p>
+ * A session saves its state when it is initialized and whenever the state changes. A node
+ * receiving a request for a session it does not know loads the state of the session and
+ * restores it, instead of responding that the session was not found. The SSE streams of a
+ * session, and the requests it sends to its client, stay on the node that opened them.
+ *
+ * @see InMemoryMcpSessionStore
+ * @see FileMcpSessionStore
+ */
+public interface McpSessionStore {
+
+	/**
+	 * Saves the state of a session, replacing any previous state.
+	 * @param state the state of the session
+	 * @return a {@link Mono} completing once the state is saved
+	 */
+	Mono<Void> save(SessionState state);
+
+	/**
+	 * Loads the state of a session.
+	 * @param sessionId the ID of the session, as sent by the client
+	 * @return the state of the session, or an empty {@link Mono} if the session is
+	 * unknown
+	 */
+	Mono<SessionState> load(String sessionId);
+
+	/**
+	 * Removes the state of a session, once the session is deleted by its client, or
+	 * expired or evicted by the node holding it.
+	 * @param sessionId the ID of the session
+	 * @return a {@link Mono} completing once the state is removed
+	 */
+	Mono<Void> remove(String sessionId);
+
+	/**
+	 * The state of a session that outlives its requests.
+	 *
+	 * @param id the ID of the session
+	 * @param clientCapabilities the capabilities of the client
+	 * @param clientInfo the implementation of the client
+	 * @param minLoggingLevel the minimum level of the logging notifications sent to the
+	 * client
+	 * @param initialized whether the client has sent the {@code initialized} notification
+	 */
+	record SessionState(String id, McpSchema.ClientCapabilities clientCapabilities, McpSchema.Implementation clientInfo,
+			McpSchema.LoggingLevel minLoggingLevel, boolean initialized) {
+	}
+
+}
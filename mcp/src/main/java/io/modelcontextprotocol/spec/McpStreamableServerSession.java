@@ -2,11 +2,8 @@ package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
 import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,7 +17,7 @@ import io.modelcontextprotocol.server.McpTransportContext;
 import io.modelcontextprotocol.util.Assert;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
 
 /**
  * Representation of a Streamable HTTP server session that keeps track of mapping
@@ -34,14 +31,16 @@ public class McpStreamableServerSession implements McpLoggableSession {
 
 	private static final Logger logger = LoggerFactory.getLogger(McpStreamableServerSession.class);
 
-	private final ConcurrentHashMap<Object, McpStreamableServerSessionStream> requestIdToStream = new ConcurrentHashMap<>();
+	/**
+	 * Requests sent to the client waiting for their response, keyed by request ID and
+	 * owned by the stream they were sent on
+	 */
+	private final PendingRequests pendingResponses;
 
 	private final String id;
 
 	private final Duration requestTimeout;
 
-	private final AtomicLong requestCounter = new AtomicLong(0);
-
 	private final Map<String, McpRequestHandler<?>> requestHandlers;
 
 	private final Map<String, McpNotificationHandler> notificationHandlers;
@@ -56,6 +55,20 @@ public class McpStreamableServerSession implements McpLoggableSession {
 
 	private volatile McpSchema.LoggingLevel minLoggingLevel = McpSchema.LoggingLevel.INFO;
 
+	private final Sinks.Empty<Void> closeSink = Sinks.empty();
+
+	private final McpEventStore eventStore;
+
+	private final McpSessionStore sessionStore;
+
+	private volatile boolean initialized;
+
+	private final McpRequestScheduler.Lane lane;
+
+	private final InFlightRequests inFlightRequests = new InFlightRequests();
+
+	private final McpIdGenerator idGenerator;
+
 	/**
 	 * Create an instance of the streamable session.
 	 * @param id session ID
@@ -70,20 +83,123 @@ public class McpStreamableServerSession implements McpLoggableSession {
 			McpSchema.Implementation clientInfo, Duration requestTimeout,
 			Map<String, McpRequestHandler<?>> requestHandlers,
 			Map<String, McpNotificationHandler> notificationHandlers) {
+		this(id, clientCapabilities, clientInfo, requestTimeout, requestHandlers, notificationHandlers, null);
+	}
+
+	/**
+	 * Create an instance of the streamable session storing the messages sent on its
+	 * streams so that they can be replayed.
+	 * @param id session ID
+	 * @param clientCapabilities client capabilities
+	 * @param clientInfo client info
+	 * @param requestTimeout timeout to use for requests
+	 * @param requestHandlers the map of MCP request handlers keyed by method name
+	 * @param notificationHandlers the map of MCP notification handlers keyed by method
+	 * name
+	 * @param eventStore the store of the messages sent on the streams of the session, or
+	 * {@code null} to not support replaying messages
+	 */
+	public McpStreamableServerSession(String id, McpSchema.ClientCapabilities clientCapabilities,
+			McpSchema.Implementation clientInfo, Duration requestTimeout,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			McpEventStore eventStore) {
+		this(id, clientCapabilities, clientInfo, requestTimeout, requestHandlers, notificationHandlers, eventStore,
+				null);
+	}
+
+	/**
+	 * Create an instance of the streamable session saving its state in a
+	 * {@link McpSessionStore} so that other nodes of the server can restore it.
+	 * @param id session ID
+	 * @param clientCapabilities client capabilities
+	 * @param clientInfo client info
+	 * @param requestTimeout timeout to use for requests
+	 * @param requestHandlers the map of MCP request handlers keyed by method name
+	 * @param notificationHandlers the map of MCP notification handlers keyed by method
+	 * name
+	 * @param eventStore the store of the messages sent on the streams of the session, or
+	 * {@code null} to not support replaying messages
+	 * @param sessionStore the store of the state of the session, or {@code null} to keep
+	 * the session on this node only
+	 */
+	public McpStreamableServerSession(String id, McpSchema.ClientCapabilities clientCapabilities,
+			McpSchema.Implementation clientInfo, Duration requestTimeout,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			McpEventStore eventStore, McpSessionStore sessionStore) {
+		this(id, clientCapabilities, clientInfo, requestTimeout, requestHandlers, notificationHandlers, eventStore,
+				sessionStore, null);
+	}
+
+	/**
+	 * Create an instance of the streamable session handling its messages within the
+	 * limits of a {@link McpRequestScheduler}.
+	 * @param id session ID
+	 * @param clientCapabilities client capabilities
+	 * @param clientInfo client info
+	 * @param requestTimeout timeout to use for requests
+	 * @param requestHandlers the map of MCP request handlers keyed by method name
+	 * @param notificationHandlers the map of MCP notification handlers keyed by method
+	 * name
+	 * @param eventStore the store of the messages sent on the streams of the session, or
+	 * {@code null} to not support replaying messages
+	 * @param sessionStore the store of the state of the session, or {@code null} to keep
+	 * the session on this node only
+	 * @param requestScheduler the scheduler of the messages of the sessions of the
+	 * server, or {@code null} to handle the messages as soon as they are received
+	 */
+	public McpStreamableServerSession(String id, McpSchema.ClientCapabilities clientCapabilities,
+			McpSchema.Implementation clientInfo, Duration requestTimeout,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			McpEventStore eventStore, McpSessionStore sessionStore, McpRequestScheduler requestScheduler) {
+		this(id, clientCapabilities, clientInfo, requestTimeout, requestHandlers, notificationHandlers, eventStore,
+				sessionStore, requestScheduler, McpIdGenerator.defaultGenerator());
+	}
+
+	/**
+	 * Create an instance of the streamable session generating the IDs of its streams and
+	 * of their messages with a {@link McpIdGenerator}.
+	 * @param id session ID
+	 * @param clientCapabilities client capabilities
+	 * @param clientInfo client info
+	 * @param requestTimeout timeout to use for requests
+	 * @param requestHandlers the map of MCP request handlers keyed by method name
+	 * @param notificationHandlers the map of MCP notification handlers keyed by method
+	 * name
+	 * @param eventStore the store of the messages sent on the streams of the session, or
+	 * {@code null} to not support replaying messages
+	 * @param sessionStore the store of the state of the session, or {@code null} to keep
+	 * the session on this node only
+	 * @param requestScheduler the scheduler of the messages of the sessions of the
+	 * server, or {@code null} to handle the messages as soon as they are received
+	 * @param idGenerator the generator of the IDs of the streams and of their messages
+	 */
+	public McpStreamableServerSession(String id, McpSchema.ClientCapabilities clientCapabilities,
+			McpSchema.Implementation clientInfo, Duration requestTimeout,
+			Map<String, McpRequestHandler<?>> requestHandlers, Map<String, McpNotificationHandler> notificationHandlers,
+			McpEventStore eventStore, McpSessionStore sessionStore, McpRequestScheduler requestScheduler,
+			McpIdGenerator idGenerator) {
+		Assert.notNull(idGenerator, "The idGenerator can not be null");
 		this.id = id;
 		this.missingMcpTransportSession = new MissingMcpTransportSession(id);
 		this.listeningStreamRef = new AtomicReference<>(this.missingMcpTransportSession);
 		this.clientCapabilities.lazySet(clientCapabilities);
 		this.clientInfo.lazySet(clientInfo);
 		this.requestTimeout = requestTimeout;
+		this.pendingResponses = new PendingRequests(requestTimeout,
+				(requestId, stream) -> ((McpStreamableServerSessionStream) stream).cancelRequest(requestId));
 		this.requestHandlers = requestHandlers;
 		this.notificationHandlers = notificationHandlers;
+		this.eventStore = eventStore;
+		this.sessionStore = sessionStore;
+		this.lane = requestScheduler != null ? requestScheduler.lane(id) : null;
+		this.idGenerator = idGenerator;
 	}
 
 	@Override
 	public void setMinLoggingLevel(McpSchema.LoggingLevel minLoggingLevel) {
 		Assert.notNull(minLoggingLevel, "minLoggingLevel must not be null");
 		this.minLoggingLevel = minLoggingLevel;
+		saveState().subscribe(null, e -> logger.warn("Failed to save the state of session {}", this.id, e));
 	}
 
 	@Override
@@ -99,10 +215,6 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		return this.id;
 	}
 
-	private String generateRequestId() {
-		return this.id + "-" + this.requestCounter.getAndIncrement();
-	}
-
 	@Override
 	public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
 		return Mono.defer(() -> {
@@ -119,11 +231,38 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		});
 	}
 
+	/**
+	 * Close the session and forget its state, as requested by the client (the HTTP DELETE
+	 * request) or once the session is expired or evicted, so that no node restores it.
+	 * @return Mono which completes once the session is deleted
+	 */
 	public Mono<Void> delete() {
-		return this.closeGracefully().then(Mono.fromRunnable(() -> {
-			// TODO: review in the context of history storage
-			// delete history, etc.
-		}));
+		return this.closeGracefully()
+			.then(Mono.defer(() -> this.sessionStore != null ? this.sessionStore.remove(this.id) : Mono.empty()));
+	}
+
+	/**
+	 * Returns the state of this session to save in the {@link McpSessionStore}.
+	 * @return the state of the session
+	 */
+	McpSessionStore.SessionState sessionState() {
+		return new McpSessionStore.SessionState(this.id, this.clientCapabilities.get(), this.clientInfo.get(),
+				this.minLoggingLevel, this.initialized);
+	}
+
+	/**
+	 * Restores the state of this session, as saved by another node.
+	 * @param state the saved state of the session
+	 */
+	void restoreState(McpSessionStore.SessionState state) {
+		if (state.minLoggingLevel() != null) {
+			this.minLoggingLevel = state.minLoggingLevel();
+		}
+		this.initialized = state.initialized();
+	}
+
+	private Mono<Void> saveState() {
+		return this.sessionStore != null ? Mono.defer(() -> this.sessionStore.save(sessionState())) : Mono.empty();
 	}
 
 	/**
@@ -138,10 +277,29 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		return listeningStream;
 	}
 
-	// TODO: keep track of history by keeping a map from eventId to stream and then
-	// iterate over the events using the lastEventId
+	/**
+	 * Replay the messages sent on a stream after the given event (the HTTP GET request
+	 * with Last-Event-ID header).
+	 * @param lastEventId the ID of the last event received by the client
+	 * @return the messages sent after {@code lastEventId}
+	 * @see #replayEvents(String)
+	 */
 	public Flux<McpSchema.JSONRPCMessage> replay(Object lastEventId) {
-		return Flux.empty();
+		return replayEvents(String.valueOf(lastEventId)).map(McpEventStore.Event::message);
+	}
+
+	/**
+	 * Replay the events sent on a stream after the given event, so that they can be sent
+	 * again with their IDs. Only the events still held by the {@link McpEventStore} of
+	 * the session are replayed; without an event store, nothing is.
+	 * @param lastEventId the ID of the last event received by the client
+	 * @return the events sent after {@code lastEventId}
+	 */
+	public Flux<McpEventStore.Event> replayEvents(String lastEventId) {
+		if (this.eventStore == null) {
+			return Flux.empty();
+		}
+		return this.eventStore.replayEventsAfter(this.id, lastEventId);
 	}
 
 	/**
@@ -167,18 +325,20 @@ public class McpStreamableServerSession implements McpLoggableSession {
 							new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.METHOD_NOT_FOUND,
 									error.message(), error.data())));
 			}
-			return requestHandler
-				.handle(new McpAsyncServerExchange(this.id, stream, clientCapabilities.get(), clientInfo.get(),
-						transportContext), jsonrpcRequest.params())
+			Mono<?> handling = requestHandler.handle(new McpAsyncServerExchange(this.id, stream,
+					clientCapabilities.get(), clientInfo.get(), transportContext), jsonrpcRequest.params());
+			if (this.lane != null) {
+				handling = this.lane.request(handling);
+			}
+			return this.inFlightRequests.track(jsonrpcRequest.id(), handling)
 				.map(result -> new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(), result,
 						null))
 				.onErrorResume(e -> {
 					var errorResponse = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, jsonrpcRequest.id(),
-							null, new McpSchema.JSONRPCResponse.JSONRPCError(McpSchema.ErrorCodes.INTERNAL_ERROR,
-									e.getMessage(), null));
+							null, McpError.toJsonRpcError(e));
 					return Mono.just(errorResponse);
 				})
-				.flatMap(transport::sendMessage)
+				.flatMap(stream::send)
 				.then(transport.closeGracefully());
 		});
 	}
@@ -191,14 +351,26 @@ public class McpStreamableServerSession implements McpLoggableSession {
 	public Mono<Void> accept(McpSchema.JSONRPCNotification notification) {
 		return Mono.deferContextual(ctx -> {
 			McpTransportContext transportContext = ctx.getOrDefault(McpTransportContext.KEY, McpTransportContext.EMPTY);
+			if (McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+				this.inFlightRequests.cancel(notification.params());
+			}
+			Mono<Void> stateSaved = Mono.empty();
+			if (McpSchema.METHOD_NOTIFICATION_INITIALIZED.equals(notification.method()) && !this.initialized) {
+				this.initialized = true;
+				stateSaved = saveState();
+			}
 			McpNotificationHandler notificationHandler = this.notificationHandlers.get(notification.method());
 			if (notificationHandler == null) {
-				logger.error("No handler registered for notification method: {}", notification.method());
-				return Mono.empty();
+				if (!McpSchema.METHOD_NOTIFICATION_CANCELLED.equals(notification.method())) {
+					logger.error("No handler registered for notification method: {}", notification.method());
+				}
+				return stateSaved;
 			}
 			McpLoggableSession listeningStream = this.listeningStreamRef.get();
-			return notificationHandler.handle(new McpAsyncServerExchange(this.id, listeningStream,
-					this.clientCapabilities.get(), this.clientInfo.get(), transportContext), notification.params());
+			Mono<Void> handling = Mono.defer(() -> notificationHandler.handle(new McpAsyncServerExchange(this.id,
+					listeningStream, this.clientCapabilities.get(), this.clientInfo.get(), transportContext),
+					notification.params()));
+			return stateSaved.then(this.lane != null ? this.lane.notification(handling) : handling);
 		});
 
 	}
@@ -210,20 +382,10 @@ public class McpStreamableServerSession implements McpLoggableSession {
 	 */
 	public Mono<Void> accept(McpSchema.JSONRPCResponse response) {
 		return Mono.defer(() -> {
-			var stream = this.requestIdToStream.get(response.id());
-			if (stream == null) {
+			if (!this.pendingResponses.complete(response)) {
 				return Mono.error(new McpError("Unexpected response for unknown id " + response.id())); // TODO
 																										// JSONize
 			}
-			// TODO: encapsulate this inside the stream itself
-			var sink = stream.pendingResponses.remove(response.id());
-			if (sink == null) {
-				return Mono.error(new McpError("Unexpected response for unknown id " + response.id())); // TODO
-																										// JSONize
-			}
-			else {
-				sink.success(response);
-			}
 			return Mono.empty();
 		});
 	}
@@ -235,24 +397,52 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		return new MethodNotFoundError(method, "Method not found: " + method, null);
 	}
 
+	/**
+	 * Returns a {@link Mono} that completes once this session has been closed or deleted.
+	 * @return a {@link Mono} completing when the session is closed
+	 */
+	public Mono<Void> onClose() {
+		return this.closeSink.asMono();
+	}
+
 	@Override
 	public Mono<Void> closeGracefully() {
 		return Mono.defer(() -> {
+			if (this.lane != null) {
+				this.lane.close();
+			}
+			this.inFlightRequests.cancelAll();
+			this.pendingResponses.dismissAll(new RuntimeException("MCP session with client terminated"));
 			McpLoggableSession listeningStream = this.listeningStreamRef.getAndSet(missingMcpTransportSession);
 			return listeningStream.closeGracefully();
 			// TODO: Also close all the open streams
-		});
+		}).then(removeEvents()).doFinally(signal -> this.closeSink.tryEmitEmpty());
 	}
 
 	@Override
 	public void close() {
+		if (this.lane != null) {
+			this.lane.close();
+		}
+		this.inFlightRequests.cancelAll();
+		this.pendingResponses.dismissAll(new RuntimeException("MCP session with client terminated"));
 		McpLoggableSession listeningStream = this.listeningStreamRef.getAndSet(missingMcpTransportSession);
-		if (listeningStream != null) {
-			listeningStream.close();
+		try {
+			if (listeningStream != null) {
+				listeningStream.close();
+			}
+		}
+		finally {
+			removeEvents().subscribe(null, e -> logger.warn("Failed to remove events of session {}", this.id, e));
+			this.closeSink.tryEmitEmpty();
 		}
 		// TODO: Also close all open streams
 	}
 
+	private Mono<Void> removeEvents() {
+		return this.eventStore != null ? this.eventStore.removeSession(this.id) : Mono.empty();
+	}
+
 	/**
 	 * Request handler for the initialization request.
 	 */
@@ -279,6 +469,15 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		 */
 		McpStreamableServerSessionInit startSession(McpSchema.InitializeRequest initializeRequest);
 
+		/**
+		 * Restore a session started by another node of the server, given its ID.
+		 * @param sessionId the ID of the session, as sent by the client
+		 * @return the restored session, or an empty Mono if the session is unknown
+		 */
+		default Mono<McpStreamableServerSession> restoreSession(String sessionId) {
+			return Mono.empty();
+		}
+
 	}
 
 	/**
@@ -298,13 +497,11 @@ public class McpStreamableServerSession implements McpLoggableSession {
 	 */
 	public final class McpStreamableServerSessionStream implements McpLoggableSession {
 
-		private final ConcurrentHashMap<Object, MonoSink<McpSchema.JSONRPCResponse>> pendingResponses = new ConcurrentHashMap<>();
-
 		private final McpStreamableServerTransport transport;
 
 		private final String transportId;
 
-		private final Supplier<String> uuidGenerator;
+		private final AtomicLong messageSequence = new AtomicLong();
 
 		/**
 		 * Constructor accepting the dedicated transport representing the SSE stream.
@@ -312,10 +509,14 @@ public class McpStreamableServerSession implements McpLoggableSession {
 		 */
 		public McpStreamableServerSessionStream(McpStreamableServerTransport transport) {
 			this.transport = transport;
-			this.transportId = UUID.randomUUID().toString();
-			// This ID design allows for a constant-time extraction of the history by
-			// precisely identifying the SSE stream using the first component
-			this.uuidGenerator = () -> this.transportId + "_" + UUID.randomUUID();
+			this.transportId = McpStreamableServerSession.this.idGenerator.generateStreamId();
+		}
+
+		// This ID design allows for a constant-time extraction of the history by
+		// precisely identifying the SSE stream using the first component
+		private String nextMessageId() {
+			return McpStreamableServerSession.this.idGenerator.generateMessageId(this.transportId,
+					this.messageSequence.getAndIncrement());
 		}
 
 		@Override
@@ -331,21 +532,21 @@ public class McpStreamableServerSession implements McpLoggableSession {
 
 		@Override
 		public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
-			String requestId = McpStreamableServerSession.this.generateRequestId();
-
-			McpStreamableServerSession.this.requestIdToStream.put(requestId, this);
-
+			PendingRequests pendingResponses = McpStreamableServerSession.this.pendingResponses;
 			return Mono.<McpSchema.JSONRPCResponse>create(sink -> {
-				this.pendingResponses.put(requestId, sink);
+				long requestId = pendingResponses.register(sink, this);
+				sink.onCancel(() -> {
+					if (pendingResponses.remove(requestId)) {
+						cancelRequest(requestId);
+					}
+				});
 				McpSchema.JSONRPCRequest jsonrpcRequest = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
 						method, requestId, requestParams);
-				String messageId = this.uuidGenerator.get();
-				// TODO: store message in history
-				this.transport.sendMessage(jsonrpcRequest, messageId).subscribe(v -> {
-				}, sink::error);
-			}).timeout(requestTimeout).doOnError(e -> {
-				this.pendingResponses.remove(requestId);
-				McpStreamableServerSession.this.requestIdToStream.remove(requestId);
+				send(jsonrpcRequest).subscribe(v -> {
+				}, error -> {
+					pendingResponses.remove(requestId);
+					sink.error(error);
+				});
 			}).handle((jsonRpcResponse, sink) -> {
 				if (jsonRpcResponse.error() != null) {
 					sink.error(new McpError(jsonRpcResponse.error()));
@@ -361,36 +562,57 @@ public class McpStreamableServerSession implements McpLoggableSession {
 			});
 		}
 
+		/**
+		 * Tells the client that a request sent on this stream timed out, or that the
+		 * caller disposed it, so that the client stops handling it.
+		 * @param requestId the ID of the cancelled request
+		 */
+		private void cancelRequest(long requestId) {
+			sendNotification(McpSchema.METHOD_NOTIFICATION_CANCELLED,
+					new McpSchema.CancelledNotification(requestId, "Request cancelled by the server"))
+				.subscribe(null,
+						error -> logger.debug("Failed to cancel request {}: {}", requestId, error.getMessage()));
+		}
+
 		@Override
 		public Mono<Void> sendNotification(String method, Object params) {
 			McpSchema.JSONRPCNotification jsonrpcNotification = new McpSchema.JSONRPCNotification(
 					McpSchema.JSONRPC_VERSION, method, params);
-			String messageId = this.uuidGenerator.get();
-			// TODO: store message in history
-			return this.transport.sendMessage(jsonrpcNotification, messageId);
+			return send(jsonrpcNotification);
+		}
+
+		/**
+		 * Sends a message on this stream, storing it first in the event store of the
+		 * session, if any, which then provides the ID of the event.
+		 * @param message the message to send
+		 * @return Mono which completes when the message is sent
+		 */
+		private Mono<Void> send(McpSchema.JSONRPCMessage message) {
+			McpEventStore eventStore = McpStreamableServerSession.this.eventStore;
+			if (eventStore == null) {
+				return this.transport.sendMessage(message, nextMessageId());
+			}
+			return eventStore.storeEvent(McpStreamableServerSession.this.id, this.transportId, message)
+				.flatMap(eventId -> this.transport.sendMessage(message, eventId));
 		}
 
 		@Override
 		public Mono<Void> closeGracefully() {
 			return Mono.defer(() -> {
-				this.pendingResponses.values().forEach(s -> s.error(new RuntimeException("Stream closed")));
-				this.pendingResponses.clear();
+				McpStreamableServerSession.this.pendingResponses.dismiss(this, new RuntimeException("Stream closed"));
 				// If this was the generic stream, reset it
 				McpStreamableServerSession.this.listeningStreamRef.compareAndExchange(this,
 						McpStreamableServerSession.this.missingMcpTransportSession);
-				McpStreamableServerSession.this.requestIdToStream.values().removeIf(this::equals);
 				return this.transport.closeGracefully();
 			});
 		}
 
 		@Override
 		public void close() {
-			this.pendingResponses.values().forEach(s -> s.error(new RuntimeException("Stream closed")));
-			this.pendingResponses.clear();
+			McpStreamableServerSession.this.pendingResponses.dismiss(this, new RuntimeException("Stream closed"));
 			// If this was the generic stream, reset it
 			McpStreamableServerSession.this.listeningStreamRef.compareAndExchange(this,
 					McpStreamableServerSession.this.missingMcpTransportSession);
-			McpStreamableServerSession.this.requestIdToStream.values().removeIf(this::equals);
 			this.transport.close();
 		}
 
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import io.modelcontextprotocol.spec.McpSchema.JSONRPCMessage;
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * Newline-delimited framing of JSON-RPC messages as used by the stdio transport, working
+ * on bytes rather than on {@code String} lines.
+ *
+ * <p>
+ * Messages are delimited by newlines and must not contain embedded newlines. A JSON
+ * string cannot contain a raw carriage return or line feed, so any such byte written by a
+ * codec, for instance because of pretty printing, is insignificant whitespace and is
+ * replaced with a space.
+ *
+ * @see <a href=
+ * "https://modelcontextprotocol.io/specification/2025-03-26/basic/transports#stdio">stdio
+ * transport</a>
+ */
+public final class NewlineDelimitedFraming {
+
+	private static final byte LF = '\n';
+
+	private static final byte CR = '\r';
+
+	private NewlineDelimitedFraming() {
+	}
+
+	/**
+	 * Writes the message followed by a newline to the given stream. The stream is neither
+	 * flushed nor closed.
+	 * @param codec the codec to encode the message with
+	 * @param message the message to write
+	 * @param outputStream the stream to write to
+	 * @throws IOException if the message cannot be encoded or written
+	 */
+	public static void write(McpMessageCodec codec, JSONRPCMessage message, OutputStream outputStream)
+			throws IOException {
+		Assert.notNull(codec, "Codec must not be null");
+		Assert.notNull(outputStream, "OutputStream must not be null");
+		codec.encode(message, new NewlineEscapingOutputStream(outputStream));
+		outputStream.write(LF);
+	}
+
+	/**
+	 * Reads newline-delimited lines from a stream as bytes. A line is terminated by a
+	 * line feed, optionally preceded by a carriage return, or by the end of the stream.
+	 *
+	 * <p>
+	 * Instances are not thread-safe and are meant to be used by the single thread reading
+	 * the stream.
+	 */
+	public static final class LineReader {
+
+		private final InputStream inputStream;
+
+		private byte[] buffer;
+
+		private int start;
+
+		private int end;
+
+		/**
+		 * Creates a new reader.
+		 * @param inputStream the stream to read from
+		 */
+		public LineReader(InputStream inputStream) {
+			this(inputStream, 8192);
+		}
+
+		/**
+		 * Creates a new reader.
+		 * @param inputStream the stream to read from
+		 * @param initialCapacity the initial capacity of the line buffer, which grows as
+		 * needed to hold the longest line
+		 */
+		public LineReader(InputStream inputStream, int initialCapacity) {
+			Assert.notNull(inputStream, "InputStream must not be null");
+			Assert.isTrue(initialCapacity > 0, "Initial capacity must be positive");
+			this.inputStream = inputStream;
+			this.buffer = new byte[initialCapacity];
+		}
+
+		/**
+		 * Reads the next line, blocking until it is complete.
+		 * @return a buffer holding the line without its terminator between its position
+		 * and its limit, or {@code null} at the end of the stream. The returned buffer
+		 * shares the internal buffer of this reader and is only valid until the next
+		 * call.
+		 * @throws IOException if the stream cannot be read
+		 */
+		public ByteBuffer readLine() throws IOException {
+			int scanFrom = this.start;
+			while (true) {
+				for (int i = scanFrom; i < this.end; i++) {
+					if (this.buffer[i] == LF) {
+						int lineStart = this.start;
+						this.start = i + 1;
+						return line(lineStart, i);
+					}
+				}
+
+				if (this.start > 0) {
+					// Compact to make room for the rest of the current line
+					int length = this.end - this.start;
+					System.arraycopy(this.buffer, this.start, this.buffer, 0, length);
+					this.start = 0;
+					this.end = length;
+				}
+				else if (this.end == this.buffer.length) {
+					this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+				}
+				scanFrom = this.end;
+
+				int read = this.inputStream.read(this.buffer, this.end, this.buffer.length - this.end);
+				if (read < 0) {
+					if (this.end > this.start) {
+						int lineStart = this.start;
+						this.start = this.end;
+						return line(lineStart, this.end);
+					}
+					return null;
+				}
+				this.end += read;
+			}
+		}
+
+		private ByteBuffer line(int lineStart, int lineEnd) {
+			if (lineEnd > lineStart && this.buffer[lineEnd - 1] == CR) {
+				lineEnd--;
+			}
+			return ByteBuffer.wrap(this.buffer, lineStart, lineEnd - lineStart);
+		}
+
+	}
+
+	static final class NewlineEscapingOutputStream extends FilterOutputStream {
+
+		NewlineEscapingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			this.out.write((b == LF || b == CR) ? ' ' : b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			int segmentStart = off;
+			int limit = off + len;
+			for (int i = off; i < limit; i++) {
+				if (b[i] == LF || b[i] == CR) {
+					this.out.write(b, segmentStart, i - segmentStart);
+					this.out.write(' ');
+					segmentStart = i + 1;
+				}
+			}
+			this.out.write(b, segmentStart, limit - segmentStart);
+		}
+
+		@Override
+		public void flush() {
+			// Flushing is left to the owner of the underlying stream
+		}
+
+		@Override
+		public void close() {
+			// The underlying stream is owned by the caller
+		}
+
+	}
+
+}
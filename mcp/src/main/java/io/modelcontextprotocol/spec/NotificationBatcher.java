@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.util.Assert;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Groups the notifications published on a {@link McpNotificationBus} into batches,
+ * sending the notifications published within a window together and dropping the
+ * duplicates of a batch.
+ */
+final class NotificationBatcher {
+
+	/**
+	 * Default time during which published notifications are grouped into a batch.
+	 */
+	static final Duration DEFAULT_BATCH_WINDOW = Duration.ofMillis(10);
+
+	/**
+	 * Default maximum number of notifications of a batch.
+	 */
+	static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+	private final Sinks.Many<Pending> pending = Sinks.many().unicast().onBackpressureBuffer();
+
+	private final Sinks.Empty<Void> drained = Sinks.empty();
+
+	private final Disposable subscription;
+
+	/**
+	 * Creates a batcher.
+	 * @param batchWindow the time during which notifications are grouped into a batch
+	 * @param maxBatchSize the maximum number of notifications of a batch
+	 * @param sender sends a batch of distinct notifications
+	 */
+	NotificationBatcher(Duration batchWindow, int maxBatchSize,
+			Function<List<McpNotificationBus.Notification>, Mono<Void>> sender) {
+		Assert.notNull(batchWindow, "Batch window must not be null");
+		Assert.isTrue(!batchWindow.isNegative() && !batchWindow.isZero(), "Batch window must be positive");
+		Assert.isTrue(maxBatchSize > 0, "Max batch size must be positive");
+		Assert.notNull(sender, "Sender must not be null");
+		this.subscription = this.pending.asFlux()
+			.bufferTimeout(maxBatchSize, batchWindow, true)
+			.concatMap(batch -> Mono.defer(() -> sender.apply(distinct(batch)))
+				.doOnSuccess(v -> batch.forEach(p -> p.sink().success()))
+				.onErrorResume(e -> {
+					batch.forEach(p -> p.sink().error(e));
+					return Mono.empty();
+				}))
+			.doFinally(signal -> this.drained.tryEmitEmpty())
+			.subscribe();
+	}
+
+	/**
+	 * Publishes a notification with a new ID in the next batch.
+	 * @param method the method of the notification
+	 * @param params the parameters of the notification
+	 * @return a {@link Mono} completing once the batch of the notification is sent
+	 */
+	Mono<Void> publish(String method, Object params) {
+		Assert.hasText(method, "Method must not be empty");
+		return Mono.create(sink -> {
+			McpNotificationBus.Notification notification = new McpNotificationBus.Notification(
+					UUID.randomUUID().toString(), method, params);
+			Sinks.EmitResult result;
+			synchronized (this) {
+				result = this.pending.tryEmitNext(new Pending(notification, sink));
+			}
+			if (result.isFailure()) {
+				sink.error(new McpError("Notification bus is closed"));
+			}
+		});
+	}
+
+	/**
+	 * Sends the notifications published so far and stops accepting new ones.
+	 * @return a {@link Mono} completing once the pending notifications are sent
+	 */
+	Mono<Void> close() {
+		return Mono.defer(() -> {
+			synchronized (this) {
+				this.pending.tryEmitComplete();
+			}
+			return this.drained.asMono();
+		});
+	}
+
+	/**
+	 * Stops sending notifications immediately.
+	 */
+	void dispose() {
+		this.subscription.dispose();
+		this.drained.tryEmitEmpty();
+	}
+
+	private static List<McpNotificationBus.Notification> distinct(List<Pending> batch) {
+		Map<Key, McpNotificationBus.Notification> distinct = new LinkedHashMap<>();
+		for (Pending pending : batch) {
+			McpNotificationBus.Notification notification = pending.notification();
+			distinct.putIfAbsent(new Key(notification.method(), notification.params()), notification);
+		}
+		return List.copyOf(distinct.values());
+	}
+
+	private record Key(String method, Object params) {
+	}
+
+	private record Pending(McpNotificationBus.Notification notification, MonoSink<Void> sink) {
+	}
+
+}
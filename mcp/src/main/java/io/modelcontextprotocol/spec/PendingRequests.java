@@ -0,0 +1,293 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * The requests sent by a session and still waiting for their response, keyed by their
+ * numeric request ID.
+ *
+ * <p>
+ * Request IDs are drawn from a counter and the pending requests are held in an open
+ * addressing table of primitive keys, so that neither the IDs nor the table entries are
+ * boxed. The timeout of each request is filed in a {@link RequestTimeoutWheel} rather
+ * than scheduled on its own, and a request that does not receive its response in time is
+ * failed with a {@link TimeoutException}.
+ */
+final class PendingRequests {
+
+	private static final Logger logger = LoggerFactory.getLogger(PendingRequests.class);
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final Duration timeout;
+
+	private final BiConsumer<Long, Object> timeoutListener;
+
+	private final RequestTimeoutWheel wheel;
+
+	private final AtomicLong requestCounter = new AtomicLong();
+
+	// The table below is guarded by this
+
+	private long[] keys = new long[INITIAL_CAPACITY];
+
+	private Entry[] entries = new Entry[INITIAL_CAPACITY];
+
+	private int size;
+
+	/**
+	 * Creates the pending requests of a session, timed out on the shared wheel.
+	 * @param timeout the duration to wait for a response, or {@code null} to wait
+	 * indefinitely
+	 * @param timeoutListener called with the ID and the owner of each request that timed
+	 * out
+	 */
+	PendingRequests(Duration timeout, BiConsumer<Long, Object> timeoutListener) {
+		this(timeout, timeoutListener, RequestTimeoutWheel.shared());
+	}
+
+	PendingRequests(Duration timeout, BiConsumer<Long, Object> timeoutListener, RequestTimeoutWheel wheel) {
+		this.timeout = timeout;
+		this.timeoutListener = timeoutListener;
+		this.wheel = wheel;
+	}
+
+	/**
+	 * Registers a request waiting for its response.
+	 * @param sink the sink to complete with the response
+	 * @param owner the owner of the request, handed to the timeout listener and used to
+	 * dismiss the requests of a single owner
+	 * @return the ID of the request
+	 */
+	long register(MonoSink<McpSchema.JSONRPCResponse> sink, Object owner) {
+		Entry entry = new Entry(this.requestCounter.getAndIncrement(), sink, owner);
+		synchronized (this) {
+			put(entry);
+		}
+		if (this.timeout != null) {
+			this.wheel.schedule(entry, this.timeout);
+		}
+		return entry.id;
+	}
+
+	/**
+	 * Completes the pending request answered by a response.
+	 * @param response the response
+	 * @return {@code false} if no request with the ID of the response is pending
+	 */
+	boolean complete(McpSchema.JSONRPCResponse response) {
+		Long id = toId(response.id());
+		Entry entry = (id != null) ? take(id) : null;
+		if (entry == null) {
+			return false;
+		}
+		entry.sink.success(response);
+		return true;
+	}
+
+	/**
+	 * Removes a pending request without completing it.
+	 * @param id the ID of the request
+	 * @return {@code false} if the request is no longer pending
+	 */
+	boolean remove(long id) {
+		return take(id) != null;
+	}
+
+	/**
+	 * Fails the pending requests of an owner.
+	 * @param owner the owner of the requests
+	 * @param error the error to fail the requests with
+	 */
+	void dismiss(Object owner, Throwable error) {
+		List<Entry> dismissed = new ArrayList<>();
+		synchronized (this) {
+			int i = 0;
+			while (i < this.entries.length) {
+				Entry entry = this.entries[i];
+				if (entry != null && entry.owner == owner) {
+					// The deletion may shift another entry into this slot
+					delete(i);
+					dismissed.add(entry);
+				}
+				else {
+					i++;
+				}
+			}
+		}
+		dismissed.forEach(entry -> fail(entry, error));
+	}
+
+	/**
+	 * Fails all the pending requests, once the session is closed.
+	 * @param error the error to fail the requests with
+	 */
+	void dismissAll(Throwable error) {
+		Entry[] dismissed;
+		synchronized (this) {
+			dismissed = this.entries;
+			this.keys = new long[INITIAL_CAPACITY];
+			this.entries = new Entry[INITIAL_CAPACITY];
+			this.size = 0;
+		}
+		for (Entry entry : dismissed) {
+			if (entry != null) {
+				fail(entry, error);
+			}
+		}
+	}
+
+	synchronized int size() {
+		return this.size;
+	}
+
+	private void fail(Entry entry, Throwable error) {
+		logger.warn("Abruptly terminating exchange for request {}", entry.id);
+		entry.cancel(this.wheel);
+		entry.sink.error(error);
+	}
+
+	private Entry take(long id) {
+		Entry entry;
+		synchronized (this) {
+			int slot = find(id);
+			if (slot < 0) {
+				return null;
+			}
+			entry = this.entries[slot];
+			delete(slot);
+		}
+		entry.cancel(this.wheel);
+		return entry;
+	}
+
+	private void expire(Entry entry) {
+		synchronized (this) {
+			int slot = find(entry.id);
+			if (slot < 0 || this.entries[slot] != entry) {
+				return;
+			}
+			delete(slot);
+		}
+		entry.sink.error(new TimeoutException(
+				"Did not receive a response to request " + entry.id + " within " + this.timeout.toMillis() + "ms"));
+		this.timeoutListener.accept(entry.id, entry.owner);
+	}
+
+	private static Long toId(Object id) {
+		if (id instanceof Number number) {
+			return number.longValue();
+		}
+		if (id instanceof String string) {
+			try {
+				return Long.parseLong(string);
+			}
+			catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	// The methods below must be called while holding the lock
+
+	private static int hash(long id, int mask) {
+		long h = id * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32)) & mask;
+	}
+
+	private int find(long id) {
+		int mask = this.keys.length - 1;
+		for (int i = hash(id, mask);; i = (i + 1) & mask) {
+			if (this.entries[i] == null) {
+				return -1;
+			}
+			if (this.keys[i] == id) {
+				return i;
+			}
+		}
+	}
+
+	private void put(Entry entry) {
+		if ((this.size + 1) * 2 > this.keys.length) {
+			resize(this.keys.length * 2);
+		}
+		insert(entry);
+		this.size++;
+	}
+
+	private void insert(Entry entry) {
+		int mask = this.keys.length - 1;
+		int i = hash(entry.id, mask);
+		while (this.entries[i] != null) {
+			i = (i + 1) & mask;
+		}
+		this.keys[i] = entry.id;
+		this.entries[i] = entry;
+	}
+
+	private void resize(int capacity) {
+		Entry[] previous = this.entries;
+		this.keys = new long[capacity];
+		this.entries = new Entry[capacity];
+		for (Entry entry : previous) {
+			if (entry != null) {
+				insert(entry);
+			}
+		}
+	}
+
+	// Backward shift deletion, keeping the probe sequences free of tombstones
+	private void delete(int slot) {
+		int mask = this.keys.length - 1;
+		int hole = slot;
+		for (int i = (slot + 1) & mask; this.entries[i] != null; i = (i + 1) & mask) {
+			int home = hash(this.keys[i], mask);
+			// Move the entry into the hole unless its home lies cyclically in (hole, i]
+			boolean reachable = (hole <= i) ? (hole < home && home <= i) : (hole < home || home <= i);
+			if (!reachable) {
+				this.keys[hole] = this.keys[i];
+				this.entries[hole] = this.entries[i];
+				hole = i;
+			}
+		}
+		this.keys[hole] = 0;
+		this.entries[hole] = null;
+		this.size--;
+	}
+
+	private final class Entry extends RequestTimeoutWheel.Timeout {
+
+		private final long id;
+
+		private final MonoSink<McpSchema.JSONRPCResponse> sink;
+
+		private final Object owner;
+
+		private Entry(long id, MonoSink<McpSchema.JSONRPCResponse> sink, Object owner) {
+			this.id = id;
+			this.sink = sink;
+			this.owner = owner;
+		}
+
+		@Override
+		void expire() {
+			PendingRequests.this.expire(this);
+		}
+
+	}
+
+}
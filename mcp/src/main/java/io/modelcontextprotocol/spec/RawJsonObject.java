@@ -0,0 +1,151 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * The {@code params} or {@code result} member of a decoded JSON-RPC message, kept as the
+ * raw JSON tokens it was read from.
+ *
+ * <p>
+ * Handlers that know the target type bind the tokens directly into the typed record with
+ * {@link #readValue(ObjectReader)}, typically through a {@link JsonRpcBinder}, so no
+ * intermediate {@code Map} tree is built. For code that treats the value as an untyped
+ * {@code Map<String, Object>}, the tokens are materialized on first access, which gives
+ * the same content the untyped deserializer would have produced.
+ *
+ * <p>
+ * Serializing an instance writes the buffered tokens back as they were read, unless the
+ * map has been materialized, in which case its current content is written.
+ *
+ * @see JsonRpcMessageDecoder
+ * @see JsonRpcBinder
+ */
+@JsonSerialize(using = RawJsonObject.Serializer.class)
+public final class RawJsonObject extends AbstractMap<String, Object> {
+
+	private static final TypeReference<LinkedHashMap<String, Object>> MAP_TYPE_REF = new TypeReference<>() {
+	};
+
+	private final TokenBuffer tokens;
+
+	private final ObjectMapper objectMapper;
+
+	private volatile Map<String, Object> map;
+
+	RawJsonObject(TokenBuffer tokens, ObjectMapper objectMapper) {
+		Assert.notNull(tokens, "Tokens must not be null");
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		this.tokens = tokens;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Binds the raw JSON object with the given reader.
+	 * @param <T> the target type
+	 * @param reader the reader for the target type
+	 * @return the bound value
+	 * @throws IOException if the object cannot be bound to the target type
+	 */
+	public <T> T readValue(ObjectReader reader) throws IOException {
+		Map<String, Object> materialized = this.map;
+		if (materialized != null) {
+			// The map may have been modified, so it is the source of truth now
+			JsonNode tree = this.objectMapper.valueToTree(materialized);
+			return reader.readValue(tree);
+		}
+		try (JsonParser parser = this.tokens.asParser(this.objectMapper)) {
+			return reader.readValue(parser);
+		}
+	}
+
+	private Map<String, Object> map() {
+		Map<String, Object> materialized = this.map;
+		if (materialized == null) {
+			synchronized (this) {
+				materialized = this.map;
+				if (materialized == null) {
+					try (JsonParser parser = this.tokens.asParser(this.objectMapper)) {
+						materialized = this.objectMapper.readValue(parser, MAP_TYPE_REF);
+					}
+					catch (IOException ex) {
+						throw new UncheckedIOException(ex);
+					}
+					this.map = materialized;
+				}
+			}
+		}
+		return materialized;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		return map().entrySet();
+	}
+
+	@Override
+	public int size() {
+		return map().size();
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return map().containsKey(key);
+	}
+
+	@Override
+	public Object get(Object key) {
+		return map().get(key);
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		return map().put(key, value);
+	}
+
+	@Override
+	public Object remove(Object key) {
+		return map().remove(key);
+	}
+
+	static final class Serializer extends StdSerializer<RawJsonObject> {
+
+		Serializer() {
+			super(RawJsonObject.class);
+		}
+
+		@Override
+		public void serialize(RawJsonObject value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+			Map<String, Object> materialized = value.map;
+			if (materialized != null) {
+				provider.defaultSerializeValue(materialized, gen);
+			}
+			else {
+				value.tokens.serialize(gen);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import io.modelcontextprotocol.util.Assert;
+
+/**
+ * A JSON value that has already been serialized, written out verbatim wherever it is
+ * serialized.
+ *
+ * <p>
+ * Used for results that are served many times but rarely change, so the cost of
+ * serializing and encoding them is paid once. Only the UTF-8 encoded JSON is kept, which
+ * byte based generators copy as is into their output. Token buffers, as used by
+ * {@link ObjectMapper#convertValue(Object, Class)}, receive the parsed tokens instead, so
+ * the value can still be converted into a typed object.
+ */
+@JsonSerialize(using = RawJsonValue.Serializer.class)
+public final class RawJsonValue {
+
+	private final byte[] json;
+
+	private final ObjectMapper objectMapper;
+
+	private RawJsonValue(byte[] json, ObjectMapper objectMapper) {
+		this.json = json;
+		this.objectMapper = objectMapper;
+	}
+
+	/**
+	 * Serializes the given value once and keeps its UTF-8 encoded JSON.
+	 * @param objectMapper the ObjectMapper to serialize the value with
+	 * @param value the value to serialize
+	 * @return the serialized value
+	 * @throws UncheckedIOException if the value cannot be serialized
+	 */
+	public static RawJsonValue of(ObjectMapper objectMapper, Object value) {
+		Assert.notNull(objectMapper, "ObjectMapper must not be null");
+		try {
+			return new RawJsonValue(objectMapper.writeValueAsBytes(value), objectMapper);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Returns the UTF-8 encoded JSON. The array is shared, not copied, and must not be
+	 * modified.
+	 * @return the encoded JSON
+	 */
+	public byte[] toByteArray() {
+		return this.json;
+	}
+
+	@Override
+	public String toString() {
+		return new String(this.json, StandardCharsets.UTF_8);
+	}
+
+	static final class Serializer extends StdSerializer<RawJsonValue> {
+
+		Serializer() {
+			super(RawJsonValue.class);
+		}
+
+		@Override
+		public void serialize(RawJsonValue value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+			if (gen instanceof TokenBuffer) {
+				// A raw value would end up as an opaque embedded object, replay the
+				// tokens so the buffer can be bound to a type
+				try (JsonParser parser = value.objectMapper.createParser(value.json)) {
+					parser.nextToken();
+					gen.copyCurrentStructure(parser);
+				}
+			}
+			else {
+				gen.writeRawValue(new Utf8Json(value.json));
+			}
+		}
+
+	}
+
+	/**
+	 * Raw UTF-8 encoded JSON, handed to generators without decoding it. Byte based
+	 * generators copy the bytes; character based ones, which only serialize to strings,
+	 * decode them. A raw value is never quoted.
+	 */
+	private record Utf8Json(byte[] bytes) implements SerializableString {
+
+		@Override
+		public String getValue() {
+			return new String(this.bytes, StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public int charLength() {
+			return getValue().length();
+		}
+
+		@Override
+		public byte[] asUnquotedUTF8() {
+			return this.bytes;
+		}
+
+		@Override
+		public int appendUnquotedUTF8(byte[] buffer, int offset) {
+			if (offset + this.bytes.length > buffer.length) {
+				return -1;
+			}
+			System.arraycopy(this.bytes, 0, buffer, offset, this.bytes.length);
+			return this.bytes.length;
+		}
+
+		@Override
+		public int appendUnquoted(char[] buffer, int offset) {
+			String value = getValue();
+			if (offset + value.length() > buffer.length) {
+				return -1;
+			}
+			value.getChars(0, value.length(), buffer, offset);
+			return value.length();
+		}
+
+		@Override
+		public int writeUnquotedUTF8(OutputStream out) throws IOException {
+			out.write(this.bytes);
+			return this.bytes.length;
+		}
+
+		@Override
+		public int putUnquotedUTF8(ByteBuffer buffer) {
+			if (this.bytes.length > buffer.remaining()) {
+				return -1;
+			}
+			buffer.put(this.bytes);
+			return this.bytes.length;
+		}
+
+		@Override
+		public char[] asQuotedChars() {
+			throw new UnsupportedOperationException("Raw JSON is never quoted");
+		}
+
+		@Override
+		public byte[] asQuotedUTF8() {
+			throw new UnsupportedOperationException("Raw JSON is never quoted");
+		}
+
+		@Override
+		public int appendQuotedUTF8(byte[] buffer, int offset) {
+			throw new UnsupportedOperationException("Raw JSON is never quoted");
+		}
+
+		@Override
+		public int appendQuoted(char[] buffer, int offset) {
+			throw new UnsupportedOperationException("Raw JSON is never quoted");
+		}
+
+		@Override
+		public int writeQuotedUTF8(OutputStream out) {
+			throw new UnsupportedOperationException("Raw JSON is never quoted");
+		}
+
+		@Override
+		public int putQuotedUTF8(ByteBuffer buffer) {
+			throw new UnsupportedOperationException("Raw JSON is never quoted");
+		}
+
+	}
+
+}
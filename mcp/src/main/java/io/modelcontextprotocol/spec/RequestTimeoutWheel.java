@@ -0,0 +1,272 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * A hashed timer wheel expiring the requests waiting for a response.
+ *
+ * <p>
+ * A timeout is filed in the bucket of the tick of its deadline, and each tick visits a
+ * single bucket, expiring its due timeouts in one batch. Scheduling and cancelling a
+ * timeout only enqueue it, since the buckets are only modified by the thread advancing
+ * the wheel. A cancelled timeout is unlinked from its bucket on the next tick, so that
+ * the timeouts of the requests answered in time do not accumulate until their deadline.
+ *
+ * <p>
+ * The {@link #shared() shared} wheel ticks every 100 milliseconds on a daemon thread,
+ * started on the first scheduled timeout, so that a request times out at most one tick
+ * after its deadline. That thread only maintains the buckets: each expired timeout is
+ * signalled on its own task of {@link Schedulers#parallel()}, so that a slow subscriber
+ * of a timed out request does not delay the other timeouts of the JVM.
+ */
+final class RequestTimeoutWheel {
+
+	private static final Logger logger = LoggerFactory.getLogger(RequestTimeoutWheel.class);
+
+	private static final Duration SHARED_TICK = Duration.ofMillis(100);
+
+	// Number of buckets of the shared wheel, a power of two
+	private static final int SHARED_WHEEL_SIZE = 512;
+
+	private static final int PENDING = 0;
+
+	private static final int CANCELLED = 1;
+
+	private static final int EXPIRED = 2;
+
+	private static volatile RequestTimeoutWheel shared;
+
+	private final long tickNanos;
+
+	private final Timeout[] heads;
+
+	private final int mask;
+
+	private final LongSupplier nanoClock;
+
+	private final Supplier<Scheduler> expiryScheduler;
+
+	private final long startNanos;
+
+	private final Queue<Timeout> scheduled = new ConcurrentLinkedQueue<>();
+
+	private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+
+	// Last tick processed, guarded by this
+	private long lastTick;
+
+	/**
+	 * Creates a wheel advanced by calls to {@link #expireDue()}, expiring the timeouts on
+	 * the calling thread.
+	 * @param tick the duration of a tick
+	 * @param wheelSize the number of buckets, a power of two
+	 * @param nanoClock the clock, in nanoseconds
+	 */
+	RequestTimeoutWheel(Duration tick, int wheelSize, LongSupplier nanoClock) {
+		this(tick, wheelSize, nanoClock, Schedulers::immediate);
+	}
+
+	/**
+	 * Creates a wheel advanced by calls to {@link #expireDue()}.
+	 * @param tick the duration of a tick
+	 * @param wheelSize the number of buckets, a power of two
+	 * @param nanoClock the clock, in nanoseconds
+	 * @param expiryScheduler the supplier of the scheduler the expired timeouts are
+	 * signalled on, looked up on each tick
+	 */
+	RequestTimeoutWheel(Duration tick, int wheelSize, LongSupplier nanoClock, Supplier<Scheduler> expiryScheduler) {
+		this.tickNanos = tick.toNanos();
+		this.heads = new Timeout[wheelSize];
+		this.mask = wheelSize - 1;
+		this.nanoClock = nanoClock;
+		this.expiryScheduler = expiryScheduler;
+		this.startNanos = nanoClock.getAsLong();
+	}
+
+	/**
+	 * Returns the wheel shared by all the sessions of the JVM, started on first use.
+	 * @return the shared wheel
+	 */
+	static RequestTimeoutWheel shared() {
+		RequestTimeoutWheel wheel = shared;
+		if (wheel == null) {
+			synchronized (RequestTimeoutWheel.class) {
+				wheel = shared;
+				if (wheel == null) {
+					RequestTimeoutWheel created = new RequestTimeoutWheel(SHARED_TICK, SHARED_WHEEL_SIZE,
+							System::nanoTime, Schedulers::parallel);
+					Scheduler ticker = Schedulers.newSingle("mcp-request-timeouts", true);
+					Flux.interval(SHARED_TICK, ticker).subscribe(tick -> created.expireDue());
+					shared = created;
+					wheel = created;
+				}
+			}
+		}
+		return wheel;
+	}
+
+	/**
+	 * Schedules a timeout, to be expired once its delay has elapsed unless it is
+	 * cancelled first.
+	 * @param timeout the timeout
+	 * @param delay the delay after which the timeout expires
+	 */
+	void schedule(Timeout timeout, Duration delay) {
+		long elapsed = this.nanoClock.getAsLong() - this.startNanos + delay.toNanos();
+		timeout.deadline = (elapsed + this.tickNanos - 1) / this.tickNanos;
+		this.scheduled.offer(timeout);
+	}
+
+	/**
+	 * Expires the timeouts whose deadline has passed, advancing the wheel to the current
+	 * tick.
+	 */
+	void expireDue() {
+		List<Timeout> expired = new ArrayList<>();
+		synchronized (this) {
+			long now = (this.nanoClock.getAsLong() - this.startNanos) / this.tickNanos;
+			fileScheduled();
+			unlinkCancelled();
+			// Visiting each bucket once is enough to expire every due timeout, however
+			// late the wheel is
+			long first = Math.max(this.lastTick + 1, now - this.mask);
+			for (long tick = first; tick <= now; tick++) {
+				Timeout timeout = this.heads[(int) (tick & this.mask)];
+				while (timeout != null) {
+					Timeout next = timeout.next;
+					if (timeout.deadline <= now) {
+						unlink(timeout);
+						if (timeout.state.compareAndSet(PENDING, EXPIRED)) {
+							expired.add(timeout);
+						}
+					}
+					timeout = next;
+				}
+			}
+			this.lastTick = Math.max(this.lastTick, now);
+		}
+		if (expired.isEmpty()) {
+			return;
+		}
+		Scheduler scheduler = this.expiryScheduler.get();
+		for (Timeout timeout : expired) {
+			try {
+				scheduler.schedule(() -> expire(timeout));
+			}
+			catch (RejectedExecutionException e) {
+				// The scheduler is disposed, the timeout is not lost
+				expire(timeout);
+			}
+		}
+	}
+
+	private static void expire(Timeout timeout) {
+		try {
+			timeout.expire();
+		}
+		catch (RuntimeException e) {
+			logger.warn("Failed to expire request timeout", e);
+		}
+	}
+
+	// Must be called while holding the lock
+	private void fileScheduled() {
+		Timeout timeout;
+		while ((timeout = this.scheduled.poll()) != null) {
+			if (timeout.state.get() != PENDING) {
+				continue;
+			}
+			int bucket = (int) (Math.max(timeout.deadline, this.lastTick + 1) & this.mask);
+			timeout.bucket = bucket;
+			timeout.next = this.heads[bucket];
+			if (timeout.next != null) {
+				timeout.next.prev = timeout;
+			}
+			this.heads[bucket] = timeout;
+		}
+	}
+
+	// Must be called while holding the lock
+	private void unlinkCancelled() {
+		Timeout timeout;
+		while ((timeout = this.cancelled.poll()) != null) {
+			unlink(timeout);
+		}
+	}
+
+	// Must be called while holding the lock
+	private void unlink(Timeout timeout) {
+		if (timeout.bucket < 0) {
+			return;
+		}
+		if (timeout.prev != null) {
+			timeout.prev.next = timeout.next;
+		}
+		else {
+			this.heads[timeout.bucket] = timeout.next;
+		}
+		if (timeout.next != null) {
+			timeout.next.prev = timeout.prev;
+		}
+		timeout.prev = null;
+		timeout.next = null;
+		timeout.bucket = -1;
+	}
+
+	/**
+	 * A timeout filed in the wheel. Subclasses hold the state of what times out, so that
+	 * scheduling a timeout allocates no other object.
+	 */
+	abstract static class Timeout {
+
+		private final AtomicInteger state = new AtomicInteger(PENDING);
+
+		// The fields below are guarded by the wheel
+
+		private long deadline;
+
+		private int bucket = -1;
+
+		private Timeout prev;
+
+		private Timeout next;
+
+		/**
+		 * Cancels this timeout, unless it already expired.
+		 * @param wheel the wheel this timeout was scheduled on
+		 * @return {@code true} if the timeout was cancelled
+		 */
+		final boolean cancel(RequestTimeoutWheel wheel) {
+			if (this.state.compareAndSet(PENDING, CANCELLED)) {
+				wheel.cancelled.offer(this);
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * Called on the expiry scheduler of the wheel once the deadline has passed.
+		 */
+		abstract void expire();
+
+	}
+
+}
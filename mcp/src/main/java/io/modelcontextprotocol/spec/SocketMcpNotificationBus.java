@@ -0,0 +1,478 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.util.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+/**
+ * {@link McpNotificationBus} exchanging the notifications with its peers over TCP
+ * connections, typically on the loopback interface to run several nodes of a server on
+ * one machine.
+ *
+ * <p>
+ * Each bus listens on its own address and connects to the addresses of its peers. A batch
+ * of notifications is delivered to this node, then queued for each peer, to be written as
+ * a newline-delimited JSON array on the connection to that peer. Each peer is written to
+ * independently, so a slow or unreachable peer delays neither this node nor the other
+ * peers: connections and writes that take longer than their timeout fail, and the batches
+ * exceeding the queue of a peer are dropped for that peer. A connection that failed is
+ * opened again for the next batch, and a batch that could not be written is written once
+ * more on the new connection; the peers recognize the notifications they already received
+ * by their IDs and deliver them only once.
+ */
+public class SocketMcpNotificationBus implements McpNotificationBus {
+
+	private static final Logger logger = LoggerFactory.getLogger(SocketMcpNotificationBus.class);
+
+	private static final TypeReference<List<Notification>> BATCH_TYPE = new TypeReference<>() {
+	};
+
+	private static final int RECENT_IDS_CAPACITY = 4096;
+
+	private static final int MAX_QUEUED_BATCHES = 256;
+
+	private final ObjectMapper objectMapper;
+
+	private final ServerSocket serverSocket;
+
+	private final Map<InetSocketAddress, Peer> peers = new ConcurrentHashMap<>();
+
+	private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+	private final Sinks.Many<Notification> notifications = Sinks.many().multicast().directBestEffort();
+
+	private final Map<String, Boolean> recentIds = new LinkedHashMap<>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+			return size() > RECENT_IDS_CAPACITY;
+		}
+	};
+
+	private final NotificationBatcher batcher;
+
+	private final Duration connectTimeout;
+
+	private final Duration writeTimeout;
+
+	private volatile boolean closed;
+
+	private SocketMcpNotificationBus(InetSocketAddress bindAddress, List<InetSocketAddress> peers,
+			ObjectMapper objectMapper, Duration batchWindow, int maxBatchSize, Duration connectTimeout,
+			Duration writeTimeout) {
+		this.objectMapper = objectMapper;
+		this.connectTimeout = connectTimeout;
+		this.writeTimeout = writeTimeout;
+		this.batcher = new NotificationBatcher(batchWindow, maxBatchSize, this::send);
+		try {
+			this.serverSocket = new ServerSocket();
+			this.serverSocket.bind(bindAddress);
+		}
+		catch (IOException e) {
+			this.batcher.dispose();
+			throw new UncheckedIOException("Failed to listen on " + bindAddress, e);
+		}
+		peers.forEach(this::addPeer);
+		Thread acceptor = new Thread(this::acceptConnections, "mcp-notification-bus-" + address().getPort());
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	/**
+	 * Returns the address this bus listens on, to be added to the peers of the other
+	 * nodes.
+	 * @return the address of this bus
+	 */
+	public InetSocketAddress address() {
+		return (InetSocketAddress) this.serverSocket.getLocalSocketAddress();
+	}
+
+	/**
+	 * Adds a peer to send the published notifications to.
+	 * @param address the address of the bus of the peer
+	 */
+	public void addPeer(InetSocketAddress address) {
+		Assert.notNull(address, "Peer address must not be null");
+		this.peers.computeIfAbsent(address,
+				peerAddress -> new Peer(peerAddress, this.connectTimeout, this.writeTimeout));
+	}
+
+	/**
+	 * Publishes a notification to all the nodes of the server.
+	 * @param method the method of the notification
+	 * @param params the parameters of the notification, or {@code null}
+	 * @return a {@link Mono} completing once the notification is delivered to this node
+	 * and queued for the peers
+	 */
+	@Override
+	public Mono<Void> publish(String method, Object params) {
+		return this.batcher.publish(method, params);
+	}
+
+	@Override
+	public Flux<Notification> notifications() {
+		return this.notifications.asFlux();
+	}
+
+	/**
+	 * Sends the pending notifications, waiting at most the connect and write timeouts for
+	 * the peers to receive them, then closes the bus.
+	 */
+	@Override
+	public Mono<Void> closeGracefully() {
+		return this.batcher.close()
+			.then(Flux.fromIterable(this.peers.values())
+				.flatMap(Peer::drain)
+				.then()
+				.timeout(this.connectTimeout.plus(this.writeTimeout), Mono.empty()))
+			.then(Mono.<Void>fromRunnable(this::close).subscribeOn(Schedulers.boundedElastic()));
+	}
+
+	/**
+	 * Closes the bus immediately, dropping the pending notifications.
+	 */
+	public void close() {
+		this.closed = true;
+		this.batcher.dispose();
+		closeQuietly(this.serverSocket);
+		this.connections.forEach(SocketMcpNotificationBus::closeQuietly);
+		this.peers.values().forEach(Peer::close);
+		this.notifications.tryEmitComplete();
+	}
+
+	private Mono<Void> send(List<Notification> batch) {
+		return Mono.fromRunnable(() -> {
+			deliver(batch);
+			if (!this.peers.isEmpty()) {
+				byte[] frame = encode(batch);
+				this.peers.values().forEach(peer -> peer.enqueue(frame));
+			}
+		});
+	}
+
+	private byte[] encode(List<Notification> batch) {
+		try {
+			ByteArrayOutputStream frame = new ByteArrayOutputStream();
+			this.objectMapper.writeValue(new NewlineDelimitedFraming.NewlineEscapingOutputStream(frame), batch);
+			frame.write('\n');
+			return frame.toByteArray();
+		}
+		catch (IOException e) {
+			throw new UncheckedIOException("Failed to encode notifications", e);
+		}
+	}
+
+	private synchronized void deliver(List<Notification> batch) {
+		for (Notification notification : batch) {
+			if (this.recentIds.put(notification.id(), Boolean.TRUE) == null) {
+				this.notifications.tryEmitNext(notification);
+			}
+		}
+	}
+
+	private void acceptConnections() {
+		while (!this.closed) {
+			try {
+				Socket socket = this.serverSocket.accept();
+				this.connections.add(socket);
+				Thread reader = new Thread(() -> readNotifications(socket), "mcp-notification-bus-reader");
+				reader.setDaemon(true);
+				reader.start();
+			}
+			catch (IOException e) {
+				if (!this.closed) {
+					logger.warn("Failed to accept notification bus connection", e);
+				}
+			}
+		}
+	}
+
+	private void readNotifications(Socket socket) {
+		try (socket) {
+			NewlineDelimitedFraming.LineReader reader = new NewlineDelimitedFraming.LineReader(socket.getInputStream());
+			ByteBuffer line;
+			while ((line = reader.readLine()) != null) {
+				if (!line.hasRemaining()) {
+					continue;
+				}
+				try {
+					deliver(this.objectMapper.readValue(line.array(), line.arrayOffset() + line.position(),
+							line.remaining(), BATCH_TYPE));
+				}
+				catch (IOException e) {
+					logger.warn("Dropping malformed notifications received from {}", socket.getRemoteSocketAddress(),
+							e);
+				}
+			}
+		}
+		catch (IOException e) {
+			if (!this.closed) {
+				logger.debug("Notification bus connection from {} failed", socket.getRemoteSocketAddress(), e);
+			}
+		}
+		finally {
+			this.connections.remove(socket);
+		}
+	}
+
+	private static void closeQuietly(AutoCloseable closeable) {
+		try {
+			closeable.close();
+		}
+		catch (Exception e) {
+			logger.debug("Failed to close {}", closeable, e);
+		}
+	}
+
+	/**
+	 * Creates a new builder.
+	 * @return a new builder
+	 */
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	/**
+	 * Connection to the bus of a peer, opened on the first batch sent to it. The batches
+	 * queued for the peer are written in order on a worker of its own.
+	 */
+	private static final class Peer {
+
+		private final InetSocketAddress address;
+
+		private final int connectTimeoutMillis;
+
+		private final Duration writeTimeout;
+
+		private final Sinks.Many<byte[]> frames = Sinks.many()
+			.unicast()
+			.onBackpressureBuffer(Queues.<byte[]>get(MAX_QUEUED_BATCHES).get());
+
+		private final Sinks.Empty<Void> drained = Sinks.empty();
+
+		private final Disposable subscription;
+
+		// Only accessed by the worker writing the frames, but closed by any thread
+		private volatile Socket socket;
+
+		private OutputStream outputStream;
+
+		Peer(InetSocketAddress address, Duration connectTimeout, Duration writeTimeout) {
+			this.address = address;
+			this.connectTimeoutMillis = (int) connectTimeout.toMillis();
+			this.writeTimeout = writeTimeout;
+			this.subscription = this.frames.asFlux()
+				.concatMap(frame -> Mono.fromRunnable(() -> send(frame)).subscribeOn(Schedulers.boundedElastic()))
+				.doFinally(signal -> this.drained.tryEmitEmpty())
+				.subscribe();
+		}
+
+		synchronized void enqueue(byte[] frame) {
+			Sinks.EmitResult result = this.frames.tryEmitNext(frame);
+			if (result == Sinks.EmitResult.FAIL_OVERFLOW) {
+				logger.warn("Dropping notifications for {}: {} batches are already waiting to be sent", this.address,
+						MAX_QUEUED_BATCHES);
+			}
+		}
+
+		Mono<Void> drain() {
+			return Mono.defer(() -> {
+				synchronized (this) {
+					this.frames.tryEmitComplete();
+				}
+				return this.drained.asMono();
+			});
+		}
+
+		private void send(byte[] frame) {
+			for (int attempt = 0; attempt < 2; attempt++) {
+				// Blocking writes ignore SO_TIMEOUT, closing the socket interrupts them
+				Disposable deadline = Schedulers.parallel()
+					.schedule(this::closeSocket, this.writeTimeout.toMillis(), TimeUnit.MILLISECONDS);
+				try {
+					if (this.socket == null) {
+						Socket socket = new Socket();
+						socket.setTcpNoDelay(true);
+						socket.connect(this.address, this.connectTimeoutMillis);
+						this.socket = socket;
+						this.outputStream = socket.getOutputStream();
+					}
+					this.outputStream.write(frame);
+					this.outputStream.flush();
+					return;
+				}
+				catch (IOException e) {
+					closeSocket();
+					if (attempt > 0) {
+						logger.warn("Failed to send notifications to {}: {}", this.address, e.getMessage());
+					}
+				}
+				finally {
+					deadline.dispose();
+				}
+			}
+		}
+
+		void close() {
+			this.subscription.dispose();
+			this.drained.tryEmitEmpty();
+			closeSocket();
+		}
+
+		private void closeSocket() {
+			Socket socket = this.socket;
+			if (socket != null) {
+				this.socket = null;
+				closeQuietly(socket);
+			}
+		}
+
+	}
+
+	/**
+	 * Builder for {@link SocketMcpNotificationBus}.
+	 */
+	public static class Builder {
+
+		private InetSocketAddress bindAddress = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+		private final List<InetSocketAddress> peers = new ArrayList<>();
+
+		private ObjectMapper objectMapper = new ObjectMapper();
+
+		private Duration batchWindow = NotificationBatcher.DEFAULT_BATCH_WINDOW;
+
+		private int maxBatchSize = NotificationBatcher.DEFAULT_MAX_BATCH_SIZE;
+
+		private Duration connectTimeout = Duration.ofSeconds(1);
+
+		private Duration writeTimeout = Duration.ofSeconds(5);
+
+		private Builder() {
+		}
+
+		/**
+		 * Sets the address to listen on. Defaults to a free port of the loopback
+		 * interface.
+		 * @param bindAddress the address to listen on
+		 * @return this builder
+		 */
+		public Builder bindAddress(InetSocketAddress bindAddress) {
+			Assert.notNull(bindAddress, "Bind address must not be null");
+			this.bindAddress = bindAddress;
+			return this;
+		}
+
+		/**
+		 * Adds a peer to send the published notifications to. Peers can also be added
+		 * once the bus is built with {@link SocketMcpNotificationBus#addPeer}.
+		 * @param address the address of the bus of the peer
+		 * @return this builder
+		 */
+		public Builder peer(InetSocketAddress address) {
+			Assert.notNull(address, "Peer address must not be null");
+			this.peers.add(address);
+			return this;
+		}
+
+		/**
+		 * Sets the ObjectMapper to serialize the notifications with.
+		 * @param objectMapper the ObjectMapper
+		 * @return this builder
+		 */
+		public Builder objectMapper(ObjectMapper objectMapper) {
+			Assert.notNull(objectMapper, "ObjectMapper must not be null");
+			this.objectMapper = objectMapper;
+			return this;
+		}
+
+		/**
+		 * Sets the time during which published notifications are grouped into a batch.
+		 * Defaults to 10 milliseconds.
+		 * @param batchWindow the batch window
+		 * @return this builder
+		 */
+		public Builder batchWindow(Duration batchWindow) {
+			Assert.notNull(batchWindow, "Batch window must not be null");
+			this.batchWindow = batchWindow;
+			return this;
+		}
+
+		/**
+		 * Sets the maximum number of notifications of a batch. Defaults to 256.
+		 * @param maxBatchSize the maximum batch size
+		 * @return this builder
+		 */
+		public Builder maxBatchSize(int maxBatchSize) {
+			Assert.isTrue(maxBatchSize > 0, "Max batch size must be positive");
+			this.maxBatchSize = maxBatchSize;
+			return this;
+		}
+
+		/**
+		 * Sets how long connecting to a peer may take. Defaults to one second.
+		 * @param connectTimeout the connect timeout
+		 * @return this builder
+		 */
+		public Builder connectTimeout(Duration connectTimeout) {
+			Assert.notNull(connectTimeout, "Connect timeout must not be null");
+			Assert.isTrue(!connectTimeout.isNegative() && !connectTimeout.isZero(), "Connect timeout must be positive");
+			this.connectTimeout = connectTimeout;
+			return this;
+		}
+
+		/**
+		 * Sets how long writing a batch to a peer may take before its connection is
+		 * closed, for example because the peer stopped reading. Defaults to five seconds.
+		 * @param writeTimeout the write timeout
+		 * @return this builder
+		 */
+		public Builder writeTimeout(Duration writeTimeout) {
+			Assert.notNull(writeTimeout, "Write timeout must not be null");
+			Assert.isTrue(!writeTimeout.isNegative() && !writeTimeout.isZero(), "Write timeout must be positive");
+			this.writeTimeout = writeTimeout;
+			return this;
+		}
+
+		/**
+		 * Builds the bus, which starts listening on its address.
+		 * @return the bus
+		 * @throws UncheckedIOException if the bus cannot listen on its address
+		 */
+		public SocketMcpNotificationBus build() {
+			return new SocketMcpNotificationBus(this.bindAddress, this.peers, this.objectMapper, this.batchWindow,
+					this.maxBatchSize, this.connectTimeout, this.writeTimeout);
+		}
+
+	}
+
+}
@@ -22,6 +22,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -999,6 +1000,52 @@ public abstract class AbstractMcpClientServerIntegrationTests {
 		mcpServer.close();
 	}
 
+	@ParameterizedTest(name = "{0} : {displayName} ")
+	@ValueSource(strings = { "httpclient" })
+	void testPaginatedToolList(String clientType) {
+
+		var clientBuilder = clientBuilders.get(clientType);
+
+		List<McpServerFeatures.SyncToolSpecification> tools = IntStream.range(0, 5)
+			.mapToObj(i -> McpServerFeatures.SyncToolSpecification.builder()
+				.tool(Tool.builder().name("tool-" + i).description("Tool " + i).inputSchema(emptyJsonSchema).build())
+				.callHandler((exchange, request) -> new CallToolResult("ok", false))
+				.build())
+			.toList();
+
+		var mcpServer = prepareSyncServerBuilder().capabilities(ServerCapabilities.builder().tools(true).build())
+			.pageSize(2)
+			.tools(tools)
+			.build();
+
+		try (var mcpClient = clientBuilder.build()) {
+
+			assertThat(mcpClient.initialize()).isNotNull();
+
+			McpSchema.ListToolsResult firstPage = mcpClient.listTools(McpSchema.FIRST_PAGE);
+			assertThat(firstPage.tools()).extracting(Tool::name).containsExactly("tool-0", "tool-1");
+			assertThat(firstPage.nextCursor()).isNotNull();
+
+			// Pages that follow come from the snapshot the first page was taken from
+			mcpServer.removeTool("tool-2");
+
+			McpSchema.ListToolsResult secondPage = mcpClient.listTools(firstPage.nextCursor());
+			assertThat(secondPage.tools()).extracting(Tool::name).containsExactly("tool-2", "tool-3");
+
+			McpSchema.ListToolsResult lastPage = mcpClient.listTools(secondPage.nextCursor());
+			assertThat(lastPage.tools()).extracting(Tool::name).containsExactly("tool-4");
+			assertThat(lastPage.nextCursor()).isNull();
+
+			// Listing from the start reflects the change
+			assertThat(mcpClient.listTools().tools()).extracting(Tool::name)
+				.containsExactly("tool-0", "tool-1", "tool-3", "tool-4");
+
+			assertThatExceptionOfType(McpError.class).isThrownBy(() -> mcpClient.listTools("not-a-cursor"));
+		}
+
+		mcpServer.close();
+	}
+
 	// ---------------------------------------
 	// Tool Structured Output Schema Tests
 	// ---------------------------------------
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.server.transport.HttpServletStatelessServerTransport;
+import io.modelcontextprotocol.server.transport.TomcatTestUtil;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.LifecycleState;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for the async mode of {@link HttpServletStatelessServerTransport}.
+ */
+class HttpServletStatelessAsyncModeTests {
+
+	private static final int PORT = TomcatTestUtil.findAvailablePort();
+
+	private static final String MESSAGE_ENDPOINT = "/mcp/message";
+
+	private static final String ACCEPT = "application/json, text/event-stream";
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	private McpStatelessAsyncServer mcpServer;
+
+	private Tomcat tomcat;
+
+	@BeforeEach
+	void before() {
+		HttpServletStatelessServerTransport transport = HttpServletStatelessServerTransport.builder()
+			.objectMapper(new ObjectMapper())
+			.messageEndpoint(MESSAGE_ENDPOINT)
+			.asyncMode(true)
+			.asyncTimeout(Duration.ofMillis(500))
+			.build();
+
+		mcpServer = McpServer.async(transport)
+			.serverInfo("async-mode-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.tools(tool("echo", Duration.ZERO), tool("stuck", Duration.ofSeconds(30)))
+			.build();
+
+		tomcat = TomcatTestUtil.createTomcatServer("", PORT, transport);
+		try {
+			tomcat.start();
+			assertThat(tomcat.getServer().getState()).isEqualTo(LifecycleState.STARTED);
+		}
+		catch (Exception e) {
+			throw new RuntimeException("Failed to start Tomcat", e);
+		}
+	}
+
+	@AfterEach
+	void after() {
+		if (mcpServer != null) {
+			mcpServer.closeGracefully().block();
+		}
+		if (tomcat != null) {
+			try {
+				tomcat.stop();
+				tomcat.destroy();
+			}
+			catch (LifecycleException e) {
+				throw new RuntimeException("Failed to stop Tomcat", e);
+			}
+		}
+	}
+
+	private static McpStatelessServerFeatures.AsyncToolSpecification tool(String name, Duration latency) {
+		Tool tool = Tool.builder().name(name).description(name).inputSchema("""
+				{"type": "object", "properties": {}}
+				""").build();
+		return new McpStatelessServerFeatures.AsyncToolSpecification(tool, (context, request) -> Mono.delay(latency)
+			.thenReturn(new CallToolResult(List.of(new McpSchema.TextContent(name)), false)));
+	}
+
+	@Test
+	void requestsAreAnswered() {
+		McpSyncClient client = McpClient
+			.sync(HttpClientStreamableHttpTransport.builder("http://localhost:" + PORT)
+				.endpoint(MESSAGE_ENDPOINT)
+				.build())
+			.build();
+		try {
+			client.initialize();
+
+			assertThat(client.listTools().tools()).extracting(Tool::name).containsExactlyInAnyOrder("echo", "stuck");
+			assertThat(client.callTool(new McpSchema.CallToolRequest("echo", Map.of())).content())
+				.containsExactly(new McpSchema.TextContent("echo"));
+		}
+		finally {
+			client.closeGracefully();
+		}
+	}
+
+	@Test
+	void notificationsAreAccepted() throws Exception {
+		HttpResponse<String> response = post("""
+				{"jsonrpc": "2.0", "method": "notifications/initialized"}
+				""");
+
+		assertThat(response.statusCode()).isEqualTo(202);
+	}
+
+	@Test
+	void invalidMessageIsRejected() throws Exception {
+		HttpResponse<String> response = post("{\"not\": \"json-rpc\"");
+
+		assertThat(response.statusCode()).isEqualTo(400);
+		assertThat(response.body()).contains("Invalid message format");
+	}
+
+	@Test
+	void requestTimesOut() throws Exception {
+		HttpResponse<String> response = post("""
+				{"jsonrpc": "2.0", "id": 1, "method": "tools/call", "params": {"name": "stuck", "arguments": {}}}
+				""");
+
+		assertThat(response.statusCode()).isEqualTo(503);
+		assertThat(response.body()).contains("Request timed out");
+	}
+
+	@Test
+	void negativeAsyncTimeoutIsRejected() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> HttpServletStatelessServerTransport.builder().asyncTimeout(Duration.ofSeconds(-1)));
+	}
+
+	private HttpResponse<String> post(String body) throws Exception {
+		return this.httpClient.send(HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + MESSAGE_ENDPOINT))
+			.header("Content-Type", "application/json")
+			.header("Accept", ACCEPT)
+			.timeout(Duration.ofSeconds(10))
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.transport.HttpServletStatelessServerTransport;
+import io.modelcontextprotocol.server.transport.TomcatTestUtil;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares the maximum sustained request rate of
+ * {@link HttpServletStatelessServerTransport} in blocking mode against async mode.
+ *
+ * <p>
+ * The server runs on a Tomcat with a small thread pool and serves a tool that answers
+ * after a fixed, non-blocking delay, the way a tool calling a remote service would. The
+ * benchmark threads outnumber the container threads, so in blocking mode the request rate
+ * is bounded by the container threads waiting for the tool, while in async mode it is
+ * bounded by the number of concurrent clients.
+ *
+ * <p>
+ * Run with {@code mvn -pl mcp test-compile} followed by the {@link #main(String[])}
+ * method of this class using the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(64)
+public class HttpServletStatelessTransportBenchmark {
+
+	private static final String MESSAGE_ENDPOINT = "/mcp";
+
+	private static final int CONTAINER_THREADS = 8;
+
+	private static final Duration TOOL_LATENCY = Duration.ofMillis(20);
+
+	private static final String CALL_TOOL = """
+			{"jsonrpc": "2.0", "id": 1, "method": "tools/call", "params": {"name": "remote", "arguments": {}}}
+			""";
+
+	@Param({ "blocking", "async" })
+	public String mode;
+
+	private Tomcat tomcat;
+
+	private McpStatelessAsyncServer mcpServer;
+
+	private HttpClient httpClient;
+
+	private HttpRequest request;
+
+	@Setup
+	public void setup() throws LifecycleException {
+		HttpServletStatelessServerTransport transport = HttpServletStatelessServerTransport.builder()
+			.objectMapper(new ObjectMapper())
+			.messageEndpoint(MESSAGE_ENDPOINT)
+			.asyncMode("async".equals(this.mode))
+			.build();
+
+		Tool tool = Tool.builder().name("remote").description("Calls a remote service").inputSchema("""
+				{"type": "object", "properties": {}}
+				""").build();
+		this.mcpServer = McpServer.async(transport)
+			.serverInfo("benchmark-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.tools(new McpStatelessServerFeatures.AsyncToolSpecification(tool,
+					(context, request) -> Mono.delay(TOOL_LATENCY)
+						.thenReturn(new CallToolResult(List.of(new McpSchema.TextContent("done")), false))))
+			.build();
+
+		int port = TomcatTestUtil.findAvailablePort();
+		this.tomcat = TomcatTestUtil.createTomcatServer("", port, transport);
+		this.tomcat.getConnector().setProperty("maxThreads", String.valueOf(CONTAINER_THREADS));
+		this.tomcat.getConnector().setProperty("minSpareThreads", String.valueOf(CONTAINER_THREADS));
+		this.tomcat.start();
+
+		this.httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+		this.request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + MESSAGE_ENDPOINT))
+			.header("Content-Type", "application/json")
+			.header("Accept", "application/json, text/event-stream")
+			.POST(HttpRequest.BodyPublishers.ofString(CALL_TOOL))
+			.build();
+	}
+
+	@TearDown
+	public void tearDown() throws LifecycleException {
+		this.mcpServer.closeGracefully().block();
+		this.tomcat.stop();
+		this.tomcat.destroy();
+	}
+
+	@Benchmark
+	public int callTool() throws IOException, InterruptedException {
+		HttpResponse<byte[]> response = this.httpClient.send(this.request, HttpResponse.BodyHandlers.ofByteArray());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Unexpected status " + response.statusCode());
+		}
+		return response.body().length;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(HttpServletStatelessTransportBenchmark.class.getSimpleName()).build())
+			.run();
+	}
+
+}
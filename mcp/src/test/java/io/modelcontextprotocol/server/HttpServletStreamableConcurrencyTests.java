@@ -0,0 +1,133 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.client.McpAsyncClient;
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.server.transport.HttpServletStreamableServerTransportProvider;
+import io.modelcontextprotocol.server.transport.TomcatTestUtil;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.LifecycleState;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that {@link HttpServletStreamableServerTransportProvider} does not hold a
+ * container thread while a request is being handled.
+ */
+class HttpServletStreamableConcurrencyTests {
+
+	private static final int PORT = TomcatTestUtil.findAvailablePort();
+
+	private static final String MESSAGE_ENDPOINT = "/mcp/message";
+
+	private static final int CONTAINER_THREADS = 8;
+
+	private static final int CONCURRENT_CALLS = 2000;
+
+	private static final Duration TOOL_LATENCY = Duration.ofMillis(500);
+
+	private HttpServletStreamableServerTransportProvider mcpServerTransportProvider;
+
+	private McpAsyncServer mcpServer;
+
+	private Tomcat tomcat;
+
+	@BeforeEach
+	void before() {
+		mcpServerTransportProvider = HttpServletStreamableServerTransportProvider.builder()
+			.objectMapper(new ObjectMapper())
+			.mcpEndpoint(MESSAGE_ENDPOINT)
+			.build();
+
+		Tool slowTool = Tool.builder().name("slow").description("Responds after a delay").inputSchema("""
+				{"type": "object", "properties": {}}
+				""").build();
+
+		mcpServer = McpServer.async(mcpServerTransportProvider)
+			.serverInfo("concurrency-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.tools(McpServerFeatures.AsyncToolSpecification.builder()
+				.tool(slowTool)
+				.callHandler((exchange, request) -> Mono.delay(TOOL_LATENCY)
+					.thenReturn(new CallToolResult(List.of(new McpSchema.TextContent("done")), false)))
+				.build())
+			.build();
+
+		tomcat = TomcatTestUtil.createTomcatServer("", PORT, mcpServerTransportProvider);
+		tomcat.getConnector().setProperty("maxThreads", String.valueOf(CONTAINER_THREADS));
+		tomcat.getConnector().setProperty("minSpareThreads", String.valueOf(CONTAINER_THREADS));
+		tomcat.getConnector().setProperty("maxConnections", String.valueOf(CONCURRENT_CALLS * 2));
+		tomcat.getConnector().setProperty("acceptCount", String.valueOf(CONCURRENT_CALLS));
+		try {
+			tomcat.start();
+			assertThat(tomcat.getServer().getState()).isEqualTo(LifecycleState.STARTED);
+		}
+		catch (Exception e) {
+			throw new RuntimeException("Failed to start Tomcat", e);
+		}
+	}
+
+	@AfterEach
+	void after() {
+		if (mcpServer != null) {
+			mcpServer.closeGracefully().block();
+		}
+		if (tomcat != null) {
+			try {
+				tomcat.stop();
+				tomcat.destroy();
+			}
+			catch (LifecycleException e) {
+				throw new RuntimeException("Failed to stop Tomcat", e);
+			}
+		}
+	}
+
+	@Test
+	void slowToolCallsDoNotPinContainerThreads() {
+		McpAsyncClient client = McpClient
+			.async(HttpClientStreamableHttpTransport.builder("http://localhost:" + PORT)
+				.endpoint(MESSAGE_ENDPOINT)
+				.build())
+			.requestTimeout(Duration.ofSeconds(90))
+			.build();
+
+		try {
+			client.initialize().block(Duration.ofSeconds(10));
+
+			long start = System.nanoTime();
+			List<CallToolResult> results = Flux.range(0, CONCURRENT_CALLS)
+				.flatMap(i -> client.callTool(new McpSchema.CallToolRequest("slow", Map.of())), CONCURRENT_CALLS)
+				.collectList()
+				.block(Duration.ofSeconds(90));
+			Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+			assertThat(results).hasSize(CONCURRENT_CALLS).allSatisfy(result -> assertThat(result.isError()).isFalse());
+			// Holding a container thread per call would take at least
+			// CONCURRENT_CALLS / CONTAINER_THREADS * TOOL_LATENCY, i.e. over two minutes
+			assertThat(elapsed).isLessThan(TOOL_LATENCY.multipliedBy(CONCURRENT_CALLS / CONTAINER_THREADS / 2));
+		}
+		finally {
+			client.closeGracefully().block(Duration.ofSeconds(10));
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.transport.HttpServletStreamableServerTransportProvider;
+import io.modelcontextprotocol.server.transport.TomcatTestUtil;
+import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.InMemoryMcpEventStore;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.Tool;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.LifecycleState;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that {@link HttpServletStreamableServerTransportProvider} replays the events
+ * of a stream after the {@code Last-Event-ID} of a GET request.
+ */
+class HttpServletStreamableReplayTests {
+
+	private static final int PORT = TomcatTestUtil.findAvailablePort();
+
+	private static final String MESSAGE_ENDPOINT = "/mcp/message";
+
+	private static final Pattern EVENT_ID = Pattern.compile("^id: ?(.+)$", Pattern.MULTILINE);
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	private McpAsyncServer mcpServer;
+
+	private Tomcat tomcat;
+
+	@BeforeEach
+	void before() {
+		HttpServletStreamableServerTransportProvider transportProvider = HttpServletStreamableServerTransportProvider
+			.builder()
+			.objectMapper(new ObjectMapper())
+			.mcpEndpoint(MESSAGE_ENDPOINT)
+			.build();
+
+		Tool tool = Tool.builder().name("progress").description("Logs before responding").inputSchema("""
+				{"type": "object", "properties": {}}
+				""").build();
+
+		mcpServer = McpServer.async(transportProvider)
+			.eventStore(InMemoryMcpEventStore.builder().build())
+			.serverInfo("replay-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.tools(McpServerFeatures.AsyncToolSpecification.builder()
+				.tool(tool)
+				.callHandler((exchange, request) -> exchange
+					.loggingNotification(McpSchema.LoggingMessageNotification.builder()
+						.level(McpSchema.LoggingLevel.INFO)
+						.data("working")
+						.build())
+					.thenReturn(new CallToolResult(List.of(new McpSchema.TextContent("done")), false)))
+				.build())
+			.build();
+
+		tomcat = TomcatTestUtil.createTomcatServer("", PORT, transportProvider);
+		try {
+			tomcat.start();
+			assertThat(tomcat.getServer().getState()).isEqualTo(LifecycleState.STARTED);
+		}
+		catch (Exception e) {
+			throw new RuntimeException("Failed to start Tomcat", e);
+		}
+	}
+
+	@AfterEach
+	void after() {
+		if (mcpServer != null) {
+			mcpServer.closeGracefully().block();
+		}
+		if (tomcat != null) {
+			try {
+				tomcat.stop();
+				tomcat.destroy();
+			}
+			catch (LifecycleException e) {
+				throw new RuntimeException("Failed to stop Tomcat", e);
+			}
+		}
+	}
+
+	@Test
+	void replaysEventsAfterLastEventId() throws Exception {
+		HttpResponse<String> initialize = post(null, """
+				{"jsonrpc": "2.0", "id": 1, "method": "initialize", "params": {"protocolVersion": "2025-03-26",
+				"capabilities": {}, "clientInfo": {"name": "test", "version": "1.0.0"}}}
+				""");
+		assertThat(initialize.statusCode()).isEqualTo(200);
+		String sessionId = initialize.headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+
+		HttpResponse<String> call = post(sessionId, """
+				{"jsonrpc": "2.0", "id": 2, "method": "tools/call", "params": {"name": "progress", "arguments": {}}}
+				""");
+		assertThat(call.statusCode()).isEqualTo(200);
+		List<String> eventIds = eventIds(call.body());
+		assertThat(eventIds).hasSize(2);
+
+		// Resume the stream as if the connection dropped after the notification
+		HttpResponse<String> replay = this.httpClient.send(HttpRequest.newBuilder(uri())
+			.header("Accept", "text/event-stream")
+			.header(HttpHeaders.MCP_SESSION_ID, sessionId)
+			.header(HttpHeaders.LAST_EVENT_ID, eventIds.get(0))
+			.timeout(Duration.ofSeconds(10))
+			.GET()
+			.build(), HttpResponse.BodyHandlers.ofString());
+
+		assertThat(replay.statusCode()).isEqualTo(200);
+		assertThat(eventIds(replay.body())).containsExactly(eventIds.get(1));
+		assertThat(replay.body()).contains("\"id\":2").contains("done").doesNotContain("working");
+	}
+
+	private HttpResponse<String> post(String sessionId, String body) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(uri())
+			.header("Content-Type", "application/json")
+			.header("Accept", "application/json, text/event-stream")
+			.timeout(Duration.ofSeconds(10))
+			.POST(HttpRequest.BodyPublishers.ofString(body));
+		if (sessionId != null) {
+			request.header(HttpHeaders.MCP_SESSION_ID, sessionId);
+		}
+		return this.httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static URI uri() {
+		return URI.create("http://localhost:" + PORT + MESSAGE_ENDPOINT);
+	}
+
+	private static List<String> eventIds(String sseBody) {
+		Matcher matcher = EVENT_ID.matcher(sseBody);
+		return matcher.results().map(result -> result.group(1).trim()).toList();
+	}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.transport.HttpServletStreamableServerTransportProvider;
+import io.modelcontextprotocol.server.transport.TomcatTestUtil;
+import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSessionRegistry;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.LifecycleState;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Verifies that {@link HttpServletStreamableServerTransportProvider} bounds the number of
+ * sessions and closes idle ones.
+ */
+class HttpServletStreamableSessionLimitsTests {
+
+	private static final int PORT = TomcatTestUtil.findAvailablePort();
+
+	private static final String MESSAGE_ENDPOINT = "/mcp/message";
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	private HttpServletStreamableServerTransportProvider transportProvider;
+
+	private McpAsyncServer mcpServer;
+
+	private Tomcat tomcat;
+
+	private void start(Consumer<HttpServletStreamableServerTransportProvider.Builder> customizer) {
+		HttpServletStreamableServerTransportProvider.Builder builder = HttpServletStreamableServerTransportProvider
+			.builder()
+			.objectMapper(new ObjectMapper())
+			.mcpEndpoint(MESSAGE_ENDPOINT);
+		customizer.accept(builder);
+		this.transportProvider = builder.build();
+
+		this.mcpServer = McpServer.async(this.transportProvider)
+			.serverInfo("limits-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().build())
+			.build();
+
+		this.tomcat = TomcatTestUtil.createTomcatServer("", PORT, this.transportProvider);
+		try {
+			this.tomcat.start();
+			assertThat(this.tomcat.getServer().getState()).isEqualTo(LifecycleState.STARTED);
+		}
+		catch (Exception e) {
+			throw new RuntimeException("Failed to start Tomcat", e);
+		}
+	}
+
+	@AfterEach
+	void after() {
+		if (this.mcpServer != null) {
+			this.mcpServer.closeGracefully().block();
+		}
+		if (this.tomcat != null) {
+			try {
+				this.tomcat.stop();
+				this.tomcat.destroy();
+			}
+			catch (LifecycleException e) {
+				throw new RuntimeException("Failed to stop Tomcat", e);
+			}
+		}
+	}
+
+	@Test
+	void rejectsSessionsBeyondMaxSessions() throws Exception {
+		start(builder -> builder.maxSessions(1).sessionEvictionPolicy(McpSessionRegistry.EvictionPolicy.REJECT_NEW));
+
+		assertThat(initialize().statusCode()).isEqualTo(200);
+		assertThat(initialize().statusCode()).isEqualTo(503);
+
+		assertThat(this.transportProvider.sessionMetrics()).isEqualTo(new McpSessionRegistry.Metrics(1, 0, 0, 1, 1));
+	}
+
+	@Test
+	void evictsLeastRecentlyActiveSessionBeyondMaxSessions() throws Exception {
+		start(builder -> builder.maxSessions(1));
+
+		String first = initialize().headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+		String second = initialize().headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+
+		assertThat(ping(first).statusCode()).isEqualTo(404);
+		assertThat(ping(second).statusCode()).isEqualTo(200);
+		assertThat(this.transportProvider.sessionMetrics().evicted()).isEqualTo(1);
+	}
+
+	@Test
+	void closesIdleSessions() throws Exception {
+		start(builder -> builder.sessionIdleTimeout(Duration.ofMillis(500)));
+
+		String sessionId = initialize().headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+		assertThat(ping(sessionId).statusCode()).isEqualTo(200);
+
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(this.transportProvider.sessionMetrics().expired()).isEqualTo(1));
+		assertThat(ping(sessionId).statusCode()).isEqualTo(404);
+	}
+
+	private HttpResponse<String> initialize() throws Exception {
+		return post(null, """
+				{"jsonrpc": "2.0", "id": 1, "method": "initialize", "params": {"protocolVersion": "2025-03-26",
+				"capabilities": {}, "clientInfo": {"name": "test", "version": "1.0.0"}}}
+				""");
+	}
+
+	private HttpResponse<String> ping(String sessionId) throws Exception {
+		return post(sessionId, """
+				{"jsonrpc": "2.0", "id": 2, "method": "ping"}
+				""");
+	}
+
+	private HttpResponse<String> post(String sessionId, String body) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + PORT + MESSAGE_ENDPOINT))
+			.header("Content-Type", "application/json")
+			.header("Accept", "application/json, text/event-stream")
+			.timeout(Duration.ofSeconds(10))
+			.POST(HttpRequest.BodyPublishers.ofString(body));
+		if (sessionId != null) {
+			request.header(HttpHeaders.MCP_SESSION_ID, sessionId);
+		}
+		return this.httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+}
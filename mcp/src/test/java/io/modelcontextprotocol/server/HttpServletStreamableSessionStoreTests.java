@@ -0,0 +1,214 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.transport.HttpServletStreamableServerTransportProvider;
+import io.modelcontextprotocol.server.transport.TomcatTestUtil;
+import io.modelcontextprotocol.spec.HttpHeaders;
+import io.modelcontextprotocol.spec.InMemoryMcpSessionStore;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSessionStore;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.LifecycleState;
+import org.apache.catalina.startup.Tomcat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Verifies that the nodes of a server sharing an {@link McpSessionStore} handle the
+ * requests of each other's sessions.
+ */
+class HttpServletStreamableSessionStoreTests {
+
+	private static final String MESSAGE_ENDPOINT = "/mcp/message";
+
+	private final HttpClient httpClient = HttpClient.newHttpClient();
+
+	private final List<Node> nodes = new ArrayList<>();
+
+	private record Node(int port, HttpServletStreamableServerTransportProvider transportProvider,
+			McpAsyncServer mcpServer, Tomcat tomcat) {
+	}
+
+	private Node start(McpSessionStore sessionStore) {
+		return start(sessionStore, builder -> {
+		});
+	}
+
+	private Node start(McpSessionStore sessionStore,
+			Consumer<HttpServletStreamableServerTransportProvider.Builder> customizer) {
+		HttpServletStreamableServerTransportProvider.Builder builder = HttpServletStreamableServerTransportProvider
+			.builder()
+			.objectMapper(new ObjectMapper())
+			.mcpEndpoint(MESSAGE_ENDPOINT);
+		customizer.accept(builder);
+		HttpServletStreamableServerTransportProvider transportProvider = builder.build();
+
+		McpAsyncServer mcpServer = McpServer.async(transportProvider)
+			.sessionStore(sessionStore)
+			.serverInfo("store-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().build())
+			.build();
+
+		int port = TomcatTestUtil.findAvailablePort();
+		Tomcat tomcat = TomcatTestUtil.createTomcatServer("", port, transportProvider);
+		try {
+			tomcat.start();
+			assertThat(tomcat.getServer().getState()).isEqualTo(LifecycleState.STARTED);
+		}
+		catch (Exception e) {
+			throw new RuntimeException("Failed to start Tomcat", e);
+		}
+		Node node = new Node(port, transportProvider, mcpServer, tomcat);
+		this.nodes.add(node);
+		return node;
+	}
+
+	@AfterEach
+	void after() {
+		for (Node node : this.nodes) {
+			node.mcpServer().closeGracefully().block();
+			try {
+				node.tomcat().stop();
+				node.tomcat().destroy();
+			}
+			catch (LifecycleException e) {
+				throw new RuntimeException("Failed to stop Tomcat", e);
+			}
+		}
+	}
+
+	@Test
+	void sessionInitializedOnOneNodeIsHandledByAnother() throws Exception {
+		McpSessionStore sessionStore = new InMemoryMcpSessionStore();
+		Node first = start(sessionStore);
+		Node second = start(sessionStore);
+
+		String sessionId = initialize(first).headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+
+		HttpResponse<String> ping = ping(second, sessionId);
+		assertThat(ping.statusCode()).isEqualTo(200);
+		assertThat(ping.body()).contains("\"id\":2");
+		assertThat(second.transportProvider().sessionMetrics().active()).isEqualTo(1);
+	}
+
+	@Test
+	void sessionSurvivesTheLossOfItsNode() throws Exception {
+		McpSessionStore sessionStore = new InMemoryMcpSessionStore();
+		Node first = start(sessionStore);
+
+		String sessionId = initialize(first).headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+		first.mcpServer().closeGracefully().block();
+		first.tomcat().stop();
+
+		Node second = start(sessionStore);
+		assertThat(ping(second, sessionId).statusCode()).isEqualTo(200);
+	}
+
+	@Test
+	void deletedSessionIsNotRestored() throws Exception {
+		McpSessionStore sessionStore = new InMemoryMcpSessionStore();
+		Node first = start(sessionStore);
+		Node second = start(sessionStore);
+
+		String sessionId = initialize(first).headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+		assertThat(delete(first, sessionId).statusCode()).isEqualTo(200);
+
+		assertThat(ping(second, sessionId).statusCode()).isEqualTo(404);
+		assertThat(sessionStore.load(sessionId).blockOptional()).isEmpty();
+	}
+
+	@Test
+	void expiredSessionIsNotRestored() throws Exception {
+		McpSessionStore sessionStore = new InMemoryMcpSessionStore();
+		Node first = start(sessionStore, builder -> builder.sessionIdleTimeout(Duration.ofMillis(200)));
+		Node second = start(sessionStore);
+
+		String sessionId = initialize(first).headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(first.transportProvider().sessionMetrics().expired()).isEqualTo(1));
+
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(sessionStore.load(sessionId).blockOptional()).isEmpty());
+		assertThat(ping(second, sessionId).statusCode()).isEqualTo(404);
+	}
+
+	@Test
+	void evictedSessionIsNotRestored() throws Exception {
+		McpSessionStore sessionStore = new InMemoryMcpSessionStore();
+		Node first = start(sessionStore, builder -> builder.maxSessions(1));
+		Node second = start(sessionStore);
+
+		String evicted = initialize(first).headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+		initialize(first);
+		assertThat(first.transportProvider().sessionMetrics().evicted()).isEqualTo(1);
+
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(sessionStore.load(evicted).blockOptional()).isEmpty());
+		assertThat(ping(second, evicted).statusCode()).isEqualTo(404);
+	}
+
+	@Test
+	void sessionsAreNotSharedBetweenStores() throws Exception {
+		Node first = start(new InMemoryMcpSessionStore());
+		Node second = start(new InMemoryMcpSessionStore());
+
+		String sessionId = initialize(first).headers().firstValue(HttpHeaders.MCP_SESSION_ID).orElseThrow();
+
+		assertThat(ping(second, sessionId).statusCode()).isEqualTo(404);
+	}
+
+	private HttpResponse<String> initialize(Node node) throws Exception {
+		return post(node, null, """
+				{"jsonrpc": "2.0", "id": 1, "method": "initialize", "params": {"protocolVersion": "2025-03-26",
+				"capabilities": {}, "clientInfo": {"name": "test", "version": "1.0.0"}}}
+				""");
+	}
+
+	private HttpResponse<String> ping(Node node, String sessionId) throws Exception {
+		return post(node, sessionId, """
+				{"jsonrpc": "2.0", "id": 2, "method": "ping"}
+				""");
+	}
+
+	private HttpResponse<String> post(Node node, String sessionId, String body) throws Exception {
+		HttpRequest.Builder request = HttpRequest.newBuilder(uri(node))
+			.header("Content-Type", "application/json")
+			.header("Accept", "application/json, text/event-stream")
+			.timeout(Duration.ofSeconds(10))
+			.POST(HttpRequest.BodyPublishers.ofString(body));
+		if (sessionId != null) {
+			request.header(HttpHeaders.MCP_SESSION_ID, sessionId);
+		}
+		return this.httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private HttpResponse<String> delete(Node node, String sessionId) throws Exception {
+		HttpRequest request = HttpRequest.newBuilder(uri(node))
+			.header(HttpHeaders.MCP_SESSION_ID, sessionId)
+			.timeout(Duration.ofSeconds(10))
+			.DELETE()
+			.build();
+		return this.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static URI uri(Node node) {
+		return URI.create("http://localhost:" + node.port() + MESSAGE_ENDPOINT);
+	}
+
+}
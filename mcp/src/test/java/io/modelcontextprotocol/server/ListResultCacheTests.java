@@ -0,0 +1,144 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.RawJsonValue;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ListResultCache}.
+ */
+class ListResultCacheTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final ListResultCache cache = new ListResultCache(objectMapper);
+
+	private static McpSchema.Prompt prompt(String name) {
+		return new McpSchema.Prompt(name, "Prompt " + name, List.of());
+	}
+
+	private RawJsonValue page(ListResultCache cache, String cursor, Supplier<List<McpSchema.Prompt>> prompts) {
+		return cache.page(McpSchema.METHOD_PROMPT_LIST, cursor, prompts, McpSchema.ListPromptsResult::new);
+	}
+
+	private McpSchema.ListPromptsResult read(RawJsonValue page) {
+		return objectMapper.convertValue(page, McpSchema.ListPromptsResult.class);
+	}
+
+	@Test
+	void buildsEachResultOncePerVersion() {
+		AtomicInteger builds = new AtomicInteger();
+		Supplier<List<McpSchema.Prompt>> prompts = () -> {
+			builds.incrementAndGet();
+			return List.of(prompt("a"));
+		};
+
+		RawJsonValue first = page(cache, null, prompts);
+		RawJsonValue second = page(cache, null, prompts);
+
+		assertThat(builds).hasValue(1);
+		assertThat(second).isSameAs(first);
+		assertThat(read(first).nextCursor()).isNull();
+	}
+
+	@Test
+	void invalidateRebuildsEveryResult() {
+		RawJsonValue tools = cache.page(McpSchema.METHOD_TOOLS_LIST, null, List::<McpSchema.Tool>of,
+				McpSchema.ListToolsResult::new);
+		RawJsonValue prompts = page(cache, null, List::of);
+		long version = cache.version();
+
+		cache.invalidate();
+
+		assertThat(cache.version()).isGreaterThan(version);
+		assertThat(
+				cache.page(McpSchema.METHOD_TOOLS_LIST, null, List::<McpSchema.Tool>of, McpSchema.ListToolsResult::new))
+			.isNotSameAs(tools);
+		assertThat(page(cache, null, List::of)).isNotSameAs(prompts);
+	}
+
+	@Test
+	void changeDuringRebuildIsNotCached() {
+		RawJsonValue stale = page(cache, null, () -> {
+			// The registry changes while the result is being built
+			cache.invalidate();
+			return List.of();
+		});
+
+		RawJsonValue fresh = page(cache, null, () -> List.of(prompt("added")));
+
+		assertThat(fresh).isNotSameAs(stale);
+		assertThat(fresh.toString()).contains("added");
+	}
+
+	@Test
+	void pagesFollowCursorsUntilTheEnd() {
+		ListResultCache paginated = new ListResultCache(objectMapper, 2);
+		List<McpSchema.Prompt> prompts = List.of(prompt("a"), prompt("b"), prompt("c"), prompt("d"), prompt("e"));
+
+		List<String> names = new ArrayList<>();
+		String cursor = null;
+		int pages = 0;
+		do {
+			McpSchema.ListPromptsResult result = read(page(paginated, cursor, () -> prompts));
+			result.prompts().forEach(prompt -> names.add(prompt.name()));
+			cursor = result.nextCursor();
+			pages++;
+		}
+		while (cursor != null);
+
+		assertThat(pages).isEqualTo(3);
+		assertThat(names).containsExactly("a", "b", "c", "d", "e");
+	}
+
+	@Test
+	void cursorStaysOnItsSnapshotWhileRegistryChanges() {
+		ListResultCache paginated = new ListResultCache(objectMapper, 2);
+		List<McpSchema.Prompt> registry = new ArrayList<>(List.of(prompt("a"), prompt("b"), prompt("c")));
+
+		McpSchema.ListPromptsResult first = read(page(paginated, null, () -> registry));
+		registry.add(0, prompt("new"));
+		paginated.invalidate();
+
+		McpSchema.ListPromptsResult second = read(page(paginated, first.nextCursor(), () -> registry));
+		McpSchema.ListPromptsResult restarted = read(page(paginated, null, () -> registry));
+
+		assertThat(second.prompts()).extracting(McpSchema.Prompt::name).containsExactly("c");
+		assertThat(second.nextCursor()).isNull();
+		assertThat(restarted.prompts()).extracting(McpSchema.Prompt::name).containsExactly("new", "a");
+	}
+
+	@Test
+	void rejectsInvalidAndExpiredCursors() {
+		ListResultCache paginated = new ListResultCache(objectMapper, 1);
+		List<McpSchema.Prompt> prompts = List.of(prompt("a"), prompt("b"));
+		String cursor = read(page(paginated, null, () -> prompts)).nextCursor();
+
+		assertThatExceptionOfType(McpError.class).isThrownBy(() -> page(paginated, "garbage!", () -> prompts))
+			.satisfies(
+					error -> assertThat(error.getJsonRpcError().code()).isEqualTo(McpSchema.ErrorCodes.INVALID_PARAMS));
+
+		// Enough changes for the snapshot of the cursor to be evicted
+		for (int i = 0; i < 8; i++) {
+			paginated.invalidate();
+			page(paginated, null, () -> prompts);
+		}
+		assertThatExceptionOfType(McpError.class).isThrownBy(() -> page(paginated, cursor, () -> prompts))
+			.withMessageContaining("expired");
+	}
+
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpStatelessServerTransport;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link McpAdaptiveLimiter}.
+ */
+class McpAdaptiveLimiterTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	@Test
+	void callsBeyondTheLimitAreRejected() {
+		McpAdaptiveLimiter limiter = limiter().initialLimit(1).build();
+		Sinks.One<String> inFlight = Sinks.one();
+
+		limiter.call(inFlight.asMono()).subscribe();
+
+		StepVerifier.create(limiter.call(Mono.just("second")))
+			.expectErrorSatisfies(error -> assertThat(((McpError) error).getJsonRpcError().code())
+				.isEqualTo(McpSchema.ErrorCodes.SERVER_OVERLOADED))
+			.verify();
+		assertThat(limiter.metrics().inFlightCalls()).isEqualTo(1);
+		assertThat(limiter.metrics().rejectedCalls()).isEqualTo(1);
+
+		inFlight.tryEmitValue("first");
+
+		assertThat(limiter.metrics().inFlightCalls()).isZero();
+		assertThat(limiter.call(Mono.just("third")).block()).isEqualTo("third");
+	}
+
+	@Test
+	void fastCallsUsingHalfTheLimitRaiseIt() {
+		McpAdaptiveLimiter limiter = limiter().initialLimit(2).maxLimit(3).build();
+
+		call(limiter, Duration.ofMillis(10));
+		call(limiter, Duration.ofMillis(10));
+
+		assertThat(limiter.metrics().limit()).isEqualTo(3);
+	}
+
+	@Test
+	void slowCallsLowerTheLimit() {
+		McpAdaptiveLimiter limiter = limiter().initialLimit(10)
+			.minLimit(8)
+			.latencyThreshold(Duration.ofMillis(100))
+			.backoffRatio(0.5)
+			.build();
+
+		call(limiter, Duration.ofMillis(200));
+
+		assertThat(limiter.metrics().limit()).isEqualTo(8);
+		assertThat(limiter.metrics().averageLatency()).isEqualTo(Duration.ofMillis(200));
+	}
+
+	@Test
+	void timedOutCallsLowerTheLimit() {
+		McpAdaptiveLimiter limiter = limiter().initialLimit(10).backoffRatio(0.5).build();
+
+		StepVerifier.create(limiter.call(Mono.error(new TimeoutException()))).expectError().verify();
+
+		assertThat(limiter.metrics().limit()).isEqualTo(5);
+	}
+
+	@Test
+	void rejectionHintsToRetryAfterTheAverageLatency() {
+		McpAdaptiveLimiter limiter = limiter().initialLimit(2).maxLimit(2).minRetryAfter(Duration.ofMillis(10)).build();
+		call(limiter, Duration.ofMillis(40));
+		limiter.call(Mono.never()).subscribe();
+		limiter.call(Mono.never()).subscribe();
+
+		StepVerifier.create(limiter.call(Mono.just("rejected")))
+			.expectErrorSatisfies(error -> assertThat(((McpError) error).getJsonRpcError().data())
+				.isEqualTo(Map.of("retryAfterMs", 40L)))
+			.verify();
+	}
+
+	@Test
+	void rejectionBeforeAnyCallCompletedHintsToRetryAfterTheMinimum() {
+		McpAdaptiveLimiter limiter = limiter().initialLimit(1).minRetryAfter(Duration.ofMillis(250)).build();
+		limiter.call(Mono.never()).subscribe();
+
+		StepVerifier.create(limiter.call(Mono.just("rejected")))
+			.expectErrorSatisfies(error -> assertThat(((McpError) error).getJsonRpcError().data())
+				.isEqualTo(Map.of("retryAfterMs", 250L)))
+			.verify();
+	}
+
+	@Test
+	void statelessServerAnswersRejectedCallsWithAnOverloadedError() {
+		CapturingStatelessTransport transport = new CapturingStatelessTransport();
+		Sinks.One<McpSchema.CallToolResult> result = Sinks.one();
+		McpServer.async(transport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.toolCallLimiter(limiter().initialLimit(1).build())
+			.tools(McpStatelessServerFeatures.AsyncToolSpecification.builder()
+				.tool(McpSchema.Tool.builder().name("slow").inputSchema("{}").build())
+				.callHandler((ctx, request) -> result.asMono())
+				.build())
+			.build();
+
+		transport.handler.handleRequest(McpTransportContext.EMPTY, toolsCall(1)).subscribe();
+		McpSchema.JSONRPCResponse rejection = transport.handler.handleRequest(McpTransportContext.EMPTY, toolsCall(2))
+			.block();
+
+		assertThat(rejection.error().code()).isEqualTo(McpSchema.ErrorCodes.SERVER_OVERLOADED);
+		assertThat(rejection.error().data()).isEqualTo(Map.of("retryAfterMs", 100L));
+	}
+
+	@Test
+	void cachedResultsAreServedWithoutTakingASlot() {
+		CapturingStatelessTransport transport = new CapturingStatelessTransport();
+		McpAdaptiveLimiter limiter = limiter().initialLimit(1).build();
+		McpServer.async(transport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.toolResultCache(McpToolResultCache.builder().ttl("cached", Duration.ofMinutes(1)).build())
+			.toolCallLimiter(limiter)
+			.tools(McpStatelessServerFeatures.AsyncToolSpecification.builder()
+				.tool(McpSchema.Tool.builder()
+					.name("cached")
+					.inputSchema("{}")
+					.annotations(new McpSchema.ToolAnnotations(null, true, null, null, null, null))
+					.build())
+				.callHandler((ctx, request) -> Mono
+					.just(McpSchema.CallToolResult.builder().addTextContent("cached").build()))
+				.build(),
+					McpStatelessServerFeatures.AsyncToolSpecification.builder()
+						.tool(McpSchema.Tool.builder().name("slow").inputSchema("{}").build())
+						.callHandler((ctx, request) -> Mono.never())
+						.build())
+			.build();
+		transport.handler.handleRequest(McpTransportContext.EMPTY, toolsCall(1, "cached")).block();
+		transport.handler.handleRequest(McpTransportContext.EMPTY, toolsCall(2, "slow")).subscribe();
+
+		McpSchema.JSONRPCResponse cached = transport.handler
+			.handleRequest(McpTransportContext.EMPTY, toolsCall(3, "cached"))
+			.block();
+
+		assertThat(cached.error()).isNull();
+		assertThat(limiter.metrics().inFlightCalls()).isEqualTo(1);
+		assertThat(limiter.metrics().rejectedCalls()).isZero();
+	}
+
+	private McpAdaptiveLimiter.Builder limiter() {
+		return McpAdaptiveLimiter.builder().nanoClock(this.nanos::get);
+	}
+
+	private void call(McpAdaptiveLimiter limiter, Duration latency) {
+		limiter.call(Mono.fromRunnable(() -> this.nanos.addAndGet(latency.toNanos())).thenReturn("done")).block();
+	}
+
+	private static McpSchema.JSONRPCRequest toolsCall(int id) {
+		return toolsCall(id, "slow");
+	}
+
+	private static McpSchema.JSONRPCRequest toolsCall(int id, String toolName) {
+		return new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, id,
+				Map.of("name", toolName, "arguments", Map.of()));
+	}
+
+	private static final class CapturingStatelessTransport implements McpStatelessServerTransport {
+
+		private volatile McpStatelessServerHandler handler;
+
+		@Override
+		public void setMcpHandler(McpStatelessServerHandler mcpHandler) {
+			this.handler = mcpHandler;
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+	}
+
+}
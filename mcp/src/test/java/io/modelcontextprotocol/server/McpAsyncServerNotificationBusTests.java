@@ -0,0 +1,107 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.modelcontextprotocol.spec.InMemoryMcpNotificationBus;
+import io.modelcontextprotocol.spec.McpNotificationBus;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Verifies that the notifications of an {@link McpAsyncServer} reach the sessions of all
+ * the nodes sharing its {@link McpNotificationBus}.
+ */
+class McpAsyncServerNotificationBusTests {
+
+	private final McpNotificationBus notificationBus = new InMemoryMcpNotificationBus(Duration.ofMillis(100), 256);
+
+	private final RecordingTransportProvider firstTransport = new RecordingTransportProvider();
+
+	private final RecordingTransportProvider secondTransport = new RecordingTransportProvider();
+
+	private final McpAsyncServer first = server(this.firstTransport);
+
+	private final McpAsyncServer second = server(this.secondTransport);
+
+	private McpAsyncServer server(McpServerTransportProvider transportProvider) {
+		return McpServer.async(transportProvider)
+			.notificationBus(this.notificationBus)
+			.serverInfo("bus-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(true).prompts(true).build())
+			.build();
+	}
+
+	@AfterEach
+	void after() {
+		this.first.closeGracefully().block();
+		this.second.closeGracefully().block();
+		this.notificationBus.closeGracefully().block();
+	}
+
+	@Test
+	void notificationIsDeliveredByEveryNode() {
+		this.first.notifyToolsListChanged().block();
+
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(this.secondTransport.methods)
+				.containsExactly(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED));
+		assertThat(this.firstTransport.methods).containsExactly(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED);
+	}
+
+	@Test
+	void identicalNotificationsAreCoalesced() {
+		Mono.when(this.first.notifyToolsListChanged(), this.first.notifyToolsListChanged(),
+				this.second.notifyToolsListChanged(), this.second.notifyPromptsListChanged())
+			.block();
+
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(() -> assertThat(this.secondTransport.methods).containsExactly(
+					McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED,
+					McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED));
+		assertThat(this.firstTransport.methods).isEqualTo(this.secondTransport.methods);
+	}
+
+	@Test
+	void closedServerNoLongerDeliversNotifications() {
+		this.second.closeGracefully().block();
+
+		this.first.notifyToolsListChanged().block();
+
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(this.firstTransport.methods).hasSize(1));
+		assertThat(this.secondTransport.methods).isEmpty();
+	}
+
+	private static final class RecordingTransportProvider implements McpServerTransportProvider {
+
+		private final List<String> methods = new CopyOnWriteArrayList<>();
+
+		@Override
+		public void setSessionFactory(McpServerSession.Factory sessionFactory) {
+		}
+
+		@Override
+		public Mono<Void> notifyClients(String method, Object params) {
+			return Mono.fromRunnable(() -> this.methods.add(method));
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+	}
+
+}
@@ -0,0 +1,306 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpStatelessServerTransport;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link McpRateLimiter}.
+ */
+class McpRateLimiterTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	private final McpRequestHandler<String> handler = (exchange, params) -> Mono.just("handled");
+
+	@Test
+	void requestsBeyondTheBurstAreRejectedWithARetryHint() {
+		McpRateLimiter limiter = limiter().limit(McpSchema.METHOD_TOOLS_CALL, 2, Duration.ofSeconds(1)).build();
+		McpRequestHandler<String> limited = limiter.limit(McpSchema.METHOD_TOOLS_CALL, this.handler);
+
+		assertHandled(limited, exchange("session"));
+		assertHandled(limited, exchange("session"));
+
+		StepVerifier.create(limited.handle(exchange("session"), null)).expectErrorSatisfies(error -> {
+			McpSchema.JSONRPCResponse.JSONRPCError jsonRpcError = ((McpError) error).getJsonRpcError();
+			assertThat(jsonRpcError.code()).isEqualTo(McpSchema.ErrorCodes.RATE_LIMITED);
+			assertThat(jsonRpcError.data()).isEqualTo(Map.of("retryAfterMs", 500L));
+		}).verify();
+		assertThat(limiter.metrics().rejectedRequests()).isEqualTo(1);
+	}
+
+	@Test
+	void tokensAreRefilledOverThePeriod() {
+		McpRateLimiter limiter = limiter().limit(McpSchema.METHOD_TOOLS_CALL, 2, Duration.ofSeconds(1)).build();
+		McpRequestHandler<String> limited = limiter.limit(McpSchema.METHOD_TOOLS_CALL, this.handler);
+		assertHandled(limited, exchange("session"));
+		assertHandled(limited, exchange("session"));
+
+		this.nanos.addAndGet(Duration.ofMillis(500).toNanos());
+
+		assertHandled(limited, exchange("session"));
+		assertRateLimited(limited, exchange("session"));
+	}
+
+	@Test
+	void eachSessionHasItsOwnBucket() {
+		McpRateLimiter limiter = limiter().limit(McpSchema.METHOD_TOOLS_CALL, 1, Duration.ofSeconds(1)).build();
+		McpRequestHandler<String> limited = limiter.limit(McpSchema.METHOD_TOOLS_CALL, this.handler);
+
+		assertHandled(limited, exchange("first"));
+		assertRateLimited(limited, exchange("first"));
+		assertHandled(limited, exchange("second"));
+	}
+
+	@Test
+	void sessionsOfAClientShareItsBucketWhenKeyedByClientName() {
+		McpRateLimiter limiter = limiter().keyResolver(McpRateLimiter.byClientName())
+			.limit(McpSchema.METHOD_TOOLS_CALL, 1, Duration.ofSeconds(1))
+			.build();
+		McpRequestHandler<String> limited = limiter.limit(McpSchema.METHOD_TOOLS_CALL, this.handler);
+
+		assertHandled(limited, exchange("first", "agent", McpTransportContext.EMPTY));
+		assertRateLimited(limited, exchange("second", "agent", McpTransportContext.EMPTY));
+		assertHandled(limited, exchange("third", "other-agent", McpTransportContext.EMPTY));
+	}
+
+	@Test
+	void requestsAreKeyedByTheirTransportContextValue() {
+		McpRateLimiter limiter = limiter().keyResolver(McpRateLimiter.byTransportContext("subject"))
+			.limit(McpSchema.METHOD_TOOLS_CALL, 1, Duration.ofSeconds(1))
+			.build();
+		McpRequestHandler<String> limited = limiter.limit(McpSchema.METHOD_TOOLS_CALL, this.handler);
+		McpTransportContext alice = new DefaultMcpTransportContext();
+		alice.put("subject", "alice");
+
+		assertHandled(limited, exchange("first", "agent", alice));
+		assertRateLimited(limited, exchange("second", "agent", alice.copy()));
+		assertHandled(limited, exchange("second", "agent", McpTransportContext.EMPTY));
+	}
+
+	@Test
+	void methodsAreLimitedByTheirOwnOrTheDefaultLimit() {
+		McpRateLimiter limiter = limiter().limit(McpSchema.METHOD_TOOLS_CALL, 1, Duration.ofSeconds(1)).build();
+
+		assertThat(limiter.limit(McpSchema.METHOD_RESOURCES_READ, this.handler)).isSameAs(this.handler);
+
+		McpRateLimiter withDefault = limiter().limit(McpSchema.METHOD_TOOLS_CALL, 1, Duration.ofSeconds(1))
+			.defaultLimit(2, Duration.ofSeconds(1))
+			.build();
+		McpRequestHandler<String> toolsCall = withDefault.limit(McpSchema.METHOD_TOOLS_CALL, this.handler);
+		McpRequestHandler<String> resourcesRead = withDefault.limit(McpSchema.METHOD_RESOURCES_READ, this.handler);
+
+		assertHandled(toolsCall, exchange("session"));
+		assertRateLimited(toolsCall, exchange("session"));
+		assertHandled(resourcesRead, exchange("session"));
+		assertHandled(resourcesRead, exchange("session"));
+		assertRateLimited(resourcesRead, exchange("session"));
+	}
+
+	@Test
+	void fullBucketsAreEvictedOncePerPeriodWithoutRequests() {
+		VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+		McpRateLimiter limiter = limiter().evictionScheduler(scheduler)
+			.limit(McpSchema.METHOD_TOOLS_CALL, 2, Duration.ofSeconds(1))
+			.build();
+		McpRequestHandler<String> limited = limiter.limit(McpSchema.METHOD_TOOLS_CALL, this.handler);
+		assertHandled(limited, exchange("closed"));
+		assertHandled(limited, exchange("active"));
+
+		this.nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+		assertHandled(limited, exchange("active"));
+		assertThat(limiter.metrics().trackedBuckets()).isEqualTo(2);
+
+		scheduler.advanceTimeBy(Duration.ofSeconds(1));
+		assertThat(limiter.metrics().trackedBuckets()).isEqualTo(1);
+
+		// The server went quiet
+		this.nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+		scheduler.advanceTimeBy(Duration.ofSeconds(1));
+		assertThat(limiter.metrics().trackedBuckets()).isZero();
+
+		assertHandled(limited, exchange("active"));
+		this.nanos.addAndGet(Duration.ofSeconds(1).toNanos());
+		scheduler.advanceTimeBy(Duration.ofSeconds(1));
+		assertThat(limiter.metrics().trackedBuckets()).isZero();
+	}
+
+	@Test
+	void statelessRequestsAreKeyedByTheirTransportContextValue() {
+		McpRateLimiter limiter = limiter().keyResolver(McpRateLimiter.byTransportContext("subject"))
+			.limit(McpSchema.METHOD_TOOLS_CALL, 1, Duration.ofMinutes(1))
+			.build();
+		CapturingStatelessTransport transport = new CapturingStatelessTransport();
+		McpServer.async(transport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.rateLimiter(limiter)
+			.tools(McpStatelessServerFeatures.AsyncToolSpecification.builder()
+				.tool(McpSchema.Tool.builder().name("echo").inputSchema("{}").build())
+				.callHandler((ctx, request) -> Mono.just(CallToolResult.builder().addTextContent("done").build()))
+				.build())
+			.build();
+		McpTransportContext alice = new DefaultMcpTransportContext();
+		alice.put("subject", "alice");
+		McpTransportContext bob = new DefaultMcpTransportContext();
+		bob.put("subject", "bob");
+
+		assertThat(toolsCall(transport, alice).error()).isNull();
+		McpSchema.JSONRPCResponse rejection = toolsCall(transport, alice.copy());
+		assertThat(toolsCall(transport, bob).error()).isNull();
+
+		assertThat(rejection.error().code()).isEqualTo(McpSchema.ErrorCodes.RATE_LIMITED);
+		assertThat(rejection.error().data()).isEqualTo(Map.of("retryAfterMs", 60_000L));
+	}
+
+	@Test
+	void statelessRequestsCanBeKeyedByAFunctionOfTheirTransportContext() {
+		McpRateLimiter limiter = limiter()
+			.transportContextKeyResolver(context -> context.get("tenant") + "/" + context.get("subject"))
+			.limit(McpSchema.METHOD_TOOLS_CALL, 1, Duration.ofMinutes(1))
+			.build();
+		CapturingStatelessTransport transport = new CapturingStatelessTransport();
+		McpServer.async(transport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.rateLimiter(limiter)
+			.tools(McpStatelessServerFeatures.AsyncToolSpecification.builder()
+				.tool(McpSchema.Tool.builder().name("echo").inputSchema("{}").build())
+				.callHandler((ctx, request) -> Mono.just(CallToolResult.builder().addTextContent("done").build()))
+				.build())
+			.build();
+		McpTransportContext alice = new DefaultMcpTransportContext();
+		alice.put("tenant", "acme");
+		alice.put("subject", "alice");
+		McpTransportContext otherAlice = new DefaultMcpTransportContext();
+		otherAlice.put("tenant", "globex");
+		otherAlice.put("subject", "alice");
+
+		assertThat(toolsCall(transport, alice).error()).isNull();
+		assertThat(toolsCall(transport, alice.copy()).error().code()).isEqualTo(McpSchema.ErrorCodes.RATE_LIMITED);
+		assertThat(toolsCall(transport, otherAlice).error()).isNull();
+	}
+
+	@Test
+	void statelessServersRejectRateLimitersNotKeyedByTransportContext() {
+		McpStatelessServerTransport transport = new CapturingStatelessTransport();
+		Function<McpAsyncServerExchange, String> custom = exchange -> exchange.transportContext()
+			.get("subject")
+			.toString();
+		for (var keyResolver : List.of(McpRateLimiter.bySessionId(), McpRateLimiter.byClientName(), custom)) {
+			McpRateLimiter limiter = limiter().keyResolver(keyResolver)
+				.limit(McpSchema.METHOD_TOOLS_CALL, 1, Duration.ofSeconds(1))
+				.build();
+
+			assertThatIllegalArgumentException().isThrownBy(() -> McpServer.async(transport).rateLimiter(limiter));
+			assertThatIllegalArgumentException().isThrownBy(() -> McpServer.sync(transport).rateLimiter(limiter));
+		}
+	}
+
+	@Test
+	void rateLimitedRequestIsAnsweredWithAnErrorByTheSession() {
+		McpRateLimiter limiter = limiter().limit(McpSchema.METHOD_TOOLS_CALL, 1, Duration.ofMinutes(1)).build();
+		MockMcpServerTransport transport = new MockMcpServerTransport();
+		MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(transport);
+		McpAsyncServer server = McpServer.async(transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.rateLimiter(limiter)
+			.tools(McpServerFeatures.AsyncToolSpecification.builder()
+				.tool(McpSchema.Tool.builder().name("echo").inputSchema("{}").build())
+				.callHandler((exchange, request) -> Mono.just(CallToolResult.builder().addTextContent("done").build()))
+				.build())
+			.build();
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, 0, new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null,
+						new McpSchema.Implementation("client", "1.0.0"))));
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, 1, Map.of("name", "echo", "arguments", Map.of())));
+		McpSchema.JSONRPCResponse handled = (McpSchema.JSONRPCResponse) transport.getLastSentMessage();
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, 2, Map.of("name", "echo", "arguments", Map.of())));
+		McpSchema.JSONRPCResponse rejection = (McpSchema.JSONRPCResponse) transport.getLastSentMessage();
+
+		assertThat(handled.id()).isEqualTo(1);
+		assertThat(handled.error()).isNull();
+		assertThat(rejection.id()).isEqualTo(2);
+		assertThat(rejection.error().code()).isEqualTo(McpSchema.ErrorCodes.RATE_LIMITED);
+		assertThat(rejection.error().data()).isEqualTo(Map.of("retryAfterMs", 60_000L));
+
+		server.closeGracefully().block();
+	}
+
+	private static McpSchema.JSONRPCResponse toolsCall(CapturingStatelessTransport transport,
+			McpTransportContext transportContext) {
+		return transport.handler
+			.handleRequest(transportContext,
+					new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, 1,
+							Map.of("name", "echo", "arguments", Map.of())))
+			.block();
+	}
+
+	private McpRateLimiter.Builder limiter() {
+		return McpRateLimiter.builder().nanoClock(this.nanos::get);
+	}
+
+	private static McpAsyncServerExchange exchange(String sessionId) {
+		return exchange(sessionId, "client", McpTransportContext.EMPTY);
+	}
+
+	private static McpAsyncServerExchange exchange(String sessionId, String clientName,
+			McpTransportContext transportContext) {
+		return new McpAsyncServerExchange(sessionId, null, McpSchema.ClientCapabilities.builder().build(),
+				new McpSchema.Implementation(clientName, "1.0.0"), transportContext);
+	}
+
+	private static void assertHandled(McpRequestHandler<String> handler, McpAsyncServerExchange exchange) {
+		StepVerifier.create(handler.handle(exchange, null)).expectNext("handled").verifyComplete();
+	}
+
+	private static void assertRateLimited(McpRequestHandler<String> handler, McpAsyncServerExchange exchange) {
+		StepVerifier.create(handler.handle(exchange, null))
+			.expectErrorSatisfies(error -> assertThat(((McpError) error).getJsonRpcError().code())
+				.isEqualTo(McpSchema.ErrorCodes.RATE_LIMITED))
+			.verify();
+	}
+
+	private static final class CapturingStatelessTransport implements McpStatelessServerTransport {
+
+		private volatile McpStatelessServerHandler handler;
+
+		@Override
+		public void setMcpHandler(McpStatelessServerHandler mcpHandler) {
+			this.handler = mcpHandler;
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+	}
+
+}
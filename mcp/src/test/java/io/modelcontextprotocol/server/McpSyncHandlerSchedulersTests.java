@@ -0,0 +1,230 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpStatelessServerTransport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests for {@link McpSyncHandlerSchedulers}.
+ */
+class McpSyncHandlerSchedulersTests {
+
+	private final Scheduler toolsScheduler = Schedulers.newSingle("test-tools");
+
+	@AfterEach
+	void disposeScheduler() {
+		this.toolsScheduler.dispose();
+	}
+
+	@Test
+	void featureTypesWithoutSchedulerUseTheDefault() {
+		McpSyncHandlerSchedulers schedulers = McpSyncHandlerSchedulers.builder()
+			.defaultScheduler(Schedulers.immediate())
+			.tools(this.toolsScheduler)
+			.build();
+
+		assertThat(schedulers.tools()).isSameAs(this.toolsScheduler);
+		assertThat(schedulers.resources()).isSameAs(Schedulers.immediate());
+		assertThat(schedulers.prompts()).isSameAs(Schedulers.immediate());
+		assertThat(schedulers.completions()).isSameAs(Schedulers.immediate());
+		assertThat(McpSyncHandlerSchedulers.boundedElastic().tools()).isSameAs(Schedulers.boundedElastic());
+	}
+
+	@Test
+	void nullSchedulerIsRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> McpSyncHandlerSchedulers.builder().tools(null));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> McpServer.sync(mock(McpServerTransportProvider.class)).syncHandlerSchedulers(null));
+	}
+
+	@Test
+	void syncHandlersAreCalledOnTheSchedulerOfTheirFeatureType() {
+		McpSyncHandlerSchedulers schedulers = McpSyncHandlerSchedulers.builder()
+			.defaultScheduler(Schedulers.immediate())
+			.tools(this.toolsScheduler)
+			.build();
+		McpServerFeatures.Sync syncFeatures = new McpServerFeatures.Sync(
+				new McpSchema.Implementation("test-server", "1.0.0"), null,
+				List.of(McpServerFeatures.SyncToolSpecification.builder()
+					.tool(tool())
+					.callHandler((exchange, request) -> threadNameResult())
+					.build()),
+				Map.of(), List.of(),
+				Map.of("prompt",
+						new McpServerFeatures.SyncPromptSpecification(new McpSchema.Prompt("prompt", null, null),
+								(exchange, request) -> new McpSchema.GetPromptResult(Thread.currentThread().getName(),
+										List.of()))),
+				Map.of(), List.of(), null);
+		McpAsyncServerExchange exchange = new McpAsyncServerExchange(mock(McpServerSession.class),
+				McpSchema.ClientCapabilities.builder().build(), new McpSchema.Implementation("client", "1.0.0"));
+
+		McpServerFeatures.Async asyncFeatures = McpServerFeatures.Async.fromSync(syncFeatures, schedulers);
+		CallToolResult toolResult = asyncFeatures.tools()
+			.get(0)
+			.callHandler()
+			.apply(exchange, new McpSchema.CallToolRequest("tool", Map.of()))
+			.block();
+		McpSchema.GetPromptResult promptResult = asyncFeatures.prompts()
+			.get("prompt")
+			.promptHandler()
+			.apply(exchange, new McpSchema.GetPromptRequest("prompt", Map.of()))
+			.block();
+
+		assertThat(text(toolResult)).startsWith("test-tools");
+		assertThat(promptResult.description()).isEqualTo(Thread.currentThread().getName());
+	}
+
+	@Test
+	void statelessSyncServerCallsToolsOnTheConfiguredScheduler() {
+		CapturingStatelessTransport transport = new CapturingStatelessTransport();
+		McpServer.sync(transport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.syncHandlerSchedulers(McpSyncHandlerSchedulers.builder().tools(this.toolsScheduler).build())
+			.tools(McpStatelessServerFeatures.SyncToolSpecification.builder()
+				.tool(tool())
+				.callHandler((ctx, request) -> threadNameResult())
+				.build())
+			.build();
+
+		McpSchema.JSONRPCResponse response = transport.handler
+			.handleRequest(McpTransportContext.EMPTY,
+					new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, 1,
+							Map.of("name", "tool", "arguments", Map.of())))
+			.block();
+
+		assertThat(text((CallToolResult) response.result())).startsWith("test-tools");
+	}
+
+	@Test
+	void boundedElasticSchedulerIsLookedUpOnEachCall() {
+		CapturingStatelessTransport transport = new CapturingStatelessTransport();
+		McpStatelessSyncServer server = McpServer.sync(transport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.tools(McpStatelessServerFeatures.SyncToolSpecification.builder()
+				.tool(tool())
+				.callHandler((ctx, request) -> threadNameResult())
+				.build())
+			.build();
+		server.addTool(McpStatelessServerFeatures.SyncToolSpecification.builder()
+			.tool(McpSchema.Tool.builder().name("added-tool").inputSchema("{}").build())
+			.callHandler((ctx, request) -> threadNameResult())
+			.build());
+		McpServerFeatures.AsyncToolSpecification converted = McpServerFeatures.AsyncToolSpecification
+			.fromSync(McpServerFeatures.SyncToolSpecification.builder()
+				.tool(tool())
+				.callHandler((exchange, request) -> threadNameResult())
+				.build());
+
+		Schedulers.shutdownNow();
+
+		for (String toolName : List.of("tool", "added-tool")) {
+			McpSchema.JSONRPCResponse response = transport.handler
+				.handleRequest(McpTransportContext.EMPTY,
+						new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, 1,
+								Map.of("name", toolName, "arguments", Map.of())))
+				.block();
+			assertThat(response.error()).isNull();
+			assertThat(text((CallToolResult) response.result())).startsWith("boundedElastic");
+		}
+		CallToolResult result = converted.callHandler()
+			.apply(mock(McpAsyncServerExchange.class), new McpSchema.CallToolRequest("tool", Map.of()))
+			.block();
+		assertThat(text(result)).startsWith("boundedElastic");
+	}
+
+	@Test
+	void immediateExecutionTakesPrecedenceOverTheSchedulers() {
+		CapturingStatelessTransport transport = new CapturingStatelessTransport();
+		McpServer.sync(transport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.syncHandlerSchedulers(McpSyncHandlerSchedulers.builder().tools(this.toolsScheduler).build())
+			.immediateExecution(true)
+			.tools(McpStatelessServerFeatures.SyncToolSpecification.builder()
+				.tool(tool())
+				.callHandler((ctx, request) -> threadNameResult())
+				.build())
+			.build();
+
+		McpSchema.JSONRPCResponse response = transport.handler
+			.handleRequest(McpTransportContext.EMPTY,
+					new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, 1,
+							Map.of("name", "tool", "arguments", Map.of())))
+			.block();
+
+		assertThat(text((CallToolResult) response.result())).isEqualTo(Thread.currentThread().getName());
+	}
+
+	@Test
+	void virtualThreadSchedulerRunsEachTaskOnAVirtualThread() throws Exception {
+		assumeTrue(McpSyncHandlerSchedulers.isVirtualThreadsSupported());
+
+		Thread thread = Mono.fromCallable(Thread::currentThread)
+			.subscribeOn(McpSyncHandlerSchedulers.virtualThreadScheduler())
+			.block();
+
+		assertThat((Boolean) Thread.class.getMethod("isVirtual").invoke(thread)).isTrue();
+		assertThat(McpSyncHandlerSchedulers.virtualThreadScheduler())
+			.isSameAs(McpSyncHandlerSchedulers.virtualThreadScheduler());
+	}
+
+	@Test
+	void virtualThreadsAreRejectedBeforeJava21() {
+		assumeFalse(McpSyncHandlerSchedulers.isVirtualThreadsSupported());
+
+		assertThatIllegalStateException().isThrownBy(McpSyncHandlerSchedulers::virtualThreads)
+			.withMessageContaining("Java 21");
+	}
+
+	private static McpSchema.Tool tool() {
+		return McpSchema.Tool.builder().name("tool").inputSchema("{}").build();
+	}
+
+	private static CallToolResult threadNameResult() {
+		return CallToolResult.builder().addTextContent(Thread.currentThread().getName()).build();
+	}
+
+	private static String text(CallToolResult result) {
+		return ((McpSchema.TextContent) result.content().get(0)).text();
+	}
+
+	private static final class CapturingStatelessTransport implements McpStatelessServerTransport {
+
+		private volatile McpStatelessServerHandler handler;
+
+		@Override
+		public void setMcpHandler(McpStatelessServerHandler mcpHandler) {
+			this.handler = mcpHandler;
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+	}
+
+}
@@ -8,6 +8,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.spec.McpError;
@@ -18,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -696,4 +700,28 @@ class McpSyncServerExchangeTests {
 		verify(mockSession, times(2)).sendRequest(eq(McpSchema.METHOD_PING), eq(null), any(TypeReference.class));
 	}
 
+	@Test
+	void testSyncHandlerSeesCancellation() throws InterruptedException {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch stopped = new CountDownLatch(1);
+		AtomicBoolean sawCancellation = new AtomicBoolean();
+
+		var subscription = McpServerFeatures.callSync(asyncExchange, syncExchange -> {
+			started.countDown();
+			while (!syncExchange.isCancelled()) {
+				Thread.onSpinWait();
+			}
+			sawCancellation.set(true);
+			stopped.countDown();
+			return "cancelled";
+		}, Schedulers::boundedElastic).subscribe();
+
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(exchange.isCancelled()).isFalse();
+		subscription.dispose();
+
+		assertThat(stopped.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(sawCancellation).isTrue();
+	}
+
 }
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link McpToolBulkhead}.
+ */
+class McpToolBulkheadTests {
+
+	private final VirtualTimeScheduler timer = VirtualTimeScheduler.create();
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	private final Sinks.One<String> first = Sinks.one();
+
+	@AfterEach
+	void disposeTimer() {
+		this.timer.dispose();
+	}
+
+	@Test
+	void callsBeyondTheLimitsAreRejectedWithARetryHint() {
+		McpToolBulkhead bulkhead = bulkhead().maxConcurrentCalls(1).retryAfter(Duration.ofMillis(250)).build();
+
+		bulkhead.call("tool", call(this.first.asMono())).subscribe();
+
+		StepVerifier.create(bulkhead.call("tool", call(Mono.just("second")))).expectErrorSatisfies(error -> {
+			McpSchema.JSONRPCResponse.JSONRPCError jsonRpcError = ((McpError) error).getJsonRpcError();
+			assertThat(jsonRpcError.code()).isEqualTo(McpSchema.ErrorCodes.SERVER_OVERLOADED);
+			assertThat(jsonRpcError.data()).isEqualTo(Map.of("retryAfterMs", 250L));
+		}).verify();
+		assertThat(this.calls).hasValue(1);
+		assertThat(bulkhead.metrics()).isEqualTo(new McpToolBulkhead.Metrics(1, 0, 1, 0));
+	}
+
+	@Test
+	void queuedCallStartsWhenACallInFlightCompletes() {
+		McpToolBulkhead bulkhead = bulkhead().maxConcurrentCalls(1).maxQueuedCalls(1).build();
+
+		bulkhead.call("tool", call(this.first.asMono())).subscribe();
+		Mono<String> queued = bulkhead.call("tool", call(Mono.just("second"))).cache();
+		queued.subscribe();
+
+		assertThat(this.calls).hasValue(1);
+		assertThat(bulkhead.metrics().queuedCalls()).isEqualTo(1);
+
+		this.first.tryEmitValue("first");
+
+		assertThat(queued.block()).isEqualTo("second");
+		assertThat(bulkhead.metrics()).isEqualTo(new McpToolBulkhead.Metrics(0, 0, 0, 0));
+	}
+
+	@Test
+	void queuedCallIsRejectedAfterTheQueueTimeout() {
+		McpToolBulkhead bulkhead = bulkhead().maxConcurrentCalls(1)
+			.maxQueuedCalls(1)
+			.queueTimeout(Duration.ofMillis(100))
+			.build();
+		bulkhead.call("tool", call(this.first.asMono())).subscribe();
+
+		Mono<String> queued = bulkhead.call("tool", call(Mono.just("second")));
+
+		StepVerifier.create(queued)
+			.then(() -> this.timer.advanceTimeBy(Duration.ofMillis(100)))
+			.expectErrorSatisfies(error -> assertThat(((McpError) error).getJsonRpcError().code())
+				.isEqualTo(McpSchema.ErrorCodes.SERVER_OVERLOADED))
+			.verify(Duration.ofSeconds(5));
+		assertThat(this.calls).hasValue(1);
+		assertThat(bulkhead.metrics()).isEqualTo(new McpToolBulkhead.Metrics(1, 0, 0, 1));
+	}
+
+	@Test
+	void cancellingACallReleasesItsPermit() {
+		McpToolBulkhead bulkhead = bulkhead().maxConcurrentCalls(1).maxQueuedCalls(1).build();
+
+		Disposable inFlight = bulkhead.call("tool", call(this.first.asMono())).subscribe();
+		Disposable queued = bulkhead.call("tool", call(Mono.never())).subscribe();
+		queued.dispose();
+
+		assertThat(bulkhead.metrics().queuedCalls()).isZero();
+
+		inFlight.dispose();
+
+		assertThat(bulkhead.metrics().inFlightCalls()).isZero();
+		assertThat(bulkhead.call("tool", call(Mono.just("next"))).block()).isEqualTo("next");
+	}
+
+	@Test
+	void callsSeeTheContextOfTheirCaller() {
+		McpToolBulkhead bulkhead = bulkhead().maxConcurrentCalls(1).maxQueuedCalls(1).build();
+		Mono<String> readContext = Mono.deferContextual(context -> Mono.just(context.get("caller")));
+
+		bulkhead.call("tool", call(this.first.asMono()))
+			.contextWrite(context -> context.put("caller", "first"))
+			.subscribe();
+		Mono<String> queued = bulkhead.call("tool", call(readContext))
+			.contextWrite(context -> context.put("caller", "second"))
+			.cache();
+		queued.subscribe();
+		this.first.tryEmitValue("first");
+
+		assertThat(queued.block()).isEqualTo("second");
+		assertThat(bulkhead.call("tool", call(readContext))
+			.contextWrite(context -> context.put("caller", "third"))
+			.block()).isEqualTo("third");
+	}
+
+	@Test
+	void bulkheadedToolIsRejectedThroughTheServer() {
+		McpToolBulkhead bulkhead = bulkhead().maxConcurrentCalls(1).build();
+		Sinks.One<CallToolResult> result = Sinks.one();
+		MockMcpServerTransport transport = new MockMcpServerTransport();
+		MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(transport);
+		McpAsyncServer server = McpServer.async(transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.tools(McpServerFeatures.AsyncToolSpecification.builder()
+				.tool(McpSchema.Tool.builder().name("slow").inputSchema("{}").build())
+				.callHandler((exchange, request) -> result.asMono())
+				.build()
+				.withBulkhead(bulkhead))
+			.build();
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, 0, new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null,
+						new McpSchema.Implementation("client", "1.0.0"))));
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, 1, Map.of("name", "slow", "arguments", Map.of())));
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, 2, Map.of("name", "slow", "arguments", Map.of())));
+
+		McpSchema.JSONRPCResponse rejection = (McpSchema.JSONRPCResponse) transport.getLastSentMessage();
+		assertThat(rejection.id()).isEqualTo(2);
+		assertThat(rejection.error().code()).isEqualTo(McpSchema.ErrorCodes.SERVER_OVERLOADED);
+		assertThat(rejection.error().data()).isEqualTo(Map.of("retryAfterMs", 1000L));
+		assertThat(bulkhead.metrics().rejectedCalls()).isEqualTo(1);
+
+		result.tryEmitValue(CallToolResult.builder().addTextContent("done").build());
+		server.closeGracefully().block();
+	}
+
+	private McpToolBulkhead.Builder bulkhead() {
+		return McpToolBulkhead.builder().timer(this.timer);
+	}
+
+	private <T> Mono<T> call(Mono<T> result) {
+		return Mono.defer(() -> {
+			this.calls.incrementAndGet();
+			return result;
+		});
+	}
+
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpStatelessServerTransport;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link McpToolResultCache}.
+ */
+class McpToolResultCacheTests {
+
+	private static final McpSchema.ToolAnnotations READ_ONLY = new McpSchema.ToolAnnotations(null, true, null, null,
+			null, null);
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@Test
+	void repeatedCallIsAnsweredFromTheCache() {
+		McpToolResultCache cache = cache().build();
+		McpSchema.Tool tool = tool("lookup", READ_ONLY);
+
+		CallToolResult first = call(cache, tool, Map.of("q", "a")).block();
+		CallToolResult second = call(cache, tool, Map.of("q", "a")).block();
+
+		assertThat(second).isSameAs(first);
+		assertThat(this.calls).hasValue(1);
+		McpToolResultCache.Metrics metrics = cache.metrics();
+		assertThat(metrics.hits()).isEqualTo(1);
+		assertThat(metrics.misses()).isEqualTo(1);
+		assertThat(metrics.entries()).isEqualTo(1);
+		assertThat(metrics.weightBytes()).isPositive();
+	}
+
+	@Test
+	void argumentsAreKeyedRegardlessOfTheOrderOfTheirKeys() {
+		McpToolResultCache cache = cache().build();
+		McpSchema.Tool tool = tool("lookup", READ_ONLY);
+		Map<String, Object> ab = new LinkedHashMap<>();
+		ab.put("a", 1);
+		ab.put("b", Map.of("x", 1, "y", 2));
+		Map<String, Object> ba = new LinkedHashMap<>();
+		ba.put("b", Map.of("y", 2, "x", 1));
+		ba.put("a", 1);
+
+		call(cache, tool, ab).block();
+		call(cache, tool, ba).block();
+		call(cache, tool, Map.of("a", 2)).block();
+
+		assertThat(this.calls).hasValue(2);
+	}
+
+	@Test
+	void noToolIsCachedByDefault() {
+		McpToolResultCache cache = McpToolResultCache.builder().ttl("opted-in", Duration.ofMinutes(1)).build();
+		McpSchema.Tool optedIn = tool("opted-in", READ_ONLY);
+		McpSchema.Tool other = tool("other", READ_ONLY);
+
+		for (int i = 0; i < 2; i++) {
+			call(cache, optedIn, Map.of()).block();
+			call(cache, other, Map.of()).block();
+		}
+
+		assertThat(this.calls).hasValue(3);
+	}
+
+	@Test
+	void resultsAreKeyedByTheirCaller() {
+		McpToolResultCache cache = cache().callerResolver(context -> (String) context.get("user")).build();
+		McpSchema.Tool tool = tool("lookup", READ_ONLY);
+		McpTransportContext alice = new DefaultMcpTransportContext();
+		alice.put("user", "alice");
+		McpTransportContext bob = new DefaultMcpTransportContext();
+		bob.put("user", "bob");
+
+		call(cache, tool, Map.of("q", "a"), alice).block();
+		call(cache, tool, Map.of("q", "a"), alice.copy()).block();
+		call(cache, tool, Map.of("q", "a"), bob).block();
+		assertThat(this.calls).hasValue(2);
+
+		cache.invalidate("lookup", Map.of("q", "a"));
+		assertThat(cache.metrics().entries()).isZero();
+	}
+
+	@Test
+	void toolsWithoutReadOnlyOrIdempotentHintAreNotCached() {
+		McpToolResultCache cache = cache().build();
+
+		call(cache, tool("write", null), Map.of()).block();
+		call(cache, tool("write", null), Map.of()).block();
+		McpSchema.ToolAnnotations destructive = new McpSchema.ToolAnnotations(null, false, true, false, null, null);
+		call(cache, tool("delete", destructive), Map.of()).block();
+		call(cache, tool("delete", destructive), Map.of()).block();
+
+		assertThat(this.calls).hasValue(4);
+		assertThat(cache.metrics().misses()).isZero();
+	}
+
+	@Test
+	void idempotentToolIsCached() {
+		McpToolResultCache cache = cache().build();
+		McpSchema.Tool tool = tool("put", new McpSchema.ToolAnnotations(null, false, false, true, null, null));
+
+		call(cache, tool, Map.of()).block();
+		call(cache, tool, Map.of()).block();
+
+		assertThat(this.calls).hasValue(1);
+	}
+
+	@Test
+	void resultsExpireAfterTheTtlOfTheirTool() {
+		McpToolResultCache cache = cache().defaultTtl(Duration.ofSeconds(10))
+			.ttl("fast", Duration.ofSeconds(1))
+			.ttl("never", Duration.ZERO)
+			.build();
+		McpSchema.Tool slow = tool("slow", READ_ONLY);
+		McpSchema.Tool fast = tool("fast", READ_ONLY);
+		McpSchema.Tool never = tool("never", READ_ONLY);
+		call(cache, slow, Map.of()).block();
+		call(cache, fast, Map.of()).block();
+		call(cache, never, Map.of()).block();
+
+		this.nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+		call(cache, slow, Map.of()).block();
+		call(cache, fast, Map.of()).block();
+		call(cache, never, Map.of()).block();
+
+		assertThat(this.calls).hasValue(5);
+		assertThat(cache.metrics().expirations()).isEqualTo(1);
+	}
+
+	@Test
+	void leastRecentlyUsedResultsAreEvictedBeyondTheMaxWeight() {
+		McpToolResultCache probe = cache().build();
+		McpSchema.Tool tool = tool("lookup", READ_ONLY);
+		call(probe, tool, Map.of("q", 0)).block();
+		long weight = probe.metrics().weightBytes();
+		McpToolResultCache cache = cache().maxWeightBytes(weight * 2).build();
+
+		call(cache, tool, Map.of("q", 1)).block();
+		call(cache, tool, Map.of("q", 2)).block();
+		call(cache, tool, Map.of("q", 1)).block();
+		call(cache, tool, Map.of("q", 3)).block();
+
+		assertThat(cache.metrics().evictions()).isEqualTo(1);
+		assertThat(cache.metrics().entries()).isEqualTo(2);
+		int before = this.calls.get();
+		call(cache, tool, Map.of("q", 1)).block();
+		assertThat(this.calls).hasValue(before);
+		call(cache, tool, Map.of("q", 2)).block();
+		assertThat(this.calls).hasValue(before + 1);
+	}
+
+	@Test
+	void errorResultsAreNotCached() {
+		McpToolResultCache cache = cache().build();
+		McpSchema.Tool tool = tool("lookup", READ_ONLY);
+
+		cache.call(tool, request("lookup", Map.of()), McpTransportContext.EMPTY, failingCall()).block();
+		cache.call(tool, request("lookup", Map.of()), McpTransportContext.EMPTY, failingCall()).block();
+
+		assertThat(this.calls).hasValue(2);
+		assertThat(cache.metrics().entries()).isZero();
+	}
+
+	@Test
+	void invalidationDropsResults() {
+		McpToolResultCache cache = cache().build();
+		McpSchema.Tool lookup = tool("lookup", READ_ONLY);
+		McpSchema.Tool other = tool("other", READ_ONLY);
+		call(cache, lookup, Map.of("q", 1)).block();
+		call(cache, lookup, Map.of("q", 2)).block();
+		call(cache, other, Map.of()).block();
+
+		cache.invalidate("lookup", Map.of("q", 1));
+		assertThat(cache.metrics().entries()).isEqualTo(2);
+		cache.invalidate("lookup");
+		assertThat(cache.metrics().entries()).isEqualTo(1);
+		cache.invalidateAll();
+		assertThat(cache.metrics()).isEqualTo(new McpToolResultCache.Metrics(0, 3, 0, 0, 0, 0));
+	}
+
+	@Test
+	void callInFlightDuringInvalidationIsNotCached() {
+		McpToolResultCache cache = cache().build();
+		McpSchema.Tool tool = tool("lookup", READ_ONLY);
+		Mono<CallToolResult> invalidatingCall = Mono.fromSupplier(() -> {
+			cache.invalidate("lookup");
+			return new CallToolResult(List.of(new McpSchema.TextContent("stale")), false);
+		});
+
+		cache.call(tool, request("lookup", Map.of()), McpTransportContext.EMPTY, invalidatingCall).block();
+
+		assertThat(cache.metrics().entries()).isZero();
+	}
+
+	@Test
+	void serverFlushesResultsWhenToolIsRegisteredAgain() {
+		McpToolResultCache cache = cache().build();
+		MockMcpServerTransport transport = new MockMcpServerTransport();
+		MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(transport);
+		McpAsyncServer server = McpServer.async(transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.toolResultCache(cache)
+			.tools(toolSpecification("v1"))
+			.build();
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, 0, new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null,
+						new McpSchema.Implementation("client", "1.0.0"))));
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+
+		assertThat(callThroughServer(transportProvider, transport, 1)).isEqualTo("v1");
+		assertThat(callThroughServer(transportProvider, transport, 2)).isEqualTo("v1");
+		assertThat(this.calls).hasValue(1);
+
+		server.removeTool("lookup").block();
+		server.addTool(toolSpecification("v2")).block();
+
+		assertThat(callThroughServer(transportProvider, transport, 3)).isEqualTo("v2");
+		assertThat(this.calls).hasValue(2);
+		server.closeGracefully().block();
+	}
+
+	@Test
+	void statelessServerAnswersFromTheCache() {
+		McpToolResultCache cache = cache().build();
+		CapturingStatelessTransport transport = new CapturingStatelessTransport();
+		McpServer.async(transport)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().tools(false).build())
+			.toolResultCache(cache)
+			.tools(McpStatelessServerFeatures.AsyncToolSpecification.builder()
+				.tool(tool("lookup", READ_ONLY))
+				.callHandler((ctx, request) -> Mono.fromSupplier(() -> result("stateless")))
+				.build())
+			.build();
+
+		for (int id = 1; id <= 2; id++) {
+			McpSchema.JSONRPCResponse response = transport.handler
+				.handleRequest(McpTransportContext.EMPTY,
+						new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_TOOLS_CALL, id,
+								Map.of("name", "lookup", "arguments", Map.of("q", "a"))))
+				.block();
+			assertThat(((CallToolResult) response.result()).content()).hasSize(1);
+		}
+
+		assertThat(this.calls).hasValue(1);
+		assertThat(cache.metrics().hits()).isEqualTo(1);
+	}
+
+	private McpToolResultCache.Builder cache() {
+		return McpToolResultCache.builder().defaultTtl(Duration.ofMinutes(1)).nanoClock(this.nanos::get);
+	}
+
+	private Mono<CallToolResult> call(McpToolResultCache cache, McpSchema.Tool tool, Map<String, Object> arguments) {
+		return call(cache, tool, arguments, McpTransportContext.EMPTY);
+	}
+
+	private Mono<CallToolResult> call(McpToolResultCache cache, McpSchema.Tool tool, Map<String, Object> arguments,
+			McpTransportContext transportContext) {
+		return cache.call(tool, request(tool.name(), arguments), transportContext,
+				Mono.fromSupplier(() -> result("result")));
+	}
+
+	private Mono<CallToolResult> failingCall() {
+		return Mono.fromSupplier(() -> {
+			this.calls.incrementAndGet();
+			return new CallToolResult(List.of(new McpSchema.TextContent("failed")), true);
+		});
+	}
+
+	private CallToolResult result(String text) {
+		this.calls.incrementAndGet();
+		return new CallToolResult(List.of(new McpSchema.TextContent(text)), false);
+	}
+
+	private McpServerFeatures.AsyncToolSpecification toolSpecification(String version) {
+		return McpServerFeatures.AsyncToolSpecification.builder()
+			.tool(tool("lookup", READ_ONLY))
+			.callHandler((exchange, request) -> Mono.fromSupplier(() -> result(version)))
+			.build();
+	}
+
+	private static String callThroughServer(MockMcpServerTransportProvider transportProvider,
+			MockMcpServerTransport transport, int id) {
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_TOOLS_CALL, id, Map.of("name", "lookup", "arguments", Map.of("q", "a"))));
+		McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) transport.getLastSentMessage();
+		assertThat(response.id()).isEqualTo(id);
+		CallToolResult result = (CallToolResult) response.result();
+		return ((McpSchema.TextContent) result.content().get(0)).text();
+	}
+
+	private static McpSchema.Tool tool(String name, McpSchema.ToolAnnotations annotations) {
+		return McpSchema.Tool.builder().name(name).inputSchema("{}").annotations(annotations).build();
+	}
+
+	private static McpSchema.CallToolRequest request(String name, Map<String, Object> arguments) {
+		return new McpSchema.CallToolRequest(name, arguments);
+	}
+
+	private static final class CapturingStatelessTransport implements McpStatelessServerTransport {
+
+		private volatile McpStatelessServerHandler handler;
+
+		@Override
+		public void setMcpHandler(McpStatelessServerHandler mcpHandler) {
+			this.handler = mcpHandler;
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+	}
+
+}
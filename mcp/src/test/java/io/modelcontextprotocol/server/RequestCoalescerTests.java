@@ -0,0 +1,180 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RequestCoalescer} and the coalescing specifications.
+ */
+class RequestCoalescerTests {
+
+	private final AtomicInteger calls = new AtomicInteger();
+
+	private final Sinks.One<String> result = Sinks.one();
+
+	private final AtomicBoolean cancelled = new AtomicBoolean();
+
+	@Test
+	void concurrentIdenticalRequestsShareOneCall() {
+		RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+		Mono<String> first = coalescer.coalesce("key", this::call).cache();
+		Mono<String> second = coalescer.coalesce("key", this::call).cache();
+		first.subscribe();
+		second.subscribe();
+		this.result.tryEmitValue("value");
+
+		assertThat(first.block()).isEqualTo("value");
+		assertThat(second.block()).isEqualTo("value");
+		assertThat(this.calls).hasValue(1);
+		assertThat(coalescer.inFlight()).isZero();
+	}
+
+	@Test
+	void requestsWithDifferentKeysAreNotCoalesced() {
+		RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+		coalescer.coalesce("a", this::call).subscribe();
+		coalescer.coalesce("b", this::call).subscribe();
+
+		assertThat(this.calls).hasValue(2);
+		assertThat(coalescer.inFlight()).isEqualTo(2);
+	}
+
+	@Test
+	void requestAfterTheCallTerminatedStartsANewCall() {
+		RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+		assertThat(coalescer.coalesce("key", () -> Mono.fromCallable(this.calls::incrementAndGet).map(String::valueOf))
+			.block()).isEqualTo("1");
+		assertThat(coalescer.coalesce("key", () -> Mono.fromCallable(this.calls::incrementAndGet).map(String::valueOf))
+			.block()).isEqualTo("2");
+	}
+
+	@Test
+	void sharedCallIsOnlyCancelledOnceEveryWaiterHasCancelled() {
+		RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+		Disposable first = coalescer.coalesce("key", this::call).subscribe();
+		Disposable second = coalescer.coalesce("key", this::call).subscribe();
+		first.dispose();
+
+		assertThat(this.cancelled).isFalse();
+		assertThat(coalescer.inFlight()).isEqualTo(1);
+
+		second.dispose();
+
+		assertThat(this.cancelled).isTrue();
+		assertThat(coalescer.inFlight()).isZero();
+		assertThat(this.calls).hasValue(1);
+	}
+
+	@Test
+	void remainingWaiterReceivesTheResultAfterAnotherCancelled() {
+		RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+		Disposable first = coalescer.coalesce("key", this::call).subscribe();
+		Mono<String> second = coalescer.coalesce("key", this::call).cache();
+		second.subscribe();
+		first.dispose();
+		this.result.tryEmitValue("value");
+
+		assertThat(second.block()).isEqualTo("value");
+		assertThat(this.calls).hasValue(1);
+	}
+
+	@Test
+	void errorIsPropagatedToEveryWaiter() {
+		RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+		Mono<String> first = coalescer.coalesce("key", this::call).cache();
+		Mono<String> second = coalescer.coalesce("key", this::call).cache();
+		first.subscribe(v -> {
+		}, e -> {
+		});
+		second.subscribe(v -> {
+		}, e -> {
+		});
+		this.result.tryEmitError(new IllegalStateException("failed"));
+
+		StepVerifier.create(first).expectErrorMessage("failed").verify();
+		StepVerifier.create(second).expectErrorMessage("failed").verify();
+		assertThat(coalescer.inFlight()).isZero();
+	}
+
+	@Test
+	void coalescingToolSpecificationSharesCallsWithEqualArguments() {
+		McpServerFeatures.AsyncToolSpecification specification = McpServerFeatures.AsyncToolSpecification.builder()
+			.tool(McpSchema.Tool.builder().name("lookup").inputSchema("{}").build())
+			.callHandler((exchange, request) -> call().map(this::toolResult))
+			.build()
+			.withCoalescing();
+
+		Mono<CallToolResult> first = specification.callHandler()
+			.apply(null, new McpSchema.CallToolRequest("lookup", Map.of("q", "a")))
+			.cache();
+		Mono<CallToolResult> second = specification.callHandler()
+			.apply(null, new McpSchema.CallToolRequest("lookup", Map.of("q", "a")))
+			.cache();
+		Mono<CallToolResult> other = specification.callHandler()
+			.apply(null, new McpSchema.CallToolRequest("lookup", Map.of("q", "b")))
+			.cache();
+		first.subscribe();
+		second.subscribe();
+		other.subscribe();
+		this.result.tryEmitValue("value");
+
+		assertThat(second.block()).isSameAs(first.block());
+		assertThat(other.block()).isNotNull();
+		assertThat(this.calls).hasValue(2);
+	}
+
+	@Test
+	void coalescingStatelessResourceSpecificationSharesReadsOfTheSameUri() {
+		McpSchema.Resource resource = McpSchema.Resource.builder().uri("test://resource").name("resource").build();
+		McpStatelessServerFeatures.AsyncResourceSpecification specification = new McpStatelessServerFeatures.AsyncResourceSpecification(
+				resource,
+				(ctx, request) -> call().map(text -> new McpSchema.ReadResourceResult(
+						List.of(new McpSchema.TextResourceContents(request.uri(), "text/plain", text)))))
+			.withCoalescing();
+
+		Mono<McpSchema.ReadResourceResult> first = specification.readHandler()
+			.apply(McpTransportContext.EMPTY, new McpSchema.ReadResourceRequest("test://resource"))
+			.cache();
+		Mono<McpSchema.ReadResourceResult> second = specification.readHandler()
+			.apply(McpTransportContext.EMPTY, new McpSchema.ReadResourceRequest("test://resource"))
+			.cache();
+		first.subscribe();
+		second.subscribe();
+		this.result.tryEmitValue("value");
+
+		assertThat(second.block()).isSameAs(first.block());
+		assertThat(this.calls).hasValue(1);
+	}
+
+	private Mono<String> call() {
+		this.calls.incrementAndGet();
+		return this.result.asMono().doOnCancel(() -> this.cancelled.set(true));
+	}
+
+	private CallToolResult toolResult(String text) {
+		return CallToolResult.builder().addTextContent(text).build();
+	}
+
+}
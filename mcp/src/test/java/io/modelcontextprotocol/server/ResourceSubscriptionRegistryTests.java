@@ -0,0 +1,165 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpError;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpSession;
+import io.modelcontextprotocol.util.DeafaultMcpUriTemplateManagerFactory;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ResourceSubscriptionRegistry}.
+ */
+class ResourceSubscriptionRegistryTests {
+
+	private final ResourceSubscriptionRegistry registry = new ResourceSubscriptionRegistry(new ObjectMapper(),
+			new DeafaultMcpUriTemplateManagerFactory());
+
+	private RecordingSession session(String sessionId) {
+		RecordingSession session = new RecordingSession();
+		registry.addSession(sessionId, session);
+		return session;
+	}
+
+	private void notifyUpdated(String uri) {
+		registry.notifyUpdated(new McpSchema.ResourcesUpdatedNotification(uri)).block();
+	}
+
+	@Test
+	void updatesReachOnlySubscribedSessions() {
+		RecordingSession first = session("first");
+		RecordingSession second = session("second");
+		registry.subscribe("first", "file:///a");
+		registry.subscribe("second", "file:///b");
+
+		notifyUpdated("file:///a");
+
+		assertThat(first.received).hasSize(1);
+		assertThat(second.received).isEmpty();
+	}
+
+	@Test
+	void templateSubscriptionMatchesResourceUris() {
+		RecordingSession session = session("session");
+		registry.subscribe("session", "file:///logs/{name}");
+
+		notifyUpdated("file:///logs/app");
+		notifyUpdated("file:///other/app");
+
+		assertThat(registry.subscribers("file:///logs/app")).containsExactly("session");
+		assertThat(session.received).hasSize(1);
+	}
+
+	@Test
+	void sessionSubscribedTwiceIsNotifiedOnce() {
+		RecordingSession session = session("session");
+		registry.subscribe("session", "file:///logs/app");
+		registry.subscribe("session", "file:///logs/{name}");
+
+		notifyUpdated("file:///logs/app");
+
+		assertThat(session.received).hasSize(1);
+	}
+
+	@Test
+	void notificationIsSerializedOnceForAllSessions() {
+		RecordingSession first = session("first");
+		RecordingSession second = session("second");
+		registry.subscribe("first", "file:///a");
+		registry.subscribe("second", "file:///a");
+
+		notifyUpdated("file:///a");
+
+		assertThat(first.received.get(0)).isSameAs(second.received.get(0));
+		assertThat(first.received.get(0).toString()).contains("file:///a");
+	}
+
+	@Test
+	void unsubscribeStopsUpdates() {
+		RecordingSession session = session("session");
+		registry.subscribe("session", "file:///a");
+		registry.unsubscribe("session", "file:///a");
+
+		notifyUpdated("file:///a");
+
+		assertThat(session.received).isEmpty();
+		assertThat(registry.subscribers("file:///a")).isEmpty();
+	}
+
+	@Test
+	void removingSessionDropsItsSubscriptions() {
+		RecordingSession session = session("session");
+		registry.subscribe("session", "file:///a");
+		registry.subscribe("session", "file:///{name}");
+
+		registry.removeSession("session");
+
+		notifyUpdated("file:///a");
+		assertThat(session.received).isEmpty();
+		assertThat(registry.subscribers("file:///a")).isEmpty();
+		assertThat(registry.sessionCount()).isZero();
+	}
+
+	@Test
+	void unknownSessionCannotSubscribe() {
+		assertThatExceptionOfType(McpError.class).isThrownBy(() -> registry.subscribe("unknown", "file:///a"))
+			.satisfies(error -> assertThat(error.getJsonRpcError().code())
+				.isEqualTo(McpSchema.ErrorCodes.INVALID_REQUEST));
+	}
+
+	@Test
+	void failingSessionDoesNotPreventOtherUpdates() {
+		registry.addSession("failing", new RecordingSession() {
+			@Override
+			public Mono<Void> sendNotification(String method, Object params) {
+				return Mono.error(new IllegalStateException("Connection closed"));
+			}
+		});
+		RecordingSession healthy = session("healthy");
+		registry.subscribe("failing", "file:///a");
+		registry.subscribe("healthy", "file:///a");
+
+		notifyUpdated("file:///a");
+
+		assertThat(healthy.received).hasSize(1);
+	}
+
+	private static class RecordingSession implements McpSession {
+
+		final List<Object> received = new CopyOnWriteArrayList<>();
+
+		@Override
+		public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
+			return Mono.empty();
+		}
+
+		@Override
+		public Mono<Void> sendNotification(String method, Object params) {
+			assertThat(method).isEqualTo(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED);
+			return Mono.fromRunnable(() -> this.received.add(params));
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
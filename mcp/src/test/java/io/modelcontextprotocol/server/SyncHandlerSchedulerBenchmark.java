@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Compares completing concurrent calls of a synchronous tool blocking on I/O when its
+ * handler is called on {@link Schedulers#boundedElastic()} and on a virtual thread per
+ * call with {@link McpSyncHandlerSchedulers#virtualThreadScheduler()}.
+ *
+ * <p>
+ * Run with {@code mvn -pl mcp test-compile} followed by the {@link #main(String[])}
+ * method of this class using the test classpath. The {@code virtualThreads} scheduler
+ * requires Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SyncHandlerSchedulerBenchmark {
+
+	@Param({ "boundedElastic", "virtualThreads" })
+	public String scheduler;
+
+	@Param({ "10000" })
+	public int concurrentCalls;
+
+	@Param({ "10" })
+	public int blockingMillis;
+
+	private McpStatelessServerFeatures.AsyncToolSpecification toolSpecification;
+
+	private McpSchema.CallToolRequest request;
+
+	@Setup
+	public void setup() {
+		Scheduler handlerScheduler = "virtualThreads".equals(this.scheduler)
+				? McpSyncHandlerSchedulers.virtualThreadScheduler() : Schedulers.boundedElastic();
+		McpStatelessServerFeatures.SyncToolSpecification syncToolSpecification = McpStatelessServerFeatures.SyncToolSpecification
+			.builder()
+			.tool(McpSchema.Tool.builder().name("blocking").inputSchema("{}").build())
+			.callHandler((ctx, request) -> {
+				try {
+					Thread.sleep(this.blockingMillis);
+				}
+				catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				return new McpSchema.CallToolResult(List.of(), false);
+			})
+			.build();
+		this.toolSpecification = McpStatelessServerFeatures.AsyncToolSpecification.fromSync(syncToolSpecification,
+				() -> handlerScheduler);
+		this.request = new McpSchema.CallToolRequest("blocking", Map.of());
+	}
+
+	@Benchmark
+	public Long concurrentBlockingCalls() {
+		return Flux.range(0, this.concurrentCalls)
+			.flatMap(i -> this.toolSpecification.callHandler().apply(McpTransportContext.EMPTY, this.request),
+					this.concurrentCalls)
+			.count()
+			.block();
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(SyncHandlerSchedulerBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
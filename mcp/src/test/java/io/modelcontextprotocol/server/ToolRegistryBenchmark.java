@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import io.modelcontextprotocol.spec.McpSchema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Compares resolving the target of a {@code tools/call} request and adding and removing a
+ * tool at runtime with the {@link ToolRegistry} against the previous linear scan over a
+ * {@link CopyOnWriteArrayList}.
+ *
+ * <p>
+ * Run with {@code mvn -pl mcp test-compile} followed by the {@link #main(String[])}
+ * method of this class using the test classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ToolRegistryBenchmark {
+
+	@Param({ "10", "100", "1000", "10000" })
+	public int toolCount;
+
+	private final CopyOnWriteArrayList<McpServerFeatures.AsyncToolSpecification> list = new CopyOnWriteArrayList<>();
+
+	private final ToolRegistry<McpServerFeatures.AsyncToolSpecification> registry = new ToolRegistry<>(
+			toolSpecification -> toolSpecification.tool().name());
+
+	private String[] names;
+
+	private McpServerFeatures.AsyncToolSpecification extraTool;
+
+	@Setup
+	public void setup() {
+		List<McpServerFeatures.AsyncToolSpecification> tools = IntStream.range(0, this.toolCount)
+			.mapToObj(i -> toolSpecification("tool-" + i))
+			.toList();
+		this.list.addAll(tools);
+		this.registry.addAll(tools);
+		this.names = tools.stream().map(tool -> tool.tool().name()).toArray(String[]::new);
+		this.extraTool = toolSpecification("extra-tool");
+	}
+
+	private static McpServerFeatures.AsyncToolSpecification toolSpecification(String name) {
+		return McpServerFeatures.AsyncToolSpecification.builder()
+			.tool(McpSchema.Tool.builder().name(name).description("Tool " + name).build())
+			.callHandler((exchange, request) -> Mono.just(new McpSchema.CallToolResult(List.of(), false)))
+			.build();
+	}
+
+	private String randomName() {
+		return this.names[ThreadLocalRandom.current().nextInt(this.names.length)];
+	}
+
+	@Benchmark
+	public Optional<McpServerFeatures.AsyncToolSpecification> lookupLinearScan() {
+		String name = randomName();
+		return this.list.stream().filter(tool -> name.equals(tool.tool().name())).findAny();
+	}
+
+	@Benchmark
+	public McpServerFeatures.AsyncToolSpecification lookupRegistry() {
+		return this.registry.get(randomName());
+	}
+
+	@Benchmark
+	public boolean addRemoveLinearScan() {
+		String name = this.extraTool.tool().name();
+		if (this.list.stream().noneMatch(tool -> tool.tool().name().equals(name))) {
+			this.list.add(this.extraTool);
+		}
+		return this.list.removeIf(tool -> tool.tool().name().equals(name));
+	}
+
+	@Benchmark
+	public boolean addRemoveRegistry() {
+		this.registry.add(this.extraTool);
+		return this.registry.remove(this.extraTool.tool().name()) != null;
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(ToolRegistryBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
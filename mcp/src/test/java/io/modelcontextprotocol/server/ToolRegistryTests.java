@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link ToolRegistry}.
+ */
+class ToolRegistryTests {
+
+	private final ToolRegistry<String> registry = new ToolRegistry<>(name -> name);
+
+	@Test
+	void looksUpToolsByName() {
+		assertThat(registry.add("echo")).isTrue();
+		assertThat(registry.add("sum")).isTrue();
+
+		assertThat(registry.get("echo")).isEqualTo("echo");
+		assertThat(registry.get("missing")).isNull();
+		assertThat(registry.get(null)).isNull();
+		assertThat(registry.contains("sum")).isTrue();
+		assertThat(registry.size()).isEqualTo(2);
+	}
+
+	@Test
+	void rejectsDuplicateName() {
+		assertThat(registry.add("echo")).isTrue();
+		assertThat(registry.add("echo")).isFalse();
+		assertThat(registry.list()).containsExactly("echo");
+	}
+
+	@Test
+	void listsInRegistrationOrder() {
+		registry.addAll(List.of("c", "a", "b"));
+		assertThat(registry.remove("a")).isEqualTo("a");
+		assertThat(registry.remove("missing")).isNull();
+		registry.add("a");
+		registry.add("d");
+
+		assertThat(registry.list()).containsExactly("c", "b", "a", "d");
+	}
+
+	@Test
+	void bulkAddIsAllOrNothing() {
+		registry.add("existing");
+
+		assertThatIllegalArgumentException().isThrownBy(() -> registry.addAll(List.of("new", "existing")))
+			.withMessageContaining("existing");
+		assertThatIllegalArgumentException().isThrownBy(() -> registry.addAll(List.of("dup", "dup")))
+			.withMessageContaining("dup");
+
+		assertThat(registry.list()).containsExactly("existing");
+	}
+
+	@Test
+	void bulkRemoveReturnsRemovedTools() {
+		registry.addAll(List.of("a", "b", "c"));
+
+		assertThat(registry.removeAll(List.of("a", "missing", "c"))).containsExactly("a", "c");
+		assertThat(registry.remove("missing")).isNull();
+		assertThat(registry.list()).containsExactly("b");
+		assertThat(registry.get("a")).isNull();
+	}
+
+	@Test
+	void bulkChangesAreSeenCompletelyOrNotAtAll() throws InterruptedException {
+		List<String> batch = IntStream.range(0, 50).mapToObj(i -> "tool-" + i).toList();
+		AtomicBoolean stop = new AtomicBoolean();
+		AtomicReference<List<String>> partial = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			while (!stop.get()) {
+				List<String> listed = registry.list();
+				if (!listed.isEmpty() && listed.size() != batch.size()) {
+					partial.set(listed);
+				}
+			}
+		});
+		reader.start();
+		try {
+			for (int i = 0; i < 500; i++) {
+				registry.addAll(batch);
+				registry.removeAll(batch);
+			}
+		}
+		finally {
+			stop.set(true);
+			reader.join();
+		}
+
+		assertThat(partial.get()).isNull();
+	}
+
+	@Test
+	void concurrentChangesKeepIndexAndOrderConsistent() throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch done = new CountDownLatch(8);
+		try {
+			for (int t = 0; t < 8; t++) {
+				int thread = t;
+				executor.execute(() -> {
+					for (int i = 0; i < 500; i++) {
+						String name = "tool-" + thread + "-" + i;
+						registry.add(name);
+						if (i % 2 == 0) {
+							registry.remove(name);
+						}
+					}
+					done.countDown();
+				});
+			}
+			assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+
+		List<String> expected = IntStream.range(0, 8)
+			.boxed()
+			.flatMap(t -> IntStream.range(0, 500).filter(i -> i % 2 != 0).mapToObj(i -> "tool-" + t + "-" + i))
+			.toList();
+		assertThat(registry.size()).isEqualTo(expected.size());
+		assertThat(registry.list()).containsExactlyInAnyOrderElementsOf(expected);
+		assertThat(expected).allMatch(name -> registry.get(name) != null);
+	}
+
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.MockMcpServerTransportProvider;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.util.DeafaultMcpUriTemplateManagerFactory;
+import io.modelcontextprotocol.util.DefaultMcpUriTemplateManager;
+import io.modelcontextprotocol.util.McpUriTemplateManager;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests for {@link UriTemplateRouter}.
+ */
+class UriTemplateRouterTests {
+
+	private final UriTemplateRouter<String> router = new UriTemplateRouter<>(
+			new DeafaultMcpUriTemplateManagerFactory());
+
+	@Test
+	void routesExactUri() {
+		router.put("file:///docs/readme.md", "readme");
+
+		assertThat(router.route("file:///docs/readme.md").value()).isEqualTo("readme");
+		assertThat(router.route("file:///docs/readme.md").variables()).isEmpty();
+		assertThat(router.route("file:///docs/other.md")).isNull();
+		assertThat(router.route(null)).isNull();
+	}
+
+	@Test
+	void extractsVariablesWhileRouting() {
+		router.put("db://{database}/tables/{table}", "table");
+
+		UriTemplateRouter.Match<String> match = router.route("db://sales/tables/orders");
+
+		assertThat(match.value()).isEqualTo("table");
+		assertThat(match.variables()).containsExactly(Map.entry("database", "sales"), Map.entry("table", "orders"));
+	}
+
+	@Test
+	void variablesAreExposedByTheTransportContextOfTheRequest() {
+		router.put("db://{database}/tables/{table}", "table");
+		router.put("db://sales/tables/orders", "orders");
+		McpTransportContext transportContext = new DefaultMcpTransportContext();
+		transportContext.put("subject", "alice");
+
+		McpTransportContext templateContext = router.route("db://hr/tables/people").transportContext(transportContext);
+
+		assertThat(templateContext.get("subject")).isEqualTo("alice");
+		assertThat(templateContext.uriVariables()).isEqualTo(Map.of("database", "hr", "table", "people"));
+		assertThat(templateContext.copy().uriVariables()).isEqualTo(templateContext.uriVariables());
+		assertThat(transportContext.uriVariables()).isEmpty();
+		assertThat(router.route("db://sales/tables/orders").transportContext(transportContext))
+			.isSameAs(transportContext);
+	}
+
+	@Test
+	void readHandlersReceiveTheTemplateVariables() {
+		MockMcpServerTransport transport = new MockMcpServerTransport();
+		MockMcpServerTransportProvider transportProvider = new MockMcpServerTransportProvider(transport);
+		McpSyncServer server = McpServer.sync(transportProvider)
+			.serverInfo("test-server", "1.0.0")
+			.capabilities(McpSchema.ServerCapabilities.builder().resources(false, false).build())
+			.resources(new McpServerFeatures.SyncResourceSpecification(
+					McpSchema.Resource.builder().uri("db://{database}/tables/{table}").name("table").build(),
+					(exchange,
+							request) -> new McpSchema.ReadResourceResult(List.of(new McpSchema.TextResourceContents(
+									request.uri(), "text/plain", String.valueOf(exchange.uriVariables()))))))
+			.build();
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_INITIALIZE, 0, new McpSchema.InitializeRequest(McpSchema.LATEST_PROTOCOL_VERSION, null,
+						new McpSchema.Implementation("client", "1.0.0"))));
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_INITIALIZED, null));
+
+		transportProvider.simulateIncomingMessage(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_RESOURCES_READ, 1, Map.of("uri", "db://sales/tables/orders")));
+
+		await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> {
+			McpSchema.JSONRPCResponse response = (McpSchema.JSONRPCResponse) transport.getLastSentMessage();
+			assertThat(response.id()).isEqualTo(1);
+			assertThat(response.error()).isNull();
+			assertThat(response.result()).asString().contains("{database=sales, table=orders}");
+		});
+		server.closeGracefully();
+	}
+
+	@Test
+	void variablesDoNotSpanSegments() {
+		router.put("file:///{name}", "file");
+
+		assertThat(router.route("file:///a/b")).isNull();
+		assertThat(router.route("file:///")).isNull();
+		assertThat(router.route("file:///a").variables()).containsEntry("name", "a");
+	}
+
+	@Test
+	void matchesSeveralVariablesInOneSegment() {
+		router.put("file:///{name}.{ext}", "file");
+
+		assertThat(router.route("file:///report.final.pdf").variables()).containsEntry("name", "report")
+			.containsEntry("ext", "final.pdf");
+		assertThat(router.route("file:///report")).isNull();
+	}
+
+	@Test
+	void treatsTemplateLiteralsLiterally() {
+		router.put("test://a.b/{id}", "dotted");
+
+		assertThat(router.route("test://a.b/1")).isNotNull();
+		assertThat(router.route("test://axb/1")).isNull();
+	}
+
+	@Test
+	void exactUriWinsOverTemplate() {
+		router.put("users://{id}", "template");
+		router.put("users://me", "exact");
+
+		assertThat(router.route("users://me").value()).isEqualTo("exact");
+		assertThat(router.route("users://42").value()).isEqualTo("template");
+	}
+
+	@Test
+	void literalSegmentWinsOverVariableSegment() {
+		router.put("repo://{owner}/{repo}/issues", "issues");
+		router.put("repo://{owner}/settings/issues", "settings");
+
+		assertThat(router.route("repo://octo/settings/issues").value()).isEqualTo("settings");
+		assertThat(router.route("repo://octo/hello/issues").value()).isEqualTo("issues");
+	}
+
+	@Test
+	void backtracksWhenLiteralBranchFails() {
+		router.put("repo://{owner}/settings/hooks", "hooks");
+		router.put("repo://{owner}/{repo}/pulls", "pulls");
+
+		assertThat(router.route("repo://octo/settings/pulls").value()).isEqualTo("pulls");
+		assertThat(router.route("repo://octo/settings/pulls").variables()).containsEntry("repo", "settings");
+	}
+
+	@Test
+	void moreLiteralCharactersWinThenRegistrationOrder() {
+		router.put("file:///{name}", "any");
+		router.put("file:///{name}.json", "json");
+		router.put("file:///{base}", "later");
+
+		assertThat(router.route("file:///config.json").value()).isEqualTo("json");
+		assertThat(router.route("file:///config.yaml").value()).isEqualTo("any");
+	}
+
+	@Test
+	void removedRoutesAreNoLongerMatched() {
+		router.put("users://{id}", "template");
+		assertThat(router.route("users://1")).isNotNull();
+
+		router.remove("users://{id}");
+
+		assertThat(router.route("users://1")).isNull();
+	}
+
+	@Test
+	void customFactoryManagersAreCreatedOnce() {
+		int[] created = new int[1];
+		UriTemplateRouter<String> customRouter = new UriTemplateRouter<>(uriTemplate -> {
+			created[0]++;
+			McpUriTemplateManager delegate = new DefaultMcpUriTemplateManager(uriTemplate);
+			return new McpUriTemplateManager() {
+
+				@Override
+				public List<String> getVariableNames() {
+					return delegate.getVariableNames();
+				}
+
+				@Override
+				public Map<String, String> extractVariableValues(String uri) {
+					return delegate.extractVariableValues(uri);
+				}
+
+				@Override
+				public boolean matches(String uri) {
+					return delegate.matches(uri);
+				}
+
+				@Override
+				public boolean isUriTemplate(String uri) {
+					return delegate.isUriTemplate(uri);
+				}
+			};
+		});
+		customRouter.put("users://{id}", "template");
+		customRouter.put("users://me", "exact");
+
+		assertThat(customRouter.route("users://me").value()).isEqualTo("exact");
+		assertThat(customRouter.route("users://7").variables()).containsEntry("id", "7");
+		assertThat(customRouter.route("users://8").value()).isEqualTo("template");
+		assertThat(created[0]).isEqualTo(2);
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.server.transport;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.spec.McpSchema;
+import io.modelcontextprotocol.spec.McpServerSession;
+import io.modelcontextprotocol.spec.McpServerTransport;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link HttpServletSseServerTransportProvider}.
+ */
+class HttpServletSseServerTransportProviderTests {
+
+	@Test
+	void sessionIsClosedWhenSendingToItFails() throws Exception {
+		HttpServletSseServerTransportProvider provider = HttpServletSseServerTransportProvider.builder()
+			.objectMapper(new ObjectMapper())
+			.messageEndpoint("/message")
+			.build();
+		McpServerSession session = mock(McpServerSession.class);
+		AtomicReference<McpServerTransport> sessionTransport = new AtomicReference<>();
+		provider.setSessionFactory(transport -> {
+			sessionTransport.set(transport);
+			return session;
+		});
+		HttpServletRequest request = mock(HttpServletRequest.class);
+		when(request.getRequestURI()).thenReturn(HttpServletSseServerTransportProvider.DEFAULT_SSE_ENDPOINT);
+		when(request.startAsync()).thenReturn(mock(AsyncContext.class));
+		HttpServletResponse response = mock(HttpServletResponse.class);
+		FailingOutputStream outputStream = new FailingOutputStream();
+		when(response.getOutputStream()).thenReturn(outputStream);
+
+		provider.doGet(request, response);
+		assertThat(provider.sessionMetrics().active()).isEqualTo(1);
+
+		outputStream.disconnected = true;
+		sessionTransport.get()
+			.sendMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null))
+			.block();
+
+		assertThat(provider.sessionMetrics().active()).isZero();
+		verify(session).close();
+	}
+
+	private static final class FailingOutputStream extends ServletOutputStream {
+
+		private volatile boolean disconnected;
+
+		@Override
+		public void write(int b) throws IOException {
+			if (this.disconnected) {
+				throw new IOException("Broken pipe");
+			}
+		}
+
+		@Override
+		public boolean isReady() {
+			return true;
+		}
+
+		@Override
+		public void setWriteListener(WriteListener writeListener) {
+		}
+
+	}
+
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link FileMcpSessionStore}.
+ */
+class FileMcpSessionStoreTests {
+
+	@TempDir
+	Path directory;
+
+	private static McpSessionStore.SessionState state(String id, McpSchema.LoggingLevel level) {
+		McpSchema.ClientCapabilities capabilities = McpSchema.ClientCapabilities.builder()
+			.roots(true)
+			.sampling()
+			.experimental(Map.of("feature", true))
+			.build();
+		return new McpSessionStore.SessionState(id, capabilities, new McpSchema.Implementation("client", "1.0.0"),
+				level, true);
+	}
+
+	@Test
+	void savedStateIsLoadedByAnotherStoreOfTheSameDirectory() {
+		McpSessionStore.SessionState state = state("session-1", McpSchema.LoggingLevel.WARNING);
+		new FileMcpSessionStore(this.directory).save(state).block();
+
+		assertThat(new FileMcpSessionStore(this.directory).load("session-1").block()).isEqualTo(state);
+	}
+
+	@Test
+	void saveReplacesPreviousState() {
+		FileMcpSessionStore store = new FileMcpSessionStore(this.directory);
+		store.save(state("session-1", McpSchema.LoggingLevel.INFO)).block();
+		store.save(state("session-1", McpSchema.LoggingLevel.ERROR)).block();
+
+		assertThat(store.load("session-1").block().minLoggingLevel()).isEqualTo(McpSchema.LoggingLevel.ERROR);
+		assertThat(files()).hasSize(1);
+	}
+
+	@Test
+	void unknownSessionIsEmpty() {
+		assertThat(new FileMcpSessionStore(this.directory).load("unknown").blockOptional()).isEmpty();
+	}
+
+	@Test
+	void removeDeletesTheState() {
+		FileMcpSessionStore store = new FileMcpSessionStore(this.directory);
+		store.save(state("session-1", McpSchema.LoggingLevel.INFO)).block();
+
+		store.remove("session-1").block();
+		store.remove("session-1").block();
+
+		assertThat(store.load("session-1").blockOptional()).isEmpty();
+		assertThat(files()).isEmpty();
+	}
+
+	@Test
+	void sessionIdsCannotEscapeTheDirectory() {
+		FileMcpSessionStore store = new FileMcpSessionStore(this.directory.resolve("sessions"));
+		store.save(state("../../escaped", McpSchema.LoggingLevel.INFO)).block();
+
+		assertThat(store.load("../../escaped").block().id()).isEqualTo("../../escaped");
+		assertThat(files()).containsExactly(this.directory.resolve("sessions"));
+	}
+
+	private Stream<Path> files() {
+		try (Stream<Path> files = Files.list(this.directory)) {
+			return files.toList().stream();
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
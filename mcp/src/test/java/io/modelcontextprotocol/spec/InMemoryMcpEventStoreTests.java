@@ -0,0 +1,167 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link InMemoryMcpEventStore}.
+ */
+class InMemoryMcpEventStoreTests {
+
+	private final MutableClock clock = new MutableClock();
+
+	private final InMemoryMcpEventStore store = InMemoryMcpEventStore.builder()
+		.maxEventsPerStream(3)
+		.maxStreamsPerSession(2)
+		.maxAge(Duration.ofMinutes(1))
+		.clock(this.clock)
+		.build();
+
+	@Test
+	void replaysEventsStoredAfterLastEvent() {
+		String first = store("session", "stream", "first");
+		String second = store("session", "stream", "second");
+		store("session", "other", "other");
+		String third = store("session", "stream", "third");
+
+		assertThat(replay("session", first)).extracting(McpEventStore.Event::id).containsExactly(second, third);
+		assertThat(replay("session", first)).extracting(this::method).containsExactly("second", "third");
+		assertThat(replay("session", third)).isEmpty();
+	}
+
+	@Test
+	void replaysOnlyTheMostRecentEvents() {
+		String first = store("session", "stream", "1");
+		for (int i = 2; i <= 6; i++) {
+			store("session", "stream", String.valueOf(i));
+		}
+
+		assertThat(replay("session", first)).extracting(this::method).containsExactly("4", "5", "6");
+	}
+
+	@Test
+	void growsUpToMaxEventsPerStream() {
+		InMemoryMcpEventStore largeStore = InMemoryMcpEventStore.builder().maxEventsPerStream(20).build();
+		String first = largeStore.storeEvent("session", "stream", notification("0")).block();
+		for (int i = 1; i < 30; i++) {
+			largeStore.storeEvent("session", "stream", notification(String.valueOf(i))).block();
+		}
+
+		List<McpEventStore.Event> replayed = largeStore.replayEventsAfter("session", first).collectList().block();
+		assertThat(replayed).hasSize(20);
+		assertThat(method(replayed.get(0))).isEqualTo("10");
+		assertThat(method(replayed.get(19))).isEqualTo("29");
+	}
+
+	@Test
+	void expiredEventsAreNotReplayed() {
+		String first = store("session", "stream", "first");
+		store("session", "stream", "old");
+		this.clock.advance(Duration.ofSeconds(40));
+		store("session", "stream", "recent");
+		this.clock.advance(Duration.ofSeconds(30));
+
+		assertThat(replay("session", first)).extracting(this::method).containsExactly("recent");
+	}
+
+	@Test
+	void leastRecentlyWrittenStreamIsEvicted() {
+		String first = store("session", "a", "a1");
+		String second = store("session", "b", "b1");
+		store("session", "a", "a2");
+		store("session", "c", "c1");
+
+		assertThat(replay("session", first)).extracting(this::method).containsExactly("a2");
+		assertThat(replay("session", second)).isEmpty();
+	}
+
+	@Test
+	void eventsOfAnotherSessionAreNotReplayed() {
+		String first = store("session", "stream", "first");
+		store("session", "stream", "second");
+
+		assertThat(replay("intruder", first)).isEmpty();
+	}
+
+	@Test
+	void unknownEventIdsReplayNothing() {
+		store("session", "stream", "first");
+
+		assertThat(replay("session", "unknown")).isEmpty();
+		assertThat(replay("session", "stream_x")).isEmpty();
+		assertThat(replay("session", "other_0")).isEmpty();
+	}
+
+	@Test
+	void removeSessionDropsItsEvents() {
+		String first = store("session", "stream", "first");
+		store("session", "stream", "second");
+
+		this.store.removeSession("session").block();
+
+		assertThat(replay("session", first)).isEmpty();
+		assertThat(this.store.sessionCount()).isZero();
+	}
+
+	@Test
+	void invalidLimitsAreRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> InMemoryMcpEventStore.builder().maxEventsPerStream(0));
+		assertThatIllegalArgumentException().isThrownBy(() -> InMemoryMcpEventStore.builder().maxStreamsPerSession(0));
+		assertThatIllegalArgumentException().isThrownBy(() -> InMemoryMcpEventStore.builder().maxAge(Duration.ZERO));
+	}
+
+	private String store(String sessionId, String streamId, String method) {
+		return this.store.storeEvent(sessionId, streamId, notification(method)).block();
+	}
+
+	private List<McpEventStore.Event> replay(String sessionId, String lastEventId) {
+		return this.store.replayEventsAfter(sessionId, lastEventId).collectList().block();
+	}
+
+	private static McpSchema.JSONRPCNotification notification(String method) {
+		return new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, method, null);
+	}
+
+	private String method(McpEventStore.Event event) {
+		return ((McpSchema.JSONRPCNotification) event.message()).method();
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			this.now = this.now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.now;
+		}
+
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link InMemoryMcpNotificationBus}.
+ */
+class InMemoryMcpNotificationBusTests {
+
+	private final InMemoryMcpNotificationBus bus = new InMemoryMcpNotificationBus(Duration.ofMillis(200), 256);
+
+	private final List<McpNotificationBus.Notification> first = new CopyOnWriteArrayList<>();
+
+	private final List<McpNotificationBus.Notification> second = new CopyOnWriteArrayList<>();
+
+	private final Disposable firstSubscription = this.bus.notifications().subscribe(this.first::add);
+
+	private final Disposable secondSubscription = this.bus.notifications().subscribe(this.second::add);
+
+	@AfterEach
+	void after() {
+		this.firstSubscription.dispose();
+		this.secondSubscription.dispose();
+		this.bus.closeGracefully().block();
+	}
+
+	@Test
+	void notificationIsDeliveredToEverySubscriber() {
+		this.bus.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null).block();
+
+		assertThat(this.first).extracting(McpNotificationBus.Notification::method)
+			.containsExactly(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED);
+		assertThat(this.second).isEqualTo(this.first);
+	}
+
+	@Test
+	void identicalNotificationsOfABatchAreDeliveredOnce() {
+		Mono.when(this.bus.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null),
+				this.bus.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null),
+				this.bus.publish(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED,
+						new McpSchema.ResourcesUpdatedNotification("file:///a")),
+				this.bus.publish(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED,
+						new McpSchema.ResourcesUpdatedNotification("file:///a")),
+				this.bus.publish(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED,
+						new McpSchema.ResourcesUpdatedNotification("file:///b")),
+				this.bus.publish(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, Map.of()))
+			.block();
+
+		assertThat(this.first).extracting(McpNotificationBus.Notification::params)
+			.containsExactly(null, new McpSchema.ResourcesUpdatedNotification("file:///a"),
+					new McpSchema.ResourcesUpdatedNotification("file:///b"), Map.of());
+	}
+
+	@Test
+	void notificationsOfDifferentBatchesAreAllDelivered() {
+		this.bus.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null).block();
+		this.bus.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null).block();
+
+		assertThat(this.first).hasSize(2);
+		assertThat(this.first.get(0).id()).isNotEqualTo(this.first.get(1).id());
+	}
+
+	@Test
+	void pendingNotificationsAreDeliveredOnClose() {
+		Mono<Void> published = this.bus.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null).cache();
+		published.subscribe();
+
+		this.bus.closeGracefully().block();
+
+		published.block();
+		assertThat(this.first).hasSize(1);
+		assertThatExceptionOfType(McpError.class)
+			.isThrownBy(() -> this.bus.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null).block());
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link JacksonMcpMessageCodec}.
+ */
+class JacksonMcpMessageCodecTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final McpMessageCodec codec = new JacksonMcpMessageCodec(objectMapper);
+
+	private final McpSchema.JSONRPCResponse response = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, 7,
+			Map.of("content", "héllo"), null);
+
+	@Test
+	void encodesLikeTheObjectMapper() throws IOException {
+		ByteBuffer encoded = codec.encode(response);
+
+		assertThat(StandardCharsets.UTF_8.decode(encoded).toString())
+			.isEqualTo(objectMapper.writeValueAsString(response));
+	}
+
+	@Test
+	void roundTripsThroughAllInputs() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		codec.encode(response, out);
+		byte[] bytes = out.toByteArray();
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+
+		assertThat(codec.decode(bytes)).isEqualTo(response);
+		assertThat(codec.decode(ByteBuffer.wrap(bytes))).isEqualTo(response);
+		assertThat(codec.decode(direct)).isEqualTo(response);
+		assertThat(codec.decode(new ByteArrayInputStream(bytes))).isEqualTo(response);
+	}
+
+	@Test
+	void neitherFlushesNorClosesTheStream() throws IOException {
+		class TrackingOutputStream extends ByteArrayOutputStream {
+
+			boolean flushed;
+
+			boolean closed;
+
+			@Override
+			public void flush() {
+				this.flushed = true;
+			}
+
+			@Override
+			public void close() {
+				this.closed = true;
+			}
+
+		}
+		TrackingOutputStream out = new TrackingOutputStream();
+
+		codec.encode(response, (OutputStream) out);
+
+		assertThat(out.size()).isPositive();
+		assertThat(out.flushed).isFalse();
+		assertThat(out.closed).isFalse();
+	}
+
+}
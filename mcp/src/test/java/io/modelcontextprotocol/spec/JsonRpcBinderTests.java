@@ -0,0 +1,109 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link JsonRpcBinder} and {@link RawJsonObject}.
+ */
+class JsonRpcBinderTests {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private final JsonRpcBinder binder = new JsonRpcBinder(mapper);
+
+	private McpSchema.JSONRPCRequest decodeRequest(String json) throws IOException {
+		return (McpSchema.JSONRPCRequest) JsonRpcMessageDecoder.decode(mapper, json);
+	}
+
+	@Test
+	void keepsObjectParamsAsRawJson() throws IOException {
+		var request = decodeRequest(
+				"{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/call\",\"params\":{\"name\":\"echo\",\"arguments\":{\"n\":1}}}");
+
+		assertThat(request.params()).isInstanceOf(RawJsonObject.class);
+	}
+
+	@Test
+	void bindsRawParamsToTargetType() throws IOException {
+		var request = decodeRequest(
+				"{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"tools/call\",\"params\":{\"name\":\"echo\",\"arguments\":{\"n\":1,\"items\":[\"a\"]}}}");
+
+		McpSchema.CallToolRequest callToolRequest = binder.bind(request.params(), McpSchema.CallToolRequest.class);
+
+		assertThat(callToolRequest.name()).isEqualTo("echo");
+		assertThat(callToolRequest.arguments()).isEqualTo(Map.of("n", 1, "items", List.of("a")));
+		// Binding does not materialize the raw object, so it can be bound again
+		assertThat(binder.bind(request.params(), new TypeReference<McpSchema.CallToolRequest>() {
+		})).isEqualTo(callToolRequest);
+	}
+
+	@Test
+	void bindsRawResultToTargetType() throws IOException {
+		var response = (McpSchema.JSONRPCResponse) JsonRpcMessageDecoder.decode(mapper,
+				"{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"tools\":[{\"name\":\"t\",\"inputSchema\":{\"type\":\"object\"}}]}}");
+
+		McpSchema.ListToolsResult result = binder.bind(response.result(), McpSchema.ListToolsResult.class);
+
+		assertThat(result.tools()).hasSize(1);
+		assertThat(result.tools().get(0).name()).isEqualTo("t");
+	}
+
+	@Test
+	void bindsInProcessValues() {
+		assertThat(binder.bind(Map.of("uri", "file:///a"), McpSchema.ReadResourceRequest.class).uri())
+			.isEqualTo("file:///a");
+		assertThat(binder.bind(null, McpSchema.ReadResourceRequest.class)).isNull();
+	}
+
+	@Test
+	void reportsBindingFailuresAsIllegalArgument() throws IOException {
+		var request = decodeRequest(
+				"{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"logging/setLevel\",\"params\":{\"level\":\"nope\"}}");
+
+		assertThatThrownBy(() -> binder.bind(request.params(), McpSchema.SetLevelRequest.class))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void materializesRawObjectOnMapAccess() throws IOException {
+		var request = decodeRequest(
+				"{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"completion/complete\",\"params\":{\"ref\":{\"type\":\"ref/prompt\",\"name\":\"p\"},\"argument\":{\"name\":\"a\",\"value\":\"v\"}}}");
+
+		Map<String, Object> params = (Map<String, Object>) request.params();
+
+		assertThat(params).containsOnlyKeys("ref", "argument");
+		assertThat((Map<String, Object>) params.get("ref")).containsEntry("name", "p");
+		assertThat(params).isEqualTo(Map.of("ref", Map.of("type", "ref/prompt", "name", "p"), "argument",
+				Map.of("name", "a", "value", "v")));
+	}
+
+	@Test
+	void serializesRawObjectAsReadOrAsModified() throws IOException {
+		String json = "{\"jsonrpc\":\"2.0\",\"method\":\"resources/read\",\"id\":1,\"params\":{\"uri\":\"file:///a\"}}";
+
+		assertThat(mapper.writeValueAsString(decodeRequest(json))).isEqualTo(json);
+
+		var request = decodeRequest(json);
+		@SuppressWarnings("unchecked")
+		Map<String, Object> params = (Map<String, Object>) request.params();
+		params.put("uri", "file:///b");
+
+		assertThat(mapper.writeValueAsString(request)).contains("\"uri\":\"file:///b\"");
+		assertThat(binder.bind(params, McpSchema.ReadResourceRequest.class).uri()).isEqualTo("file:///b");
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares the single-pass {@link JsonRpcMessageDecoder} with the previous
+ * {@code Map}-based deserialization that parsed the message into a {@code HashMap} and
+ * then converted it into the JSON-RPC record.
+ *
+ * <p>
+ * Run with {@code mvn -pl mcp test-compile} followed by the {@link #main(String[])}
+ * method of this class using the test classpath. Add {@code -prof gc} to the JMH options
+ * to compare the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonRpcMessageDecoderBenchmark {
+
+	private static final TypeReference<HashMap<String, Object>> MAP_TYPE_REF = new TypeReference<>() {
+	};
+
+	@Param({ "ping", "toolCall", "largeResult" })
+	public String payload;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private String json;
+
+	private byte[] bytes;
+
+	@Setup
+	public void setup() {
+		this.json = switch (this.payload) {
+			case "ping" -> "{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"ping\"}";
+			case "toolCall" -> """
+					{"jsonrpc":"2.0","id":"5b1c-42","method":"tools/call","params":{"name":"search",\
+					"arguments":{"query":"model context protocol","limit":25,"filters":{"lang":["en","de"],\
+					"since":"2025-01-01"}},"_meta":{"progressToken":"p-42"}}}""";
+			case "largeResult" -> largeResult();
+			default -> throw new IllegalArgumentException(this.payload);
+		};
+		this.bytes = this.json.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String largeResult() {
+		StringBuilder sb = new StringBuilder("{\"jsonrpc\":\"2.0\",\"id\":7,\"result\":{\"tools\":[");
+		for (int i = 0; i < 200; i++) {
+			if (i > 0) {
+				sb.append(',');
+			}
+			sb.append("{\"name\":\"tool-")
+				.append(i)
+				.append("\",\"description\":\"Tool number ")
+				.append(i)
+				.append("\",\"inputSchema\":{\"type\":\"object\",\"properties\":{\"a\":{\"type\":\"string\"},")
+				.append("\"b\":{\"type\":\"integer\"}},\"required\":[\"a\"]}}");
+		}
+		return sb.append("]}}").toString();
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage mapRoundTrip() throws IOException {
+		var map = this.objectMapper.readValue(this.json, MAP_TYPE_REF);
+		if (map.containsKey("method") && map.containsKey("id")) {
+			return this.objectMapper.convertValue(map, McpSchema.JSONRPCRequest.class);
+		}
+		else if (map.containsKey("method")) {
+			return this.objectMapper.convertValue(map, McpSchema.JSONRPCNotification.class);
+		}
+		return this.objectMapper.convertValue(map, McpSchema.JSONRPCResponse.class);
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage streamingFromString() throws IOException {
+		return JsonRpcMessageDecoder.decode(this.objectMapper, this.json);
+	}
+
+	@Benchmark
+	public McpSchema.JSONRPCMessage streamingFromBytes() throws IOException {
+		return JsonRpcMessageDecoder.decode(this.objectMapper, this.bytes);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(JsonRpcMessageDecoderBenchmark.class.getSimpleName()).build()).run();
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for {@link JsonRpcMessageDecoder}.
+ */
+class JsonRpcMessageDecoderTests {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	@Test
+	void decodesRequest() throws IOException {
+		var message = JsonRpcMessageDecoder.decode(mapper,
+				"""
+						{"jsonrpc":"2.0","method":"tools/call","id":"abc-1","params":{"name":"echo","arguments":{"n":1,"items":[1,"two"]}}}
+						""");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCRequest.class);
+		var request = (McpSchema.JSONRPCRequest) message;
+		assertThat(request.jsonrpc()).isEqualTo("2.0");
+		assertThat(request.method()).isEqualTo("tools/call");
+		assertThat(request.id()).isEqualTo("abc-1");
+		assertThat(request.params())
+			.isEqualTo(Map.of("name", "echo", "arguments", Map.of("n", 1, "items", List.of(1, "two"))));
+	}
+
+	@Test
+	void decodesNumericRequestIds() throws IOException {
+		var intId = (McpSchema.JSONRPCRequest) JsonRpcMessageDecoder.decode(mapper,
+				"{\"jsonrpc\":\"2.0\",\"id\":7,\"method\":\"ping\"}");
+		var longId = (McpSchema.JSONRPCRequest) JsonRpcMessageDecoder.decode(mapper,
+				"{\"jsonrpc\":\"2.0\",\"id\":8589934592,\"method\":\"ping\"}");
+
+		assertThat(intId.id()).isEqualTo(7);
+		assertThat(longId.id()).isEqualTo(8589934592L);
+	}
+
+	@Test
+	void decodesNotification() throws IOException {
+		var message = JsonRpcMessageDecoder.decode(mapper,
+				"{\"method\":\"notifications/initialized\",\"jsonrpc\":\"2.0\"}");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCNotification.class);
+		assertThat(((McpSchema.JSONRPCNotification) message).method()).isEqualTo("notifications/initialized");
+		assertThat(((McpSchema.JSONRPCNotification) message).params()).isNull();
+	}
+
+	@Test
+	void decodesResultResponse() throws IOException {
+		var message = JsonRpcMessageDecoder.decode(mapper,
+				"{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":{\"tools\":[]},\"unknown\":{\"nested\":[1,2]}}");
+
+		assertThat(message).isInstanceOf(McpSchema.JSONRPCResponse.class);
+		var response = (McpSchema.JSONRPCResponse) message;
+		assertThat(response.id()).isEqualTo(1);
+		assertThat(response.result()).isEqualTo(Map.of("tools", List.of()));
+		assertThat(response.error()).isNull();
+	}
+
+	@Test
+	void decodesErrorResponse() throws IOException {
+		var message = JsonRpcMessageDecoder.decode(mapper,
+				"{\"jsonrpc\":\"2.0\",\"id\":\"x\",\"error\":{\"code\":-32601,\"message\":\"Method not found\"}}");
+
+		var response = (McpSchema.JSONRPCResponse) message;
+		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.METHOD_NOT_FOUND);
+		assertThat(response.error().message()).isEqualTo("Method not found");
+	}
+
+	@Test
+	void decodesBinaryInputs() throws IOException {
+		String json = "{\"jsonrpc\":\"2.0\",\"method\":\"ping\",\"id\":\"ü-1\"}";
+		byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+		ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+		direct.put(bytes).flip();
+
+		byte[] padded = new byte[bytes.length + 4];
+		System.arraycopy(bytes, 0, padded, 2, bytes.length);
+
+		assertThat(JsonRpcMessageDecoder.decode(mapper, bytes)).isEqualTo(JsonRpcMessageDecoder.decode(mapper, json));
+		assertThat(JsonRpcMessageDecoder.decode(mapper, padded, 2, bytes.length))
+			.isEqualTo(JsonRpcMessageDecoder.decode(mapper, json));
+		assertThat(JsonRpcMessageDecoder.decode(mapper, ByteBuffer.wrap(bytes)))
+			.isEqualTo(JsonRpcMessageDecoder.decode(mapper, json));
+		assertThat(JsonRpcMessageDecoder.decode(mapper, direct)).isEqualTo(JsonRpcMessageDecoder.decode(mapper, json));
+		assertThat(direct.position()).isZero();
+		assertThat(JsonRpcMessageDecoder.decode(mapper, new ByteArrayInputStream(bytes)))
+			.isEqualTo(JsonRpcMessageDecoder.decode(mapper, json));
+	}
+
+	@Test
+	void rejectsUnknownMessageShape() {
+		assertThatThrownBy(() -> JsonRpcMessageDecoder.decode(mapper, "{\"jsonrpc\":\"2.0\",\"id\":1}"))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("Cannot deserialize JSONRPCMessage");
+	}
+
+	@Test
+	void rejectsNonObjectInput() {
+		assertThatThrownBy(() -> JsonRpcMessageDecoder.decode(mapper, "[1,2,3]")).isInstanceOf(IOException.class);
+	}
+
+	@Test
+	void rejectsInvalidRequestId() {
+		assertThatThrownBy(
+				() -> JsonRpcMessageDecoder.decode(mapper, "{\"jsonrpc\":\"2.0\",\"method\":\"ping\",\"id\":1.5}"))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessageContaining("MCP requests MUST have an ID that is either a string or integer");
+	}
+
+	@Test
+	void matchesMapBasedDeserialization() throws IOException {
+		String json = """
+				{"jsonrpc":"2.0","id":42,"method":"resources/read","params":{"uri":"file:///a","_meta":{"progressToken":3}}}
+				""";
+
+		@SuppressWarnings("unchecked")
+		Map<String, Object> map = mapper.readValue(json, Map.class);
+
+		assertThat(JsonRpcMessageDecoder.decode(mapper, json))
+			.isEqualTo(mapper.convertValue(map, McpSchema.JSONRPCRequest.class));
+	}
+
+}
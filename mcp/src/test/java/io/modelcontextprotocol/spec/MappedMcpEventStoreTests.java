@@ -0,0 +1,236 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link MappedMcpEventStore}.
+ */
+class MappedMcpEventStoreTests {
+
+	@TempDir
+	Path directory;
+
+	private final MutableClock clock = new MutableClock();
+
+	private MappedMcpEventStore open() {
+		return MappedMcpEventStore.builder(this.directory)
+			.segmentSize(1024)
+			.maxTotalSize(4096)
+			.maxAge(Duration.ofMinutes(1))
+			.clock(this.clock)
+			.build();
+	}
+
+	@Test
+	void replaysEventsStoredAfterLastEvent() {
+		MappedMcpEventStore store = open();
+		String first = store(store, "session", "stream", "first");
+		String second = store(store, "session", "stream", "second");
+		store(store, "session", "other", "other");
+		String third = store(store, "session", "stream", "third");
+
+		List<McpEventStore.Event> replayed = replay(store, "session", first);
+		assertThat(replayed).extracting(McpEventStore.Event::id).containsExactly(second, third);
+		assertThat(replayed).extracting(MappedMcpEventStoreTests::method).containsExactly("second", "third");
+		assertThat(replay(store, "session", third)).isEmpty();
+	}
+
+	@Test
+	void replaysMessageContent() {
+		MappedMcpEventStore store = open();
+		McpSchema.JSONRPCResponse response = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, "request-1",
+				Map.of("content", "done"), null);
+		String first = store(store, "session", "stream", "progress");
+		store.storeEvent("session", "stream", response).block();
+
+		List<McpEventStore.Event> replayed = replay(store, "session", first);
+		assertThat(replayed).hasSize(1);
+		assertThat(replayed.get(0).message()).isEqualTo(response);
+	}
+
+	@Test
+	void replaysEventsAfterReopening() {
+		MappedMcpEventStore store = open();
+		String first = store(store, "session", "stream", "first");
+		store(store, "session", "stream", "second");
+
+		MappedMcpEventStore reopened = open();
+		assertThat(replay(reopened, "session", first)).extracting(MappedMcpEventStoreTests::method)
+			.containsExactly("second");
+
+		// New events continue the sequence of the stream
+		String third = store(reopened, "session", "stream", "third");
+		assertThat(third).isEqualTo("stream_2");
+		assertThat(replay(reopened, "session", first)).extracting(MappedMcpEventStoreTests::method)
+			.containsExactly("second", "third");
+	}
+
+	@Test
+	void closedStoreRejectsEventsAndKeepsTheStoredOnes() {
+		MappedMcpEventStore store = open();
+		String first = store(store, "session", "stream", "first");
+		store(store, "session", "stream", "second");
+
+		store.close();
+
+		assertThat(store.segmentCount()).isZero();
+		assertThat(replay(store, "session", first)).isEmpty();
+		assertThatIllegalStateException().isThrownBy(() -> store(store, "session", "stream", "third"));
+		assertThatIllegalStateException().isThrownBy(() -> store.removeSession("session").block());
+		store.close();
+
+		try (MappedMcpEventStore reopened = open()) {
+			assertThat(replay(reopened, "session", first)).extracting(MappedMcpEventStoreTests::method)
+				.containsExactly("second");
+		}
+	}
+
+	@Test
+	void rollsSegmentsAndDeletesOldestBeyondMaxTotalSize() {
+		MappedMcpEventStore store = open();
+		String first = store(store, "session", "stream", "0");
+		for (int i = 1; i < 100; i++) {
+			store(store, "session", "stream", String.valueOf(i));
+		}
+
+		assertThat(store.segmentCount()).isEqualTo(4);
+		List<McpEventStore.Event> replayed = replay(store, "session", first);
+		assertThat(replayed).isNotEmpty().hasSizeLessThan(99);
+		assertThat(method(replayed.get(replayed.size() - 1))).isEqualTo("99");
+		assertThat(this.directory.toFile().list()).hasSize(4);
+
+		// The recovered stream only holds the events of the remaining segments
+		assertThat(replay(open(), "session", first)).extracting(McpEventStore.Event::id)
+			.containsExactlyElementsOf(replayed.stream().map(McpEventStore.Event::id).toList());
+	}
+
+	@Test
+	void expiredEventsAreNotReplayed() {
+		MappedMcpEventStore store = open();
+		String first = store(store, "session", "stream", "first");
+		store(store, "session", "stream", "old");
+		this.clock.advance(Duration.ofSeconds(40));
+		store(store, "session", "stream", "recent");
+		this.clock.advance(Duration.ofSeconds(30));
+
+		assertThat(replay(store, "session", first)).extracting(MappedMcpEventStoreTests::method)
+			.containsExactly("recent");
+	}
+
+	@Test
+	void expiredSegmentsAreDeleted() {
+		MappedMcpEventStore store = open();
+		for (int i = 0; i < 30; i++) {
+			store(store, "session", "stream", String.valueOf(i));
+		}
+		assertThat(store.segmentCount()).isGreaterThan(1);
+
+		this.clock.advance(Duration.ofMinutes(2));
+		store(store, "session", "stream", "recent");
+
+		assertThat(store.segmentCount()).isEqualTo(1);
+	}
+
+	@Test
+	void eventsOfAnotherSessionAreNotReplayed() {
+		MappedMcpEventStore store = open();
+		String first = store(store, "session", "stream", "first");
+		store(store, "session", "stream", "second");
+
+		assertThat(replay(store, "intruder", first)).isEmpty();
+		assertThat(replay(store, "session", "unknown")).isEmpty();
+		assertThat(replay(store, "session", "stream_x")).isEmpty();
+	}
+
+	@Test
+	void removedSessionStaysRemovedAfterReopening() {
+		MappedMcpEventStore store = open();
+		String first = store(store, "session", "stream", "first");
+		store(store, "session", "stream", "second");
+
+		store.removeSession("session").block();
+
+		assertThat(replay(store, "session", first)).isEmpty();
+		assertThat(replay(open(), "session", first)).isEmpty();
+	}
+
+	@Test
+	void eventLargerThanSegmentIsRejected() {
+		MappedMcpEventStore store = open();
+
+		assertThat(store.storeEvent("session", "stream", notification("x".repeat(2048)))
+			.onErrorResume(e -> Mono.just("rejected"))
+			.block()).isEqualTo("rejected");
+	}
+
+	@Test
+	void invalidLimitsAreRejected() {
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> MappedMcpEventStore.builder(this.directory).segmentSize(1));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> MappedMcpEventStore.builder(this.directory).maxTotalSize(0));
+		assertThatIllegalArgumentException()
+			.isThrownBy(() -> MappedMcpEventStore.builder(this.directory).maxAge(Duration.ZERO));
+	}
+
+	private static String store(MappedMcpEventStore store, String sessionId, String streamId, String method) {
+		return store.storeEvent(sessionId, streamId, notification(method)).block();
+	}
+
+	private static List<McpEventStore.Event> replay(MappedMcpEventStore store, String sessionId, String lastEventId) {
+		return store.replayEventsAfter(sessionId, lastEventId).collectList().block();
+	}
+
+	private static McpSchema.JSONRPCNotification notification(String method) {
+		return new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, method, null);
+	}
+
+	private static String method(McpEventStore.Event event) {
+		return ((McpSchema.JSONRPCNotification) event.message()).method();
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.now();
+
+		void advance(Duration duration) {
+			this.now = this.now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.now;
+		}
+
+	}
+
+}
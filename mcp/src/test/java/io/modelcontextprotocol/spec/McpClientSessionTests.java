@@ -6,6 +6,7 @@ package io.modelcontextprotocol.spec;
 
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import io.modelcontextprotocol.MockMcpClientTransport;
@@ -14,6 +15,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
@@ -119,6 +121,48 @@ class McpClientSessionTests {
 			.verify(TIMEOUT.plusSeconds(1));
 	}
 
+	@Test
+	void testRequestTimeoutSendsCancellation() {
+		McpClientSession shortTimeoutSession = new McpClientSession(Duration.ofMillis(100), transport, Map.of(),
+				Map.of());
+
+		AtomicReference<Object> requestId = new AtomicReference<>();
+		StepVerifier.create(shortTimeoutSession.sendRequest(TEST_METHOD, "test", responseType))
+			.then(() -> requestId.set(transport.getLastSentMessageAsRequest().id()))
+			.expectError(java.util.concurrent.TimeoutException.class)
+			.verify(TIMEOUT);
+
+		McpSchema.JSONRPCNotification cancellation = transport.getLastSentMessageAsNotification();
+		assertThat(cancellation.method()).isEqualTo(McpSchema.METHOD_NOTIFICATION_CANCELLED);
+		assertThat(((McpSchema.CancelledNotification) cancellation.params()).requestId()).isEqualTo(requestId.get());
+		shortTimeoutSession.close();
+	}
+
+	@Test
+	void testDisposedRequestSendsCancellation() {
+		Disposable pending = session.sendRequest(TEST_METHOD, "test", responseType).subscribe();
+		McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+
+		pending.dispose();
+
+		McpSchema.JSONRPCNotification cancellation = transport.getLastSentMessageAsNotification();
+		assertThat(cancellation.method()).isEqualTo(McpSchema.METHOD_NOTIFICATION_CANCELLED);
+		assertThat(((McpSchema.CancelledNotification) cancellation.params()).requestId()).isEqualTo(request.id());
+	}
+
+	@Test
+	void testCompletedRequestIsNotCancelled() {
+		Mono<String> responseMono = session.sendRequest(TEST_METHOD, "test", responseType);
+
+		StepVerifier.create(responseMono).then(() -> {
+			McpSchema.JSONRPCRequest request = transport.getLastSentMessageAsRequest();
+			transport.simulateIncomingMessage(
+					new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, request.id(), "response", null));
+		}).expectNext("response").verifyComplete();
+
+		assertThat(transport.getLastSentMessage()).isInstanceOf(McpSchema.JSONRPCRequest.class);
+	}
+
 	@Test
 	void testSendNotification() {
 		Map<String, Object> params = Map.of("key", "value");
@@ -190,6 +234,23 @@ class McpClientSessionTests {
 		assertThat(response.error().code()).isEqualTo(McpSchema.ErrorCodes.METHOD_NOT_FOUND);
 	}
 
+	@Test
+	void testCancelledServerRequestIsDisposedWithoutResponse() {
+		MockMcpClientTransport serverTransport = new MockMcpClientTransport();
+		Sinks.Empty<Void> handlerCancelled = Sinks.empty();
+		McpClientSession cancellableSession = new McpClientSession(TIMEOUT, serverTransport,
+				Map.of(ECHO_METHOD, params -> Mono.never().doOnCancel(handlerCancelled::tryEmitEmpty)), Map.of());
+		serverTransport.simulateIncomingMessage(
+				new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, ECHO_METHOD, "server-1", null));
+
+		serverTransport.simulateIncomingMessage(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+				McpSchema.METHOD_NOTIFICATION_CANCELLED, Map.of("requestId", "server-1", "reason", "timed out")));
+
+		StepVerifier.create(handlerCancelled.asMono()).expectComplete().verify(TIMEOUT);
+		assertThat(serverTransport.getLastSentMessage()).isNull();
+		cancellableSession.close();
+	}
+
 	@Test
 	void testGracefulShutdown() {
 		StepVerifier.create(session.closeGracefully()).verifyComplete();
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.server.McpAsyncServerExchange;
+import io.modelcontextprotocol.server.McpNotificationHandler;
+import io.modelcontextprotocol.server.McpRequestHandler;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link McpIdGenerator}.
+ */
+class McpIdGeneratorTests {
+
+	@Test
+	void defaultSessionIdsAreDistinctRandomUuids() {
+		McpIdGenerator generator = McpIdGenerator.defaultGenerator();
+		Set<String> ids = new HashSet<>();
+
+		for (int i = 0; i < 1000; i++) {
+			String id = generator.generateSessionId();
+			UUID uuid = UUID.fromString(id);
+			assertThat(uuid.version()).isEqualTo(4);
+			assertThat(uuid.variant()).isEqualTo(2);
+			ids.add(id);
+		}
+
+		assertThat(ids).hasSize(1000);
+	}
+
+	@Test
+	void defaultMessageIdsNumberTheMessagesOfTheirStream() {
+		McpIdGenerator generator = McpIdGenerator.defaultGenerator();
+		String streamId = generator.generateStreamId();
+
+		assertThat(generator.generateStreamId()).isNotEqualTo(streamId);
+		assertThat(generator.generateMessageId(streamId, 0)).isEqualTo(streamId + "_0");
+		assertThat(generator.generateMessageId(streamId, 1)).isEqualTo(streamId + "_1");
+	}
+
+	@Test
+	void streamableSessionNamesStreamsAndMessagesWithItsGenerator() {
+		AtomicInteger streams = new AtomicInteger();
+		McpIdGenerator generator = new McpIdGenerator() {
+
+			@Override
+			public String generateSessionId() {
+				return "session";
+			}
+
+			@Override
+			public String generateStreamId() {
+				return "stream-" + streams.getAndIncrement();
+			}
+
+		};
+		Map<String, McpRequestHandler<?>> requestHandlers = Map.of("echo", this::logThenAnswer);
+		McpStreamableServerSession session = new McpStreamableServerSession("session",
+				McpSchema.ClientCapabilities.builder().build(), new McpSchema.Implementation("client", "1.0.0"),
+				Duration.ofSeconds(10), requestHandlers, Map.<String, McpNotificationHandler>of(), null, null, null,
+				generator);
+		RecordingStreamTransport first = new RecordingStreamTransport();
+		RecordingStreamTransport second = new RecordingStreamTransport();
+
+		session.responseStream(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, "echo", 1, null), first).block();
+		session.responseStream(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, "echo", 2, null), second)
+			.block();
+
+		assertThat(first.messageIds).containsExactly("stream-0_0", "stream-0_1");
+		assertThat(second.messageIds).containsExactly("stream-1_0", "stream-1_1");
+	}
+
+	// Sends a notification before the response, so that each stream sends two messages
+	private Mono<Object> logThenAnswer(McpAsyncServerExchange exchange, Object params) {
+		McpSchema.LoggingMessageNotification notification = McpSchema.LoggingMessageNotification.builder()
+			.level(McpSchema.LoggingLevel.ERROR)
+			.data("handling")
+			.build();
+		return exchange.loggingNotification(notification).thenReturn("done");
+	}
+
+	private static final class RecordingStreamTransport implements McpStreamableServerTransport {
+
+		private final List<String> messageIds = new CopyOnWriteArrayList<>();
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return sendMessage(message, null);
+		}
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message, String messageId) {
+			return Mono.fromRunnable(() -> this.messageIds.add(messageId));
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+		@Override
+		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+			return new ObjectMapper().convertValue(data, typeRef);
+		}
+
+	}
+
+}
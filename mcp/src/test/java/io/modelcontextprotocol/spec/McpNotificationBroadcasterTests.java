@@ -0,0 +1,134 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link McpNotificationBroadcaster}.
+ */
+class McpNotificationBroadcasterTests {
+
+	private final McpNotificationBroadcaster broadcaster = new McpNotificationBroadcaster(new ObjectMapper(),
+			Schedulers.immediate(), 4, 2);
+
+	@Test
+	void sharesSerializedParamsAcrossSessions() {
+		RecordingSession first = new RecordingSession(Mono::empty);
+		RecordingSession second = new RecordingSession(Mono::empty);
+
+		McpNotificationBroadcaster.Result result = broadcaster
+			.broadcast(List.of(first, second), McpSchema.METHOD_NOTIFICATION_MESSAGE, Map.of("level", "info"))
+			.block();
+
+		assertThat(result).isEqualTo(new McpNotificationBroadcaster.Result(2, 0, 0));
+		assertThat(first.received.get(0)).isInstanceOf(RawJsonValue.class).isSameAs(second.received.get(0));
+		assertThat(first.received.get(0).toString()).isEqualTo("{\"level\":\"info\"}");
+	}
+
+	@Test
+	void nullParamsAreSentAsIs() {
+		RecordingSession session = new RecordingSession(Mono::empty);
+
+		broadcaster.broadcast(List.of(session), McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null).block();
+
+		assertThat(session.received).containsExactly((Object) null);
+	}
+
+	@Test
+	void emptySessionsCompleteImmediately() {
+		assertThat(broadcaster.broadcast(List.of(), McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null).block())
+			.isEqualTo(new McpNotificationBroadcaster.Result(0, 0, 0));
+	}
+
+	@Test
+	void failedDeliveriesAreCountedWithoutFailingTheBroadcast() {
+		RecordingSession failing = new RecordingSession(() -> Mono.error(new IllegalStateException("Closed")));
+		RecordingSession healthy = new RecordingSession(Mono::empty);
+
+		McpNotificationBroadcaster.Result result = broadcaster
+			.broadcast(List.of(failing, healthy), McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null)
+			.block();
+
+		assertThat(result).isEqualTo(new McpNotificationBroadcaster.Result(1, 0, 1));
+		assertThat(healthy.received).hasSize(1);
+	}
+
+	@Test
+	void saturatedSessionIsSkipped() {
+		Sinks.Empty<Void> stalledWrite = Sinks.empty();
+		RecordingSession stalled = new RecordingSession(stalledWrite::asMono);
+		RecordingSession healthy = new RecordingSession(Mono::empty);
+
+		// Fill the in-flight deliveries of the stalled session
+		Disposable first = broadcaster
+			.broadcast(List.of(stalled), McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null)
+			.subscribe();
+		Disposable second = broadcaster
+			.broadcast(List.of(stalled), McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null)
+			.subscribe();
+
+		McpNotificationBroadcaster.Result result = broadcaster
+			.broadcast(List.of(stalled, healthy), McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null)
+			.block();
+
+		assertThat(result).isEqualTo(new McpNotificationBroadcaster.Result(1, 1, 0));
+		assertThat(stalled.received).hasSize(2);
+
+		// Once the writes complete, the session receives notifications again
+		stalledWrite.tryEmitEmpty();
+		assertThat(first.isDisposed()).isTrue();
+		assertThat(second.isDisposed()).isTrue();
+		assertThat(
+				broadcaster.broadcast(List.of(stalled), McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null).block())
+			.isEqualTo(new McpNotificationBroadcaster.Result(1, 0, 0));
+	}
+
+	private static class RecordingSession implements McpSession {
+
+		final List<Object> received = new CopyOnWriteArrayList<>();
+
+		private final Supplier<Mono<Void>> write;
+
+		RecordingSession(Supplier<Mono<Void>> write) {
+			this.write = write;
+		}
+
+		@Override
+		public <T> Mono<T> sendRequest(String method, Object requestParams, TypeReference<T> typeRef) {
+			return Mono.empty();
+		}
+
+		@Override
+		public Mono<Void> sendNotification(String method, Object params) {
+			this.received.add(params);
+			return this.write.get();
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.empty();
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+}
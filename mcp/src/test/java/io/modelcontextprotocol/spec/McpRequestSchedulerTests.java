@@ -0,0 +1,204 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.server.McpNotificationHandler;
+import io.modelcontextprotocol.server.McpRequestHandler;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests for {@link McpRequestScheduler}.
+ */
+class McpRequestSchedulerTests {
+
+	private final List<String> started = new CopyOnWriteArrayList<>();
+
+	@Test
+	void requestsBeyondSessionLimitAreQueuedThenRejected() {
+		McpRequestScheduler scheduler = McpRequestScheduler.builder()
+			.maxInFlightRequestsPerSession(1)
+			.maxQueuedRequestsPerSession(1)
+			.build();
+		McpRequestScheduler.Lane lane = scheduler.lane("a");
+		Sinks.One<String> first = Sinks.one();
+		Sinks.One<String> second = Sinks.one();
+
+		Mono<String> firstResult = lane.request(handling("a1", first)).cache();
+		Mono<String> secondResult = lane.request(handling("a2", second)).cache();
+		firstResult.subscribe();
+		secondResult.subscribe();
+
+		assertThat(this.started).containsExactly("a1");
+		assertThat(scheduler.metrics()).isEqualTo(new McpRequestScheduler.Metrics(1, 1, 0, 0));
+		assertThatThrownBy(() -> lane.request(Mono.just("a3")).block()).isInstanceOf(McpError.class)
+			.hasMessageContaining("Too many requests");
+
+		first.tryEmitValue("one");
+		assertThat(firstResult.block()).isEqualTo("one");
+		assertThat(this.started).containsExactly("a1", "a2");
+		second.tryEmitValue("two");
+		assertThat(secondResult.block()).isEqualTo("two");
+		assertThat(scheduler.metrics()).isEqualTo(new McpRequestScheduler.Metrics(0, 0, 0, 1));
+	}
+
+	@Test
+	void sessionsAreServedInTurn() {
+		McpRequestScheduler scheduler = McpRequestScheduler.builder()
+			.maxInFlightRequests(1)
+			.maxQueuedRequestsPerSession(10)
+			.build();
+		McpRequestScheduler.Lane a = scheduler.lane("a");
+		McpRequestScheduler.Lane b = scheduler.lane("b");
+		Sinks.One<String> blocker = Sinks.one();
+
+		a.request(handling("a1", blocker)).subscribe();
+		a.request(handling("a2", Sinks.one())).subscribe();
+		a.request(handling("a3", Sinks.one())).subscribe();
+		b.request(handling("b1", Sinks.one())).subscribe();
+		assertThat(scheduler.metrics().queuedRequests()).isEqualTo(3);
+
+		blocker.tryEmitValue("done");
+
+		assertThat(this.started).containsExactly("a1", "a2");
+		assertThat(scheduler.metrics().inFlightRequests()).isEqualTo(1);
+	}
+
+	@Test
+	void requestsOfOtherSessionsAreServedBeforeTheNextRequestOfTheSameSession() {
+		McpRequestScheduler scheduler = McpRequestScheduler.builder()
+			.maxInFlightRequests(1)
+			.maxQueuedRequestsPerSession(10)
+			.build();
+		McpRequestScheduler.Lane a = scheduler.lane("a");
+		McpRequestScheduler.Lane b = scheduler.lane("b");
+		Sinks.One<String> a1 = Sinks.one();
+		Sinks.One<String> a2 = Sinks.one();
+
+		a.request(handling("a1", a1)).subscribe();
+		a.request(handling("a2", a2)).subscribe();
+		a.request(handling("a3", Sinks.one())).subscribe();
+		b.request(handling("b1", Sinks.one())).subscribe();
+
+		a1.tryEmitValue("done");
+		a2.tryEmitValue("done");
+
+		assertThat(this.started).containsExactly("a1", "a2", "b1");
+	}
+
+	@Test
+	void notificationsAreHandledInOrderWhenOrdered() {
+		McpRequestScheduler scheduler = McpRequestScheduler.builder().orderedNotifications(true).build();
+		McpRequestScheduler.Lane lane = scheduler.lane("a");
+		Sinks.One<String> first = Sinks.one();
+
+		lane.notification(handling("n1", first).then()).subscribe();
+		lane.notification(handling("n2", Sinks.one()).then()).subscribe();
+		assertThat(this.started).containsExactly("n1");
+		assertThat(scheduler.metrics().queuedNotifications()).isEqualTo(1);
+
+		first.tryEmitValue("done");
+
+		assertThat(this.started).containsExactly("n1", "n2");
+		assertThat(scheduler.metrics().queuedNotifications()).isZero();
+	}
+
+	@Test
+	void notificationsAreNotDelayedWhenUnordered() {
+		McpRequestScheduler.Lane lane = McpRequestScheduler.builder().build().lane("a");
+
+		lane.notification(handling("n1", Sinks.one()).then()).subscribe();
+		lane.notification(handling("n2", Sinks.one()).then()).subscribe();
+
+		assertThat(this.started).containsExactly("n1", "n2");
+	}
+
+	@Test
+	void closingLaneRejectsQueuedRequests() {
+		McpRequestScheduler scheduler = McpRequestScheduler.builder()
+			.maxInFlightRequestsPerSession(1)
+			.maxQueuedRequestsPerSession(1)
+			.build();
+		McpRequestScheduler.Lane lane = scheduler.lane("a");
+		lane.request(handling("a1", Sinks.one())).subscribe();
+		Mono<String> queued = lane.request(handling("a2", Sinks.one())).cache();
+		queued.subscribe(value -> {
+		}, error -> {
+		});
+
+		lane.close();
+
+		assertThatThrownBy(queued::block).isInstanceOf(McpError.class).hasMessageContaining("closed");
+		assertThat(scheduler.metrics().queuedRequests()).isZero();
+		assertThat(this.started).containsExactly("a1");
+	}
+
+	@Test
+	void cancelledQueuedRequestLeavesTheQueue() {
+		McpRequestScheduler scheduler = McpRequestScheduler.builder()
+			.maxInFlightRequestsPerSession(1)
+			.maxQueuedRequestsPerSession(1)
+			.build();
+		McpRequestScheduler.Lane lane = scheduler.lane("a");
+		Sinks.One<String> first = Sinks.one();
+		lane.request(handling("a1", first)).subscribe();
+
+		lane.request(handling("a2", Sinks.one())).subscribe().dispose();
+		assertThat(scheduler.metrics().queuedRequests()).isZero();
+
+		first.tryEmitValue("done");
+		assertThat(this.started).containsExactly("a1");
+		assertThat(scheduler.metrics().inFlightRequests()).isZero();
+	}
+
+	@Test
+	void sessionAnswersRejectedRequestWithError() {
+		McpRequestScheduler scheduler = McpRequestScheduler.builder().maxInFlightRequestsPerSession(1).build();
+		Sinks.One<Object> blocker = Sinks.one();
+		Map<String, McpRequestHandler<?>> requestHandlers = Map.of("slow", (exchange, params) -> blocker.asMono());
+		MockMcpServerTransport transport = new MockMcpServerTransport();
+		McpServerSession session = new McpServerSession("session", Duration.ofSeconds(10), transport,
+				request -> Mono.empty(), requestHandlers, Map.<String, McpNotificationHandler>of(
+						McpSchema.METHOD_NOTIFICATION_INITIALIZED, (exchange, params) -> Mono.empty()),
+				scheduler);
+		session
+			.handle(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_NOTIFICATION_INITIALIZED, null))
+			.block();
+
+		session.handle(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, "slow", 1, null)).subscribe();
+		session.handle(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, "slow", 2, null)).block();
+
+		McpSchema.JSONRPCResponse rejection = (McpSchema.JSONRPCResponse) transport.getLastSentMessage();
+		assertThat(rejection.id()).isEqualTo(2);
+		assertThat(rejection.error().code()).isEqualTo(McpSchema.ErrorCodes.SERVER_OVERLOADED);
+		assertThat(rejection.error().message()).contains("Too many requests");
+		assertThat(rejection.error().data()).isEqualTo(Map.of("retryAfterMs", 1000L));
+
+		blocker.tryEmitValue("done");
+		await().atMost(Duration.ofSeconds(5))
+			.untilAsserted(
+					() -> assertThat(((McpSchema.JSONRPCResponse) transport.getLastSentMessage()).id()).isEqualTo(1));
+	}
+
+	private Mono<String> handling(String name, Sinks.One<String> result) {
+		return Mono.defer(() -> {
+			this.started.add(name);
+			return result.asMono();
+		});
+	}
+
+}
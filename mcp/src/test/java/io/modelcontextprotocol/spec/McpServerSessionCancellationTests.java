@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.modelcontextprotocol.MockMcpServerTransport;
+import io.modelcontextprotocol.server.McpNotificationHandler;
+import io.modelcontextprotocol.server.McpRequestHandler;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the cancellation of the requests handled by {@link McpServerSession} and
+ * {@link McpStreamableServerSession}.
+ */
+class McpServerSessionCancellationTests {
+
+	private static final String SLOW_METHOD = "slow";
+
+	private final AtomicBoolean handlerCancelled = new AtomicBoolean();
+
+	private final Map<String, McpRequestHandler<?>> requestHandlers = Map.of(SLOW_METHOD,
+			(exchange, params) -> Mono.never().doOnCancel(() -> this.handlerCancelled.set(true)));
+
+	private final Map<String, McpNotificationHandler> notificationHandlers = Map
+		.of(McpSchema.METHOD_NOTIFICATION_INITIALIZED, (exchange, params) -> Mono.empty());
+
+	@Test
+	void cancelledNotificationDisposesRequestHandling() {
+		MockMcpServerTransport transport = new MockMcpServerTransport();
+		McpServerSession session = initializedSession(transport);
+		AtomicBoolean handled = new AtomicBoolean();
+		session.handle(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, SLOW_METHOD, 7, null))
+			.subscribe(null, null, () -> handled.set(true));
+
+		session.handle(cancelled(7)).block();
+
+		assertThat(this.handlerCancelled).isTrue();
+		assertThat(handled).isTrue();
+		assertThat(transport.getLastSentMessage()).isNull();
+	}
+
+	@Test
+	void cancelledNotificationForOtherRequestIsIgnored() {
+		McpServerSession session = initializedSession(new MockMcpServerTransport());
+		session.handle(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, SLOW_METHOD, 7, null)).subscribe();
+
+		session.handle(cancelled(8)).block();
+
+		assertThat(this.handlerCancelled).isFalse();
+	}
+
+	@Test
+	void closingSessionDisposesRequestHandling() {
+		McpServerSession session = initializedSession(new MockMcpServerTransport());
+		session.handle(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, SLOW_METHOD, 7, null)).subscribe();
+
+		session.close();
+
+		assertThat(this.handlerCancelled).isTrue();
+	}
+
+	@Test
+	void cancelledNotificationDisposesStreamableRequestHandling() {
+		McpStreamableServerSession session = new McpStreamableServerSession("session",
+				McpSchema.ClientCapabilities.builder().build(), new McpSchema.Implementation("client", "1.0.0"),
+				Duration.ofSeconds(10), this.requestHandlers, this.notificationHandlers);
+		RecordingStreamTransport transport = new RecordingStreamTransport();
+		AtomicBoolean handled = new AtomicBoolean();
+		session
+			.responseStream(new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, SLOW_METHOD, "r-1", null),
+					transport)
+			.subscribe(null, null, () -> handled.set(true));
+
+		session.accept(cancelled("r-1")).block();
+
+		assertThat(this.handlerCancelled).isTrue();
+		assertThat(handled).isTrue();
+		assertThat(transport.sent).isEmpty();
+		assertThat(transport.closed).isTrue();
+	}
+
+	private McpServerSession initializedSession(MockMcpServerTransport transport) {
+		McpServerSession session = new McpServerSession("session", Duration.ofSeconds(10), transport,
+				request -> Mono.empty(), this.requestHandlers, this.notificationHandlers);
+		session
+			.handle(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_NOTIFICATION_INITIALIZED, null))
+			.block();
+		return session;
+	}
+
+	private static McpSchema.JSONRPCNotification cancelled(Object requestId) {
+		Map<String, Object> params = new ObjectMapper()
+			.convertValue(new McpSchema.CancelledNotification(requestId, "no longer needed"), new TypeReference<>() {
+			});
+		return new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, McpSchema.METHOD_NOTIFICATION_CANCELLED,
+				params);
+	}
+
+	private static final class RecordingStreamTransport implements McpStreamableServerTransport {
+
+		private final List<McpSchema.JSONRPCMessage> sent = new CopyOnWriteArrayList<>();
+
+		private volatile boolean closed;
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message) {
+			return sendMessage(message, null);
+		}
+
+		@Override
+		public Mono<Void> sendMessage(McpSchema.JSONRPCMessage message, String messageId) {
+			return Mono.fromRunnable(() -> this.sent.add(message));
+		}
+
+		@Override
+		public Mono<Void> closeGracefully() {
+			return Mono.fromRunnable(() -> this.closed = true);
+		}
+
+		@Override
+		public <T> T unmarshalFrom(Object data, TypeReference<T> typeRef) {
+			return new ObjectMapper().convertValue(data, typeRef);
+		}
+
+	}
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link McpSessionRegistry}.
+ */
+class McpSessionRegistryTests {
+
+	private final MutableClock clock = new MutableClock();
+
+	private final List<String> closed = new CopyOnWriteArrayList<>();
+
+	private McpSessionRegistry.Builder<String> builder() {
+		return McpSessionRegistry.<String>builder(session -> Mono.fromRunnable(() -> this.closed.add(session)))
+			.clock(this.clock);
+	}
+
+	@Test
+	void expiresIdleSessions() {
+		McpSessionRegistry<String> registry = builder().idleTimeout(Duration.ofMinutes(1)).build();
+		registry.register("a", "session-a");
+		registry.register("b", "session-b");
+
+		this.clock.advance(Duration.ofSeconds(30));
+		registry.expireIdleSessions();
+		assertThat(registry.size()).isEqualTo(2);
+
+		this.clock.advance(Duration.ofSeconds(35));
+		registry.expireIdleSessions();
+
+		assertThat(registry.isEmpty()).isTrue();
+		assertThat(this.closed).containsExactlyInAnyOrder("session-a", "session-b");
+		assertThat(registry.metrics()).isEqualTo(new McpSessionRegistry.Metrics(2, 2, 0, 0, 0));
+	}
+
+	@Test
+	void activeSessionsAreNotExpired() {
+		McpSessionRegistry<String> registry = builder().idleTimeout(Duration.ofMinutes(1)).build();
+		registry.register("a", "session-a");
+		registry.register("b", "session-b");
+
+		for (int i = 0; i < 10; i++) {
+			this.clock.advance(Duration.ofSeconds(20));
+			assertThat(registry.get("a")).isEqualTo("session-a");
+			registry.expireIdleSessions();
+		}
+
+		assertThat(registry.values()).containsExactly("session-a");
+		assertThat(this.closed).containsExactly("session-b");
+	}
+
+	@Test
+	void lookingUpValuesDoesNotRecordActivity() {
+		McpSessionRegistry<String> registry = builder().idleTimeout(Duration.ofMinutes(1)).build();
+		registry.register("a", "session-a");
+
+		this.clock.advance(Duration.ofSeconds(50));
+		assertThat(registry.values()).containsExactly("session-a");
+		this.clock.advance(Duration.ofSeconds(15));
+		registry.expireIdleSessions();
+
+		assertThat(registry.isEmpty()).isTrue();
+	}
+
+	@Test
+	void expiresSessionsAfterTheReaperFellBehind() {
+		McpSessionRegistry<String> registry = builder().idleTimeout(Duration.ofMinutes(1)).build();
+		registry.register("a", "session-a");
+
+		this.clock.advance(Duration.ofHours(5));
+		registry.expireIdleSessions();
+
+		assertThat(this.closed).containsExactly("session-a");
+	}
+
+	@Test
+	void removedSessionsAreNotClosed() {
+		McpSessionRegistry<String> registry = builder().idleTimeout(Duration.ofMinutes(1)).build();
+		registry.register("a", "session-a");
+
+		assertThat(registry.remove("a")).isEqualTo("session-a");
+		this.clock.advance(Duration.ofMinutes(2));
+		registry.expireIdleSessions();
+
+		assertThat(this.closed).isEmpty();
+		assertThat(registry.metrics().expired()).isZero();
+	}
+
+	@Test
+	void replacedSessionIsExpiredFromItsOwnRegistration() {
+		McpSessionRegistry<String> registry = builder().idleTimeout(Duration.ofMinutes(1)).build();
+		registry.register("a", "first");
+		this.clock.advance(Duration.ofSeconds(50));
+		registry.register("a", "second");
+
+		this.clock.advance(Duration.ofSeconds(20));
+		registry.expireIdleSessions();
+
+		assertThat(registry.get("a")).isEqualTo("second");
+		assertThat(registry.size()).isEqualTo(1);
+		assertThat(this.closed).isEmpty();
+	}
+
+	@Test
+	void sessionsNeverExpireWithoutIdleTimeout() {
+		McpSessionRegistry<String> registry = builder().build();
+		registry.register("a", "session-a");
+
+		this.clock.advance(Duration.ofDays(1));
+		registry.expireIdleSessions();
+
+		assertThat(registry.get("a")).isEqualTo("session-a");
+	}
+
+	@Test
+	void evictsLeastRecentlyActiveSessionWhenFull() {
+		McpSessionRegistry<String> registry = builder().maxSessions(2).build();
+		registry.register("a", "session-a");
+		this.clock.advance(Duration.ofSeconds(1));
+		registry.register("b", "session-b");
+		this.clock.advance(Duration.ofSeconds(1));
+		registry.get("a");
+
+		assertThat(registry.register("c", "session-c")).isTrue();
+
+		assertThat(registry.values()).containsExactlyInAnyOrder("session-a", "session-c");
+		assertThat(this.closed).containsExactly("session-b");
+		assertThat(registry.metrics()).isEqualTo(new McpSessionRegistry.Metrics(3, 0, 1, 0, 2));
+	}
+
+	@Test
+	void evictsIdleSessionsBeforeActiveOnes() {
+		McpSessionRegistry<String> registry = builder().maxSessions(1000).build();
+		for (int i = 0; i < 1000; i++) {
+			registry.register("idle-" + i, "idle-" + i);
+		}
+		for (int i = 0; i < 100; i++) {
+			registry.remove("idle-" + i);
+			registry.register("active-" + i, "active-" + i);
+		}
+		this.clock.advance(Duration.ofSeconds(1));
+		for (int i = 0; i < 100; i++) {
+			registry.get("active-" + i);
+		}
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(registry.register("new-" + i, "new-" + i)).isTrue();
+		}
+
+		assertThat(registry.size()).isEqualTo(1000);
+		assertThat(this.closed).hasSize(100).allMatch(session -> session.startsWith("idle-"));
+		assertThat(registry.metrics().evicted()).isEqualTo(100);
+	}
+
+	@Test
+	void rejectsNewSessionsWhenFull() {
+		McpSessionRegistry<String> registry = builder().maxSessions(2)
+			.evictionPolicy(McpSessionRegistry.EvictionPolicy.REJECT_NEW)
+			.build();
+		registry.register("a", "session-a");
+		registry.register("b", "session-b");
+
+		assertThat(registry.register("c", "session-c")).isFalse();
+		assertThat(registry.values()).containsExactlyInAnyOrder("session-a", "session-b");
+
+		registry.remove("a");
+		assertThat(registry.register("c", "session-c")).isTrue();
+
+		assertThat(this.closed).isEmpty();
+		assertThat(registry.metrics()).isEqualTo(new McpSessionRegistry.Metrics(3, 0, 0, 1, 2));
+	}
+
+	@Test
+	void clearRemovesAllSessions() {
+		McpSessionRegistry<String> registry = builder().maxSessions(2)
+			.evictionPolicy(McpSessionRegistry.EvictionPolicy.REJECT_NEW)
+			.build();
+		registry.register("a", "session-a");
+		registry.register("b", "session-b");
+
+		registry.clear();
+
+		assertThat(registry.isEmpty()).isTrue();
+		assertThat(registry.register("c", "session-c")).isTrue();
+		assertThat(registry.register("d", "session-d")).isTrue();
+	}
+
+	@Test
+	void invalidLimitsAreRejected() {
+		assertThatIllegalArgumentException().isThrownBy(() -> builder().idleTimeout(Duration.ZERO));
+		assertThatIllegalArgumentException().isThrownBy(() -> builder().maxSessions(0));
+		assertThatIllegalArgumentException().isThrownBy(() -> builder().evictionPolicy(null));
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2025-01-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			this.now = this.now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return this.now;
+		}
+
+	}
+
+}
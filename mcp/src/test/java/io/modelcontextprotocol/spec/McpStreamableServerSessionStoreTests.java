@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.Map;
+
+import io.modelcontextprotocol.server.McpNotificationHandler;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for the sessions of {@link DefaultMcpStreamableServerSessionFactory} saving their
+ * state in an {@link McpSessionStore}.
+ */
+class McpStreamableServerSessionStoreTests {
+
+	private final InMemoryMcpSessionStore store = new InMemoryMcpSessionStore();
+
+	private final DefaultMcpStreamableServerSessionFactory factory = new DefaultMcpStreamableServerSessionFactory(
+			Duration.ofSeconds(10),
+			request -> Mono.just(new McpSchema.InitializeResult(request.protocolVersion(),
+					McpSchema.ServerCapabilities.builder().build(), new McpSchema.Implementation("server", "1.0.0"),
+					null)),
+			Map.of(), Map.<String, McpNotificationHandler>of(McpSchema.METHOD_NOTIFICATION_INITIALIZED,
+					(exchange, params) -> Mono.empty()),
+			null, this.store);
+
+	private final McpSchema.InitializeRequest initializeRequest = new McpSchema.InitializeRequest("2025-03-26",
+			McpSchema.ClientCapabilities.builder().roots(true).build(),
+			new McpSchema.Implementation("client", "1.0.0"));
+
+	@Test
+	void sessionIsSavedWhenInitialized() {
+		McpStreamableServerSession.McpStreamableServerSessionInit init = this.factory
+			.startSession(this.initializeRequest);
+		assertThat(this.store.size()).isZero();
+
+		init.initResult().block();
+
+		McpSessionStore.SessionState state = this.store.load(init.session().getId()).block();
+		assertThat(state.clientInfo()).isEqualTo(this.initializeRequest.clientInfo());
+		assertThat(state.clientCapabilities()).isEqualTo(this.initializeRequest.capabilities());
+		assertThat(state.initialized()).isFalse();
+	}
+
+	@Test
+	void stateChangesAreSavedAndRestored() {
+		McpStreamableServerSession.McpStreamableServerSessionInit init = this.factory
+			.startSession(this.initializeRequest);
+		init.initResult().block();
+		McpStreamableServerSession session = init.session();
+
+		session
+			.accept(new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION,
+					McpSchema.METHOD_NOTIFICATION_INITIALIZED, null))
+			.block();
+		session.setMinLoggingLevel(McpSchema.LoggingLevel.ERROR);
+
+		McpStreamableServerSession restored = this.factory.restoreSession(session.getId()).block();
+		assertThat(restored.getId()).isEqualTo(session.getId());
+		assertThat(restored.sessionState()).isEqualTo(session.sessionState());
+		assertThat(restored.isNotificationForLevelAllowed(McpSchema.LoggingLevel.WARNING)).isFalse();
+		assertThat(restored.isNotificationForLevelAllowed(McpSchema.LoggingLevel.ERROR)).isTrue();
+	}
+
+	@Test
+	void closedSessionCanBeRestoredButDeletedSessionCannot() {
+		McpStreamableServerSession.McpStreamableServerSessionInit init = this.factory
+			.startSession(this.initializeRequest);
+		init.initResult().block();
+		String sessionId = init.session().getId();
+
+		init.session().closeGracefully().block();
+		assertThat(this.factory.restoreSession(sessionId).blockOptional()).isPresent();
+
+		init.session().delete().block();
+		assertThat(this.factory.restoreSession(sessionId).blockOptional()).isEmpty();
+	}
+
+	@Test
+	void unknownSessionIsNotRestored() {
+		assertThat(this.factory.restoreSession("unknown").blockOptional()).isEmpty();
+	}
+
+}
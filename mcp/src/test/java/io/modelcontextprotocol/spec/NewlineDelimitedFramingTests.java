@@ -0,0 +1,102 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link NewlineDelimitedFraming}.
+ */
+class NewlineDelimitedFramingTests {
+
+	private final McpMessageCodec codec = new JacksonMcpMessageCodec(new ObjectMapper());
+
+	private static List<String> readLines(InputStream inputStream, int initialCapacity) throws IOException {
+		NewlineDelimitedFraming.LineReader reader = new NewlineDelimitedFraming.LineReader(inputStream,
+				initialCapacity);
+		List<String> lines = new ArrayList<>();
+		ByteBuffer line;
+		while ((line = reader.readLine()) != null) {
+			lines.add(StandardCharsets.UTF_8.decode(line).toString());
+		}
+		return lines;
+	}
+
+	@Test
+	void readsLinesWithAnyTerminator() throws IOException {
+		byte[] input = "first\nsecond\r\n\nlast".getBytes(StandardCharsets.UTF_8);
+
+		assertThat(readLines(new ByteArrayInputStream(input), 8192)).containsExactly("first", "second", "", "last");
+	}
+
+	@Test
+	void growsBufferForLongLines() throws IOException {
+		String longLine = "x".repeat(100);
+		byte[] input = ("a\n" + longLine + "\nb\n").getBytes(StandardCharsets.UTF_8);
+
+		// Deliver the input in small chunks to exercise compaction and growth
+		InputStream trickle = new ByteArrayInputStream(input) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				return super.read(b, off, Math.min(len, 3));
+			}
+		};
+
+		assertThat(readLines(trickle, 4)).containsExactly("a", longLine, "b");
+	}
+
+	@Test
+	void writesOneMessagePerLine() throws IOException {
+		var request = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, "echo", 1,
+				Map.of("text", "multi\nline\r\ntext"));
+		var notification = new McpSchema.JSONRPCNotification(McpSchema.JSONRPC_VERSION, "notifications/initialized",
+				null);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		NewlineDelimitedFraming.write(codec, request, out);
+		NewlineDelimitedFraming.write(codec, notification, out);
+
+		NewlineDelimitedFraming.LineReader reader = new NewlineDelimitedFraming.LineReader(
+				new ByteArrayInputStream(out.toByteArray()));
+		McpSchema.JSONRPCRequest decodedRequest = (McpSchema.JSONRPCRequest) codec.decode(reader.readLine());
+		assertThat(decodedRequest.method()).isEqualTo("echo");
+		assertThat(decodedRequest.params()).isEqualTo(Map.of("text", "multi\nline\r\ntext"));
+		assertThat(codec.decode(reader.readLine())).isEqualTo(notification);
+		assertThat(reader.readLine()).isNull();
+	}
+
+	@Test
+	void replacesNewlinesFromPrettyPrinting() throws IOException {
+		McpMessageCodec prettyCodec = new JacksonMcpMessageCodec(
+				new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT));
+		var request = new McpSchema.JSONRPCRequest(McpSchema.JSONRPC_VERSION, "tools/call", "id-1",
+				Map.of("name", "echo"));
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		NewlineDelimitedFraming.write(prettyCodec, request, out);
+
+		List<String> lines = readLines(new ByteArrayInputStream(out.toByteArray()), 8192);
+		assertThat(lines).hasSize(1);
+		McpSchema.JSONRPCRequest decoded = (McpSchema.JSONRPCRequest) codec
+			.decode(lines.get(0).getBytes(StandardCharsets.UTF_8));
+		assertThat(decoded.id()).isEqualTo("id-1");
+		assertThat(decoded.params()).isEqualTo(Map.of("name", "echo"));
+	}
+
+}
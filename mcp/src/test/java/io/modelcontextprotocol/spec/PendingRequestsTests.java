@@ -0,0 +1,200 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests for {@link PendingRequests} and {@link RequestTimeoutWheel}.
+ */
+class PendingRequestsTests {
+
+	private final AtomicLong nanos = new AtomicLong();
+
+	private final RequestTimeoutWheel wheel = new RequestTimeoutWheel(Duration.ofMillis(10), 8, this.nanos::get);
+
+	private final List<Long> timedOut = new ArrayList<>();
+
+	private final PendingRequests pending = new PendingRequests(Duration.ofMillis(100),
+			(requestId, owner) -> this.timedOut.add(requestId), this.wheel);
+
+	private final Map<Long, Mono<McpSchema.JSONRPCResponse>> responses = new ConcurrentHashMap<>();
+
+	@Test
+	void responseCompletesPendingRequest() {
+		long id = register("owner");
+
+		assertThat(this.pending.complete(response(Integer.valueOf((int) id)))).isTrue();
+
+		assertThat(this.responses.get(id).block().result()).isEqualTo("result");
+		assertThat(this.pending.complete(response(id))).isFalse();
+		assertThat(this.pending.size()).isZero();
+	}
+
+	@Test
+	void unknownResponseIsNotCompleted() {
+		register("owner");
+
+		assertThat(this.pending.complete(response(42L))).isFalse();
+		assertThat(this.pending.complete(response("not-a-number"))).isFalse();
+		assertThat(this.pending.size()).isEqualTo(1);
+	}
+
+	@Test
+	void requestsTimeOutOnTheTickOfTheirDeadline() {
+		long first = register("owner");
+		advance(Duration.ofMillis(50));
+		long second = register("owner");
+
+		advance(Duration.ofMillis(50));
+		this.wheel.expireDue();
+		assertThat(this.timedOut).containsExactly(first);
+		assertThatThrownBy(() -> this.responses.get(first).block()).hasCauseInstanceOf(TimeoutException.class);
+
+		advance(Duration.ofMillis(50));
+		this.wheel.expireDue();
+		assertThat(this.timedOut).containsExactly(first, second);
+		assertThat(this.pending.size()).isZero();
+	}
+
+	@Test
+	void dueRequestsExpireInOneBatchAfterALateTick() {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			ids.add(register("owner"));
+			advance(Duration.ofMillis(30));
+		}
+
+		// Later than a whole revolution of the wheel
+		advance(Duration.ofSeconds(1));
+		this.wheel.expireDue();
+
+		assertThat(this.timedOut).containsExactlyInAnyOrderElementsOf(ids);
+	}
+
+	@Test
+	void expiredRequestsAreSignalledOffTheTickingThread() {
+		Scheduler expiryScheduler = Schedulers.newSingle("test-expiry");
+		try {
+			RequestTimeoutWheel wheel = new RequestTimeoutWheel(Duration.ofMillis(10), 8, this.nanos::get,
+					() -> expiryScheduler);
+			List<String> listenerThreads = new CopyOnWriteArrayList<>();
+			PendingRequests pending = new PendingRequests(Duration.ofMillis(100),
+					(requestId, owner) -> listenerThreads.add(Thread.currentThread().getName()), wheel);
+			Mono<String> errorThread = Mono.<McpSchema.JSONRPCResponse>create(sink -> pending.register(sink, "owner"))
+				.map(response -> "")
+				.onErrorResume(TimeoutException.class, e -> Mono.just(Thread.currentThread().getName()))
+				.cache();
+			errorThread.subscribe();
+
+			advance(Duration.ofMillis(200));
+			wheel.expireDue();
+
+			assertThat(errorThread.block(Duration.ofSeconds(5))).startsWith("test-expiry");
+			await().atMost(Duration.ofSeconds(5))
+				.untilAsserted(() -> assertThat(listenerThreads).singleElement().asString().startsWith("test-expiry"));
+		}
+		finally {
+			expiryScheduler.dispose();
+		}
+	}
+
+	@Test
+	void answeredRequestDoesNotTimeOut() {
+		long id = register("owner");
+		this.pending.complete(response(id));
+
+		advance(Duration.ofMillis(200));
+		this.wheel.expireDue();
+
+		assertThat(this.timedOut).isEmpty();
+	}
+
+	@Test
+	void dismissFailsTheRequestsOfAnOwnerOnly() {
+		List<Long> mine = new ArrayList<>();
+		List<Long> others = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			mine.add(register("mine"));
+			others.add(register("others"));
+		}
+
+		this.pending.dismiss("mine", new RuntimeException("Stream closed"));
+
+		assertThat(this.pending.size()).isEqualTo(others.size());
+		mine.forEach(id -> assertThatThrownBy(() -> this.responses.get(id).block()).hasMessage("Stream closed"));
+		others.forEach(id -> assertThat(this.pending.complete(response(id))).isTrue());
+		assertThat(this.pending.size()).isZero();
+	}
+
+	@Test
+	void dismissAllFailsEveryRequest() {
+		long first = register("a");
+		long second = register("b");
+
+		this.pending.dismissAll(new RuntimeException("terminated"));
+
+		assertThat(this.pending.size()).isZero();
+		assertThatThrownBy(() -> this.responses.get(first).block()).hasMessage("terminated");
+		assertThatThrownBy(() -> this.responses.get(second).block()).hasMessage("terminated");
+		advance(Duration.ofMillis(200));
+		this.wheel.expireDue();
+		assertThat(this.timedOut).isEmpty();
+	}
+
+	@Test
+	void tableGrowsAndKeepsEntriesReachableAcrossRemovals() {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			ids.add(register("owner"));
+		}
+		for (int i = 0; i < ids.size(); i += 2) {
+			assertThat(this.pending.remove(ids.get(i))).isTrue();
+		}
+
+		assertThat(this.pending.size()).isEqualTo(500);
+		for (int i = 0; i < ids.size(); i++) {
+			assertThat(this.pending.complete(response(ids.get(i)))).isEqualTo(i % 2 == 1);
+		}
+		assertThat(this.pending.size()).isZero();
+	}
+
+	private long register(Object owner) {
+		AtomicLong id = new AtomicLong();
+		Mono<McpSchema.JSONRPCResponse> response = Mono.<McpSchema.JSONRPCResponse>create(
+				sink -> id.set(this.pending.register(sink, owner)))
+			.cache();
+		response.subscribe(value -> {
+		}, error -> {
+		});
+		this.responses.put(id.get(), response);
+		return id.get();
+	}
+
+	private void advance(Duration duration) {
+		this.nanos.addAndGet(duration.toNanos());
+	}
+
+	private static McpSchema.JSONRPCResponse response(Object id) {
+		return new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, id, "result", null);
+	}
+
+}
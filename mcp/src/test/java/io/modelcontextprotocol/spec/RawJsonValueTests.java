@@ -0,0 +1,65 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link RawJsonValue}.
+ */
+class RawJsonValueTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final McpSchema.ListToolsResult result = new McpSchema.ListToolsResult(
+			List.of(McpSchema.Tool.builder().name("echo").description("Echoes the input").build()), null);
+
+	@Test
+	void serializesLikeTheOriginalValue() throws IOException {
+		RawJsonValue raw = RawJsonValue.of(objectMapper, result);
+
+		assertThat(new String(raw.toByteArray(), StandardCharsets.UTF_8))
+			.isEqualTo(objectMapper.writeValueAsString(result));
+	}
+
+	@Test
+	void encodesTheValueOnce() {
+		RawJsonValue raw = RawJsonValue.of(objectMapper, result);
+
+		assertThat(raw.toByteArray()).isSameAs(raw.toByteArray());
+	}
+
+	@Test
+	void isWrittenVerbatimInsideAResponse() throws IOException {
+		RawJsonValue raw = RawJsonValue.of(objectMapper, result);
+		var response = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, 1, raw, null);
+		var expected = new McpSchema.JSONRPCResponse(McpSchema.JSONRPC_VERSION, 1, result, null);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new JacksonMcpMessageCodec(objectMapper).encode(response, out);
+
+		assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(objectMapper.writeValueAsString(expected))
+			.isEqualTo(objectMapper.writeValueAsString(response));
+	}
+
+	@Test
+	void canBeConvertedToItsType() {
+		RawJsonValue raw = RawJsonValue.of(objectMapper, result);
+
+		assertThat(objectMapper.convertValue(raw, McpSchema.ListToolsResult.class)).isEqualTo(result);
+		assertThat(new JsonRpcBinder(objectMapper).bind(raw, McpSchema.ListToolsResult.class)).isEqualTo(result);
+		assertThat(objectMapper.convertValue(raw, Map.class)).containsKey("tools");
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025-2025 the original author or authors.
+ */
+
+package io.modelcontextprotocol.spec;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Tests for {@link SocketMcpNotificationBus}.
+ */
+class SocketMcpNotificationBusTests {
+
+	private final List<SocketMcpNotificationBus> buses = new ArrayList<>();
+
+	private SocketMcpNotificationBus bus(List<McpNotificationBus.Notification> received) {
+		SocketMcpNotificationBus bus = SocketMcpNotificationBus.builder().batchWindow(Duration.ofMillis(50)).build();
+		bus.notifications().subscribe(received::add);
+		this.buses.add(bus);
+		return bus;
+	}
+
+	@AfterEach
+	void after() {
+		this.buses.forEach(SocketMcpNotificationBus::close);
+	}
+
+	@Test
+	void notificationIsDeliveredOnceByEveryNode() {
+		List<McpNotificationBus.Notification> receivedByFirst = new CopyOnWriteArrayList<>();
+		List<McpNotificationBus.Notification> receivedBySecond = new CopyOnWriteArrayList<>();
+		List<McpNotificationBus.Notification> receivedByThird = new CopyOnWriteArrayList<>();
+		SocketMcpNotificationBus first = bus(receivedByFirst);
+		SocketMcpNotificationBus second = bus(receivedBySecond);
+		SocketMcpNotificationBus third = bus(receivedByThird);
+		for (SocketMcpNotificationBus bus : this.buses) {
+			this.buses.forEach(peer -> bus.addPeer(peer.address()));
+		}
+
+		Mono.when(first.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null),
+				first.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null),
+				first.publish(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED, Map.of("uri", "file:///a")))
+			.block();
+		third.publish(McpSchema.METHOD_NOTIFICATION_PROMPTS_LIST_CHANGED, null).block();
+
+		for (List<McpNotificationBus.Notification> received : List.of(receivedByFirst, receivedBySecond,
+				receivedByThird)) {
+			await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(received).hasSize(3));
+		}
+		assertThat(receivedBySecond).containsExactlyInAnyOrderElementsOf(receivedByFirst);
+		assertThat(receivedByThird).containsExactlyInAnyOrderElementsOf(receivedByFirst);
+		assertThat(receivedBySecond).contains(new McpNotificationBus.Notification(receivedByFirst.get(1).id(),
+				McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED, Map.of("uri", "file:///a")));
+	}
+
+	@Test
+	void unreachablePeerDoesNotPreventDelivery() {
+		List<McpNotificationBus.Notification> received = new CopyOnWriteArrayList<>();
+		SocketMcpNotificationBus bus = bus(received);
+		SocketMcpNotificationBus stopped = bus(new CopyOnWriteArrayList<>());
+		bus.addPeer(stopped.address());
+		stopped.close();
+
+		bus.publish(McpSchema.METHOD_NOTIFICATION_TOOLS_LIST_CHANGED, null).block();
+
+		assertThat(received).hasSize(1);
+	}
+
+	@Test
+	void stalledPeerDoesNotDelayTheOtherPeers() throws Exception {
+		List<McpNotificationBus.Notification> received = new CopyOnWriteArrayList<>();
+		SocketMcpNotificationBus bus = SocketMcpNotificationBus.builder()
+			.batchWindow(Duration.ofMillis(10))
+			.writeTimeout(Duration.ofMillis(500))
+			.build();
+		this.buses.add(bus);
+		SocketMcpNotificationBus healthy = bus(received);
+		try (ServerSocket stalled = new ServerSocket(0, 50, InetAddress.getLoopbackAddress())) {
+			// Accepts the connection but never reads from it
+			bus.addPeer((InetSocketAddress) stalled.getLocalSocketAddress());
+			bus.addPeer(healthy.address());
+			String payload = "x".repeat(4 * 1024 * 1024);
+
+			for (int i = 0; i < 5; i++) {
+				bus.publish(McpSchema.METHOD_NOTIFICATION_RESOURCES_UPDATED,
+						Map.of("uri", "file:///" + i, "data", payload))
+					.block(Duration.ofSeconds(1));
+			}
+
+			await().atMost(Duration.ofSeconds(5)).untilAsserted(() -> assertThat(received).hasSize(5));
+		}
+	}
+
+}